@@ -10,15 +10,10 @@ import com.linkedin.datahub.dao.view.CorpUserViewDao;
 import com.linkedin.datahub.dao.view.DatasetViewDao;
 import com.linkedin.datahub.dao.view.DocumentSearchDao;
 import com.linkedin.datahub.dao.view.OwnerViewDao;
-import com.linkedin.util.Configuration;
+import com.linkedin.metadata.restli.DefaultRestliClientFactory;
 
 public class DaoFactory {
 
-  private static final String GMS_HOST_ENV_VAR = "DATAHUB_GMS_HOST";
-  private static final String GMS_PORT_ENV_VAR = "DATAHUB_GMS_PORT";
-  private static final String GMS_USE_SSL_ENV_VAR = "DATAHUB_GMS_USE_SSL";
-  private static final String GMS_SSL_PROTOCOL_VAR = "DATAHUB_GMS_SSL_PROTOCOL";
-
   private static GmsDao _gmsDao;
   private static DocumentSearchDao datasetDocumentSearchDao;
   private static DocumentSearchDao corpUserDocumentSearchDao;
@@ -36,10 +31,8 @@ public class DaoFactory {
 
   private static GmsDao getGmsDao() {
     if (_gmsDao == null) {
-      _gmsDao = new GmsDao(Configuration.getEnvironmentVariable(GMS_HOST_ENV_VAR),
-              Integer.parseInt(Configuration.getEnvironmentVariable(GMS_PORT_ENV_VAR)),
-              Boolean.parseBoolean(Configuration.getEnvironmentVariable(GMS_USE_SSL_ENV_VAR, "False")),
-              Configuration.getEnvironmentVariable(GMS_SSL_PROTOCOL_VAR));
+      // Shares its connection pool with the GraphQL clients, see DefaultRestliClientFactory#getSharedGmsClient
+      _gmsDao = new GmsDao(DefaultRestliClientFactory.getSharedGmsClient());
     }
     return _gmsDao;
   }
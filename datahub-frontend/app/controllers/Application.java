@@ -2,6 +2,7 @@ package controllers;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.typesafe.config.Config;
 import org.apache.commons.lang3.StringUtils;
 import play.Logger;
@@ -59,6 +60,16 @@ public class Application extends Controller {
     return ok("GOOD");
   }
 
+  /**
+   * Exposes application metrics, e.g. GraphQL resolver latencies, in the Prometheus text format
+   *
+   * @return {Result} metrics of the application
+   */
+  @Nonnull
+  public Result metrics() {
+    return ok(MetricUtils.scrape()).as("text/plain; version=0.0.4");
+  }
+
   @Nonnull
   public Result printDeps() {
     final String appHome = System.getenv("WHZ_APP_HOME");
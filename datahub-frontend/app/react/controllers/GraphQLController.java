@@ -1,19 +1,32 @@
 package react.controllers;
 
+import akka.util.ByteString;
+import akka.util.ByteStringBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.linkedin.datahub.graphql.DeferredResults;
 import com.linkedin.datahub.graphql.GmsGraphQLEngine;
 import com.linkedin.datahub.graphql.GraphQLEngine;
 import com.typesafe.config.Config;
 import react.auth.Authenticator;
 import graphql.ExecutionResult;
 import react.graphql.PlayQueryContext;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import play.api.Environment;
+import play.http.HttpEntity;
 import play.mvc.Controller;
+import play.mvc.Http;
 import play.mvc.Result;
 import play.mvc.Security;
 
@@ -22,6 +35,16 @@ public class GraphQLController extends Controller {
     private static final String QUERY = "query";
     private static final String VARIABLES = "variables";
 
+    private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<Map<String, Object>>() { };
+
+    /*
+     * Shared across requests: ObjectMapper & ObjectWriter are thread-safe once configured.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final ObjectWriter RESULT_WRITER = MAPPER.writer();
+
     private final GraphQLEngine _engine;
     private final Config _config;
 
@@ -36,11 +59,11 @@ public class GraphQLController extends Controller {
 
     @Security.Authenticated(Authenticator.class)
     @Nonnull
-    public Result execute() throws Exception {
+    public CompletionStage<Result> execute() {
 
         JsonNode bodyJson = request().body().asJson();
         if (bodyJson == null) {
-            return badRequest();
+            return CompletableFuture.completedFuture(badRequest());
         }
 
         /*
@@ -48,7 +71,7 @@ public class GraphQLController extends Controller {
          */
         JsonNode queryJson = bodyJson.get(QUERY);
         if (queryJson == null) {
-            return badRequest();
+            return CompletableFuture.completedFuture(badRequest());
         }
 
         /*
@@ -57,7 +80,7 @@ public class GraphQLController extends Controller {
         JsonNode variablesJson = bodyJson.get(VARIABLES);
         Map<String, Object> variables = null;
         if (variablesJson != null) {
-            variables = new ObjectMapper().convertValue(variablesJson, new TypeReference<Map<String, Object>>(){ });
+            variables = MAPPER.convertValue(variablesJson, VARIABLES_TYPE);
         }
 
         /*
@@ -66,13 +89,25 @@ public class GraphQLController extends Controller {
         PlayQueryContext context = new PlayQueryContext(ctx(), _config);
 
         /*
-         * Execute GraphQL Query
+         * Execute GraphQL Query without holding the request thread while waiting on GMS. Deferred fields are folded
+         * back into a single response, as this endpoint does not support incremental delivery.
          */
-        ExecutionResult executionResult = _engine.execute(queryJson.asText(), variables, context);
+        return _engine.executeAsync(queryJson.asText(), variables, context)
+            .thenCompose(DeferredResults::merge)
+            .thenApply(GraphQLController::toResult);
+    }
 
-        /*
-         * Format & Return Response
-         */
-        return ok(new ObjectMapper().writeValueAsString(executionResult.toSpecification()));
+    /*
+     * Format & Return Response. The result is serialized directly into the response buffer, without building an
+     * intermediate String.
+     */
+    private static Result toResult(@Nonnull final ExecutionResult executionResult) {
+        final ByteStringBuilder builder = ByteString.createBuilder();
+        try (OutputStream outputStream = builder.asOutputStream()) {
+            RESULT_WRITER.writeValue(outputStream, executionResult.toSpecification());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize GraphQL execution result", e);
+        }
+        return ok().sendEntity(new HttpEntity.Strict(builder.result(), Optional.of(Http.MimeTypes.JSON)));
     }
 }
@@ -0,0 +1,104 @@
+package com.linkedin.datahub.graphql.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.datahub.graphql.DeferredResults;
+import com.linkedin.datahub.graphql.GraphQLEngine;
+import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.context.SpringQueryContext;
+
+import graphql.ExecutionResult;
+
+/**
+ * Executes GraphQL queries with incremental delivery of fields marked with the '@defer' directive.
+ *
+ * <p>The response is streamed over chunked HTTP as a 'multipart/mixed' body. The first part holds the initial result,
+ * each following part holds the payload of one deferred field along with its path. Every part carries a 'hasNext'
+ * flag which is false for the last part.
+ */
+@RestController
+public class IncrementalGraphQLController {
+
+    private static final String BOUNDARY = "-";
+    private static final String DELIMITER = "\r\n--" + BOUNDARY + "\r\n";
+    private static final String CLOSE_DELIMITER = "\r\n--" + BOUNDARY + "--\r\n";
+    private static final String PART_HEADERS = "Content-Type: application/json; charset=utf-8\r\n\r\n";
+    private static final String HAS_NEXT = "hasNext";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    @Autowired
+    GraphQLEngine graphQLEngine;
+
+    @PostMapping(value = "/graphql/incremental", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<StreamingResponseBody> execute(@RequestBody Map<String, Object> body) {
+        final Object query = body.get("query");
+        if (!(query instanceof String)) {
+            return ResponseEntity.badRequest().build();
+        }
+        final Map<String, Object> variables = (Map<String, Object>) body.get("variables");
+        final QueryContext queryContext = new SpringQueryContext(true, QueryGraphQLInvocation.APPNAME);
+
+        final StreamingResponseBody responseBody = outputStream -> {
+            final ExecutionResult result = join(graphQLEngine.executeAsync((String) query, variables, queryContext));
+            final boolean hasNext = DeferredResults.hasDeferredResults(result);
+            writePart(outputStream, DeferredResults.initialResult(result).toSpecification(), hasNext);
+            if (hasNext) {
+                join(DeferredResults.subscribe(result, deferredResult -> {
+                    try {
+                        writePart(outputStream, deferredResult.toSpecification(), true);
+                    } catch (IOException e) {
+                        throw new RuntimeException("Failed to write deferred GraphQL result", e);
+                    }
+                }));
+                // The number of deferred payloads is only known once the stream completes, so close with an empty part.
+                writePart(outputStream, new LinkedHashMap<>(), false);
+            }
+            outputStream.write(CLOSE_DELIMITER.getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+        };
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, "multipart/mixed; boundary=\"" + BOUNDARY + "\"")
+            .body(responseBody);
+    }
+
+    private static void writePart(OutputStream outputStream, Map<String, Object> payload, boolean hasNext) throws IOException {
+        final Map<String, Object> part = new LinkedHashMap<>(payload);
+        part.put(HAS_NEXT, hasNext);
+        outputStream.write(DELIMITER.getBytes(StandardCharsets.UTF_8));
+        outputStream.write(PART_HEADERS.getBytes(StandardCharsets.UTF_8));
+        MAPPER.writeValue(outputStream, part);
+        // Flush each part so it is sent as its own chunk.
+        outputStream.flush();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while executing GraphQL query", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to execute GraphQL query", e.getCause());
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.WebRequest;
 
+import com.linkedin.datahub.graphql.DeferredResults;
 import com.linkedin.datahub.graphql.GraphQLEngine;
 import com.linkedin.datahub.graphql.QueryContext;
 import com.linkedin.datahub.graphql.context.SpringQueryContext;
@@ -28,8 +29,10 @@ public class QueryGraphQLInvocation implements GraphQLInvocation {
     public CompletableFuture<ExecutionResult> invoke(GraphQLInvocationData invocationData, WebRequest webRequest) {
         QueryContext queryContext = new SpringQueryContext(true, APPNAME);
 
-        return CompletableFuture.supplyAsync(() -> graphQLEngine.execute(invocationData.getQuery(),
+        // Deferred fields are folded back into a single response; use IncrementalGraphQLController to stream them.
+        return graphQLEngine.executeAsync(invocationData.getQuery(),
             invocationData.getVariables(),
-            queryContext));
+            queryContext)
+            .thenCompose(DeferredResults::merge);
     }
 }
@@ -0,0 +1,156 @@
+package com.linkedin.datahub.graphql;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.execution.defer.DeferredExecutionResult;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+
+/**
+ * Utilities for working with the results of queries containing fields marked with the '@defer' directive.
+ *
+ * <p>When a query defers one or more fields, the initial {@link ExecutionResult} returned by {@link GraphQLEngine}
+ * carries a {@link Publisher} of {@link DeferredExecutionResult}s in its extensions, one for each deferred field.
+ * Callers able to stream responses should deliver the initial result immediately via {@link #initialResult} and
+ * then each deferred payload via {@link #subscribe}. Callers that cannot stream should use {@link #merge} to fold
+ * the deferred payloads back into a single result.
+ */
+public class DeferredResults {
+
+    private DeferredResults() { }
+
+    /**
+     * Returns true if the result has deferred payloads that are yet to be delivered.
+     */
+    public static boolean hasDeferredResults(@Nonnull final ExecutionResult result) {
+        return getPublisher(result) != null;
+    }
+
+    /**
+     * Returns the initial result, stripped of the deferred result stream so that it can be serialized.
+     */
+    @Nonnull
+    public static ExecutionResult initialResult(@Nonnull final ExecutionResult result) {
+        if (result.getExtensions() == null || !result.getExtensions().containsKey(GraphQL.DEFERRED_RESULTS)) {
+            return result;
+        }
+        final Map<Object, Object> extensions = new LinkedHashMap<>(result.getExtensions());
+        extensions.remove(GraphQL.DEFERRED_RESULTS);
+        return ExecutionResultImpl.newExecutionResult()
+            .data(result.getData())
+            .errors(result.getErrors())
+            .extensions(extensions.isEmpty() ? null : extensions)
+            .build();
+    }
+
+    /**
+     * Subscribes to the deferred payloads of a result, invoking the consumer for each payload as it becomes available.
+     *
+     * @return a {@link CompletableFuture} completed once all deferred payloads have been delivered
+     */
+    @Nonnull
+    public static CompletableFuture<Void> subscribe(@Nonnull final ExecutionResult result,
+                                                    @Nonnull final Consumer<DeferredExecutionResult> consumer) {
+        final Publisher<DeferredExecutionResult> publisher = getPublisher(result);
+        final CompletableFuture<Void> completion = new CompletableFuture<>();
+        if (publisher == null) {
+            completion.complete(null);
+            return completion;
+        }
+        publisher.subscribe(new Subscriber<DeferredExecutionResult>() {
+            private Subscription _subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                _subscription = subscription;
+                _subscription.request(1);
+            }
+
+            @Override
+            public void onNext(DeferredExecutionResult deferredResult) {
+                try {
+                    consumer.accept(deferredResult);
+                } catch (RuntimeException e) {
+                    _subscription.cancel();
+                    completion.completeExceptionally(e);
+                    return;
+                }
+                _subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completion.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completion.complete(null);
+            }
+        });
+        return completion;
+    }
+
+    /**
+     * Waits for all deferred payloads of a result and folds them into the initial result's data, producing a single
+     * non-incremental result.
+     */
+    @Nonnull
+    public static CompletableFuture<ExecutionResult> merge(@Nonnull final ExecutionResult result) {
+        if (!hasDeferredResults(result)) {
+            return CompletableFuture.completedFuture(result);
+        }
+        final ExecutionResult initial = initialResult(result);
+        final Object data = initial.getData();
+        final List<GraphQLError> errors = new ArrayList<>(initial.getErrors());
+        return subscribe(result, deferredResult -> {
+            setAtPath(data, deferredResult.getPath(), deferredResult.getData());
+            errors.addAll(deferredResult.getErrors());
+        }).thenApply(ignored -> ExecutionResultImpl.newExecutionResult()
+            .data(data)
+            .errors(errors)
+            .extensions(initial.getExtensions())
+            .build());
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Publisher<DeferredExecutionResult> getPublisher(@Nonnull final ExecutionResult result) {
+        if (result.getExtensions() == null) {
+            return null;
+        }
+        return (Publisher<DeferredExecutionResult>) result.getExtensions().get(GraphQL.DEFERRED_RESULTS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setAtPath(@Nullable final Object data, @Nonnull final List<Object> path, @Nullable final Object value) {
+        if (data == null || path.isEmpty()) {
+            return;
+        }
+        Object parent = data;
+        for (int i = 0; i < path.size() - 1 && parent != null; i++) {
+            final Object segment = path.get(i);
+            if (segment instanceof Integer) {
+                parent = ((List<Object>) parent).get((Integer) segment);
+            } else {
+                parent = ((Map<String, Object>) parent).get(segment.toString());
+            }
+        }
+        if (parent instanceof Map) {
+            ((Map<String, Object>) parent).put(path.get(path.size() - 1).toString(), value);
+        }
+    }
+}
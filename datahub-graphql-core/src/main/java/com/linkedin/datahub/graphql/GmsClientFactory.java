@@ -10,7 +10,6 @@ import com.linkedin.metadata.restli.DefaultRestliClientFactory;
 import com.linkedin.ml.client.MLModels;
 import com.linkedin.restli.client.Client;
 import com.linkedin.tag.client.Tags;
-import com.linkedin.util.Configuration;
 import com.linkedin.datajob.client.DataFlows;
 import com.linkedin.datajob.client.DataJobs;
 
@@ -21,21 +20,11 @@ import com.linkedin.datajob.client.DataJobs;
 public class GmsClientFactory {
 
     /**
-     * The following environment variables are expected to be provided.
-     * They are used in establishing the connection to the downstream GMS.
-     * Currently, only 1 downstream GMS is supported.
+     * The connection to the downstream GMS is configured from environment variables, see
+     * {@link com.linkedin.metadata.restli.RestliClientConfig}. The client, and so its connection pool, is shared with
+     * any other component of the process talking to GMS.
      */
-    private static final String GMS_HOST_ENV_VAR = "DATAHUB_GMS_HOST";
-    private static final String GMS_PORT_ENV_VAR = "DATAHUB_GMS_PORT";
-    private static final String GMS_USE_SSL_ENV_VAR = "DATAHUB_GMS_USE_SSL";
-    private static final String GMS_SSL_PROTOCOL_VAR = "DATAHUB_GMS_SSL_PROTOCOL";
-
-
-    private static final Client REST_CLIENT = DefaultRestliClientFactory.getRestLiClient(
-            Configuration.getEnvironmentVariable(GMS_HOST_ENV_VAR),
-            Integer.valueOf(Configuration.getEnvironmentVariable(GMS_PORT_ENV_VAR)),
-            Boolean.parseBoolean(Configuration.getEnvironmentVariable(GMS_USE_SSL_ENV_VAR, "False")),
-            Configuration.getEnvironmentVariable(GMS_SSL_PROTOCOL_VAR));
+    private static final Client REST_CLIENT = DefaultRestliClientFactory.getSharedGmsClient();
 
     private static CorpUsers _corpUsers;
     private static Datasets _datasets;
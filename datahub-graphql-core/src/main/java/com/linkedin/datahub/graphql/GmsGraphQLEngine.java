@@ -10,6 +10,7 @@ import com.linkedin.datahub.graphql.generated.Dataset;
 import com.linkedin.datahub.graphql.generated.Entity;
 import com.linkedin.datahub.graphql.generated.EntityRelationship;
 import com.linkedin.datahub.graphql.generated.RelatedDataset;
+import com.linkedin.datahub.graphql.instrumentation.TracingInstrumentation;
 import com.linkedin.datahub.graphql.resolvers.load.EntityTypeResolver;
 import com.linkedin.datahub.graphql.resolvers.load.LoadableTypeBatchResolver;
 import com.linkedin.datahub.graphql.resolvers.mutate.MutableTypeResolver;
@@ -31,6 +32,7 @@ import com.linkedin.datahub.graphql.resolvers.load.LoadableTypeResolver;
 import com.linkedin.datahub.graphql.resolvers.browse.BrowsePathsResolver;
 import com.linkedin.datahub.graphql.resolvers.browse.BrowseResolver;
 import com.linkedin.datahub.graphql.resolvers.search.AutoCompleteResolver;
+import com.linkedin.datahub.graphql.resolvers.search.SearchAcrossEntitiesResolver;
 import com.linkedin.datahub.graphql.resolvers.search.SearchResolver;
 import com.linkedin.datahub.graphql.resolvers.type.EntityInterfaceTypeResolver;
 import com.linkedin.datahub.graphql.resolvers.type.PlatformSchemaUnionTypeResolver;
@@ -40,9 +42,12 @@ import com.linkedin.datahub.graphql.types.tag.TagType;
 import com.linkedin.datahub.graphql.types.mlmodel.MLModelType;
 import com.linkedin.datahub.graphql.types.dataflow.DataFlowType;
 import com.linkedin.datahub.graphql.types.datajob.DataJobType;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.util.Configuration;
 
 
 import graphql.schema.idl.RuntimeWiring;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.io.IOUtils;
 import org.dataloader.BatchLoaderContextProvider;
 import org.dataloader.DataLoader;
@@ -69,6 +74,11 @@ public class GmsGraphQLEngine {
 
     private static GraphQLEngine _engine;
 
+    /**
+     * The fraction of requests, between 0 and 1, returning an 'extensions.tracing' block. Defaults to 0.
+     */
+    private static final String TRACING_SAMPLE_RATE_ENV_VAR = "DATAHUB_GRAPHQL_TRACING_SAMPLE_RATE";
+
     public static final DatasetType DATASET_TYPE = new DatasetType(GmsClientFactory.getDatasetsClient());
     public static final CorpUserType CORP_USER_TYPE = new CorpUserType(GmsClientFactory.getCorpUsersClient());
     public static final ChartType CHART_TYPE = new ChartType(GmsClientFactory.getChartsClient());
@@ -173,6 +183,8 @@ public class GmsGraphQLEngine {
         return GraphQLEngine.builder()
                 .addSchema(schema())
                 .addDataLoaders(loaderSuppliers(LOADABLE_TYPES))
+                .addInstrumentation(new TracingInstrumentation(
+                        Double.parseDouble(Configuration.getEnvironmentVariable(TRACING_SAMPLE_RATE_ENV_VAR, "0"))))
                 .configureRuntimeWiring(GmsGraphQLEngine::configureRuntimeWiring);
     }
 
@@ -191,6 +203,8 @@ public class GmsGraphQLEngine {
         builder.type("Query", typeWiring -> typeWiring
                 .dataFetcher("search", new AuthenticatedResolver<>(
                         new SearchResolver(SEARCHABLE_TYPES)))
+                .dataFetcher("searchAcrossEntities", new AuthenticatedResolver<>(
+                        new SearchAcrossEntitiesResolver(SEARCHABLE_TYPES)))
                 .dataFetcher("autoComplete", new AuthenticatedResolver<>(
                         new AutoCompleteResolver(SEARCHABLE_TYPES)))
                 .dataFetcher("browse", new AuthenticatedResolver<>(
@@ -453,10 +467,14 @@ public class GmsGraphQLEngine {
         BatchLoaderContextProvider contextProvider = () -> queryContext;
         DataLoaderOptions loaderOptions = DataLoaderOptions.newOptions().setBatchLoaderContextProvider(contextProvider);
         return DataLoader.newDataLoader((keys, context) -> CompletableFuture.supplyAsync(() -> {
+            MetricUtils.get().summary("graphql.dataloader.batch.size", "loader", graphType.name()).record(keys.size());
+            final Timer.Sample sample = Timer.start(MetricUtils.get());
             try {
                 return graphType.batchLoad(keys, context.getContext());
             } catch (Exception e) {
                 throw new RuntimeException(String.format("Failed to retrieve entities of type %s", graphType.name()), e);
+            } finally {
+                sample.stop(MetricUtils.timer("graphql.dataloader.latency", "loader", graphType.name()));
             }
         }), loaderOptions);
     }
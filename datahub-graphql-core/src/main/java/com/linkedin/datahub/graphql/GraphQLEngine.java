@@ -1,8 +1,11 @@
 package com.linkedin.datahub.graphql;
 
+import graphql.Directives;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
@@ -17,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -31,6 +35,9 @@ import static graphql.schema.idl.RuntimeWiring.newRuntimeWiring;
  * schemas, {@link DataLoader}s, & a configured {@link RuntimeWiring}.
  *
  * <p>In addition, it provides a simplified 'execute' API that accepts a 1) query string and 2) set of variables.
+ *
+ * <p>Fields marked with the '@defer' directive are resolved after the initial result has been returned; see
+ * {@link DeferredResults} for consuming their payloads.
  */
 public class GraphQLEngine {
 
@@ -39,7 +46,8 @@ public class GraphQLEngine {
 
     private GraphQLEngine(@Nonnull final List<String> schemas,
                           @Nonnull final RuntimeWiring runtimeWiring,
-                          @Nonnull final Map<String, Function<QueryContext, DataLoader<?, ?>>> dataLoaderSuppliers) {
+                          @Nonnull final Map<String, Function<QueryContext, DataLoader<?, ?>>> dataLoaderSuppliers,
+                          @Nonnull final List<Instrumentation> instrumentations) {
 
         _dataLoaderSuppliers = dataLoaderSuppliers;
 
@@ -54,36 +62,40 @@ public class GraphQLEngine {
          * Configure resolvers (data fetchers)
          */
         SchemaGenerator schemaGenerator = new SchemaGenerator();
-        GraphQLSchema graphQLSchema = schemaGenerator.makeExecutableSchema(typeDefinitionRegistry, runtimeWiring);
+        GraphQLSchema executableSchema = schemaGenerator.makeExecutableSchema(typeDefinitionRegistry, runtimeWiring);
+
+        /*
+         * Enable incremental delivery of fields marked with '@defer'. See DeferredResults.
+         */
+        GraphQLSchema graphQLSchema = GraphQLSchema.newSchema(executableSchema)
+            .additionalDirective(Directives.DeferDirective)
+            .build();
 
         /*
          * Instantiate engine
          */
-        _graphQL = GraphQL.newGraphQL(graphQLSchema).build();
+        _graphQL = GraphQL.newGraphQL(graphQLSchema)
+            .instrumentation(new ChainedInstrumentation(instrumentations))
+            .build();
     }
 
     public ExecutionResult execute(@Nonnull final String query,
                                    @Nullable final Map<String, Object> variables,
                                    @Nonnull final QueryContext context) {
-        /*
-         * Init DataLoaderRegistry - should be created for each request.
-         */
-        DataLoaderRegistry register = createDataLoaderRegistry(_dataLoaderSuppliers, context);
-
-        /*
-         * Construct execution input
-         */
-        ExecutionInput executionInput = ExecutionInput.newExecutionInput()
-            .query(query)
-            .variables(variables)
-            .dataLoaderRegistry(register)
-            .context(context)
-            .build();
-
         /*
          * Execute GraphQL Query
          */
-        return _graphQL.execute(executionInput);
+        return _graphQL.execute(createExecutionInput(query, variables, context));
+    }
+
+    /**
+     * Executes a GQL query without blocking the calling thread. The returned {@link CompletableFuture} is completed
+     * once all resolvers have completed.
+     */
+    public CompletableFuture<ExecutionResult> executeAsync(@Nonnull final String query,
+                                                           @Nullable final Map<String, Object> variables,
+                                                           @Nonnull final QueryContext context) {
+        return _graphQL.executeAsync(createExecutionInput(query, variables, context));
     }
 
     public GraphQL getGraphQL() {
@@ -102,6 +114,7 @@ public class GraphQLEngine {
         private final List<String> _schemas = new ArrayList<>();
         private final Map<String, Function<QueryContext, DataLoader<?, ?>>> _loaderSuppliers = new HashMap<>();
         private final RuntimeWiring.Builder _runtimeWiringBuilder = newRuntimeWiring();
+        private final List<Instrumentation> _instrumentations = new ArrayList<>();
 
         /**
          * Used to add a schema file containing the GQL types resolved by the engine.
@@ -149,14 +162,43 @@ public class GraphQLEngine {
             return this;
         }
 
+        /**
+         * Used to register an {@link Instrumentation} observing the execution of every query, e.g. for tracing.
+         *
+         * If multiple instrumentations are registered, they are invoked in the order they were added.
+         */
+        public Builder addInstrumentation(final Instrumentation instrumentation) {
+            _instrumentations.add(instrumentation);
+            return this;
+        }
+
         /**
          * Builds a {@link GraphQLEngine}.
          */
         public GraphQLEngine build() {
-            return new GraphQLEngine(_schemas, _runtimeWiringBuilder.build(), _loaderSuppliers);
+            return new GraphQLEngine(_schemas, _runtimeWiringBuilder.build(), _loaderSuppliers, _instrumentations);
         }
     }
 
+    private ExecutionInput createExecutionInput(@Nonnull final String query,
+                                                @Nullable final Map<String, Object> variables,
+                                                @Nonnull final QueryContext context) {
+        /*
+         * Init DataLoaderRegistry - should be created for each request.
+         */
+        DataLoaderRegistry register = createDataLoaderRegistry(_dataLoaderSuppliers, context);
+
+        /*
+         * Construct execution input
+         */
+        return ExecutionInput.newExecutionInput()
+            .query(query)
+            .variables(variables)
+            .dataLoaderRegistry(register)
+            .context(context)
+            .build();
+    }
+
     private DataLoaderRegistry createDataLoaderRegistry(final Map<String, Function<QueryContext, DataLoader<?, ?>>> dataLoaderSuppliers,
                                                         final QueryContext context) {
         final DataLoaderRegistry registry = new DataLoaderRegistry();
@@ -0,0 +1,183 @@
+package com.linkedin.datahub.graphql.instrumentation;
+
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.GraphQLTypeUtil;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.stats.Statistics;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * {@link graphql.execution.instrumentation.Instrumentation} recording the latency of GraphQL requests and resolvers
+ * along with {@link DataLoader} statistics.
+ *
+ * <p>Timings of every non-trivial resolver are recorded as histograms via {@link MetricUtils}. In addition, a sample
+ * of requests carry an 'extensions.tracing' block in their response listing each resolver invocation along with the
+ * statistics of each {@link DataLoader}, which helps in spotting N+1 access patterns and slow GMS endpoints.
+ */
+public class TracingInstrumentation extends SimpleInstrumentation {
+
+    private static final String TRACING_EXTENSION = "tracing";
+
+    private final double _sampleRate;
+
+    /**
+     * @param sampleRate the fraction of requests, between 0 and 1, for which a tracing block should be returned
+     */
+    public TracingInstrumentation(final double sampleRate) {
+        _sampleRate = sampleRate;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new TracingState(_sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < _sampleRate);
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters) {
+        if (parameters.isTrivialDataFetcher()) {
+            return super.beginFieldFetch(parameters);
+        }
+        final TracingState state = parameters.getInstrumentationState();
+        final long startNanos = System.nanoTime();
+        return new InstrumentationContext<Object>() {
+            @Override
+            public void onDispatched(CompletableFuture<Object> result) {
+            }
+
+            @Override
+            public void onCompleted(Object result, Throwable t) {
+                final long durationNanos = System.nanoTime() - startNanos;
+                final ExecutionStepInfo stepInfo = parameters.getExecutionStepInfo();
+                final String parentType = GraphQLTypeUtil.simplePrint(parameters.getEnvironment().getParentType());
+                final String fieldName = stepInfo.getFieldDefinition().getName();
+                MetricUtils.timer("graphql.resolver.latency", "type", parentType, "field", fieldName)
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+                if (state.isSampled()) {
+                    final Map<String, Object> resolver = new LinkedHashMap<>();
+                    resolver.put("path", stepInfo.getPath().toList());
+                    resolver.put("parentType", parentType);
+                    resolver.put("fieldName", fieldName);
+                    resolver.put("returnType", GraphQLTypeUtil.simplePrint(stepInfo.getType()));
+                    resolver.put("startOffset", startNanos - state.getStartNanos());
+                    resolver.put("duration", durationNanos);
+                    resolver.put("failed", t != null);
+                    state.addResolver(resolver);
+                }
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters) {
+        final TracingState state = parameters.getInstrumentationState();
+        final long durationNanos = System.nanoTime() - state.getStartNanos();
+        MetricUtils.timer("graphql.request.latency", "errors", String.valueOf(!executionResult.getErrors().isEmpty()))
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        final Map<String, Object> dataLoaders = recordDataLoaderStatistics(parameters.getExecutionInput().getDataLoaderRegistry());
+
+        if (!state.isSampled()) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+
+        final Map<String, Object> tracing = new LinkedHashMap<>();
+        tracing.put("startTime", state.getStartTimeMillis());
+        tracing.put("duration", durationNanos);
+        tracing.put("resolvers", state.getResolvers());
+        tracing.put("dataLoaders", dataLoaders);
+
+        final Map<Object, Object> extensions = executionResult.getExtensions() != null
+            ? new LinkedHashMap<>(executionResult.getExtensions())
+            : new LinkedHashMap<>();
+        extensions.put(TRACING_EXTENSION, tracing);
+        return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+            .from(executionResult)
+            .extensions(extensions)
+            .build());
+    }
+
+    @Nonnull
+    private static Map<String, Object> recordDataLoaderStatistics(final DataLoaderRegistry registry) {
+        if (registry == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Object> dataLoaders = new LinkedHashMap<>();
+        for (String name : registry.getKeys()) {
+            final DataLoader<?, ?> dataLoader = registry.getDataLoader(name);
+            final Statistics statistics = dataLoader.getStatistics();
+            if (statistics.getLoadCount() == 0) {
+                continue;
+            }
+            final long cacheMisses = statistics.getLoadCount() - statistics.getCacheHitCount();
+            MetricUtils.get().counter("graphql.dataloader.cache.hits", "loader", name).increment(statistics.getCacheHitCount());
+            MetricUtils.get().counter("graphql.dataloader.cache.misses", "loader", name).increment(cacheMisses);
+
+            final Map<String, Object> loaderStatistics = new LinkedHashMap<>();
+            loaderStatistics.put("loads", statistics.getLoadCount());
+            loaderStatistics.put("batchInvokes", statistics.getBatchInvokeCount());
+            loaderStatistics.put("batchLoads", statistics.getBatchLoadCount());
+            loaderStatistics.put("cacheHits", statistics.getCacheHitCount());
+            loaderStatistics.put("cacheMisses", cacheMisses);
+            dataLoaders.put(name, loaderStatistics);
+        }
+        return dataLoaders;
+    }
+
+    /**
+     * Per-request tracing state.
+     */
+    private static class TracingState implements InstrumentationState {
+
+        private final boolean _sampled;
+        private final long _startNanos = System.nanoTime();
+        private final long _startTimeMillis = System.currentTimeMillis();
+        private final List<Map<String, Object>> _resolvers = Collections.synchronizedList(new ArrayList<>());
+
+        TracingState(final boolean sampled) {
+            _sampled = sampled;
+        }
+
+        boolean isSampled() {
+            return _sampled;
+        }
+
+        long getStartNanos() {
+            return _startNanos;
+        }
+
+        long getStartTimeMillis() {
+            return _startTimeMillis;
+        }
+
+        void addResolver(final Map<String, Object> resolver) {
+            _resolvers.add(resolver);
+        }
+
+        List<Map<String, Object>> getResolvers() {
+            synchronized (_resolvers) {
+                return new ArrayList<>(_resolvers);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.linkedin.datahub.graphql.resolvers.search;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.datahub.graphql.QueryContext;
+import com.linkedin.datahub.graphql.exception.ValidationException;
+import com.linkedin.datahub.graphql.generated.EntityType;
+import com.linkedin.datahub.graphql.generated.EntityTypeSearchResults;
+import com.linkedin.datahub.graphql.generated.SearchAcrossEntitiesInput;
+import com.linkedin.datahub.graphql.generated.SearchAcrossEntitiesResults;
+import com.linkedin.datahub.graphql.generated.SearchResults;
+import com.linkedin.datahub.graphql.resolvers.ResolverUtils;
+import com.linkedin.datahub.graphql.types.SearchableEntityType;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static com.linkedin.datahub.graphql.resolvers.ResolverUtils.bindArgument;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Resolver responsible for resolving the 'searchAcrossEntities' field of the Query type.
+ *
+ * <p>Searches each requested {@link SearchableEntityType} concurrently. The search of a single entity type is bounded
+ * by a timeout; types which fail or time out are reported as such, while the results of the remaining types are
+ * still returned.
+ */
+@Slf4j
+public class SearchAcrossEntitiesResolver implements DataFetcher<CompletableFuture<SearchAcrossEntitiesResults>> {
+
+    private static final int DEFAULT_START = 0;
+    private static final int DEFAULT_COUNT = 10;
+    private static final int DEFAULT_TIMEOUT_MS = 2000;
+    private static final int MAX_TIMEOUT_MS = 10000;
+    private static final int DEFAULT_THREAD_POOL_SIZE = 32;
+
+    private final Map<EntityType, SearchableEntityType<?>> _typeToEntity;
+    private final ExecutorService _searchExecutor;
+    private final ScheduledExecutorService _timeoutExecutor;
+
+    public SearchAcrossEntitiesResolver(@Nonnull final List<SearchableEntityType<?>> searchableEntities) {
+        this(searchableEntities,
+            Executors.newFixedThreadPool(DEFAULT_THREAD_POOL_SIZE, new ThreadFactoryBuilder()
+                .setNameFormat("search-across-entities-%d")
+                .setDaemon(true)
+                .build()),
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("search-across-entities-timeout-%d")
+                .setDaemon(true)
+                .build()));
+    }
+
+    public SearchAcrossEntitiesResolver(@Nonnull final List<SearchableEntityType<?>> searchableEntities,
+                                        @Nonnull final ExecutorService searchExecutor,
+                                        @Nonnull final ScheduledExecutorService timeoutExecutor) {
+        _typeToEntity = searchableEntities.stream().collect(Collectors.toMap(
+                SearchableEntityType::type,
+                entity -> entity,
+                (first, second) -> first,
+                LinkedHashMap::new
+        ));
+        _searchExecutor = searchExecutor;
+        _timeoutExecutor = timeoutExecutor;
+    }
+
+    @Override
+    public CompletableFuture<SearchAcrossEntitiesResults> get(DataFetchingEnvironment environment) {
+        final SearchAcrossEntitiesInput input = bindArgument(environment.getArgument("input"), SearchAcrossEntitiesInput.class);
+
+        // escape forward slash since it is a reserved character in Elasticsearch
+        final String sanitizedQuery = ResolverUtils.escapeForwardSlash(input.getQuery());
+        if (isBlank(sanitizedQuery)) {
+            throw new ValidationException("'query' parameter cannot be null or empty");
+        }
+
+        final List<EntityType> types = input.getTypes() != null && !input.getTypes().isEmpty()
+                ? input.getTypes()
+                : new ArrayList<>(_typeToEntity.keySet());
+        for (EntityType type : types) {
+            if (!_typeToEntity.containsKey(type)) {
+                throw new ValidationException(String.format("Entity type %s is not searchable", type));
+            }
+        }
+
+        final int start = input.getStart() != null ? input.getStart() : DEFAULT_START;
+        final int count = input.getCount() != null ? input.getCount() : DEFAULT_COUNT;
+        if (input.getTimeoutMs() != null && input.getTimeoutMs() <= 0) {
+            throw new ValidationException("'timeoutMs' parameter must be positive");
+        }
+        final int timeoutMs = input.getTimeoutMs() != null
+                ? Math.min(input.getTimeoutMs(), MAX_TIMEOUT_MS)
+                : DEFAULT_TIMEOUT_MS;
+        final QueryContext context = environment.getContext();
+
+        final List<CompletableFuture<EntityTypeSearchResults>> futures = types.stream()
+                .distinct()
+                .map(type -> searchType(type, sanitizedQuery, start, count, timeoutMs, context))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    final List<EntityTypeSearchResults> results = futures.stream()
+                            .map(CompletableFuture::join)
+                            .collect(Collectors.toList());
+                    final SearchAcrossEntitiesResults searchResults = new SearchAcrossEntitiesResults();
+                    searchResults.setResults(results);
+                    searchResults.setTotal(results.stream().mapToInt(EntityTypeSearchResults::getTotal).sum());
+                    searchResults.setPartial(results.stream().anyMatch(result -> result.getTimedOut() || result.getFailed()));
+                    return searchResults;
+                });
+    }
+
+    private CompletableFuture<EntityTypeSearchResults> searchType(@Nonnull final EntityType type,
+                                                                  @Nonnull final String query,
+                                                                  final int start,
+                                                                  final int count,
+                                                                  final int timeoutMs,
+                                                                  @Nonnull final QueryContext context) {
+        // Submitted as a plain task rather than with supplyAsync, as cancelling a CompletableFuture does not interrupt
+        // the thread running it, which would keep holding a pool thread after the timeout
+        final CompletableFuture<SearchResults> search = new CompletableFuture<>();
+        final Future<?> task = _searchExecutor.submit(() -> {
+            try {
+                search.complete(_typeToEntity.get(type).search(query, null, start, count, context));
+            } catch (Exception e) {
+                search.completeExceptionally(new RuntimeException("Failed to execute search: "
+                    + String.format("entity type %s, query %s, start: %s, count: %s", type, query, start, count), e));
+            }
+        });
+
+        final CompletableFuture<SearchResults> timeout = new CompletableFuture<>();
+        final ScheduledFuture<?> timer = _timeoutExecutor.schedule(
+            () -> timeout.completeExceptionally(new TimeoutException()), timeoutMs, TimeUnit.MILLISECONDS);
+        search.whenComplete((results, throwable) -> timer.cancel(false));
+
+        return search.applyToEither(timeout, results -> typeResults(type, results, false, false))
+                .exceptionally(throwable -> {
+                    final boolean timedOut = throwable instanceof TimeoutException
+                            || throwable.getCause() instanceof TimeoutException;
+                    if (timedOut) {
+                        task.cancel(true);
+                        log.warn(String.format("Search of entity type %s timed out after %s ms", type, timeoutMs));
+                    } else {
+                        log.error(String.format("Search of entity type %s failed", type), throwable);
+                    }
+                    return typeResults(type, null, timedOut, !timedOut);
+                });
+    }
+
+    private static EntityTypeSearchResults typeResults(@Nonnull final EntityType type,
+                                                       final SearchResults results,
+                                                       final boolean timedOut,
+                                                       final boolean failed) {
+        final EntityTypeSearchResults typeResults = new EntityTypeSearchResults();
+        typeResults.setType(type);
+        typeResults.setResults(results);
+        typeResults.setTotal(results != null ? results.getTotal() : 0);
+        typeResults.setTimedOut(timedOut);
+        typeResults.setFailed(failed);
+        return typeResults;
+    }
+}
@@ -41,3 +41,20 @@ CREATE TABLE metadata_index (
  INDEX stringIndex (`urn`,`aspect`,`path`,`stringVal`),
  INDEX doubleIndex (`urn`,`aspect`,`path`,`doubleVal`)
 );
+
+-- create metadata event outbox tables, used by GMS when GMS_OUTBOX_ENABLED is set
+create table metadata_event_outbox (
+  id                            bigint not null auto_increment,
+  topic                         varchar(255) not null,
+  event_key                     varchar(500) not null,
+  payload                       longtext not null,
+  createdon                     datetime(6) not null,
+  constraint pk_metadata_event_outbox primary key (id)
+);
+
+create table metadata_event_outbox_lease (
+  name                          varchar(100) not null,
+  owner                         varchar(255) not null,
+  expireson                     bigint not null,
+  constraint pk_metadata_event_outbox_lease primary key (name)
+);
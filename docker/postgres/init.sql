@@ -26,3 +26,20 @@ insert into metadata_aspect (urn, aspect, version, metadata, createdon, createdb
   now(),
   'urn:li:principal:datahub'
 );
+
+-- create metadata event outbox tables, used by GMS when GMS_OUTBOX_ENABLED is set
+create table metadata_event_outbox (
+  id                            bigserial,
+  topic                         varchar(255) not null,
+  event_key                     varchar(500) not null,
+  payload                       text not null,
+  createdon                     timestamp not null,
+  constraint pk_metadata_event_outbox primary key (id)
+);
+
+create table metadata_event_outbox_lease (
+  name                          varchar(100) not null,
+  owner                         varchar(255) not null,
+  expireson                     bigint not null,
+  constraint pk_metadata_event_outbox_lease primary key (name)
+);
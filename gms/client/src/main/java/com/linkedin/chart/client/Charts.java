@@ -1,8 +1,10 @@
 package com.linkedin.chart.client;
 
 import com.linkedin.chart.ChartsDoAutocompleteRequestBuilder;
+import com.linkedin.chart.ChartsDoBrowseAfterRequestBuilder;
 import com.linkedin.chart.ChartsDoBrowseRequestBuilder;
 import com.linkedin.chart.ChartsDoGetBrowsePathsRequestBuilder;
+import com.linkedin.chart.ChartsFindBySearchAfterRequestBuilder;
 import com.linkedin.chart.ChartsFindBySearchRequestBuilder;
 import com.linkedin.chart.ChartsRequestBuilders;
 import com.linkedin.common.urn.ChartUrn;
@@ -15,6 +17,8 @@ import com.linkedin.metadata.dao.ChartActionRequestBuilder;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.BrowseResult;
+import com.linkedin.metadata.query.CursorBrowseResult;
+import com.linkedin.metadata.query.CursorSearchResultMetadata;
 import com.linkedin.metadata.query.SortCriterion;
 import com.linkedin.metadata.restli.BaseBrowsableClient;
 import com.linkedin.metadata.snapshot.ChartSnapshot;
@@ -153,6 +157,62 @@ public class Charts extends BaseBrowsableClient<Chart, ChartUrn> {
         return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
     }
 
+    /**
+     * Searches for charts matching to a given query and filters, one page at a time. Every page costs the same,
+     * however deep
+     *
+     * @param input search query
+     * @param aspectNames aspects of the charts to return
+     * @param requestFilters search filters
+     * @param sortCriterion sort criterion of the search results
+     * @param cursor next cursor of the {@link CursorSearchResultMetadata} of the previous page, or null for the first page
+     * @param count max number of search results requested
+     * @return page of search results, with a {@link CursorSearchResultMetadata} as metadata
+     * @throws RemoteInvocationException
+     */
+    @Nonnull
+    public CollectionResponse<Chart> searchAfter(@Nonnull String input, @Nullable StringArray aspectNames,
+        @Nullable Map<String, String> requestFilters, @Nullable SortCriterion sortCriterion, @Nullable String cursor,
+        int count) throws RemoteInvocationException {
+        final ChartsFindBySearchAfterRequestBuilder requestBuilder = CHARTS_REQUEST_BUILDERS.findBySearchAfter()
+            .inputParam(input)
+            .aspectsParam(aspectNames)
+            .sortParam(sortCriterion)
+            .paginate(0, count);
+        if (requestFilters != null) {
+            requestBuilder.filterParam(newFilter(requestFilters));
+        }
+        if (cursor != null) {
+            requestBuilder.cursorParam(cursor);
+        }
+        return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
+    }
+
+    /**
+     * Gets browse snapshot of a given path, one page of charts at a time. Every page costs the same, however deep
+     *
+     * @param path path being browsed
+     * @param requestFilters browse filters
+     * @param cursor next cursor of the previous page, or null for the first page
+     * @param limit max number of charts
+     * @throws RemoteInvocationException
+     */
+    @Nonnull
+    public CursorBrowseResult browseAfter(@Nonnull String path, @Nullable Map<String, String> requestFilters,
+        @Nullable String cursor, int limit) throws RemoteInvocationException {
+        final ChartsDoBrowseAfterRequestBuilder requestBuilder = CHARTS_REQUEST_BUILDERS
+            .actionBrowseAfter()
+            .pathParam(path)
+            .limitParam(limit);
+        if (requestFilters != null) {
+            requestBuilder.filterParam(newFilter(requestFilters));
+        }
+        if (cursor != null) {
+            requestBuilder.cursorParam(cursor);
+        }
+        return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
+    }
+
     /**
      * Update an existing Chart
      */
@@ -4,8 +4,10 @@ import com.linkedin.common.urn.DashboardUrn;
 import com.linkedin.dashboard.Dashboard;
 import com.linkedin.dashboard.DashboardKey;
 import com.linkedin.dashboard.DashboardsDoAutocompleteRequestBuilder;
+import com.linkedin.dashboard.DashboardsDoBrowseAfterRequestBuilder;
 import com.linkedin.dashboard.DashboardsDoBrowseRequestBuilder;
 import com.linkedin.dashboard.DashboardsDoGetBrowsePathsRequestBuilder;
+import com.linkedin.dashboard.DashboardsFindBySearchAfterRequestBuilder;
 import com.linkedin.dashboard.DashboardsFindBySearchRequestBuilder;
 import com.linkedin.dashboard.DashboardsRequestBuilders;
 import com.linkedin.data.template.StringArray;
@@ -15,6 +17,8 @@ import com.linkedin.metadata.dao.DashboardActionRequestBuilder;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.BrowseResult;
+import com.linkedin.metadata.query.CursorBrowseResult;
+import com.linkedin.metadata.query.CursorSearchResultMetadata;
 import com.linkedin.metadata.query.SortCriterion;
 import com.linkedin.metadata.restli.BaseBrowsableClient;
 import com.linkedin.metadata.snapshot.DashboardSnapshot;
@@ -153,6 +157,62 @@ public class Dashboards extends BaseBrowsableClient<Dashboard, DashboardUrn> {
         return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
     }
 
+    /**
+     * Searches for dashboards matching to a given query and filters, one page at a time. Every page costs the same,
+     * however deep
+     *
+     * @param input search query
+     * @param aspectNames aspects of the dashboards to return
+     * @param requestFilters search filters
+     * @param sortCriterion sort criterion of the search results
+     * @param cursor next cursor of the {@link CursorSearchResultMetadata} of the previous page, or null for the first page
+     * @param count max number of search results requested
+     * @return page of search results, with a {@link CursorSearchResultMetadata} as metadata
+     * @throws RemoteInvocationException
+     */
+    @Nonnull
+    public CollectionResponse<Dashboard> searchAfter(@Nonnull String input, @Nullable StringArray aspectNames,
+        @Nullable Map<String, String> requestFilters, @Nullable SortCriterion sortCriterion, @Nullable String cursor,
+        int count) throws RemoteInvocationException {
+        final DashboardsFindBySearchAfterRequestBuilder requestBuilder = DASHBOARDS_REQUEST_BUILDERS.findBySearchAfter()
+            .inputParam(input)
+            .aspectsParam(aspectNames)
+            .sortParam(sortCriterion)
+            .paginate(0, count);
+        if (requestFilters != null) {
+            requestBuilder.filterParam(newFilter(requestFilters));
+        }
+        if (cursor != null) {
+            requestBuilder.cursorParam(cursor);
+        }
+        return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
+    }
+
+    /**
+     * Gets browse snapshot of a given path, one page of dashboards at a time. Every page costs the same, however deep
+     *
+     * @param path path being browsed
+     * @param requestFilters browse filters
+     * @param cursor next cursor of the previous page, or null for the first page
+     * @param limit max number of dashboards
+     * @throws RemoteInvocationException
+     */
+    @Nonnull
+    public CursorBrowseResult browseAfter(@Nonnull String path, @Nullable Map<String, String> requestFilters,
+        @Nullable String cursor, int limit) throws RemoteInvocationException {
+        final DashboardsDoBrowseAfterRequestBuilder requestBuilder = DASHBOARDS_REQUEST_BUILDERS
+            .actionBrowseAfter()
+            .pathParam(path)
+            .limitParam(limit);
+        if (requestFilters != null) {
+            requestBuilder.filterParam(newFilter(requestFilters));
+        }
+        if (cursor != null) {
+            requestBuilder.cursorParam(cursor);
+        }
+        return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
+    }
+
     /**
      * Update an existing Dashboard
      */
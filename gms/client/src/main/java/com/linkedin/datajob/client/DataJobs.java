@@ -2,13 +2,17 @@ package com.linkedin.datajob.client;
 
 import com.linkedin.common.urn.DataJobUrn;
 import com.linkedin.data.template.StringArray;
+import com.linkedin.datajob.DataJobsDoBrowseAfterRequestBuilder;
 import com.linkedin.datajob.DataJobsDoBrowseRequestBuilder;
 import com.linkedin.datajob.DataJobsDoGetBrowsePathsRequestBuilder;
+import com.linkedin.datajob.DataJobsFindBySearchAfterRequestBuilder;
 import com.linkedin.metadata.aspect.DataJobAspect;
 import com.linkedin.metadata.dao.DataJobActionRequestBuilder;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.BrowseResult;
+import com.linkedin.metadata.query.CursorBrowseResult;
+import com.linkedin.metadata.query.CursorSearchResultMetadata;
 import com.linkedin.metadata.query.SortCriterion;
 import com.linkedin.metadata.restli.BaseBrowsableClient;
 import com.linkedin.datajob.DataJob;
@@ -123,6 +127,62 @@ public class DataJobs extends BaseBrowsableClient<DataJob, DataJobUrn> {
         return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
     }
 
+    /**
+     * Searches for data jobs matching to a given query and filters, one page at a time. Every page costs the same,
+     * however deep
+     *
+     * @param input search query
+     * @param aspectNames aspects of the data jobs to return
+     * @param requestFilters search filters
+     * @param sortCriterion sort criterion of the search results
+     * @param cursor next cursor of the {@link CursorSearchResultMetadata} of the previous page, or null for the first page
+     * @param count max number of search results requested
+     * @return page of search results, with a {@link CursorSearchResultMetadata} as metadata
+     * @throws RemoteInvocationException
+     */
+    @Nonnull
+    public CollectionResponse<DataJob> searchAfter(@Nonnull String input, @Nullable StringArray aspectNames,
+        @Nullable Map<String, String> requestFilters, @Nullable SortCriterion sortCriterion, @Nullable String cursor,
+        int count) throws RemoteInvocationException {
+        final DataJobsFindBySearchAfterRequestBuilder requestBuilder = DATA_JOBS_REQUEST_BUILDERS.findBySearchAfter()
+            .inputParam(input)
+            .aspectsParam(aspectNames)
+            .sortParam(sortCriterion)
+            .paginate(0, count);
+        if (requestFilters != null) {
+            requestBuilder.filterParam(newFilter(requestFilters));
+        }
+        if (cursor != null) {
+            requestBuilder.cursorParam(cursor);
+        }
+        return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
+    }
+
+    /**
+     * Gets browse snapshot of a given path, one page of data jobs at a time. Every page costs the same, however deep
+     *
+     * @param path path being browsed
+     * @param requestFilters browse filters
+     * @param cursor next cursor of the previous page, or null for the first page
+     * @param limit max number of data jobs
+     * @throws RemoteInvocationException
+     */
+    @Nonnull
+    public CursorBrowseResult browseAfter(@Nonnull String path, @Nullable Map<String, String> requestFilters,
+        @Nullable String cursor, int limit) throws RemoteInvocationException {
+        final DataJobsDoBrowseAfterRequestBuilder requestBuilder = DATA_JOBS_REQUEST_BUILDERS
+            .actionBrowseAfter()
+            .pathParam(path)
+            .limitParam(limit);
+        if (requestFilters != null) {
+            requestBuilder.filterParam(newFilter(requestFilters));
+        }
+        if (cursor != null) {
+            requestBuilder.cursorParam(cursor);
+        }
+        return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
+    }
+
     /**
      * Searches for data jobs matching to a given query and filters
      *
@@ -8,10 +8,12 @@ import com.linkedin.dataset.Dataset;
 import com.linkedin.dataset.DatasetKey;
 import com.linkedin.dataset.DatasetProperties;
 import com.linkedin.dataset.DatasetsDoAutocompleteRequestBuilder;
+import com.linkedin.dataset.DatasetsDoBrowseAfterRequestBuilder;
 import com.linkedin.dataset.DatasetsDoBrowseRequestBuilder;
 import com.linkedin.dataset.DatasetsDoGetBrowsePathsRequestBuilder;
 import com.linkedin.dataset.DatasetsDoGetSnapshotRequestBuilder;
 import com.linkedin.dataset.DatasetsFindByFilterRequestBuilder;
+import com.linkedin.dataset.DatasetsFindBySearchAfterRequestBuilder;
 import com.linkedin.dataset.DatasetsFindBySearchRequestBuilder;
 import com.linkedin.dataset.DatasetsRequestBuilders;
 import com.linkedin.metadata.aspect.DatasetAspect;
@@ -19,6 +21,8 @@ import com.linkedin.metadata.dao.DatasetActionRequestBuilder;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.BrowseResult;
+import com.linkedin.metadata.query.CursorBrowseResult;
+import com.linkedin.metadata.query.CursorSearchResultMetadata;
 import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.SortCriterion;
 import com.linkedin.metadata.restli.BaseBrowsableClient;
@@ -146,6 +150,62 @@ public class Datasets extends BaseBrowsableClient<Dataset, DatasetUrn> {
         return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
     }
 
+    /**
+     * Searches for datasets matching to a given query and filters, one page at a time. Every page costs the same,
+     * however deep
+     *
+     * @param input search query
+     * @param aspectNames aspects of the datasets to return
+     * @param requestFilters search filters
+     * @param sortCriterion sort criterion of the search results
+     * @param cursor next cursor of the {@link CursorSearchResultMetadata} of the previous page, or null for the first page
+     * @param count max number of search results requested
+     * @return page of search results, with a {@link CursorSearchResultMetadata} as metadata
+     * @throws RemoteInvocationException
+     */
+    @Nonnull
+    public CollectionResponse<Dataset> searchAfter(@Nonnull String input, @Nullable StringArray aspectNames,
+        @Nullable Map<String, String> requestFilters, @Nullable SortCriterion sortCriterion, @Nullable String cursor,
+        int count) throws RemoteInvocationException {
+        final DatasetsFindBySearchAfterRequestBuilder requestBuilder = DATASETS_REQUEST_BUILDERS.findBySearchAfter()
+            .inputParam(input)
+            .aspectsParam(aspectNames)
+            .sortParam(sortCriterion)
+            .paginate(0, count);
+        if (requestFilters != null) {
+            requestBuilder.filterParam(newFilter(requestFilters));
+        }
+        if (cursor != null) {
+            requestBuilder.cursorParam(cursor);
+        }
+        return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
+    }
+
+    /**
+     * Gets browse snapshot of a given path, one page of datasets at a time. Every page costs the same, however deep
+     *
+     * @param path path being browsed
+     * @param requestFilters browse filters
+     * @param cursor next cursor of the previous page, or null for the first page
+     * @param limit max number of datasets
+     * @throws RemoteInvocationException
+     */
+    @Nonnull
+    public CursorBrowseResult browseAfter(@Nonnull String path, @Nullable Map<String, String> requestFilters,
+        @Nullable String cursor, int limit) throws RemoteInvocationException {
+        final DatasetsDoBrowseAfterRequestBuilder requestBuilder = DATASETS_REQUEST_BUILDERS
+            .actionBrowseAfter()
+            .pathParam(path)
+            .limitParam(limit);
+        if (requestFilters != null) {
+            requestBuilder.filterParam(newFilter(requestFilters));
+        }
+        if (cursor != null) {
+            requestBuilder.cursorParam(cursor);
+        }
+        return _client.sendRequest(requestBuilder.build()).getResponse().getEntity();
+    }
+
     /**
      * Gets list of dataset urns from strongly consistent local secondary index
      *
@@ -0,0 +1,43 @@
+package com.linkedin.search.client;
+
+import com.linkedin.common.client.BaseClient;
+import com.linkedin.metadata.query.CrossEntitySearchResult;
+import com.linkedin.r2.RemoteInvocationException;
+import com.linkedin.restli.client.Client;
+import com.linkedin.restli.client.GetRequest;
+import com.linkedin.search.CrossEntitySearchRequestBuilders;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+
+public class CrossEntitySearches extends BaseClient {
+
+    private static final CrossEntitySearchRequestBuilders CROSS_ENTITY_SEARCH_REQUEST_BUILDERS =
+            new CrossEntitySearchRequestBuilders();
+
+    public CrossEntitySearches(@Nonnull Client restliClient) {
+        super(restliClient);
+    }
+
+    /**
+     * Searches the given entity types, or all searchable entity types if empty, in a single request.
+     *
+     * @param input search query
+     * @param entityTypes entity types to search, e.g. 'dataset'
+     * @param start offset of the first result of every entity type
+     * @param count number of results of every entity type
+     * @return {@link CrossEntitySearchResult} with the results grouped by entity type
+     */
+    @Nonnull
+    public CrossEntitySearchResult search(@Nonnull String input, @Nonnull Collection<String> entityTypes, int start,
+            int count) throws RemoteInvocationException {
+
+        final GetRequest<CrossEntitySearchResult> request = CROSS_ENTITY_SEARCH_REQUEST_BUILDERS.get()
+                .inputParam(input)
+                .entitiesParam(entityTypes)
+                .startParam(start)
+                .countParam(count)
+                .build();
+        return _client.sendRequest(request).getResponseEntity();
+    }
+}
@@ -0,0 +1,37 @@
+package com.linkedin.gms.factory.common;
+
+import com.linkedin.metadata.index.BulkLoadMode;
+import javax.annotation.Nonnull;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+
+/**
+ * Creates the {@link BulkLoadMode} search indices are switched to while they are rebuilt or backfilled.
+ */
+@Configuration
+@Import({RestHighLevelClientFactory.class})
+public class BulkLoadModeFactory {
+  public static final String BULK_LOAD_MODE_BEAN = "bulkLoadMode";
+
+  @Value("${ELASTICSEARCH_BULK_LOAD_TIMEOUT_MS:21600000}")
+  private long timeoutMillis;
+
+  @Value("${ELASTICSEARCH_BULK_LOAD_MAX_NUM_SEGMENTS:5}")
+  private int maxNumSegments;
+
+  @Autowired
+  @Qualifier(RestHighLevelClientFactory.INDEXING_CLIENT_BEAN)
+  private RestHighLevelClient indexingClient;
+
+  @Bean(name = BULK_LOAD_MODE_BEAN)
+  @Nonnull
+  protected BulkLoadMode createInstance() {
+    return new BulkLoadMode(indexingClient, timeoutMillis, maxNumSegments);
+  }
+}
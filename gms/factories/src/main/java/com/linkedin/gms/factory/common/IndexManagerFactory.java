@@ -0,0 +1,77 @@
+package com.linkedin.gms.factory.common;
+
+import com.linkedin.metadata.index.BulkLoadMode;
+import com.linkedin.metadata.index.IndexDefinitions;
+import com.linkedin.metadata.index.IndexManager;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
+
+
+/**
+ * Creates the {@link IndexManager} and, when ELASTICSEARCH_MANAGE_INDICES is set, creates or rebuilds the search
+ * indices in the background on startup.
+ *
+ * <p>ELASTICSEARCH_REINDEX_DUAL_WRITE_DELAY_MS must exceed the ELASTICSEARCH_REINDEX_TARGETS_REFRESH_MS of the MAE
+ * consumer job for it to pick up new indices before documents are copied into them. With
+ * ELASTICSEARCH_REINDEX_BULK_LOAD, documents are copied into new indices in {@link BulkLoadMode}.
+ */
+@Slf4j
+@Configuration
+@Import({RestHighLevelClientFactory.class, IndexConventionFactory.class, BulkLoadModeFactory.class})
+public class IndexManagerFactory {
+
+  @Value("${ELASTICSEARCH_MANAGE_INDICES:false}")
+  private boolean manageIndices;
+
+  @Value("${ELASTICSEARCH_REINDEX_DUAL_WRITE_DELAY_MS:30000}")
+  private long dualWriteDelayMillis;
+
+  @Value("${ELASTICSEARCH_REINDEX_MAX_PASSES:5}")
+  private int maxPasses;
+
+  @Value("${ELASTICSEARCH_REINDEX_PARALLELISM:2}")
+  private int parallelism;
+
+  @Value("${ELASTICSEARCH_REINDEX_BULK_LOAD:true}")
+  private boolean bulkLoad;
+
+  @Value("${ELASTICSEARCH_DOCS_PER_SHARD:10000000}")
+  private long docsPerShard;
+
+  @Autowired
+  @Qualifier(BulkLoadModeFactory.BULK_LOAD_MODE_BEAN)
+  private BulkLoadMode bulkLoadMode;
+
+  @Autowired
+  @Qualifier(RestHighLevelClientFactory.INDEXING_CLIENT_BEAN)
+  private RestHighLevelClient indexingClient;
+
+  @Autowired
+  @Qualifier(IndexConventionFactory.INDEX_CONVENTION_BEAN)
+  private IndexConvention indexConvention;
+
+  @Bean(name = "indexManager")
+  @Lazy(false)
+  @Nonnull
+  protected IndexManager createInstance() {
+    final IndexManager indexManager = new IndexManager(indexingClient, indexConvention, IndexDefinitions.all(),
+        dualWriteDelayMillis, maxPasses, parallelism, bulkLoad ? bulkLoadMode : null, docsPerShard);
+    if (manageIndices) {
+      final Thread thread = new Thread(indexManager::ensureIndices, "search-index-manager");
+      thread.setDaemon(true);
+      thread.start();
+    } else {
+      log.info("Search indices are not managed by GMS, set ELASTICSEARCH_MANAGE_INDICES to enable");
+    }
+    return indexManager;
+  }
+}
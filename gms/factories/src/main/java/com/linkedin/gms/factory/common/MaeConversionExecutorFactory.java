@@ -0,0 +1,36 @@
+package com.linkedin.gms.factory.common;
+
+import com.linkedin.metadata.dao.producer.OrderedExecutor;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+
+/**
+ * Creates the {@link OrderedExecutor} the DAOs convert MAEs to Avro and send them on, off the threads serving writes.
+ *
+ * <p>It depends on the Kafka producer so as to be closed, sending the events still queued, before the producer is.
+ * The number of queued events is published as the 'kafka.producer.conversion.queue' gauge.
+ */
+@Configuration
+public class MaeConversionExecutorFactory {
+  public static final String MAE_CONVERSION_EXECUTOR_BEAN = "maeConversionExecutor";
+
+  @Value("${MAE_CONVERSION_THREADS:4}")
+  private int threads;
+
+  @Value("${MAE_CONVERSION_QUEUE_SIZE:1000}")
+  private int queueSize;
+
+  @Bean(name = MAE_CONVERSION_EXECUTOR_BEAN)
+  @DependsOn({"kafkaEventProducer"})
+  @Nonnull
+  protected OrderedExecutor createInstance() {
+    final OrderedExecutor executor = new OrderedExecutor("mae-conversion", threads, queueSize);
+    MetricUtils.get().gauge("kafka.producer.conversion.queue", executor, OrderedExecutor::getQueueSize);
+    return executor;
+  }
+}
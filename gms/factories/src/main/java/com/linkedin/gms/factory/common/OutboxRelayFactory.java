@@ -0,0 +1,51 @@
+package com.linkedin.gms.factory.common;
+
+import com.linkedin.metadata.outbox.OutboxRelay;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import javax.annotation.Nonnull;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+
+/**
+ * Starts the {@link OutboxRelay} sending the MAEs the DAOs write to the outbox table when GMS_OUTBOX_ENABLED is set.
+ *
+ * <p>It depends on the Kafka producer so as to be closed, releasing its lease, before the producer is.
+ */
+@Configuration
+@ConditionalOnProperty(name = "GMS_OUTBOX_ENABLED", havingValue = "true")
+public class OutboxRelayFactory {
+  public static final String OUTBOX_RELAY_BEAN = "outboxRelay";
+
+  @Value("${GMS_OUTBOX_RELAY_BATCH_SIZE:500}")
+  private int batchSize;
+
+  @Value("${GMS_OUTBOX_RELAY_INTERVAL_MS:100}")
+  private long intervalMillis;
+
+  @Value("${GMS_OUTBOX_RELAY_LEASE_MS:30000}")
+  private long leaseMillis;
+
+  @Autowired
+  ApplicationContext applicationContext;
+
+  @Bean(name = OUTBOX_RELAY_BEAN)
+  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer"})
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  protected OutboxRelay createInstance() {
+    final OutboxRelay relay =
+        new OutboxRelay(EbeanServerFactory.create(applicationContext.getBean(ServerConfig.class)),
+            (Producer<String, IndexedRecord>) applicationContext.getBean(Producer.class), batchSize, leaseMillis);
+    relay.start(intervalMillis);
+    return relay;
+  }
+}
@@ -0,0 +1,33 @@
+package com.linkedin.gms.factory.common;
+
+import com.linkedin.metadata.index.ReindexTargets;
+import javax.annotation.Nonnull;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+
+/**
+ * Creates the {@link ReindexTargets} search index writers use to dual-write into indices being rebuilt.
+ */
+@Configuration
+@Import({RestHighLevelClientFactory.class})
+public class ReindexTargetsFactory {
+
+  @Value("${ELASTICSEARCH_REINDEX_TARGETS_REFRESH_MS:10000}")
+  private long refreshMillis;
+
+  @Autowired
+  @Qualifier("elasticSearchRestHighLevelClient")
+  private RestHighLevelClient searchClient;
+
+  @Bean(name = "reindexTargets")
+  @Nonnull
+  protected ReindexTargets createInstance() {
+    return new ReindexTargets(searchClient, refreshMillis);
+  }
+}
@@ -1,30 +1,53 @@
 package com.linkedin.gms.factory.common;
 
+import com.linkedin.metadata.utils.elasticsearch.RestClientMetrics;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.annotation.Nonnull;
+import javax.annotation.PreDestroy;
 import javax.net.ssl.SSLContext;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.sniff.ElasticsearchNodesSniffer;
+import org.elasticsearch.client.sniff.SniffOnFailureListener;
+import org.elasticsearch.client.sniff.Sniffer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
-import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.auth.AuthScope;
 
+/**
+ * Creates the Elasticsearch clients: the primary client, for queries, and a client for indexing traffic, so that bulk
+ * writes and reindexing cannot take the connections user-facing searches need. Each client has its own connection
+ * pool, publishes the metrics of {@link RestClientMetrics} tagged with its name, and can discover the other nodes of
+ * the cluster with a {@link Sniffer} when ELASTICSEARCH_SNIFF is set. Sniffing connects to the addresses nodes
+ * publish, so it must stay disabled when Elasticsearch is only reachable through a proxy or load balancer.
+ */
 @Slf4j
 @Configuration
 @Import({ ElasticsearchSSLContextFactory.class })
 public class RestHighLevelClientFactory {
+  public static final String QUERY_CLIENT_BEAN = "elasticSearchRestHighLevelClient";
+  public static final String INDEXING_CLIENT_BEAN = "elasticSearchIndexingRestHighLevelClient";
 
   @Value("${ELASTICSEARCH_HOST:localhost}")
   private String host;
@@ -47,62 +70,110 @@ public class RestHighLevelClientFactory {
   @Value("${ELASTICSEARCH_USE_SSL:false}")
   private boolean useSSL;
 
+  @Value("${ELASTICSEARCH_MAX_CONNECTIONS:30}")
+  private int maxConnections;
+
+  @Value("${ELASTICSEARCH_MAX_CONNECTIONS_PER_ROUTE:10}")
+  private int maxConnectionsPerRoute;
+
+  @Value("${ELASTICSEARCH_INDEXING_MAX_CONNECTIONS:10}")
+  private int indexingMaxConnections;
+
+  @Value("${ELASTICSEARCH_INDEXING_MAX_CONNECTIONS_PER_ROUTE:5}")
+  private int indexingMaxConnectionsPerRoute;
+
+  @Value("${ELASTICSEARCH_SNIFF:false}")
+  private boolean sniff;
+
+  @Value("${ELASTICSEARCH_SNIFF_INTERVAL_MS:300000}")
+  private int sniffIntervalMillis;
+
+  @Value("${ELASTICSEARCH_SNIFF_AFTER_FAILURE_DELAY_MS:60000}")
+  private int sniffAfterFailureDelayMillis;
+
   @Autowired
   @Qualifier("elasticSearchSSLContext")
   private SSLContext sslContext;
 
-  @Bean(name = "elasticSearchRestHighLevelClient")
+  private final List<Sniffer> sniffers = new CopyOnWriteArrayList<>();
+
+  @Bean(name = QUERY_CLIENT_BEAN)
+  @Primary
   @Nonnull
   protected RestHighLevelClient createInstance() {
-    RestClientBuilder restClientBuilder;
-
-    if (useSSL) {
-      restClientBuilder = loadRestHttpsClient(host, port, threadCount, connectionRequestTimeout, sslContext, username,
-          password);
-    } else {
-      restClientBuilder = loadRestHttpClient(host, port, threadCount, connectionRequestTimeout);
-    }
-
-    return new RestHighLevelClient(restClientBuilder);
+    return createClient("query", maxConnections, maxConnectionsPerRoute);
   }
 
+  @Bean(name = INDEXING_CLIENT_BEAN)
   @Nonnull
-  private static RestClientBuilder loadRestHttpClient(@Nonnull String host, int port, int threadCount,
-      int connectionRequestTimeout) {
-    RestClientBuilder builder = RestClient.builder(new HttpHost(host, port, "http"))
-        .setHttpClientConfigCallback(httpAsyncClientBuilder -> httpAsyncClientBuilder
-            .setDefaultIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(threadCount).build()));
-
-    builder.setRequestConfigCallback(
-        requestConfigBuilder -> requestConfigBuilder.setConnectionRequestTimeout(connectionRequestTimeout));
+  protected RestHighLevelClient createIndexingInstance() {
+    return createClient("indexing", indexingMaxConnections, indexingMaxConnectionsPerRoute);
+  }
 
-    return builder;
+  @PreDestroy
+  public void closeSniffers() {
+    sniffers.forEach(Sniffer::close);
   }
 
   @Nonnull
-  private static RestClientBuilder loadRestHttpsClient(@Nonnull String host, int port, int threadCount,
-      int connectionRequestTimeout, @Nonnull SSLContext sslContext, String username, String password) {
-
-    final RestClientBuilder builder = RestClient.builder(new HttpHost(host, port, "https"));
-    builder.setHttpClientConfigCallback(new RestClientBuilder.HttpClientConfigCallback() {
-      public HttpAsyncClientBuilder customizeHttpClient(HttpAsyncClientBuilder httpAsyncClientBuilder) {
-        httpAsyncClientBuilder.setSSLContext(sslContext).setSSLHostnameVerifier(new NoopHostnameVerifier())
-            .setDefaultIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(threadCount).build());
-
-        if (username != null && password != null) {
-          final CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
-          credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
-          httpAsyncClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
-        }
-
-        return httpAsyncClientBuilder;
+  private RestHighLevelClient createClient(@Nonnull String name, int maxConnections, int maxConnectionsPerRoute) {
+    final PoolingNHttpClientConnectionManager connectionManager =
+        createConnectionManager(maxConnections, maxConnectionsPerRoute);
+    RestClientMetrics.monitor(name, connectionManager);
+
+    final RestClientBuilder builder = RestClient.builder(new HttpHost(host, port, useSSL ? "https" : "http"));
+    builder.setHttpClientConfigCallback(httpAsyncClientBuilder -> {
+      httpAsyncClientBuilder.setConnectionManager(connectionManager);
+      if (useSSL && username != null && password != null) {
+        final CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
+        httpAsyncClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
       }
+      return RestClientMetrics.instrument(name, httpAsyncClientBuilder);
     });
-
     builder.setRequestConfigCallback(
         requestConfigBuilder -> requestConfigBuilder.setConnectionRequestTimeout(connectionRequestTimeout));
 
-    return builder;
+    final SniffOnFailureListener sniffOnFailureListener = new SniffOnFailureListener();
+    if (sniff) {
+      builder.setFailureListener(sniffOnFailureListener);
+    }
+    final RestHighLevelClient client = new RestHighLevelClient(builder);
+    if (sniff) {
+      final Sniffer sniffer = Sniffer.builder(client.getLowLevelClient())
+          .setSniffIntervalMillis(sniffIntervalMillis)
+          .setSniffAfterFailureDelayMillis(sniffAfterFailureDelayMillis)
+          .setNodesSniffer(new ElasticsearchNodesSniffer(client.getLowLevelClient(),
+              ElasticsearchNodesSniffer.DEFAULT_SNIFF_REQUEST_TIMEOUT,
+              useSSL ? ElasticsearchNodesSniffer.Scheme.HTTPS : ElasticsearchNodesSniffer.Scheme.HTTP))
+          .build();
+      sniffOnFailureListener.setSniffer(sniffer);
+      sniffers.add(sniffer);
+      log.info("Sniffing the nodes of the Elasticsearch cluster for the {} client every {}ms", name,
+          sniffIntervalMillis);
+    }
+    return client;
   }
 
+  @Nonnull
+  private PoolingNHttpClientConnectionManager createConnectionManager(int maxConnections,
+      int maxConnectionsPerRoute) {
+    final RegistryBuilder<SchemeIOSessionStrategy> sessionStrategies =
+        RegistryBuilder.<SchemeIOSessionStrategy>create().register("http", NoopIOSessionStrategy.INSTANCE);
+    if (useSSL) {
+      sessionStrategies.register("https", new SSLIOSessionStrategy(sslContext, new NoopHostnameVerifier()));
+    }
+
+    final PoolingNHttpClientConnectionManager connectionManager;
+    try {
+      connectionManager = new PoolingNHttpClientConnectionManager(
+          new DefaultConnectingIOReactor(IOReactorConfig.custom().setIoThreadCount(threadCount).build()),
+          sessionStrategies.build());
+    } catch (IOReactorException e) {
+      throw new IllegalStateException("Failed to create the I/O reactor of the Elasticsearch client", e);
+    }
+    connectionManager.setMaxTotal(maxConnections);
+    connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+    return connectionManager;
+  }
 }
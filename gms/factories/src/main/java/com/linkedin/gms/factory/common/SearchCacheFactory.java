@@ -0,0 +1,48 @@
+package com.linkedin.gms.factory.common;
+
+import com.linkedin.metadata.cache.IndexGenerations;
+import com.linkedin.metadata.cache.SearchCache;
+import javax.annotation.Nonnull;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+
+/**
+ * Creates the {@link SearchCache} wrapped around the search DAOs. Setting SEARCH_CACHE_MAX_ENTRIES to 0 disables it.
+ */
+@Configuration
+@Import({RestHighLevelClientFactory.class})
+public class SearchCacheFactory {
+  public static final String SEARCH_CACHE_BEAN = "searchCache";
+
+  @Value("${SEARCH_CACHE_TTL_MS:10000}")
+  private long ttlMillis;
+
+  @Value("${SEARCH_CACHE_MAX_ENTRIES:10000}")
+  private long maxEntries;
+
+  @Value("${SEARCH_CACHE_GENERATION_REFRESH_MS:1000}")
+  private long generationRefreshMillis;
+
+  @Value("${SEARCH_CACHE_SETTLE_MS:2000}")
+  private long settleMillis;
+
+  @Autowired
+  @Qualifier("elasticSearchRestHighLevelClient")
+  private RestHighLevelClient searchClient;
+
+  @Bean(name = SEARCH_CACHE_BEAN)
+  @Nonnull
+  protected SearchCache createInstance() {
+    final IndexGenerations generations = new IndexGenerations(searchClient, settleMillis);
+    if (ttlMillis > 0 && maxEntries > 0) {
+      generations.start(generationRefreshMillis);
+    }
+    return new SearchCache(generations, ttlMillis, maxEntries);
+  }
+}
@@ -0,0 +1,30 @@
+package com.linkedin.gms.factory.common;
+
+import com.linkedin.metadata.templates.SearchTemplateStore;
+import java.nio.file.Paths;
+import javax.annotation.Nonnull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+
+/**
+ * Creates the {@link SearchTemplateStore} overriding the bundled search query templates from the SEARCH_TEMPLATE_DIR
+ * directory. Leaving it unset keeps the bundled templates.
+ */
+@Configuration
+public class SearchTemplateStoreFactory {
+  public static final String SEARCH_TEMPLATE_STORE_BEAN = "searchTemplateStore";
+
+  @Value("${SEARCH_TEMPLATE_DIR:}")
+  private String directory;
+
+  @Value("${SEARCH_TEMPLATE_RELOAD_MS:30000}")
+  private long reloadMillis;
+
+  @Bean(name = SEARCH_TEMPLATE_STORE_BEAN)
+  @Nonnull
+  protected SearchTemplateStore createInstance() {
+    return new SearchTemplateStore(directory.isEmpty() ? null : Paths.get(directory)).start(reloadMillis);
+  }
+}
@@ -1,13 +1,17 @@
 package com.linkedin.gms.factory.dashboard;
 
 import com.linkedin.gms.factory.common.IndexConventionFactory;
+import com.linkedin.metadata.browse.BrowseTreeDAO;
 import com.linkedin.metadata.configs.BrowseConfigFactory;
+import com.linkedin.metadata.dao.BaseBrowseDAO;
+import com.linkedin.metadata.dao.browse.BaseBrowseConfig;
 import com.linkedin.metadata.dao.browse.ESBrowseDAO;
 import com.linkedin.metadata.search.ChartDocument;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import javax.annotation.Nonnull;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,11 +23,17 @@ public class ChartBrowseDAOFactory {
   @Autowired
   ApplicationContext applicationContext;
 
+  @Value("${BROWSE_TREE_ENABLED:false}")
+  private boolean browseTreeEnabled;
+
   @Nonnull
   @Bean(name = "chartBrowseDao")
   @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN})
-  protected ESBrowseDAO createInstance() {
-    return new ESBrowseDAO(applicationContext.getBean(RestHighLevelClient.class),
-        BrowseConfigFactory.getBrowseConfig(ChartDocument.class, applicationContext.getBean(IndexConvention.class)));
+  protected BaseBrowseDAO createInstance() {
+    final RestHighLevelClient client = applicationContext.getBean(RestHighLevelClient.class);
+    final BaseBrowseConfig<ChartDocument> browseConfig =
+        BrowseConfigFactory.getBrowseConfig(ChartDocument.class, applicationContext.getBean(IndexConvention.class));
+    final ESBrowseDAO browseDAO = new ESBrowseDAO(client, browseConfig);
+    return browseTreeEnabled ? new BrowseTreeDAO(client, browseConfig, browseDAO) : browseDAO;
   }
 }
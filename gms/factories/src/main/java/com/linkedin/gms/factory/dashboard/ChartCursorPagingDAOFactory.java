@@ -0,0 +1,40 @@
+package com.linkedin.gms.factory.dashboard;
+
+import com.linkedin.gms.factory.common.IndexConventionFactory;
+import com.linkedin.gms.factory.common.SearchTemplateStoreFactory;
+import com.linkedin.metadata.configs.BrowseConfigFactory;
+import com.linkedin.metadata.configs.ChartSearchConfig;
+import com.linkedin.metadata.dao.BaseBrowseDAO;
+import com.linkedin.metadata.dao.search.ESSearchDAO;
+import com.linkedin.metadata.paging.CursorPagingDAO;
+import com.linkedin.metadata.search.ChartDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import javax.annotation.Nonnull;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+
+@Configuration
+public class ChartCursorPagingDAOFactory {
+  @Autowired
+  ApplicationContext applicationContext;
+
+  @Nonnull
+  @Bean(name = "chartCursorPagingDao")
+  @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN,
+      SearchTemplateStoreFactory.SEARCH_TEMPLATE_STORE_BEAN, "chartBrowseDao"})
+  protected CursorPagingDAO<ChartDocument> createInstance() {
+    final RestHighLevelClient client = applicationContext.getBean(RestHighLevelClient.class);
+    final IndexConvention indexConvention = applicationContext.getBean(IndexConvention.class);
+    return new CursorPagingDAO<>(client,
+        new ESSearchDAO<>(client, ChartDocument.class, new ChartSearchConfig(indexConvention,
+            applicationContext.getBean(SearchTemplateStore.class))),
+        BrowseConfigFactory.getBrowseConfig(ChartDocument.class, indexConvention),
+        applicationContext.getBean("chartBrowseDao", BaseBrowseDAO.class));
+  }
+}
@@ -1,16 +1,21 @@
 package com.linkedin.gms.factory.dashboard;
 
 import com.linkedin.common.urn.DashboardUrn;
+import com.linkedin.gms.factory.common.MaeConversionExecutorFactory;
 import com.linkedin.gms.factory.common.TopicConventionFactory;
 import com.linkedin.metadata.aspect.DashboardAspect;
 import com.linkedin.metadata.dao.EbeanLocalDAO;
 import com.linkedin.metadata.dao.producer.KafkaMetadataEventProducer;
+import com.linkedin.metadata.dao.producer.OrderedExecutor;
+import com.linkedin.metadata.equality.CanonicalEqualityTester;
+import com.linkedin.metadata.outbox.OutboxEbeanLocalDAO;
 import com.linkedin.metadata.snapshot.DashboardSnapshot;
 import com.linkedin.mxe.TopicConvention;
 import io.ebean.config.ServerConfig;
 import javax.annotation.Nonnull;
 import org.apache.kafka.clients.producer.Producer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,17 +24,24 @@ import org.springframework.context.annotation.DependsOn;
 
 @Configuration
 public class DashboardDaoFactory {
+  @Value("${GMS_OUTBOX_ENABLED:false}")
+  private boolean outboxEnabled;
+
   @Autowired
   ApplicationContext applicationContext;
 
   @Bean(name = "dashboardDAO")
-  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN})
+  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN,
+      MaeConversionExecutorFactory.MAE_CONVERSION_EXECUTOR_BEAN})
   @Nonnull
   protected EbeanLocalDAO createInstance() {
     KafkaMetadataEventProducer<DashboardSnapshot, DashboardAspect, DashboardUrn> producer =
         new KafkaMetadataEventProducer(DashboardSnapshot.class, DashboardAspect.class,
             applicationContext.getBean(Producer.class), applicationContext.getBean(TopicConvention.class));
-    return new EbeanLocalDAO<>(DashboardAspect.class, producer, applicationContext.getBean(ServerConfig.class),
-        DashboardUrn.class);
+    producer.setConversionExecutor(applicationContext.getBean(OrderedExecutor.class));
+    final EbeanLocalDAO<DashboardAspect, DashboardUrn> dao = new OutboxEbeanLocalDAO<>(DashboardAspect.class, producer,
+        applicationContext.getBean(ServerConfig.class), DashboardUrn.class, outboxEnabled);
+    CanonicalEqualityTester.registerAll(dao, DashboardAspect.class);
+    return dao;
   }
 }
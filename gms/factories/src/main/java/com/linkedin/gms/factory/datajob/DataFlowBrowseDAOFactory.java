@@ -1,12 +1,16 @@
 package com.linkedin.gms.factory.datajob;
 
 import com.linkedin.gms.factory.common.IndexConventionFactory;
+import com.linkedin.metadata.browse.BrowseTreeDAO;
 import com.linkedin.metadata.configs.BrowseConfigFactory;
+import com.linkedin.metadata.dao.BaseBrowseDAO;
+import com.linkedin.metadata.dao.browse.BaseBrowseConfig;
 import com.linkedin.metadata.dao.browse.ESBrowseDAO;
 import com.linkedin.metadata.search.DataFlowDocument;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,11 +24,17 @@ public class DataFlowBrowseDAOFactory {
   @Autowired
   ApplicationContext applicationContext;
 
+  @Value("${BROWSE_TREE_ENABLED:false}")
+  private boolean browseTreeEnabled;
+
   @Nonnull
   @Bean(name = "dataFlowBrowseDao")
   @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN})
-  protected ESBrowseDAO createInstance() {
-    return new ESBrowseDAO(applicationContext.getBean(RestHighLevelClient.class),
-        BrowseConfigFactory.getBrowseConfig(DataFlowDocument.class, applicationContext.getBean(IndexConvention.class)));
+  protected BaseBrowseDAO createInstance() {
+    final RestHighLevelClient client = applicationContext.getBean(RestHighLevelClient.class);
+    final BaseBrowseConfig<DataFlowDocument> browseConfig =
+        BrowseConfigFactory.getBrowseConfig(DataFlowDocument.class, applicationContext.getBean(IndexConvention.class));
+    final ESBrowseDAO browseDAO = new ESBrowseDAO(client, browseConfig);
+    return browseTreeEnabled ? new BrowseTreeDAO(client, browseConfig, browseDAO) : browseDAO;
   }
 }
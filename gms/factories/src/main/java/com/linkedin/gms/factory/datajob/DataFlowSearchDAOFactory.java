@@ -1,13 +1,20 @@
 package com.linkedin.gms.factory.datajob;
 
 import com.linkedin.gms.factory.common.IndexConventionFactory;
+import com.linkedin.gms.factory.common.SearchCacheFactory;
+import com.linkedin.gms.factory.common.SearchTemplateStoreFactory;
+import com.linkedin.metadata.cache.SearchCache;
 import com.linkedin.metadata.configs.DataFlowSearchConfig;
+import com.linkedin.metadata.dao.BaseSearchDAO;
 import com.linkedin.metadata.dao.search.ESSearchDAO;
 import com.linkedin.metadata.search.DataFlowDocument;
-
+import com.linkedin.metadata.templates.SearchTemplateStore;
+import com.linkedin.metadata.templates.TemplateExperimentSearchDAO;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,11 +29,20 @@ public class DataFlowSearchDAOFactory {
   @Autowired
   ApplicationContext applicationContext;
 
+  @Value("${SEARCH_TEMPLATE_SLOW_QUERY_MS:1000}")
+  private long slowQueryMillis;
+
   @Bean(name = "dataFlowSearchDAO")
-  @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN})
+  @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN,
+      SearchCacheFactory.SEARCH_CACHE_BEAN, SearchTemplateStoreFactory.SEARCH_TEMPLATE_STORE_BEAN})
   @Nonnull
-  protected ESSearchDAO createInstance() {
-    return new ESSearchDAO(applicationContext.getBean(RestHighLevelClient.class), DataFlowDocument.class,
-        new DataFlowSearchConfig(applicationContext.getBean(IndexConvention.class)));
+  protected BaseSearchDAO<DataFlowDocument> createInstance() {
+    final DataFlowSearchConfig searchConfig = new DataFlowSearchConfig(applicationContext.getBean(IndexConvention.class),
+        applicationContext.getBean(SearchTemplateStore.class));
+    final RestHighLevelClient client = applicationContext.getBean(RestHighLevelClient.class);
+    return applicationContext.getBean(SearchCache.class).wrap(
+        new TemplateExperimentSearchDAO<>(client, new ESSearchDAO<>(client, DataFlowDocument.class, searchConfig), searchConfig,
+            slowQueryMillis),
+        DataFlowDocument.class, searchConfig.getIndexName());
   }
 }
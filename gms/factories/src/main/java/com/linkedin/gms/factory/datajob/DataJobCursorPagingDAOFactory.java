@@ -0,0 +1,40 @@
+package com.linkedin.gms.factory.datajob;
+
+import com.linkedin.gms.factory.common.IndexConventionFactory;
+import com.linkedin.gms.factory.common.SearchTemplateStoreFactory;
+import com.linkedin.metadata.configs.BrowseConfigFactory;
+import com.linkedin.metadata.configs.DataJobSearchConfig;
+import com.linkedin.metadata.dao.BaseBrowseDAO;
+import com.linkedin.metadata.dao.search.ESSearchDAO;
+import com.linkedin.metadata.paging.CursorPagingDAO;
+import com.linkedin.metadata.search.DataJobDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import javax.annotation.Nonnull;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+
+@Configuration
+public class DataJobCursorPagingDAOFactory {
+  @Autowired
+  ApplicationContext applicationContext;
+
+  @Nonnull
+  @Bean(name = "dataJobCursorPagingDao")
+  @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN,
+      SearchTemplateStoreFactory.SEARCH_TEMPLATE_STORE_BEAN, "dataJobBrowseDao"})
+  protected CursorPagingDAO<DataJobDocument> createInstance() {
+    final RestHighLevelClient client = applicationContext.getBean(RestHighLevelClient.class);
+    final IndexConvention indexConvention = applicationContext.getBean(IndexConvention.class);
+    return new CursorPagingDAO<>(client,
+        new ESSearchDAO<>(client, DataJobDocument.class, new DataJobSearchConfig(indexConvention,
+            applicationContext.getBean(SearchTemplateStore.class))),
+        BrowseConfigFactory.getBrowseConfig(DataJobDocument.class, indexConvention),
+        applicationContext.getBean("dataJobBrowseDao", BaseBrowseDAO.class));
+  }
+}
@@ -1,5 +1,6 @@
 package com.linkedin.gms.factory.dataprocess;
 
+import com.linkedin.gms.factory.common.MaeConversionExecutorFactory;
 import com.linkedin.gms.factory.common.TopicConventionFactory;
 import com.linkedin.common.urn.DataProcessUrn;
 import com.linkedin.metadata.aspect.DataProcessAspect;
@@ -7,11 +8,15 @@ import com.linkedin.metadata.dao.BaseLocalDAO;
 import com.linkedin.metadata.dao.EbeanLocalDAO;
 import com.linkedin.metadata.dao.producer.KafkaMetadataEventProducer;
 import com.linkedin.metadata.dao.producer.KafkaProducerCallback;
+import com.linkedin.metadata.dao.producer.OrderedExecutor;
+import com.linkedin.metadata.equality.CanonicalEqualityTester;
+import com.linkedin.metadata.outbox.OutboxEbeanLocalDAO;
 import com.linkedin.metadata.snapshot.DataProcessSnapshot;
 import com.linkedin.mxe.TopicConvention;
 import io.ebean.config.ServerConfig;
 import org.apache.kafka.clients.producer.Producer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -22,18 +27,25 @@ import org.springframework.context.annotation.DependsOn;
 @Configuration
 @ComponentScan(basePackages = "com.linkedin")
 public class DataProcessDAOFactory {
+  @Value("${GMS_OUTBOX_ENABLED:false}")
+  private boolean outboxEnabled;
+
   @Autowired
   ApplicationContext applicationContext;
 
   @Bean(name = "dataProcessDAO")
-  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN})
+  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN,
+      MaeConversionExecutorFactory.MAE_CONVERSION_EXECUTOR_BEAN})
   protected BaseLocalDAO<DataProcessAspect, DataProcessUrn> createInstance() {
     KafkaMetadataEventProducer<DataProcessSnapshot, DataProcessAspect, DataProcessUrn> producer =
         new KafkaMetadataEventProducer(DataProcessSnapshot.class, DataProcessAspect.class,
             applicationContext.getBean(Producer.class), applicationContext.getBean(TopicConvention.class),
             new KafkaProducerCallback());
+    producer.setConversionExecutor(applicationContext.getBean(OrderedExecutor.class));
 
-    return new EbeanLocalDAO<>(DataProcessAspect.class, producer, applicationContext.getBean(ServerConfig.class),
-        DataProcessUrn.class);
+    final EbeanLocalDAO<DataProcessAspect, DataProcessUrn> dao = new OutboxEbeanLocalDAO<>(DataProcessAspect.class, producer,
+        applicationContext.getBean(ServerConfig.class), DataProcessUrn.class, outboxEnabled);
+    CanonicalEqualityTester.registerAll(dao, DataProcessAspect.class);
+    return dao;
   }
 }
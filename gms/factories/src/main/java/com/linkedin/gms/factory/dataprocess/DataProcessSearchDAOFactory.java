@@ -1,12 +1,19 @@
 package com.linkedin.gms.factory.dataprocess;
 
 import com.linkedin.gms.factory.common.IndexConventionFactory;
+import com.linkedin.gms.factory.common.SearchCacheFactory;
+import com.linkedin.gms.factory.common.SearchTemplateStoreFactory;
+import com.linkedin.metadata.cache.SearchCache;
 import com.linkedin.metadata.configs.DataProcessSearchConfig;
+import com.linkedin.metadata.dao.BaseSearchDAO;
 import com.linkedin.metadata.dao.search.ESSearchDAO;
 import com.linkedin.metadata.search.DataProcessDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
+import com.linkedin.metadata.templates.TemplateExperimentSearchDAO;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,11 +28,20 @@ public class DataProcessSearchDAOFactory {
   @Autowired
   ApplicationContext applicationContext;
 
+  @Value("${SEARCH_TEMPLATE_SLOW_QUERY_MS:1000}")
+  private long slowQueryMillis;
+
   @Bean(name = "dataProcessSearchDAO")
-  @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN})
+  @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN,
+      SearchCacheFactory.SEARCH_CACHE_BEAN, SearchTemplateStoreFactory.SEARCH_TEMPLATE_STORE_BEAN})
   @Nonnull
-  protected ESSearchDAO createInstance() {
-    return new ESSearchDAO(applicationContext.getBean(RestHighLevelClient.class), DataProcessDocument.class,
-        new DataProcessSearchConfig(applicationContext.getBean(IndexConvention.class)));
+  protected BaseSearchDAO<DataProcessDocument> createInstance() {
+    final DataProcessSearchConfig searchConfig = new DataProcessSearchConfig(applicationContext.getBean(IndexConvention.class),
+        applicationContext.getBean(SearchTemplateStore.class));
+    final RestHighLevelClient client = applicationContext.getBean(RestHighLevelClient.class);
+    return applicationContext.getBean(SearchCache.class).wrap(
+        new TemplateExperimentSearchDAO<>(client, new ESSearchDAO<>(client, DataProcessDocument.class, searchConfig), searchConfig,
+            slowQueryMillis),
+        DataProcessDocument.class, searchConfig.getIndexName());
   }
 }
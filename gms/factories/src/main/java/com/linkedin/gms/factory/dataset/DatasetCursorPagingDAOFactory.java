@@ -0,0 +1,40 @@
+package com.linkedin.gms.factory.dataset;
+
+import com.linkedin.gms.factory.common.IndexConventionFactory;
+import com.linkedin.gms.factory.common.SearchTemplateStoreFactory;
+import com.linkedin.metadata.configs.BrowseConfigFactory;
+import com.linkedin.metadata.configs.DatasetSearchConfig;
+import com.linkedin.metadata.dao.BaseBrowseDAO;
+import com.linkedin.metadata.dao.search.ESSearchDAO;
+import com.linkedin.metadata.paging.CursorPagingDAO;
+import com.linkedin.metadata.search.DatasetDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import javax.annotation.Nonnull;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+
+@Configuration
+public class DatasetCursorPagingDAOFactory {
+  @Autowired
+  ApplicationContext applicationContext;
+
+  @Nonnull
+  @Bean(name = "datasetCursorPagingDao")
+  @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN,
+      SearchTemplateStoreFactory.SEARCH_TEMPLATE_STORE_BEAN, "datasetBrowseDao"})
+  protected CursorPagingDAO<DatasetDocument> createInstance() {
+    final RestHighLevelClient client = applicationContext.getBean(RestHighLevelClient.class);
+    final IndexConvention indexConvention = applicationContext.getBean(IndexConvention.class);
+    return new CursorPagingDAO<>(client,
+        new ESSearchDAO<>(client, DatasetDocument.class, new DatasetSearchConfig(indexConvention,
+            applicationContext.getBean(SearchTemplateStore.class))),
+        BrowseConfigFactory.getBrowseConfig(DatasetDocument.class, indexConvention),
+        applicationContext.getBean("datasetBrowseDao", BaseBrowseDAO.class));
+  }
+}
@@ -1,6 +1,7 @@
 package com.linkedin.gms.factory.dataset;
 
 import com.linkedin.gms.factory.common.LocalDAOStorageConfigFactory;
+import com.linkedin.gms.factory.common.MaeConversionExecutorFactory;
 import com.linkedin.gms.factory.common.TopicConventionFactory;
 import com.linkedin.common.urn.DatasetUrn;
 import com.linkedin.metadata.aspect.DatasetAspect;
@@ -8,6 +9,9 @@ import com.linkedin.metadata.dao.BaseLocalDAO;
 import com.linkedin.metadata.dao.EbeanLocalDAO;
 import com.linkedin.metadata.dao.producer.KafkaMetadataEventProducer;
 import com.linkedin.metadata.dao.producer.KafkaProducerCallback;
+import com.linkedin.metadata.dao.producer.OrderedExecutor;
+import com.linkedin.metadata.equality.CanonicalEqualityTester;
+import com.linkedin.metadata.outbox.OutboxEbeanLocalDAO;
 import com.linkedin.metadata.snapshot.DatasetSnapshot;
 import com.linkedin.metadata.urn.dataset.DatasetUrnPathExtractor;
 import com.linkedin.mxe.TopicConvention;
@@ -27,23 +31,29 @@ public class DatasetDaoFactory {
   @Value("${DATASET_ENABLE_SCSI:false}")
   private boolean enableSCSI;
 
+  @Value("${GMS_OUTBOX_ENABLED:false}")
+  private boolean outboxEnabled;
+
   @Autowired
   ApplicationContext applicationContext;
 
   @Bean(name = "datasetDao")
-  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN})
+  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN,
+      MaeConversionExecutorFactory.MAE_CONVERSION_EXECUTOR_BEAN})
   protected BaseLocalDAO<DatasetAspect, DatasetUrn> createInstance() {
     KafkaMetadataEventProducer<DatasetSnapshot, DatasetAspect, DatasetUrn> producer =
         new KafkaMetadataEventProducer(DatasetSnapshot.class, DatasetAspect.class,
             applicationContext.getBean(Producer.class), applicationContext.getBean(TopicConvention.class),
             new KafkaProducerCallback());
+    producer.setConversionExecutor(applicationContext.getBean(OrderedExecutor.class));
 
     final EbeanLocalDAO<DatasetAspect, DatasetUrn> dao =
-        new EbeanLocalDAO<>(producer, applicationContext.getBean(ServerConfig.class),
+        new OutboxEbeanLocalDAO<>(producer, applicationContext.getBean(ServerConfig.class),
             LocalDAOStorageConfigFactory.getStorageConfig(DatasetAspect.class, DatasetDaoFactory.class,
-                "datasetStorageConfig.json"), DatasetUrn.class);
+                "datasetStorageConfig.json"), DatasetUrn.class, outboxEnabled);
     dao.setUrnPathExtractor(new DatasetUrnPathExtractor());
     dao.enableLocalSecondaryIndex(enableSCSI);
+    CanonicalEqualityTester.registerAll(dao, DatasetAspect.class);
     return dao;
   }
 }
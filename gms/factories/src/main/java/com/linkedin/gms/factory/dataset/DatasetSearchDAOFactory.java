@@ -1,12 +1,21 @@
 package com.linkedin.gms.factory.dataset;
 
 import com.linkedin.gms.factory.common.IndexConventionFactory;
+import com.linkedin.gms.factory.common.SearchCacheFactory;
+import com.linkedin.gms.factory.common.SearchTemplateStoreFactory;
+import com.linkedin.metadata.autocomplete.AutocompleteSearchDAO;
+import com.linkedin.metadata.cache.SearchCache;
+import com.linkedin.metadata.configs.AutocompleteMode;
 import com.linkedin.metadata.configs.DatasetSearchConfig;
+import com.linkedin.metadata.dao.BaseSearchDAO;
 import com.linkedin.metadata.dao.search.ESSearchDAO;
 import com.linkedin.metadata.search.DatasetDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
+import com.linkedin.metadata.templates.TemplateExperimentSearchDAO;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,11 +29,23 @@ public class DatasetSearchDAOFactory {
   @Autowired
   ApplicationContext applicationContext;
 
+  @Value("${DATASET_AUTOCOMPLETE_MODE:QUERY}")
+  private AutocompleteMode autocompleteMode;
+
+  @Value("${SEARCH_TEMPLATE_SLOW_QUERY_MS:1000}")
+  private long slowQueryMillis;
+
   @Nonnull
-  @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN})
+  @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN,
+      SearchCacheFactory.SEARCH_CACHE_BEAN, SearchTemplateStoreFactory.SEARCH_TEMPLATE_STORE_BEAN})
   @Bean(name = "datasetSearchDao")
-  protected ESSearchDAO createInstance() {
-    return new ESSearchDAO(applicationContext.getBean(RestHighLevelClient.class), DatasetDocument.class,
-        new DatasetSearchConfig(applicationContext.getBean(IndexConvention.class)));
+  protected BaseSearchDAO<DatasetDocument> createInstance() {
+    final DatasetSearchConfig searchConfig = new DatasetSearchConfig(applicationContext.getBean(IndexConvention.class),
+        autocompleteMode, applicationContext.getBean(SearchTemplateStore.class));
+    final RestHighLevelClient client = applicationContext.getBean(RestHighLevelClient.class);
+    return applicationContext.getBean(SearchCache.class).wrap(new AutocompleteSearchDAO<>(client,
+        new TemplateExperimentSearchDAO<>(client, new ESSearchDAO<>(client, DatasetDocument.class, searchConfig),
+            searchConfig, slowQueryMillis), searchConfig),
+        DatasetDocument.class, searchConfig.getIndexName());
   }
 }
\ No newline at end of file
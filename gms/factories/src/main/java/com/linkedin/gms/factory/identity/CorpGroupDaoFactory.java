@@ -1,16 +1,21 @@
 package com.linkedin.gms.factory.identity;
 
+import com.linkedin.gms.factory.common.MaeConversionExecutorFactory;
 import com.linkedin.gms.factory.common.TopicConventionFactory;
 import com.linkedin.common.urn.CorpGroupUrn;
 import com.linkedin.metadata.aspect.CorpGroupAspect;
 import com.linkedin.metadata.dao.BaseLocalDAO;
 import com.linkedin.metadata.dao.EbeanLocalDAO;
 import com.linkedin.metadata.dao.producer.KafkaMetadataEventProducer;
+import com.linkedin.metadata.dao.producer.OrderedExecutor;
+import com.linkedin.metadata.equality.CanonicalEqualityTester;
+import com.linkedin.metadata.outbox.OutboxEbeanLocalDAO;
 import com.linkedin.metadata.snapshot.CorpGroupSnapshot;
 import com.linkedin.mxe.TopicConvention;
 import io.ebean.config.ServerConfig;
 import org.apache.kafka.clients.producer.Producer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,17 +26,24 @@ import javax.annotation.Nonnull;
 
 @Configuration
 public class CorpGroupDaoFactory {
+  @Value("${GMS_OUTBOX_ENABLED:false}")
+  private boolean outboxEnabled;
+
   @Autowired
   ApplicationContext applicationContext;
 
   @Bean(name = "corpGroupDao")
-  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN})
+  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN,
+      MaeConversionExecutorFactory.MAE_CONVERSION_EXECUTOR_BEAN})
   @Nonnull
   protected BaseLocalDAO<CorpGroupAspect, CorpGroupUrn> createInstance() {
     KafkaMetadataEventProducer<CorpGroupSnapshot, CorpGroupAspect, CorpGroupUrn> producer =
         new KafkaMetadataEventProducer(CorpGroupSnapshot.class, CorpGroupAspect.class,
             applicationContext.getBean(Producer.class), applicationContext.getBean(TopicConvention.class));
-    return new EbeanLocalDAO<>(CorpGroupAspect.class, producer, applicationContext.getBean(ServerConfig.class),
-        CorpGroupUrn.class);
+    producer.setConversionExecutor(applicationContext.getBean(OrderedExecutor.class));
+    final EbeanLocalDAO<CorpGroupAspect, CorpGroupUrn> dao = new OutboxEbeanLocalDAO<>(CorpGroupAspect.class, producer,
+        applicationContext.getBean(ServerConfig.class), CorpGroupUrn.class, outboxEnabled);
+    CanonicalEqualityTester.registerAll(dao, CorpGroupAspect.class);
+    return dao;
   }
 }
\ No newline at end of file
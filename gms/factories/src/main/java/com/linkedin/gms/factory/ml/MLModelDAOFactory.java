@@ -1,11 +1,13 @@
 package com.linkedin.gms.factory.ml;
 
+import com.linkedin.gms.factory.common.MaeConversionExecutorFactory;
 import com.linkedin.gms.factory.common.TopicConventionFactory;
 import com.linkedin.mxe.TopicConvention;
 import javax.annotation.Nonnull;
 
 import org.apache.kafka.clients.producer.Producer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +17,9 @@ import com.linkedin.common.urn.MLModelUrn;
 import com.linkedin.metadata.aspect.MLModelAspect;
 import com.linkedin.metadata.dao.EbeanLocalDAO;
 import com.linkedin.metadata.dao.producer.KafkaMetadataEventProducer;
+import com.linkedin.metadata.dao.producer.OrderedExecutor;
+import com.linkedin.metadata.equality.CanonicalEqualityTester;
+import com.linkedin.metadata.outbox.OutboxEbeanLocalDAO;
 import com.linkedin.metadata.snapshot.MLModelSnapshot;
 
 import io.ebean.config.ServerConfig;
@@ -22,17 +27,24 @@ import io.ebean.config.ServerConfig;
 
 @Configuration
 public class MLModelDAOFactory {
+  @Value("${GMS_OUTBOX_ENABLED:false}")
+  private boolean outboxEnabled;
+
   @Autowired
   private ApplicationContext applicationContext;
 
   @Bean(name = "mlModelDAO")
-  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN})
+  @DependsOn({"gmsEbeanServiceConfig", "kafkaEventProducer", TopicConventionFactory.TOPIC_CONVENTION_BEAN,
+      MaeConversionExecutorFactory.MAE_CONVERSION_EXECUTOR_BEAN})
   @Nonnull
   protected EbeanLocalDAO<MLModelAspect, MLModelUrn> createInstance() {
     KafkaMetadataEventProducer<MLModelSnapshot, MLModelAspect, MLModelUrn> producer =
         new KafkaMetadataEventProducer<>(MLModelSnapshot.class, MLModelAspect.class,
             applicationContext.getBean(Producer.class), applicationContext.getBean(TopicConvention.class));
-    return new EbeanLocalDAO<>(MLModelAspect.class, producer, applicationContext.getBean(ServerConfig.class),
-        MLModelUrn.class);
+    producer.setConversionExecutor(applicationContext.getBean(OrderedExecutor.class));
+    final EbeanLocalDAO<MLModelAspect, MLModelUrn> dao = new OutboxEbeanLocalDAO<>(MLModelAspect.class, producer,
+        applicationContext.getBean(ServerConfig.class), MLModelUrn.class, outboxEnabled);
+    CanonicalEqualityTester.registerAll(dao, MLModelAspect.class);
+    return dao;
   }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.linkedin.gms.factory.search;
+
+import com.linkedin.gms.factory.common.IndexConventionFactory;
+import com.linkedin.gms.factory.common.SearchTemplateStoreFactory;
+import com.linkedin.metadata.configs.ChartSearchConfig;
+import com.linkedin.metadata.configs.CorpGroupSearchConfig;
+import com.linkedin.metadata.configs.CorpUserSearchConfig;
+import com.linkedin.metadata.configs.DashboardSearchConfig;
+import com.linkedin.metadata.configs.DataFlowSearchConfig;
+import com.linkedin.metadata.configs.DataJobSearchConfig;
+import com.linkedin.metadata.configs.DataProcessSearchConfig;
+import com.linkedin.metadata.configs.DatasetSearchConfig;
+import com.linkedin.metadata.configs.MLModelSearchConfig;
+import com.linkedin.metadata.configs.TagSearchConfig;
+import com.linkedin.metadata.crossentity.CrossEntitySearchDAO;
+import com.linkedin.metadata.dao.search.ESSearchDAO;
+import com.linkedin.metadata.search.ChartDocument;
+import com.linkedin.metadata.search.CorpGroupDocument;
+import com.linkedin.metadata.search.CorpUserInfoDocument;
+import com.linkedin.metadata.search.DashboardDocument;
+import com.linkedin.metadata.search.DataFlowDocument;
+import com.linkedin.metadata.search.DataJobDocument;
+import com.linkedin.metadata.search.DataProcessDocument;
+import com.linkedin.metadata.search.DatasetDocument;
+import com.linkedin.metadata.search.MLModelDocument;
+import com.linkedin.metadata.search.TagDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+
+/**
+ * Creates the {@link CrossEntitySearchDAO} searching all searchable entity types, keyed by the entity type of their
+ * urns.
+ */
+@Configuration
+public class CrossEntitySearchDAOFactory {
+  @Autowired
+  ApplicationContext applicationContext;
+
+  @Nonnull
+  @Bean(name = "crossEntitySearchDao")
+  @DependsOn({"elasticSearchRestHighLevelClient", IndexConventionFactory.INDEX_CONVENTION_BEAN,
+      SearchTemplateStoreFactory.SEARCH_TEMPLATE_STORE_BEAN})
+  protected CrossEntitySearchDAO createInstance() {
+    final RestHighLevelClient client = applicationContext.getBean(RestHighLevelClient.class);
+    final IndexConvention indexConvention = applicationContext.getBean(IndexConvention.class);
+    final SearchTemplateStore templateStore = applicationContext.getBean(SearchTemplateStore.class);
+
+    final Map<String, ESSearchDAO<?>> searchDAOs = new LinkedHashMap<>();
+    searchDAOs.put("dataset", new ESSearchDAO<>(client, DatasetDocument.class,
+        new DatasetSearchConfig(indexConvention, templateStore)));
+    searchDAOs.put("chart", new ESSearchDAO<>(client, ChartDocument.class,
+        new ChartSearchConfig(indexConvention, templateStore)));
+    searchDAOs.put("dashboard", new ESSearchDAO<>(client, DashboardDocument.class,
+        new DashboardSearchConfig(indexConvention, templateStore)));
+    searchDAOs.put("corpuser", new ESSearchDAO<>(client, CorpUserInfoDocument.class,
+        new CorpUserSearchConfig(indexConvention, templateStore)));
+    searchDAOs.put("corpGroup", new ESSearchDAO<>(client, CorpGroupDocument.class,
+        new CorpGroupSearchConfig(indexConvention, templateStore)));
+    searchDAOs.put("dataJob", new ESSearchDAO<>(client, DataJobDocument.class,
+        new DataJobSearchConfig(indexConvention, templateStore)));
+    searchDAOs.put("dataFlow", new ESSearchDAO<>(client, DataFlowDocument.class,
+        new DataFlowSearchConfig(indexConvention, templateStore)));
+    searchDAOs.put("dataProcess", new ESSearchDAO<>(client, DataProcessDocument.class,
+        new DataProcessSearchConfig(indexConvention, templateStore)));
+    searchDAOs.put("mlModel", new ESSearchDAO<>(client, MLModelDocument.class,
+        new MLModelSearchConfig(indexConvention, templateStore)));
+    searchDAOs.put("tag", new ESSearchDAO<>(client, TagDocument.class,
+        new TagSearchConfig(indexConvention, templateStore)));
+    return new CrossEntitySearchDAO(client, searchDAOs);
+  }
+}
@@ -0,0 +1,222 @@
+package com.linkedin.metadata.benchmark;
+
+import com.linkedin.common.FabricType;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.common.urn.DatasetUrn;
+import com.linkedin.metadata.aspect.DatasetAspectArray;
+import com.linkedin.metadata.autocomplete.AutocompleteSearchDAO;
+import com.linkedin.metadata.builders.search.DatasetIndexBuilder;
+import com.linkedin.metadata.configs.AutocompleteMode;
+import com.linkedin.metadata.configs.DatasetSearchConfig;
+import com.linkedin.metadata.dao.BaseSearchDAO;
+import com.linkedin.metadata.dao.search.ESSearchDAO;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.index.IndexDefinition;
+import com.linkedin.metadata.search.DatasetDocument;
+import com.linkedin.metadata.snapshot.DatasetSnapshot;
+import com.linkedin.metadata.utils.elasticsearch.IndexConventionImpl;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.apache.http.HttpHost;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.xcontent.XContentType;
+
+
+/**
+ * Compares the latency of the {@link AutocompleteMode}s of dataset autocomplete on a synthetic dataset index.
+ *
+ * <p>Indexes BENCHMARK_DATASETS (5M by default) datasets, whose documents are built by {@link DatasetIndexBuilder} from
+ * synthetic urns, into a 'benchmark_datasetdocument' index created from the dataset index settings and mappings. Then
+ * sends the same BENCHMARK_QUERIES prefixes of name segments through both modes sequentially, after a warm up, and
+ * prints the latency percentiles of each mode along with its p99 target. Exits with status 1 if a target is missed.
+ *
+ * <p>Run with {@code ./gradlew :gms:impl:autocompleteBenchmark} against the Elasticsearch cluster at ELASTICSEARCH_HOST
+ * and ELASTICSEARCH_PORT. The index is kept for later runs, set BENCHMARK_REINDEX=true to rebuild it.
+ */
+public class AutocompleteBenchmark {
+
+  private static final long QUERY_P99_TARGET_MILLIS = 250;
+  private static final long COMPLETION_P99_TARGET_MILLIS = 30;
+
+  private static final int WARM_UP_QUERIES = 1000;
+  private static final int LIMIT = 10;
+  private static final long SEED = 42;
+
+  private static final List<String> PLATFORMS = Arrays.asList("hive", "hdfs", "kafka", "mysql", "oracle", "presto");
+  private static final List<String> WORDS = Arrays.asList("account", "activity", "agg", "audit", "billing", "campaign",
+      "click", "company", "conversion", "daily", "dim", "email", "event", "fact", "feed", "hourly", "impression", "invoice",
+      "job", "member", "message", "metric", "monthly", "notification", "order", "page", "payment", "profile", "raw",
+      "search", "session", "snapshot", "stage", "tracking", "user", "view");
+
+  private AutocompleteBenchmark() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    final int datasets = Integer.parseInt(env("BENCHMARK_DATASETS", "5000000"));
+    final int queries = Integer.parseInt(env("BENCHMARK_QUERIES", "10000"));
+
+    try (RestHighLevelClient client = new RestHighLevelClient(RestClient.builder(
+        new HttpHost(env("ELASTICSEARCH_HOST", "localhost"), Integer.parseInt(env("ELASTICSEARCH_PORT", "9200"))))
+        // Force merging the loaded index takes minutes
+        .setRequestConfigCallback(config -> config.setSocketTimeout((int) TimeUnit.MINUTES.toMillis(30))))) {
+      final DatasetSearchConfig queryConfig =
+          new DatasetSearchConfig(new IndexConventionImpl("benchmark"), AutocompleteMode.QUERY);
+      final DatasetSearchConfig completionConfig =
+          new DatasetSearchConfig(new IndexConventionImpl("benchmark"), AutocompleteMode.COMPLETION);
+      final String index = queryConfig.getIndexName();
+
+      if (Boolean.parseBoolean(env("BENCHMARK_REINDEX", "false"))
+          || !client.indices().exists(new GetIndexRequest(index), RequestOptions.DEFAULT)) {
+        load(client, index, datasets);
+      }
+
+      final List<String> prefixes = prefixes(queries + WARM_UP_QUERIES);
+      final boolean queryMet = run("query", QUERY_P99_TARGET_MILLIS, prefixes,
+          new AutocompleteSearchDAO<>(client, new ESSearchDAO<>(client, DatasetDocument.class, queryConfig), queryConfig));
+      final boolean completionMet = run("completion", COMPLETION_P99_TARGET_MILLIS, prefixes,
+          new AutocompleteSearchDAO<>(client, new ESSearchDAO<>(client, DatasetDocument.class, completionConfig),
+              completionConfig));
+      if (!queryMet || !completionMet) {
+        System.exit(1);
+      }
+    }
+  }
+
+  private static void load(@Nonnull RestHighLevelClient client, @Nonnull String index, int datasets)
+      throws IOException, InterruptedException {
+    if (client.indices().exists(new GetIndexRequest(index), RequestOptions.DEFAULT)) {
+      client.indices().delete(new DeleteIndexRequest(index), RequestOptions.DEFAULT);
+    }
+    final IndexDefinition definition = new IndexDefinition(DatasetDocument.class, "dataset");
+    client.indices().create(new CreateIndexRequest(index)
+        .settings(Settings.builder()
+            .loadFromSource(definition.getSettings(), XContentType.JSON)
+            .put("index.refresh_interval", "-1")
+            .put("index.number_of_replicas", 0))
+        .mapping(definition.getMappings(), XContentType.JSON), RequestOptions.DEFAULT);
+
+    final long startMillis = System.currentTimeMillis();
+    final DatasetIndexBuilder indexBuilder = new DatasetIndexBuilder();
+    final Random random = new Random(SEED);
+    final BulkProcessor bulkProcessor = BulkProcessor.builder(
+        (request, listener) -> client.bulkAsync(request, RequestOptions.DEFAULT, listener), new BulkProcessor.Listener() {
+          @Override
+          public void beforeBulk(long executionId, BulkRequest request) {
+          }
+
+          @Override
+          public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+            if (response.hasFailures()) {
+              System.err.println(response.buildFailureMessage());
+            }
+          }
+
+          @Override
+          public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+            System.err.println("Bulk request failed: " + failure);
+          }
+        })
+        .setBulkActions(5000)
+        .setConcurrentRequests(4)
+        .build();
+
+    for (int i = 0; i < datasets; i++) {
+      final DatasetUrn urn = new DatasetUrn(new DataPlatformUrn(PLATFORMS.get(random.nextInt(PLATFORMS.size()))),
+          name(random, i), random.nextInt(10) == 0 ? FabricType.EI : FabricType.PROD);
+      final DatasetSnapshot snapshot = new DatasetSnapshot().setUrn(urn).setAspects(new DatasetAspectArray());
+      for (DatasetDocument document : indexBuilder.getDocumentsToUpdate(snapshot)) {
+        document.setDeprecated(random.nextInt(20) == 0)
+            .setNumDownstreamDatasets((long) random.nextInt(20))
+            .setRemoved(false);
+        bulkProcessor.add(new IndexRequest(index).id(urn.toString())
+            .source(RecordUtils.toJsonString(document), XContentType.JSON));
+      }
+      if ((i + 1) % 500000 == 0) {
+        System.out.printf("Indexed %d datasets%n", i + 1);
+      }
+    }
+    bulkProcessor.awaitClose(10, TimeUnit.MINUTES);
+
+    client.indices().putSettings(new UpdateSettingsRequest(index).settings(Settings.builder()
+        .put("index.refresh_interval", "1s")), RequestOptions.DEFAULT);
+    client.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+    client.indices().forcemerge(new ForceMergeRequest(index).maxNumSegments(1), RequestOptions.DEFAULT);
+    System.out.printf("Loaded %d datasets in %ds%n", datasets, (System.currentTimeMillis() - startMillis) / 1000);
+  }
+
+  /**
+   * Returns a unique {db}.{table} name made of random words, in the style of the names of Hive datasets.
+   */
+  @Nonnull
+  private static String name(@Nonnull Random random, int id) {
+    final StringBuilder name = new StringBuilder(WORDS.get(random.nextInt(WORDS.size()))).append("_db.");
+    final int words = 2 + random.nextInt(3);
+    for (int i = 0; i < words; i++) {
+      name.append(WORDS.get(random.nextInt(WORDS.size()))).append('_');
+    }
+    return name.append(id).toString();
+  }
+
+  /**
+   * Returns prefixes of 3 to 12 characters of the name segments typed into the search box.
+   */
+  @Nonnull
+  private static List<String> prefixes(int count) {
+    final Random random = new Random(SEED + 1);
+    final List<String> prefixes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final String segment = random.nextBoolean()
+          ? WORDS.get(random.nextInt(WORDS.size())) + "_db"
+          : WORDS.get(random.nextInt(WORDS.size())) + "_" + WORDS.get(random.nextInt(WORDS.size()));
+      prefixes.add(segment.substring(0, Math.min(segment.length(), 3 + random.nextInt(10))));
+    }
+    return prefixes;
+  }
+
+  private static boolean run(@Nonnull String mode, long p99TargetMillis, @Nonnull List<String> prefixes,
+      @Nonnull BaseSearchDAO<DatasetDocument> searchDAO) {
+    final long[] latencies = new long[prefixes.size() - WARM_UP_QUERIES];
+    for (int i = 0; i < prefixes.size(); i++) {
+      final long startNanos = System.nanoTime();
+      searchDAO.autoComplete(prefixes.get(i), "name", null, LIMIT);
+      if (i >= WARM_UP_QUERIES) {
+        latencies[i - WARM_UP_QUERIES] = System.nanoTime() - startNanos;
+      }
+    }
+    Arrays.sort(latencies);
+
+    final double p99Millis = percentileMillis(latencies, 0.99);
+    System.out.printf("%-10s p50 %7.2fms  p95 %7.2fms  p99 %7.2fms  max %7.2fms  p99 target %dms: %s%n", mode,
+        percentileMillis(latencies, 0.5), percentileMillis(latencies, 0.95), p99Millis,
+        latencies[latencies.length - 1] / 1e6, p99TargetMillis, p99Millis <= p99TargetMillis ? "met" : "MISSED");
+    return p99Millis <= p99TargetMillis;
+  }
+
+  private static double percentileMillis(@Nonnull long[] sortedNanos, double percentile) {
+    return sortedNanos[Math.min(sortedNanos.length - 1, (int) Math.ceil(percentile * sortedNanos.length) - 1)] / 1e6;
+  }
+
+  @Nonnull
+  private static String env(@Nonnull String name, @Nonnull String defaultValue) {
+    final String value = System.getenv(name);
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+}
@@ -0,0 +1,133 @@
+package com.linkedin.metadata.autocomplete;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.configs.AutocompleteMode;
+import com.linkedin.metadata.configs.BaseSearchConfigWithConvention;
+import com.linkedin.metadata.dao.BaseSearchDAO;
+import com.linkedin.metadata.dao.SearchResult;
+import com.linkedin.metadata.query.AutoCompleteResult;
+import com.linkedin.metadata.query.Filter;
+import com.linkedin.metadata.query.SortCriterion;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.suggest.SuggestBuilder;
+import org.elasticsearch.search.suggest.SuggestBuilders;
+import org.elasticsearch.search.suggest.completion.CompletionSuggestion;
+
+
+/**
+ * {@link BaseSearchDAO} serving autocomplete requests with the {@link AutocompleteMode} of the search config, delegating
+ * everything else to the given {@link BaseSearchDAO}.
+ *
+ * <p>In {@link AutocompleteMode#COMPLETION} mode, requests on the default autocomplete field without filters are served
+ * by the completion suggester, which answers prefix queries from an in-memory FST rather than scoring ngram matches.
+ * Suggestions are the values of the autocomplete field of the suggested documents, in order of suggestion. As the
+ * suggester cannot filter, requests with filters are served by the delegate.
+ *
+ * <p>Latency is recorded by the 'search.autocomplete.latency' timer, tagged with the index and the mode which served
+ * the request, against which the p99 targets in the README of the elasticsearch-setup image are tracked.
+ */
+public class AutocompleteSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<DOCUMENT> {
+
+  private static final String SUGGESTION_NAME = "autocomplete";
+  private static final String REMOVED_FIELD = "removed";
+  // Fetch more options than requested to make up for removed documents and documents suggested through several inputs
+  private static final int OVERFETCH_FACTOR = 3;
+
+  private final RestHighLevelClient _client;
+  private final BaseSearchDAO<DOCUMENT> _delegate;
+  private final BaseSearchConfigWithConvention<DOCUMENT> _config;
+
+  public AutocompleteSearchDAO(@Nonnull RestHighLevelClient client, @Nonnull BaseSearchDAO<DOCUMENT> delegate,
+      @Nonnull BaseSearchConfigWithConvention<DOCUMENT> config) {
+    super(config.getSearchDocument());
+    _client = client;
+    _delegate = delegate;
+    _config = config;
+  }
+
+  @Override
+  @Nonnull
+  public SearchResult<DOCUMENT> search(@Nonnull String input, @Nullable Filter postFilters,
+      @Nullable SortCriterion sortCriterion, int from, int size) {
+    return _delegate.search(input, postFilters, sortCriterion, from, size);
+  }
+
+  @Override
+  @Nonnull
+  public SearchResult<DOCUMENT> filter(@Nullable Filter filters, @Nullable SortCriterion sortCriterion, int from,
+      int size) {
+    return _delegate.filter(filters, sortCriterion, from, size);
+  }
+
+  @Override
+  @Nonnull
+  public AutoCompleteResult autoComplete(@Nonnull String query, @Nullable String field, @Nullable Filter requestParams,
+      int limit) {
+    final String autocompleteField = field == null ? _config.getDefaultAutocompleteField() : field;
+    final AutocompleteMode mode = _config.getAutocompleteMode() == AutocompleteMode.COMPLETION
+        && autocompleteField.equals(_config.getDefaultAutocompleteField()) && isEmpty(requestParams)
+        ? AutocompleteMode.COMPLETION : AutocompleteMode.QUERY;
+
+    final long startNanos = System.nanoTime();
+    try {
+      return mode == AutocompleteMode.COMPLETION
+          ? suggest(query, autocompleteField, limit)
+          : _delegate.autoComplete(query, field, requestParams, limit);
+    } finally {
+      MetricUtils.timer("search.autocomplete.latency", "index", _config.getIndexName(), "mode", mode.name().toLowerCase())
+          .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Nonnull
+  private AutoCompleteResult suggest(@Nonnull String query, @Nonnull String field, int limit) {
+    final SearchSourceBuilder source = new SearchSourceBuilder()
+        .fetchSource(new String[]{field, REMOVED_FIELD}, null)
+        .suggest(new SuggestBuilder().addSuggestion(SUGGESTION_NAME,
+            SuggestBuilders.completionSuggestion(_config.getAutocompleteSuggestField())
+                .prefix(query.trim())
+                .skipDuplicates(true)
+                .size(limit * OVERFETCH_FACTOR)));
+
+    final SearchResponse response;
+    try {
+      response = _client.search(new SearchRequest(_config.getIndexName()).source(source), RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new RuntimeException("Autocomplete query failed", e);
+    }
+
+    final Set<String> suggestions = new LinkedHashSet<>();
+    final CompletionSuggestion suggestion = response.getSuggest() == null
+        ? null : response.getSuggest().getSuggestion(SUGGESTION_NAME);
+    if (suggestion != null) {
+      for (CompletionSuggestion.Entry.Option option : suggestion.getOptions()) {
+        if (suggestions.size() >= limit) {
+          break;
+        }
+        final Map<String, Object> document = option.getHit().getSourceAsMap();
+        final Object value = document.get(field);
+        if (value instanceof String && !Boolean.TRUE.equals(document.get(REMOVED_FIELD))) {
+          suggestions.add((String) value);
+        }
+      }
+    }
+    return new AutoCompleteResult().setQuery(query).setSuggestions(new StringArray(suggestions));
+  }
+
+  private static boolean isEmpty(@Nullable Filter filter) {
+    return filter == null || !filter.hasCriteria() || filter.getCriteria().isEmpty();
+  }
+}
@@ -0,0 +1,235 @@
+package com.linkedin.metadata.browse;
+
+import com.google.common.io.Resources;
+import com.linkedin.metadata.dao.browse.BaseBrowseConfig;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.rest.RestStatus;
+
+
+/**
+ * Materialized browse hierarchy of a search index, kept up to date by the MAE consumer job and read by
+ * {@link BrowseTreeDAO} instead of aggregating over the browse paths of the search index on every browse request.
+ *
+ * <p>The browse tree index of a search index holds two kinds of documents:
+ * <ul>
+ *   <li>one node per browse path having entities under it, keyed by {@link #getNodeId(String)}, with the number of
+ *   entities under the path in {@link #TOTAL_FIELD} and the number of entities under each child group in
+ *   {@link #GROUPS_FIELD}</li>
+ *   <li>one document per entity, keyed by {@link #getEntityId(String)}, with the browse paths and removed flag the
+ *   nodes currently account for, from which updates of the entity are turned into deltas of the node counts</li>
+ * </ul>
+ *
+ * <p>Counts follow the semantics of {@link com.linkedin.metadata.dao.browse.ESBrowseDAO}: an entity counts once
+ * towards each group and each path it is under, whatever its number of browse paths, and removed entities are not
+ * counted. Paths are lowercased, as the browse path analyzer of the search indices does.
+ */
+public final class BrowseTree {
+
+  public static final String KIND_FIELD = "kind";
+  public static final String PATH_FIELD = "path";
+  public static final String TOTAL_FIELD = "total";
+  public static final String GROUPS_FIELD = "groups";
+  public static final String PATHS_FIELD = "paths";
+  public static final String REMOVED_FIELD = "removed";
+  public static final String HEARTBEAT_FIELD = "heartbeat";
+
+  public static final String NODE_KIND = "node";
+  public static final String ENTITY_KIND = "entity";
+  public static final String LEASE_KIND = "lease";
+
+  private static final String INDEX_SUFFIX = "_browse_tree";
+  private static final String MAPPINGS_RESOURCE = "index/browse-tree/mappings.json";
+  private static final String SEPARATOR = "/";
+
+  private BrowseTree() {
+  }
+
+  /**
+   * Returns the name of the browse tree index of the given search index.
+   */
+  @Nonnull
+  public static String getIndexName(@Nonnull String searchIndexName) {
+    return searchIndexName + INDEX_SUFFIX;
+  }
+
+  @Nonnull
+  public static String getNodeId(@Nonnull String path) {
+    return NODE_KIND + ":" + normalize(path);
+  }
+
+  @Nonnull
+  public static String getEntityId(@Nonnull String urn) {
+    return ENTITY_KIND + ":" + urn;
+  }
+
+  @Nonnull
+  public static String getLeaseId(@Nonnull String instanceId) {
+    return LEASE_KIND + ":" + instanceId;
+  }
+
+  /**
+   * Creates the browse tree index of the given search index if it does not exist yet.
+   */
+  public static void ensureIndex(@Nonnull RestHighLevelClient client, @Nonnull String index) throws IOException {
+    if (client.indices().exists(new GetIndexRequest(index), RequestOptions.DEFAULT)) {
+      return;
+    }
+    try {
+      client.indices().create(new CreateIndexRequest(index).mapping(
+          Resources.toString(Resources.getResource(MAPPINGS_RESOURCE), StandardCharsets.UTF_8), XContentType.JSON),
+          RequestOptions.DEFAULT);
+    } catch (ElasticsearchStatusException e) {
+      // Created concurrently by another consumer
+      if (e.status() != RestStatus.BAD_REQUEST) {
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Returns the changes to the counts of the nodes of the tree when an entity moves from the given browse paths to the
+   * new ones, keyed by node path. Removed entities have no browse paths.
+   */
+  @Nonnull
+  public static Map<String, NodeDelta> diff(@Nonnull Collection<String> oldPaths, @Nonnull Collection<String> newPaths) {
+    final Map<String, NodeDelta> deltas = new HashMap<>();
+    apply(deltas, oldPaths, -1);
+    apply(deltas, newPaths, 1);
+    deltas.values().removeIf(NodeDelta::isEmpty);
+    return deltas;
+  }
+
+  private static void apply(@Nonnull Map<String, NodeDelta> deltas, @Nonnull Collection<String> paths, long sign) {
+    final Set<String> ancestors = new HashSet<>();
+    final Map<String, Set<String>> groups = new HashMap<>();
+    for (String path : paths) {
+      final String[] segments = normalize(path).split(SEPARATOR);
+      final StringBuilder ancestor = new StringBuilder();
+      // segments[0] is the empty string before the leading separator
+      for (int i = 1; i < segments.length; i++) {
+        ancestors.add(ancestor.toString());
+        if (i < segments.length - 1) {
+          groups.computeIfAbsent(ancestor.toString(), k -> new HashSet<>()).add(segments[i]);
+        }
+        ancestor.append(SEPARATOR).append(segments[i]);
+      }
+    }
+    for (String ancestor : ancestors) {
+      deltas.computeIfAbsent(ancestor, k -> new NodeDelta()).addTotal(sign);
+    }
+    for (Map.Entry<String, Set<String>> entry : groups.entrySet()) {
+      for (String group : entry.getValue()) {
+        deltas.get(entry.getKey()).addGroup(group, sign);
+      }
+    }
+  }
+
+  /**
+   * Returns the query on the search index matching the entities which are not removed and whose browse path is
+   * directly under the given path.
+   */
+  @Nonnull
+  public static BoolQueryBuilder entitiesQuery(@Nonnull BaseBrowseConfig<?> config, @Nonnull String path) {
+    final String normalizedPath = normalize(path);
+    final int depth = normalizedPath.isEmpty() ? 1 : normalizedPath.split(SEPARATOR).length;
+
+    final BoolQueryBuilder query = QueryBuilders.boolQuery()
+        .mustNot(QueryBuilders.termQuery(config.getRemovedField(), "true"))
+        .filter(QueryBuilders.termQuery(config.getBrowseDepthFieldName(), depth));
+    if (!normalizedPath.isEmpty()) {
+      query.filter(QueryBuilders.termQuery(config.getBrowsePathFieldName(), normalizedPath));
+    }
+    return query;
+  }
+
+  /**
+   * Returns the last segment of the browse path of an entity matched by {@link #entitiesQuery(BaseBrowseConfig, String)},
+   * or null if none of its browse paths is directly under the given path.
+   */
+  @Nullable
+  public static String getEntityName(@Nullable List<String> browsePaths, @Nonnull String path) {
+    if (browsePaths == null) {
+      return null;
+    }
+    final String normalizedPath = normalize(path);
+    for (String browsePath : browsePaths) {
+      final String normalized = normalize(browsePath);
+      if (normalized.startsWith(normalizedPath + SEPARATOR)
+          && normalized.indexOf(SEPARATOR, normalizedPath.length() + 1) < 0) {
+        return browsePath.substring(browsePath.lastIndexOf(SEPARATOR) + 1);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Lowercases the given path and strips empty segments, e.g. '/Foo//bar/' becomes '/foo/bar' and '/' the root path ''.
+   */
+  @Nonnull
+  public static String normalize(@Nonnull String path) {
+    final StringBuilder normalized = new StringBuilder();
+    for (String segment : path.toLowerCase().split(SEPARATOR)) {
+      if (!segment.isEmpty()) {
+        normalized.append(SEPARATOR).append(segment);
+      }
+    }
+    return normalized.toString();
+  }
+
+  /**
+   * Change to the counts of a node of the tree.
+   */
+  public static final class NodeDelta {
+    private long _total;
+    private final Map<String, Long> _groups = new HashMap<>();
+
+    public long getTotal() {
+      return _total;
+    }
+
+    @Nonnull
+    public Map<String, Long> getGroups() {
+      return Collections.unmodifiableMap(_groups);
+    }
+
+    public boolean isEmpty() {
+      return _total == 0 && _groups.isEmpty();
+    }
+
+    public void merge(@Nonnull NodeDelta other) {
+      addTotal(other._total);
+      other._groups.forEach(this::addGroup);
+    }
+
+    private void addTotal(long delta) {
+      _total += delta;
+    }
+
+    private void addGroup(@Nonnull String group, long delta) {
+      final long count = _groups.getOrDefault(group, 0L) + delta;
+      if (count == 0) {
+        _groups.remove(group);
+      } else {
+        _groups.put(group, count);
+      }
+    }
+  }
+}
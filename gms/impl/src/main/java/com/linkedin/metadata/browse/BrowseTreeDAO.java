@@ -0,0 +1,165 @@
+package com.linkedin.metadata.browse;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.dao.BaseBrowseDAO;
+import com.linkedin.metadata.dao.browse.BaseBrowseConfig;
+import com.linkedin.metadata.query.BrowseResult;
+import com.linkedin.metadata.query.BrowseResultEntity;
+import com.linkedin.metadata.query.BrowseResultEntityArray;
+import com.linkedin.metadata.query.BrowseResultGroup;
+import com.linkedin.metadata.query.BrowseResultGroupArray;
+import com.linkedin.metadata.query.BrowseResultMetadata;
+import com.linkedin.metadata.query.Filter;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+
+
+/**
+ * {@link BaseBrowseDAO} serving the groups of a browse path from the {@link BrowseTree} of the search index with a
+ * single keyed lookup, and the entities directly under the path with a filtered and paged query on the search index.
+ *
+ * <p>Requests with filters, for which counts cannot be precomputed, and requests on search indices whose browse tree
+ * does not exist are served by the given {@link BaseBrowseDAO}. Latency is recorded by the 'browse.latency' timer,
+ * tagged with the index and whether the request was served from the 'tree' or by 'aggregation'.
+ */
+@Slf4j
+public class BrowseTreeDAO extends BaseBrowseDAO {
+
+  private final RestHighLevelClient _client;
+  private final BaseBrowseConfig<?> _config;
+  private final BaseBrowseDAO _delegate;
+  private final String _treeIndex;
+
+  public BrowseTreeDAO(@Nonnull RestHighLevelClient client, @Nonnull BaseBrowseConfig<?> config,
+      @Nonnull BaseBrowseDAO delegate) {
+    _client = client;
+    _config = config;
+    _delegate = delegate;
+    _treeIndex = BrowseTree.getIndexName(config.getIndexName());
+  }
+
+  @Override
+  @Nonnull
+  public BrowseResult browse(@Nonnull String path, @Nullable Filter requestParams, int from, int size) {
+    if (requestParams != null && requestParams.hasCriteria() && !requestParams.getCriteria().isEmpty()) {
+      return timed("aggregation", () -> _delegate.browse(path, requestParams, from, size));
+    }
+
+    final long startNanos = System.nanoTime();
+    final GetResponse node;
+    try {
+      node = _client.get(new GetRequest(_treeIndex, BrowseTree.getNodeId(path)), RequestOptions.DEFAULT);
+    } catch (ElasticsearchStatusException e) {
+      if (e.status() == RestStatus.NOT_FOUND) {
+        log.warn("Browse tree index {} does not exist, browsing by aggregation", _treeIndex);
+        return timed("aggregation", () -> _delegate.browse(path, requestParams, from, size));
+      }
+      throw e;
+    } catch (IOException e) {
+      throw new RuntimeException("Browse tree lookup failed", e);
+    }
+
+    final BrowseResult result = browseEntities(path, from, size)
+        .setMetadata(new BrowseResultMetadata().setPath(path)
+            .setGroups(getGroups(node))
+            .setTotalNumEntities(node.isExists()
+                ? ((Number) node.getSourceAsMap().get(BrowseTree.TOTAL_FIELD)).longValue() : 0L));
+    MetricUtils.timer("browse.latency", "index", _config.getIndexName(), "source", "tree")
+        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    return result;
+  }
+
+  @Override
+  @Nonnull
+  public List<String> getBrowsePaths(@Nonnull Urn urn) {
+    return _delegate.getBrowsePaths(urn);
+  }
+
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private static BrowseResultGroupArray getGroups(@Nonnull GetResponse node) {
+    if (!node.isExists() || node.getSourceAsMap().get(BrowseTree.GROUPS_FIELD) == null) {
+      return new BrowseResultGroupArray();
+    }
+    // Same order as the terms aggregation of ESBrowseDAO
+    final Map<String, Number> groups = (Map<String, Number>) node.getSourceAsMap().get(BrowseTree.GROUPS_FIELD);
+    return groups.entrySet()
+        .stream()
+        .map(entry -> new BrowseResultGroup().setName(entry.getKey()).setCount(entry.getValue().longValue()))
+        .sorted(Comparator.comparing((BrowseResultGroup group) -> group.getCount())
+            .reversed()
+            .thenComparing(group -> group.getName()))
+        .collect(Collectors.toCollection(BrowseResultGroupArray::new));
+  }
+
+  /**
+   * Returns the given page of the entities whose browse path is directly under the given path.
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private BrowseResult browseEntities(@Nonnull String path, int from, int size) {
+    final SearchSourceBuilder source = new SearchSourceBuilder().query(BrowseTree.entitiesQuery(_config, path))
+        .from(from)
+        .size(size)
+        .fetchSource(new String[]{_config.getBrowsePathFieldName(), _config.getUrnFieldName()}, null)
+        .sort(_config.getSortingField(), SortOrder.ASC);
+
+    final SearchResponse response;
+    try {
+      response = _client.search(new SearchRequest(_config.getIndexName()).source(source), RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new RuntimeException("Browse query failed", e);
+    }
+
+    final BrowseResultEntityArray entities = new BrowseResultEntityArray();
+    for (SearchHit hit : response.getHits().getHits()) {
+      final Map<String, Object> document = hit.getSourceAsMap();
+      final String name = BrowseTree.getEntityName((List<String>) document.get(_config.getBrowsePathFieldName()), path);
+      if (name == null) {
+        continue;
+      }
+      try {
+        entities.add(new BrowseResultEntity().setName(name)
+            .setUrn(Urn.createFromString((String) document.get(_config.getUrnFieldName()))));
+      } catch (URISyntaxException e) {
+        log.error("Invalid urn {} in search index {}", document.get(_config.getUrnFieldName()), _config.getIndexName());
+      }
+    }
+    return new BrowseResult().setEntities(entities)
+        .setFrom(from)
+        .setPageSize(entities.size())
+        .setNumEntities((int) response.getHits().getTotalHits().value);
+  }
+
+  @Nonnull
+  private BrowseResult timed(@Nonnull String source, @Nonnull Supplier<BrowseResult> browse) {
+    final long startNanos = System.nanoTime();
+    try {
+      return browse.get();
+    } finally {
+      MetricUtils.timer("browse.latency", "index", _config.getIndexName(), "source", source)
+          .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+}
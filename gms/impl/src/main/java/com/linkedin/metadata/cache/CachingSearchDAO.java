@@ -0,0 +1,93 @@
+package com.linkedin.metadata.cache;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.BaseSearchDAO;
+import com.linkedin.metadata.dao.SearchResult;
+import com.linkedin.metadata.query.AutoCompleteResult;
+import com.linkedin.metadata.query.Filter;
+import com.linkedin.metadata.query.SortCriterion;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * {@link BaseSearchDAO} serving search, filter and autocomplete results from a {@link SearchCache} when possible.
+ *
+ * <p>Filters and sort criteria are copied into the cache keys, and results copied in and out of the cache, as all are
+ * mutable {@link RecordTemplate}s.
+ */
+class CachingSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<DOCUMENT> {
+
+  private final BaseSearchDAO<DOCUMENT> _delegate;
+  private final SearchCache _cache;
+  private final String _index;
+
+  CachingSearchDAO(@Nonnull Class<DOCUMENT> documentClass, @Nonnull BaseSearchDAO<DOCUMENT> delegate,
+      @Nonnull SearchCache cache, @Nonnull String index) {
+    super(documentClass);
+    _delegate = delegate;
+    _cache = cache;
+    _index = index;
+  }
+
+  @Override
+  @Nonnull
+  public SearchResult<DOCUMENT> search(@Nonnull String input, @Nullable Filter postFilters,
+      @Nullable SortCriterion sortCriterion, int from, int size) {
+    return _cache.get(_index, "search",
+        Arrays.asList(normalize(input), copy(postFilters), copy(sortCriterion), from, size),
+        () -> _delegate.search(input, postFilters, sortCriterion, from, size), CachingSearchDAO::copyResult);
+  }
+
+  @Override
+  @Nonnull
+  public SearchResult<DOCUMENT> filter(@Nullable Filter filters, @Nullable SortCriterion sortCriterion, int from,
+      int size) {
+    return _cache.get(_index, "filter", Arrays.asList(copy(filters), copy(sortCriterion), from, size),
+        () -> _delegate.filter(filters, sortCriterion, from, size), CachingSearchDAO::copyResult);
+  }
+
+  @Override
+  @Nonnull
+  public AutoCompleteResult autoComplete(@Nonnull String query, @Nullable String field, @Nullable Filter requestParams,
+      int limit) {
+    return _cache.get(_index, "autocomplete", Arrays.asList(normalize(query), field, copy(requestParams), limit),
+        () -> _delegate.autoComplete(query, field, requestParams, limit), CachingSearchDAO::copy);
+  }
+
+  /**
+   * Normalizes whitespace so that inputs differing only by it share a cache entry. Whitespace is not significant to
+   * the analyzers of the search indices.
+   */
+  @Nonnull
+  private static String normalize(@Nonnull String input) {
+    return input.trim().replaceAll("\\s+", " ");
+  }
+
+  @Nonnull
+  private static <DOCUMENT extends RecordTemplate> SearchResult<DOCUMENT> copyResult(@Nonnull SearchResult<DOCUMENT> result) {
+    return SearchResult.<DOCUMENT>builder()
+        .documentList(result.getDocumentList().stream().map(CachingSearchDAO::copy).collect(Collectors.toList()))
+        .searchResultMetadata(copy(result.getSearchResultMetadata()))
+        .from(result.getFrom())
+        .pageSize(result.getPageSize())
+        .havingMore(result.isHavingMore())
+        .totalCount(result.getTotalCount())
+        .build();
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private static <T extends RecordTemplate> T copy(@Nullable T record) {
+    if (record == null) {
+      return null;
+    }
+    try {
+      return (T) record.copy();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("Failed to copy " + record.getClass().getSimpleName(), e);
+    }
+  }
+}
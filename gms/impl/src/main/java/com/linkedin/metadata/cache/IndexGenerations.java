@@ -0,0 +1,116 @@
+package com.linkedin.metadata.cache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+
+
+/**
+ * Generation counters of the search indices, bumped by the MAE consumer job every time it writes documents to an index
+ * and polled by GMS to invalidate cached search results.
+ *
+ * <p>Counters are kept in the {@link #INDEX} index, one document per search index. As documents only become searchable
+ * once Elasticsearch refreshes the index, an index is reported as settling for a while after its generation changed,
+ * during which results should not be cached.
+ */
+@Slf4j
+public class IndexGenerations {
+
+  public static final String INDEX = "datahub_index_generations";
+
+  private static final String FIELD = "generation";
+  private static final int MAX_INDICES = 1000;
+
+  private final RestHighLevelClient _client;
+  private final long _settleMillis;
+  private volatile Map<String, Long> _generations = Collections.emptyMap();
+  private final Map<String, Long> _changedAt = new ConcurrentHashMap<>();
+
+  /**
+   * @param settleMillis time after a generation change during which an index is reported as settling, which should
+   *                     exceed the refresh interval of the search indices
+   */
+  public IndexGenerations(@Nonnull RestHighLevelClient client, long settleMillis) {
+    _client = client;
+    _settleMillis = settleMillis;
+  }
+
+  /**
+   * Returns the request incrementing the generation of the given index.
+   */
+  @Nonnull
+  public static UpdateRequest incrementRequest(@Nonnull String index) {
+    final Map<String, Object> upsert = new HashMap<>();
+    upsert.put(FIELD, 1L);
+    return new UpdateRequest(INDEX, index)
+        .script(new Script("ctx._source." + FIELD + " += 1"))
+        .upsert(upsert)
+        .retryOnConflict(5);
+  }
+
+  /**
+   * Polls the generation counters every {@code refreshMillis} in the background.
+   */
+  @Nonnull
+  public IndexGenerations start(long refreshMillis) {
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "index-generations");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::refresh, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    return this;
+  }
+
+  public long get(@Nonnull String index) {
+    return _generations.getOrDefault(index, 0L);
+  }
+
+  public boolean isSettling(@Nonnull String index) {
+    final Long changedAt = _changedAt.get(index);
+    return changedAt != null && System.currentTimeMillis() - changedAt < _settleMillis;
+  }
+
+  void refresh() {
+    final Map<String, Long> generations = new HashMap<>();
+    try {
+      final SearchResponse response = _client.search(new SearchRequest(INDEX)
+          .source(new SearchSourceBuilder().size(MAX_INDICES).fetchSource(FIELD, null)), RequestOptions.DEFAULT);
+      for (SearchHit hit : response.getHits().getHits()) {
+        generations.put(hit.getId(), ((Number) hit.getSourceAsMap().get(FIELD)).longValue());
+      }
+    } catch (ElasticsearchStatusException e) {
+      if (e.status() != RestStatus.NOT_FOUND) {
+        log.error("Failed to refresh search index generations", e);
+        return;
+      }
+    } catch (Exception e) {
+      log.error("Failed to refresh search index generations", e);
+      return;
+    }
+
+    final long now = System.currentTimeMillis();
+    for (Map.Entry<String, Long> entry : generations.entrySet()) {
+      if (!entry.getValue().equals(_generations.get(entry.getKey()))) {
+        _changedAt.put(entry.getKey(), now);
+      }
+    }
+    _generations = generations;
+  }
+}
@@ -0,0 +1,95 @@
+package com.linkedin.metadata.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.BaseSearchDAO;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Short-lived cache of search and autocomplete results shared by the {@link BaseSearchDAO}s of all search indices.
+ *
+ * <p>Keys include the generation of the index from {@link IndexGenerations}, so entries of an index stop being served
+ * as soon as the MAE consumer job writes to it. Results are not cached while an index is settling.
+ *
+ * <p>Results are mutable {@link RecordTemplate}s, so copies of them are cached and handed out, leaving the cached
+ * results unaffected by changes callers make to theirs.
+ *
+ * <p>Hits and misses are counted by the 'search.cache.hits' & 'search.cache.misses' metrics, and the Elasticsearch
+ * time saved by hits by the 'search.cache.saved' timer, each tagged with the index and operation.
+ */
+public class SearchCache {
+
+  private final Cache<List<Object>, Entry> _cache;
+  private final IndexGenerations _generations;
+  private final boolean _enabled;
+
+  /**
+   * @param maxEntries maximum number of cached results across all indices, 0 disabling the cache
+   */
+  public SearchCache(@Nonnull IndexGenerations generations, long ttlMillis, long maxEntries) {
+    _generations = generations;
+    _enabled = ttlMillis > 0 && maxEntries > 0;
+    _cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+        .maximumSize(maxEntries)
+        .build();
+  }
+
+  /**
+   * Returns a {@link BaseSearchDAO} caching the results of the given one, which queries the given index, or the given
+   * one if the cache is disabled.
+   */
+  @Nonnull
+  public <DOCUMENT extends RecordTemplate> BaseSearchDAO<DOCUMENT> wrap(@Nonnull BaseSearchDAO<DOCUMENT> searchDAO,
+      @Nonnull Class<DOCUMENT> documentClass, @Nonnull String index) {
+    return _enabled ? new CachingSearchDAO<>(documentClass, searchDAO, this, index) : searchDAO;
+  }
+
+  /**
+   * Returns a copy of the cached result of the given operation on the given index, computing and caching a copy of it
+   * if absent.
+   *
+   * @param copier deep copies results
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  <T> T get(@Nonnull String index, @Nonnull String operation, @Nonnull List<Object> parameters,
+      @Nonnull Supplier<T> loader, @Nonnull UnaryOperator<T> copier) {
+    if (_generations.isSettling(index)) {
+      return loader.get();
+    }
+    final List<Object> key = Arrays.asList(index, _generations.get(index), operation, parameters);
+
+    final Entry cached = _cache.getIfPresent(key);
+    if (cached != null) {
+      MetricUtils.get().counter("search.cache.hits", "index", index, "operation", operation).increment();
+      MetricUtils.timer("search.cache.saved", "index", index, "operation", operation)
+          .record(cached._loadNanos, TimeUnit.NANOSECONDS);
+      return copier.apply((T) cached._value);
+    }
+
+    MetricUtils.get().counter("search.cache.misses", "index", index, "operation", operation).increment();
+    final long startNanos = System.nanoTime();
+    final T value = loader.get();
+    _cache.put(key, new Entry(copier.apply(value), System.nanoTime() - startNanos));
+    return value;
+  }
+
+  private static final class Entry {
+    private final Object _value;
+    private final long _loadNanos;
+
+    private Entry(@Nonnull Object value, long loadNanos) {
+      _value = value;
+      _loadNanos = loadNanos;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.linkedin.metadata.configs;
+
+/**
+ * Backend serving autocomplete requests on the default autocomplete field of a search index.
+ */
+public enum AutocompleteMode {
+  /**
+   * Runs the autocomplete query template of the {@link BaseSearchConfigWithConvention} against the ngram subfields.
+   */
+  QUERY,
+
+  /**
+   * Queries the completion suggester field named after the default autocomplete field with a 'Suggest' suffix, falling
+   * back to {@link #QUERY} for other fields and filtered requests.
+   */
+  COMPLETION
+}
@@ -2,27 +2,100 @@ package com.linkedin.metadata.configs;
 
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.dao.search.BaseSearchConfig;
+import com.linkedin.metadata.dao.utils.SearchUtils;
+import com.linkedin.metadata.templates.SearchTemplateStore;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 
 /**
- * {@link BaseSearchConfig} that uses {@link IndexConvention} to compute the name of the search index
+ * {@link BaseSearchConfig} that uses {@link IndexConvention} to compute the name of the search index, selects the
+ * {@link AutocompleteMode} of the index, and reads its query templates from a {@link SearchTemplateStore}, falling
+ * back to the templates bundled as resources
  * @param <DOCUMENT>
  */
 public abstract class BaseSearchConfigWithConvention<DOCUMENT extends RecordTemplate>
     extends BaseSearchConfig<DOCUMENT> {
 
+  private static final String SUGGEST_FIELD_SUFFIX = "Suggest";
+
   @Nullable
   private final IndexConvention _indexConvention;
+  private final AutocompleteMode _autocompleteMode;
+  @Nullable
+  private final SearchTemplateStore _templateStore;
 
   protected BaseSearchConfigWithConvention() {
-    _indexConvention = null;
+    this(null);
   }
 
   protected BaseSearchConfigWithConvention(@Nullable IndexConvention indexConvention) {
+    this(indexConvention, AutocompleteMode.QUERY);
+  }
+
+  protected BaseSearchConfigWithConvention(@Nullable IndexConvention indexConvention,
+      @Nullable SearchTemplateStore templateStore) {
+    this(indexConvention, AutocompleteMode.QUERY, templateStore);
+  }
+
+  protected BaseSearchConfigWithConvention(@Nullable IndexConvention indexConvention,
+      @Nonnull AutocompleteMode autocompleteMode) {
+    this(indexConvention, autocompleteMode, null);
+  }
+
+  protected BaseSearchConfigWithConvention(@Nullable IndexConvention indexConvention,
+      @Nonnull AutocompleteMode autocompleteMode, @Nullable SearchTemplateStore templateStore) {
     _indexConvention = indexConvention;
+    _autocompleteMode = autocompleteMode;
+    _templateStore = templateStore;
+  }
+
+  /**
+   * Returns the name of the search query template, which is also the name of its bundled resource without the
+   * '.json' extension
+   */
+  @Nonnull
+  public abstract String getSearchQueryTemplateName();
+
+  /**
+   * Returns the name of the autocomplete query template, which is also the name of its bundled resource without the
+   * '.json' extension
+   */
+  @Nonnull
+  public abstract String getAutocompleteQueryTemplateName();
+
+  @Nonnull
+  @Override
+  public String getSearchQueryTemplate() {
+    return getSearchQueryTemplateSelection().getActive().getContent();
+  }
+
+  @Nonnull
+  @Override
+  public String getAutocompleteQueryTemplate() {
+    return getTemplateSelection(getAutocompleteQueryTemplateName()).getActive().getContent();
+  }
+
+  /**
+   * Returns the versions of the search query template to serve, whose active version is the bundled template unless
+   * the {@link SearchTemplateStore} selects another one
+   */
+  @Nonnull
+  public SearchTemplateStore.Selection getSearchQueryTemplateSelection() {
+    return getTemplateSelection(getSearchQueryTemplateName());
+  }
+
+  @Nonnull
+  private SearchTemplateStore.Selection getTemplateSelection(@Nonnull String name) {
+    final SearchTemplateStore.Selection selection = _templateStore == null ? null : _templateStore.getSelection(name);
+    if (selection != null && selection.getActive() != null) {
+      return selection;
+    }
+    final SearchTemplateStore.Version bundled = new SearchTemplateStore.Version(name,
+        SearchTemplateStore.BUNDLED_VERSION, SearchUtils.readResourceFile(getClass(), name + ".json"));
+    return selection == null ? new SearchTemplateStore.Selection(bundled, null, 0)
+        : new SearchTemplateStore.Selection(bundled, selection.getCandidate(), selection.getCandidateSampleRate());
   }
 
   @Nonnull
@@ -33,4 +106,18 @@ public abstract class BaseSearchConfigWithConvention<DOCUMENT extends RecordTemp
     }
     return _indexConvention.getIndexName(getSearchDocument());
   }
+
+  @Nonnull
+  public AutocompleteMode getAutocompleteMode() {
+    return _autocompleteMode;
+  }
+
+  /**
+   * Returns the completion suggester field used in {@link AutocompleteMode#COMPLETION} mode, which the index builder
+   * of the document populates alongside the default autocomplete field
+   */
+  @Nonnull
+  public String getAutocompleteSuggestField() {
+    return getDefaultAutocompleteField() + SUGGEST_FIELD_SUFFIX;
+  }
 }
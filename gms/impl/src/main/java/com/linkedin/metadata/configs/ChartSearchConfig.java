@@ -1,7 +1,7 @@
 package com.linkedin.metadata.configs;
 
-import com.linkedin.metadata.dao.utils.SearchUtils;
 import com.linkedin.metadata.search.ChartDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.util.Arrays;
 import java.util.Collections;
@@ -18,6 +18,10 @@ public class ChartSearchConfig extends BaseSearchConfigWithConvention<ChartDocum
     super(indexConvention);
   }
 
+  public ChartSearchConfig(IndexConvention indexConvention, SearchTemplateStore templateStore) {
+    super(indexConvention, templateStore);
+  }
+
   @Nonnull
   @Override
   public Set<String> getFacetFields() {
@@ -38,13 +42,13 @@ public class ChartSearchConfig extends BaseSearchConfigWithConvention<ChartDocum
 
   @Nonnull
   @Override
-  public String getSearchQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "chartESSearchQueryTemplate.json");
+  public String getSearchQueryTemplateName() {
+    return "chartESSearchQueryTemplate";
   }
 
   @Nonnull
   @Override
-  public String getAutocompleteQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "chartESAutocompleteQueryTemplate.json");
+  public String getAutocompleteQueryTemplateName() {
+    return "chartESAutocompleteQueryTemplate";
   }
 }
@@ -1,7 +1,7 @@
 package com.linkedin.metadata.configs;
 
-import com.linkedin.metadata.dao.utils.SearchUtils;
 import com.linkedin.metadata.search.CorpGroupDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.util.Collections;
 import java.util.Set;
@@ -16,6 +16,10 @@ public class CorpGroupSearchConfig extends BaseSearchConfigWithConvention<CorpGr
     super(indexConvention);
   }
 
+  public CorpGroupSearchConfig(IndexConvention indexConvention, SearchTemplateStore templateStore) {
+    super(indexConvention, templateStore);
+  }
+
   @Override
   @Nonnull
   public Set<String> getFacetFields() {
@@ -36,13 +40,13 @@ public class CorpGroupSearchConfig extends BaseSearchConfigWithConvention<CorpGr
 
   @Override
   @Nonnull
-  public String getSearchQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "corpGroupESSearchQueryTemplate.json");
+  public String getSearchQueryTemplateName() {
+    return "corpGroupESSearchQueryTemplate";
   }
 
   @Override
   @Nonnull
-  public String getAutocompleteQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "corpGroupESAutocompleteQueryTemplate.json");
+  public String getAutocompleteQueryTemplateName() {
+    return "corpGroupESAutocompleteQueryTemplate";
   }
 }
\ No newline at end of file
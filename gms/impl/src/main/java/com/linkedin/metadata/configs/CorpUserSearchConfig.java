@@ -1,7 +1,7 @@
 package com.linkedin.metadata.configs;
 
-import com.linkedin.metadata.dao.utils.SearchUtils;
 import com.linkedin.metadata.search.CorpUserInfoDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.util.Collections;
 import java.util.Set;
@@ -16,6 +16,10 @@ public class CorpUserSearchConfig extends BaseSearchConfigWithConvention<CorpUse
     super(indexConvention);
   }
 
+  public CorpUserSearchConfig(IndexConvention indexConvention, SearchTemplateStore templateStore) {
+    super(indexConvention, templateStore);
+  }
+
   @Override
   @Nonnull
   public Set<String> getFacetFields() {
@@ -36,13 +40,13 @@ public class CorpUserSearchConfig extends BaseSearchConfigWithConvention<CorpUse
 
   @Override
   @Nonnull
-  public String getSearchQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "corpUserESSearchQueryTemplate.json");
+  public String getSearchQueryTemplateName() {
+    return "corpUserESSearchQueryTemplate";
   }
 
   @Override
   @Nonnull
-  public String getAutocompleteQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "corpUserESAutocompleteQueryTemplate.json");
+  public String getAutocompleteQueryTemplateName() {
+    return "corpUserESAutocompleteQueryTemplate";
   }
 }
\ No newline at end of file
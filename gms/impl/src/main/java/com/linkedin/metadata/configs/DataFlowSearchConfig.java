@@ -1,7 +1,7 @@
 package com.linkedin.metadata.configs;
 
-import com.linkedin.metadata.dao.utils.SearchUtils;
 import com.linkedin.metadata.search.DataFlowDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.util.Collections;
 import java.util.Set;
@@ -16,6 +16,10 @@ public class DataFlowSearchConfig extends BaseSearchConfigWithConvention<DataFlo
     super(indexConvention);
   }
 
+  public DataFlowSearchConfig(IndexConvention indexConvention, SearchTemplateStore templateStore) {
+    super(indexConvention, templateStore);
+  }
+
   @Override
   @Nonnull
   public Set<String> getFacetFields() {
@@ -36,13 +40,13 @@ public class DataFlowSearchConfig extends BaseSearchConfigWithConvention<DataFlo
 
   @Override
   @Nonnull
-  public String getSearchQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "dataFlowESSearchQueryTemplate.json");
+  public String getSearchQueryTemplateName() {
+    return "dataFlowESSearchQueryTemplate";
   }
 
   @Override
   @Nonnull
-  public String getAutocompleteQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "dataFlowESAutocompleteQueryTemplate.json");
+  public String getAutocompleteQueryTemplateName() {
+    return "dataFlowESAutocompleteQueryTemplate";
   }
 }
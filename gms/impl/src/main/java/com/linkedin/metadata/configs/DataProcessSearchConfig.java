@@ -1,7 +1,7 @@
 package com.linkedin.metadata.configs;
 
-import com.linkedin.metadata.dao.utils.SearchUtils;
 import com.linkedin.metadata.search.DataProcessDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.util.Collections;
 import java.util.Set;
@@ -16,6 +16,10 @@ public class DataProcessSearchConfig extends BaseSearchConfigWithConvention<Data
     super(indexConvention);
   }
 
+  public DataProcessSearchConfig(IndexConvention indexConvention, SearchTemplateStore templateStore) {
+    super(indexConvention, templateStore);
+  }
+
   @Override
   @Nonnull
   public Set<String> getFacetFields() {
@@ -36,13 +40,13 @@ public class DataProcessSearchConfig extends BaseSearchConfigWithConvention<Data
 
   @Override
   @Nonnull
-  public String getSearchQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "dataProcessESSearchQueryTemplate.json");
+  public String getSearchQueryTemplateName() {
+    return "dataProcessESSearchQueryTemplate";
   }
 
   @Override
   @Nonnull
-  public String getAutocompleteQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "dataProcessESAutocompleteQueryTemplate.json");
+  public String getAutocompleteQueryTemplateName() {
+    return "dataProcessESAutocompleteQueryTemplate";
   }
 }
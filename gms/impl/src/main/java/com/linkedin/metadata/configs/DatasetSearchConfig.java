@@ -1,8 +1,8 @@
 package com.linkedin.metadata.configs;
 
 import com.google.common.collect.ImmutableList;
-import com.linkedin.metadata.dao.utils.SearchUtils;
 import com.linkedin.metadata.search.DatasetDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.util.Arrays;
 import java.util.Collections;
@@ -21,6 +21,19 @@ public class DatasetSearchConfig extends BaseSearchConfigWithConvention<DatasetD
     super(indexConvention);
   }
 
+  public DatasetSearchConfig(IndexConvention indexConvention, SearchTemplateStore templateStore) {
+    super(indexConvention, templateStore);
+  }
+
+  public DatasetSearchConfig(IndexConvention indexConvention, AutocompleteMode autocompleteMode) {
+    super(indexConvention, autocompleteMode);
+  }
+
+  public DatasetSearchConfig(IndexConvention indexConvention, AutocompleteMode autocompleteMode,
+      SearchTemplateStore templateStore) {
+    super(indexConvention, autocompleteMode, templateStore);
+  }
+
   @Override
   @Nonnull
   public Set<String> getFacetFields() {
@@ -40,14 +53,14 @@ public class DatasetSearchConfig extends BaseSearchConfigWithConvention<DatasetD
 
   @Override
   @Nonnull
-  public String getSearchQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "datasetESSearchQueryTemplate.json");
+  public String getSearchQueryTemplateName() {
+    return "datasetESSearchQueryTemplate";
   }
 
   @Override
   @Nonnull
-  public String getAutocompleteQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "datasetESAutocompleteQueryTemplate.json");
+  public String getAutocompleteQueryTemplateName() {
+    return "datasetESAutocompleteQueryTemplate";
   }
 
   @Override
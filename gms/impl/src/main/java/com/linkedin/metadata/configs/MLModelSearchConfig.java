@@ -1,7 +1,7 @@
 package com.linkedin.metadata.configs;
 
-import com.linkedin.metadata.dao.utils.SearchUtils;
 import com.linkedin.metadata.search.MLModelDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.util.Collections;
 import java.util.Set;
@@ -16,6 +16,10 @@ public class MLModelSearchConfig extends BaseSearchConfigWithConvention<MLModelD
     super(indexConvention);
   }
 
+  public MLModelSearchConfig(IndexConvention indexConvention, SearchTemplateStore templateStore) {
+    super(indexConvention, templateStore);
+  }
+
   @Override
   @Nonnull
   public Set<String> getFacetFields() {
@@ -36,13 +40,13 @@ public class MLModelSearchConfig extends BaseSearchConfigWithConvention<MLModelD
 
   @Override
   @Nonnull
-  public String getSearchQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "mlModelESSearchQueryTemplate.json");
+  public String getSearchQueryTemplateName() {
+    return "mlModelESSearchQueryTemplate";
   }
 
   @Override
   @Nonnull
-  public String getAutocompleteQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "mlModelESAutocompleteQueryTemplate.json");
+  public String getAutocompleteQueryTemplateName() {
+    return "mlModelESAutocompleteQueryTemplate";
   }
 }
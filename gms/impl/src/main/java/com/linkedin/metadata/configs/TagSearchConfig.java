@@ -1,7 +1,7 @@
 package com.linkedin.metadata.configs;
 
-import com.linkedin.metadata.dao.utils.SearchUtils;
 import com.linkedin.metadata.search.TagDocument;
+import com.linkedin.metadata.templates.SearchTemplateStore;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
 import java.util.Arrays;
 import java.util.Collections;
@@ -18,6 +18,10 @@ public class TagSearchConfig extends BaseSearchConfigWithConvention<TagDocument>
     super(indexConvention);
   }
 
+  public TagSearchConfig(IndexConvention indexConvention, SearchTemplateStore templateStore) {
+    super(indexConvention, templateStore);
+  }
+
   @Nonnull
   @Override
   public Set<String> getFacetFields() {
@@ -38,13 +42,13 @@ public class TagSearchConfig extends BaseSearchConfigWithConvention<TagDocument>
 
   @Nonnull
   @Override
-  public String getSearchQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "tagESSearchQueryTemplate.json");
+  public String getSearchQueryTemplateName() {
+    return "tagESSearchQueryTemplate";
   }
 
   @Nonnull
   @Override
-  public String getAutocompleteQueryTemplate() {
-    return SearchUtils.readResourceFile(getClass(), "tagESAutocompleteQueryTemplate.json");
+  public String getAutocompleteQueryTemplateName() {
+    return "tagESAutocompleteQueryTemplate";
   }
 }
@@ -0,0 +1,135 @@
+package com.linkedin.metadata.crossentity;
+
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.dao.search.ESSearchDAO;
+import com.linkedin.metadata.query.CrossEntitySearchResult;
+import com.linkedin.metadata.query.EntityTypeSearchResult;
+import com.linkedin.metadata.query.EntityTypeSearchResultArray;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+
+
+/**
+ * Searches several entity types at once, sending the search query of every entity type, as built by its
+ * {@link ESSearchDAO} from its search config, in a single _msearch request rather than one request per entity type.
+ *
+ * <p>Only the urns of the hits are fetched, and no aggregations are computed. An entity type whose query fails is left
+ * out of the result and logged, so that one unavailable index does not fail the whole search. Latency is recorded by
+ * the 'search.cross_entity.latency' timer.
+ */
+@Slf4j
+public class CrossEntitySearchDAO {
+
+  private static final String URN_FIELD = "urn";
+
+  private final RestHighLevelClient _client;
+  private final Map<String, ESSearchDAO<?>> _searchDAOs;
+
+  /**
+   * @param searchDAOs search DAO of every searchable entity type, by entity type
+   */
+  public CrossEntitySearchDAO(@Nonnull RestHighLevelClient client, @Nonnull Map<String, ESSearchDAO<?>> searchDAOs) {
+    _client = client;
+    _searchDAOs = Collections.unmodifiableMap(new LinkedHashMap<>(searchDAOs));
+  }
+
+  /**
+   * Returns the searchable entity types.
+   */
+  @Nonnull
+  public Set<String> getEntityTypes() {
+    return _searchDAOs.keySet();
+  }
+
+  /**
+   * Returns the page of the search results of the given input of every given entity type.
+   *
+   * @param entityTypes entity types to search, all of them if empty
+   * @throws IllegalArgumentException if an entity type is not searchable
+   */
+  @Nonnull
+  public CrossEntitySearchResult search(@Nonnull String input, @Nonnull Collection<String> entityTypes, int from,
+      int size) {
+    final List<String> types = new ArrayList<>(entityTypes.isEmpty() ? _searchDAOs.keySet() : entityTypes);
+    final MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+    for (String type : types) {
+      final ESSearchDAO<?> searchDAO = _searchDAOs.get(type);
+      if (searchDAO == null) {
+        throw new IllegalArgumentException("Entity type " + type + " is not searchable, searchable entity types are "
+            + _searchDAOs.keySet());
+      }
+      multiSearchRequest.add(withUrnsOnly(searchDAO.constructSearchQuery(input, null, null, from, size)));
+    }
+
+    final MultiSearchResponse response;
+    final long startNanos = System.nanoTime();
+    try {
+      response = _client.msearch(multiSearchRequest, RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new RuntimeException("Cross-entity search query failed", e);
+    } finally {
+      MetricUtils.timer("search.cross_entity.latency").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    final EntityTypeSearchResultArray results = new EntityTypeSearchResultArray();
+    final MultiSearchResponse.Item[] items = response.getResponses();
+    for (int i = 0; i < items.length; i++) {
+      if (items[i].isFailure()) {
+        log.error("Cross-entity search query of entity type {} failed", types.get(i), items[i].getFailure());
+        continue;
+      }
+      final SearchHit[] hits = items[i].getResponse().getHits().getHits();
+      final UrnArray urns = new UrnArray();
+      for (SearchHit hit : hits) {
+        try {
+          urns.add(Urn.createFromString((String) hit.getSourceAsMap().get(URN_FIELD)));
+        } catch (URISyntaxException e) {
+          log.error("Invalid urn {} in search index of entity type {}", hit.getSourceAsMap().get(URN_FIELD),
+              types.get(i));
+        }
+      }
+      results.add(new EntityTypeSearchResult().setEntityType(types.get(i))
+          .setEntities(urns)
+          .setFrom(from)
+          .setPageSize(urns.size())
+          .setNumEntities((int) items[i].getResponse().getHits().getTotalHits().value));
+    }
+    return new CrossEntitySearchResult().setResults(results);
+  }
+
+  /**
+   * Returns the given search request without its aggregations and highlighting, only fetching the urns of the hits.
+   */
+  @Nonnull
+  private static SearchRequest withUrnsOnly(@Nonnull SearchRequest request) {
+    final SearchSourceBuilder source = request.source();
+    final SearchSourceBuilder urnsOnly = new SearchSourceBuilder().query(source.query())
+        .postFilter(source.postFilter())
+        .from(source.from())
+        .size(source.size())
+        .fetchSource(URN_FIELD, null);
+    if (source.sorts() != null) {
+      source.sorts().forEach(urnsOnly::sort);
+    }
+    return request.source(urnsOnly);
+  }
+}
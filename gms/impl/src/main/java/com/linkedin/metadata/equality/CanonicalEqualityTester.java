@@ -0,0 +1,164 @@
+package com.linkedin.metadata.equality;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.MapDataSchema;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.schema.UnionDataSchema;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.UnionTemplate;
+import com.linkedin.metadata.dao.BaseLocalDAO;
+import com.linkedin.metadata.dao.equality.EqualityTester;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import io.micrometer.core.instrument.Counter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Considers two values of an aspect equal when their canonical hashes are, so that {@link BaseLocalDAO} skips storing
+ * them and producing an MAE for them.
+ *
+ * <p>The canonical hash covers the data of the aspect with map keys in sorted order, leaving out every AuditStamp:
+ * crawlers re-emitting unchanged metadata stamp it with the time of the crawl, which would otherwise make every value
+ * look new. Suppressed writes are counted by the 'gms.writes.suppressed' counter, tagged with the aspect.
+ */
+public class CanonicalEqualityTester<ASPECT extends RecordTemplate> implements EqualityTester<ASPECT> {
+
+  static final String AUDIT_STAMP_SCHEMA = "com.linkedin.common.AuditStamp";
+
+  private final Counter _suppressed;
+
+  public CanonicalEqualityTester(@Nonnull Class<ASPECT> aspectClass) {
+    _suppressed = MetricUtils.get().counter("gms.writes.suppressed", "aspect", aspectClass.getSimpleName());
+  }
+
+  /**
+   * Sets a {@link CanonicalEqualityTester} for every aspect of the given aspect union on the given DAO.
+   */
+  public static <ASPECT_UNION extends UnionTemplate> void registerAll(@Nonnull BaseLocalDAO<ASPECT_UNION, ?> dao,
+      @Nonnull Class<ASPECT_UNION> aspectUnionClass) {
+    for (Class<? extends RecordTemplate> aspectClass : ModelUtils.getValidAspectTypes(aspectUnionClass)) {
+      register(dao, aspectClass);
+    }
+  }
+
+  private static <ASPECT extends RecordTemplate> void register(@Nonnull BaseLocalDAO<?, ?> dao,
+      @Nonnull Class<ASPECT> aspectClass) {
+    dao.setEqualityTester(aspectClass, new CanonicalEqualityTester<>(aspectClass));
+  }
+
+  @Override
+  public boolean equals(@Nonnull ASPECT o1, @Nonnull ASPECT o2) {
+    final boolean equal = Arrays.equals(hash(o1), hash(o2));
+    if (equal) {
+      _suppressed.increment();
+    }
+    return equal;
+  }
+
+  /**
+   * Returns the canonical hash of the given record, as a SHA-256 digest.
+   */
+  @Nonnull
+  public static byte[] hash(@Nonnull RecordTemplate record) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+    update(digest, record.data(), record.schema());
+    return digest.digest();
+  }
+
+  /**
+   * Adds the given data to the digest, each value prefixed with its type and maps and lists with their size, so that
+   * different data cannot produce the same sequence of bytes.
+   */
+  private static void update(@Nonnull MessageDigest digest, @Nullable Object data, @Nullable DataSchema schema) {
+    final DataSchema dereferenced = schema == null ? null : schema.getDereferencedDataSchema();
+    if (data instanceof DataMap) {
+      final DataMap map = (DataMap) data;
+      final List<String> keys = new ArrayList<>();
+      for (String key : map.keySet()) {
+        if (!isAuditStamp(getValueSchema(dereferenced, key))) {
+          keys.add(key);
+        }
+      }
+      Collections.sort(keys);
+      updateString(digest, 'm', Integer.toString(keys.size()));
+      for (String key : keys) {
+        updateString(digest, 'k', key);
+        update(digest, map.get(key), getValueSchema(dereferenced, key));
+      }
+    } else if (data instanceof DataList) {
+      final DataList list = (DataList) data;
+      final DataSchema items =
+          dereferenced instanceof ArrayDataSchema ? ((ArrayDataSchema) dereferenced).getItems() : null;
+      updateString(digest, 'l', Integer.toString(list.size()));
+      for (Object item : list) {
+        update(digest, item, items);
+      }
+    } else if (data instanceof ByteString) {
+      final byte[] bytes = ((ByteString) data).copyBytes();
+      digest.update((byte) 'b');
+      digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) ':');
+      digest.update(bytes);
+    } else if (data instanceof String) {
+      updateString(digest, 's', (String) data);
+    } else if (data instanceof Integer || data instanceof Long) {
+      // Integers read back from JSON may be either, whatever the type of the field
+      updateString(digest, 'i', data.toString());
+    } else if (data instanceof Number) {
+      updateString(digest, 'd', Double.toString(((Number) data).doubleValue()));
+    } else {
+      // Booleans and null
+      updateString(digest, data == null ? 'n' : 'z', String.valueOf(data));
+    }
+  }
+
+  private static void updateString(@Nonnull MessageDigest digest, char type, @Nonnull String value) {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    digest.update((byte) type);
+    digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) ':');
+    digest.update(bytes);
+  }
+
+  /**
+   * Returns the schema of the value of the given key of a map of the given schema, or null if it is unknown.
+   */
+  @Nullable
+  private static DataSchema getValueSchema(@Nullable DataSchema schema, @Nonnull String key) {
+    if (schema instanceof RecordDataSchema) {
+      final RecordDataSchema.Field field = ((RecordDataSchema) schema).getField(key);
+      return field == null ? null : field.getType();
+    }
+    if (schema instanceof MapDataSchema) {
+      return ((MapDataSchema) schema).getValues();
+    }
+    if (schema instanceof UnionDataSchema) {
+      return ((UnionDataSchema) schema).getTypeByMemberKey(key);
+    }
+    return null;
+  }
+
+  private static boolean isAuditStamp(@Nullable DataSchema schema) {
+    final DataSchema dereferenced = schema == null ? null : schema.getDereferencedDataSchema();
+    return dereferenced instanceof RecordDataSchema
+        && AUDIT_STAMP_SCHEMA.equals(((RecordDataSchema) dereferenced).getFullName());
+  }
+}
@@ -0,0 +1,251 @@
+package com.linkedin.metadata.index;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
+import org.elasticsearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.GetMappingsRequest;
+import org.elasticsearch.client.indices.PutMappingRequest;
+import org.elasticsearch.cluster.metadata.MappingMetadata;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+
+
+/**
+ * Switches search indices to settings suited to loading many documents at once: refreshes are disabled and replicas
+ * dropped, so that every document is only indexed once, into segments which are not flushed every second.
+ *
+ * <p>The settings of every index are saved in the '_meta' of its mappings before being changed and restored from there
+ * when the load is closed, after which the index is force merged. A load which is not closed within {@code timeoutMillis}
+ * is restored by a watchdog, and the saved settings of a load abandoned by a process which died midway are restored by
+ * the next {@link #start} on the same indices, or by {@link #restoreExpired}.
+ */
+@Slf4j
+public class BulkLoadMode {
+
+  static final String META_KEY = "bulk_load";
+  static final String REFRESH_INTERVAL = "index.refresh_interval";
+  static final String NUMBER_OF_REPLICAS = "index.number_of_replicas";
+  static final String EXPIRES_AT = "expires_at";
+
+  private static final String DISABLED_REFRESH_INTERVAL = "-1";
+  private static final long SOCKET_TIMEOUT_MARGIN_MILLIS = 60000;
+
+  private final RestHighLevelClient _client;
+  private final long _timeoutMillis;
+  private final int _maxNumSegments;
+  private final RequestOptions _longRequestOptions;
+  private final ScheduledExecutorService _watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "bulk-load-watchdog");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * @param timeoutMillis time after which the settings of a load still running are restored regardless, which also
+   *                      bounds the wait for force merges and replicas to complete
+   * @param maxNumSegments number of segments indices are force merged down to after a load
+   */
+  public BulkLoadMode(@Nonnull RestHighLevelClient client, long timeoutMillis, int maxNumSegments) {
+    _client = client;
+    _timeoutMillis = timeoutMillis;
+    _maxNumSegments = maxNumSegments;
+    _longRequestOptions = RequestOptions.DEFAULT.toBuilder()
+        .setRequestConfig(RequestConfig.custom()
+            .setSocketTimeout((int) Math.min(Integer.MAX_VALUE, timeoutMillis + SOCKET_TIMEOUT_MARGIN_MILLIS))
+            .build())
+        .build();
+  }
+
+  /**
+   * Disables refreshes and replicas of the given indices or aliases until the returned load is closed.
+   */
+  @Nonnull
+  public Load start(@Nonnull Collection<String> indices) throws IOException {
+    final Map<String, Map<String, Object>> saved = getSavedSettings(indices);
+    final GetSettingsResponse current = _client.indices()
+        .getSettings(new GetSettingsRequest().indices(indices.toArray(new String[0])), RequestOptions.DEFAULT);
+    final long expiresAt = System.currentTimeMillis() + _timeoutMillis;
+
+    final List<String> concreteIndices = new ArrayList<>(saved.keySet());
+    for (String index : concreteIndices) {
+      final Map<String, Object> settings = new HashMap<>();
+      if (saved.get(index) != null) {
+        // Left over by a load which never completed, whose settings were not restored
+        log.warn("Index {} is still in bulk load mode, keeping the settings saved by the previous load", index);
+        settings.putAll(saved.get(index));
+      } else {
+        putIfNotNull(settings, REFRESH_INTERVAL, current.getSetting(index, REFRESH_INTERVAL));
+        putIfNotNull(settings, NUMBER_OF_REPLICAS, current.getSetting(index, NUMBER_OF_REPLICAS));
+      }
+      settings.put(EXPIRES_AT, expiresAt);
+      saveSettings(index, settings);
+    }
+    _client.indices().putSettings(new UpdateSettingsRequest(concreteIndices.toArray(new String[0]))
+        .settings(Settings.builder().put(REFRESH_INTERVAL, DISABLED_REFRESH_INTERVAL).put(NUMBER_OF_REPLICAS, 0)),
+        RequestOptions.DEFAULT);
+    log.info("Started bulk load into {}, refreshes and replicas disabled for at most {}ms", concreteIndices,
+        _timeoutMillis);
+    return new Load(concreteIndices);
+  }
+
+  /**
+   * Restores the settings of those of the given indices or aliases left in bulk load mode past the timeout of their
+   * load, e.g. by a process which died midway.
+   */
+  public void restoreExpired(@Nonnull Collection<String> indices) throws IOException {
+    final long now = System.currentTimeMillis();
+    for (Map.Entry<String, Map<String, Object>> entry : getSavedSettings(indices).entrySet()) {
+      final Object expiresAt = entry.getValue() == null ? null : entry.getValue().get(EXPIRES_AT);
+      if (expiresAt instanceof Number && ((Number) expiresAt).longValue() < now) {
+        log.warn("Index {} was left in bulk load mode, restoring its settings", entry.getKey());
+        restoreSettings(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Returns the given settings to apply to an index to restore the settings saved by {@link #start}; settings which
+   * were not set are reset to their default.
+   */
+  @Nonnull
+  static Settings toRestoredSettings(@Nonnull Map<String, Object> saved, @Nonnull String... keys) {
+    final Settings.Builder settings = Settings.builder();
+    for (String key : keys) {
+      final Object value = saved.get(key);
+      if (value == null) {
+        settings.putNull(key);
+      } else {
+        settings.put(key, value.toString());
+      }
+    }
+    return settings.build();
+  }
+
+  /**
+   * Returns the settings saved by {@link #start} in each of the concrete indices behind the given indices or aliases,
+   * null for those which are not in bulk load mode.
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private Map<String, Map<String, Object>> getSavedSettings(@Nonnull Collection<String> indices) throws IOException {
+    final Map<String, MappingMetadata> mappings = _client.indices()
+        .getMapping(new GetMappingsRequest().indices(indices.toArray(new String[0])), RequestOptions.DEFAULT)
+        .mappings();
+    final Map<String, Map<String, Object>> saved = new HashMap<>();
+    for (Map.Entry<String, MappingMetadata> entry : mappings.entrySet()) {
+      final Object meta = entry.getValue() == null ? null : entry.getValue().getSourceAsMap().get("_meta");
+      final Object settings = meta instanceof Map ? ((Map<String, Object>) meta).get(META_KEY) : null;
+      saved.put(entry.getKey(), settings instanceof Map ? (Map<String, Object>) settings : null);
+    }
+    return saved;
+  }
+
+  private void saveSettings(@Nonnull String index, @Nullable Map<String, Object> settings) throws IOException {
+    final Map<String, Object> meta = settings == null ? Collections.emptyMap() : Collections.singletonMap(META_KEY, settings);
+    _client.indices().putMapping(new PutMappingRequest(index).source(Collections.singletonMap("_meta", meta)),
+        RequestOptions.DEFAULT);
+  }
+
+  private void restoreSettings(@Nonnull String index, @Nonnull Map<String, Object> saved) throws IOException {
+    _client.indices().putSettings(
+        new UpdateSettingsRequest(index).settings(toRestoredSettings(saved, REFRESH_INTERVAL, NUMBER_OF_REPLICAS)),
+        RequestOptions.DEFAULT);
+    saveSettings(index, null);
+  }
+
+  private static void putIfNotNull(@Nonnull Map<String, Object> map, @Nonnull String key, @Nullable String value) {
+    if (value != null) {
+      map.put(key, value);
+    }
+  }
+
+  /**
+   * A bulk load into a set of concrete indices, which restores their settings when closed.
+   */
+  public final class Load implements Closeable {
+    private final List<String> _indices;
+    private final AtomicBoolean _closed = new AtomicBoolean();
+    private final ScheduledFuture<?> _timeout;
+
+    private Load(@Nonnull List<String> indices) {
+      _indices = indices;
+      _timeout = _watchdog.schedule(this::expire, _timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Nonnull
+    public List<String> getIndices() {
+      return _indices;
+    }
+
+    /**
+     * Restores the refresh interval of the indices, force merges them, then restores their replicas and waits for them
+     * to be allocated, so that replicas are copied from the merged segments.
+     */
+    @Override
+    public void close() throws IOException {
+      if (!_closed.compareAndSet(false, true)) {
+        return;
+      }
+      _timeout.cancel(false);
+      final Map<String, Map<String, Object>> saved = getSavedSettings(_indices);
+      final String[] indices = _indices.toArray(new String[0]);
+
+      for (String index : _indices) {
+        final Map<String, Object> settings = saved.get(index) == null ? Collections.emptyMap() : saved.get(index);
+        _client.indices().putSettings(new UpdateSettingsRequest(index).settings(toRestoredSettings(settings, REFRESH_INTERVAL)),
+            RequestOptions.DEFAULT);
+      }
+      try {
+        _client.indices().forcemerge(new ForceMergeRequest(indices).maxNumSegments(_maxNumSegments), _longRequestOptions);
+      } catch (IOException e) {
+        log.error("Failed to force merge {} after bulk load, restoring replicas regardless", _indices, e);
+      }
+      for (String index : _indices) {
+        restoreSettings(index, saved.get(index) == null ? Collections.emptyMap() : saved.get(index));
+      }
+
+      final boolean timedOut = _client.cluster().health(new ClusterHealthRequest(indices)
+          .waitForGreenStatus()
+          .timeout(TimeValue.timeValueMillis(_timeoutMillis)), _longRequestOptions).isTimedOut();
+      if (timedOut) {
+        log.warn("Replicas of {} were not allocated within {}ms of the end of the bulk load", _indices, _timeoutMillis);
+      }
+      log.info("Completed bulk load into {}", _indices);
+    }
+
+    private void expire() {
+      if (!_closed.compareAndSet(false, true)) {
+        return;
+      }
+      log.warn("Bulk load into {} still running after {}ms, restoring refreshes and replicas", _indices, _timeoutMillis);
+      try {
+        for (Map.Entry<String, Map<String, Object>> entry : getSavedSettings(_indices).entrySet()) {
+          restoreSettings(entry.getKey(), entry.getValue() == null ? Collections.emptyMap() : entry.getValue());
+        }
+      } catch (IOException e) {
+        log.error("Failed to restore the settings of {} after bulk load timeout", _indices, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.linkedin.metadata.index;
+
+import com.google.common.io.Resources;
+import com.linkedin.data.template.RecordTemplate;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Settings and mappings of the search index backing a document type, read from 'index/&lt;directory&gt;/settings.json'
+ * and 'index/&lt;directory&gt;/mappings.json' on the classpath.
+ *
+ * <p>Document types without such resources are indexed with dynamic mappings and default settings.
+ */
+public class IndexDefinition {
+
+  private static final String RESOURCE_ROOT = "index/";
+  private static final int VERSION_LENGTH = 10;
+
+  private final Class<? extends RecordTemplate> _documentClass;
+  private final String _settings;
+  private final String _mappings;
+  private final String _version;
+
+  public IndexDefinition(@Nonnull Class<? extends RecordTemplate> documentClass, @Nullable String resourceDirectory) {
+    _documentClass = documentClass;
+    _settings = resourceDirectory == null ? null : readResource(resourceDirectory + "/settings.json");
+    _mappings = resourceDirectory == null ? null : readResource(resourceDirectory + "/mappings.json");
+    _version = computeVersion(_settings, _mappings);
+  }
+
+  @Nonnull
+  public Class<? extends RecordTemplate> getDocumentClass() {
+    return _documentClass;
+  }
+
+  /**
+   * Returns the index settings as JSON, i.e. {"index": {...}}, or null to use default settings.
+   */
+  @Nullable
+  public String getSettings() {
+    return _settings;
+  }
+
+  /**
+   * Returns the index mappings as JSON, i.e. {"properties": {...}}, or null to use dynamic mappings.
+   */
+  @Nullable
+  public String getMappings() {
+    return _mappings;
+  }
+
+  /**
+   * Returns a short hash of the settings and mappings, which changes whenever either of them does.
+   */
+  @Nonnull
+  public String getVersion() {
+    return _version;
+  }
+
+  /**
+   * Returns the name of the concrete index holding this version of the index behind the given alias.
+   */
+  @Nonnull
+  public String getVersionedIndexName(@Nonnull String alias) {
+    return alias + "_v" + _version;
+  }
+
+  @Nullable
+  private static String readResource(@Nonnull String path) {
+    final URL url = IndexDefinition.class.getClassLoader().getResource(RESOURCE_ROOT + path);
+    if (url == null) {
+      return null;
+    }
+    try {
+      return Resources.toString(url, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to read index resource " + path, e);
+    }
+  }
+
+  @Nonnull
+  private static String computeVersion(@Nullable String settings, @Nullable String mappings) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(String.valueOf(settings).getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(String.valueOf(mappings).getBytes(StandardCharsets.UTF_8));
+      final StringBuilder hex = new StringBuilder();
+      for (byte b : digest.digest()) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.substring(0, VERSION_LENGTH);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
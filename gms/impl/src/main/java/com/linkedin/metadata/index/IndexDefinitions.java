@@ -0,0 +1,42 @@
+package com.linkedin.metadata.index;
+
+import com.google.common.collect.ImmutableList;
+import com.linkedin.metadata.search.ChartDocument;
+import com.linkedin.metadata.search.CorpGroupDocument;
+import com.linkedin.metadata.search.CorpUserInfoDocument;
+import com.linkedin.metadata.search.DashboardDocument;
+import com.linkedin.metadata.search.DataFlowDocument;
+import com.linkedin.metadata.search.DataJobDocument;
+import com.linkedin.metadata.search.DataProcessDocument;
+import com.linkedin.metadata.search.DatasetDocument;
+import com.linkedin.metadata.search.MLModelDocument;
+import com.linkedin.metadata.search.TagDocument;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Definitions of the search indices of every document type built by the MAE consumer job.
+ */
+public class IndexDefinitions {
+
+  private static final List<IndexDefinition> ALL = ImmutableList.of(
+      new IndexDefinition(ChartDocument.class, "chart"),
+      new IndexDefinition(CorpGroupDocument.class, null),
+      new IndexDefinition(CorpUserInfoDocument.class, "corp-user"),
+      new IndexDefinition(DashboardDocument.class, "dashboard"),
+      new IndexDefinition(DataFlowDocument.class, "dataflow"),
+      new IndexDefinition(DataJobDocument.class, "datajob"),
+      new IndexDefinition(DataProcessDocument.class, "data-process"),
+      new IndexDefinition(DatasetDocument.class, "dataset"),
+      new IndexDefinition(MLModelDocument.class, "ml-model"),
+      new IndexDefinition(TagDocument.class, "tags"));
+
+  private IndexDefinitions() {
+  }
+
+  @Nonnull
+  public static List<IndexDefinition> all() {
+    return ALL;
+  }
+}
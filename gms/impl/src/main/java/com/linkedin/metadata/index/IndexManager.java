@@ -0,0 +1,423 @@
+package com.linkedin.metadata.index;
+
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.core.CountRequest;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.client.tasks.GetTaskRequest;
+import org.elasticsearch.client.tasks.GetTaskResponse;
+import org.elasticsearch.client.tasks.TaskSubmissionResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.VersionType;
+import org.elasticsearch.index.reindex.ReindexRequest;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
+import org.elasticsearch.tasks.RawTaskStatus;
+import org.elasticsearch.tasks.Task;
+
+
+/**
+ * Creates and evolves the search indices described by {@link IndexDefinition}s, replacing the comparison & reindexing
+ * previously done by the 'elasticsearch-setup' container.
+ *
+ * <p>Every search index is a concrete index named after the version of its settings & mappings, see
+ * {@link IndexDefinition#getVersionedIndexName(String)}, behind an alias named after the {@link IndexConvention}. When
+ * the version changes, the new index is built while the current one keeps serving reads and writes:
+ * <ol>
+ *   <li>the new index is created and marked with the {@link ReindexTargets#getTargetAlias(String)} alias, from which
+ *   point the MAE consumer job writes every update to it as well;</li>
+ *   <li>documents are copied over with sliced '_reindex' passes which write whole documents with their version in the
+ *   current index as an external version, so that they replace the partial documents dual-written updates create but
+ *   never a copy of a newer version. An update missed by a copy read before it leaves the new document at a lower
+ *   version than the current one, so passes are repeated until one copies nothing; the rebuild fails rather than
+ *   swapping the alias if they still copy documents after the maximum number of passes. When a {@link BulkLoadMode} is
+ *   given, the new index has neither refreshes nor replicas until the passes are done and is then force merged;</li>
+ *   <li>documents deleted while they were being copied, which the copy brings back, are deleted from the new index
+ *   again if it holds more documents than the current one;</li>
+ *   <li>once the new index holds as many documents as the current one, the alias is swapped atomically and the previous
+ *   index deleted.</li>
+ * </ol>
+ *
+ * <p>If documents can't be copied or counts don't match, the new index is unmarked so that writers stop updating it,
+ * and kept for the next rebuild to copy into again.
+ *
+ * <p>Progress is published as the 'elasticsearch.reindex.progress' gauge, between 0 and 1, tagged with the alias.
+ * The number of shards and replicas {@link IndexSizing} recommends for the documents of every index is logged when it
+ * differs from the current one, to be applied through its settings.
+ */
+@Slf4j
+public class IndexManager {
+
+  private static final long TASK_POLL_MILLIS = 5000;
+  private static final String OP_TYPE_INDEX = "index";
+  private static final int PRUNE_BATCH_SIZE = 1000;
+  private static final TimeValue PRUNE_SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+
+  private final RestHighLevelClient _client;
+  private final IndexConvention _indexConvention;
+  private final List<IndexDefinition> _definitions;
+  private final long _dualWriteDelayMillis;
+  private final int _maxPasses;
+  private final int _parallelism;
+  private final BulkLoadMode _bulkLoadMode;
+  private final long _docsPerShard;
+
+  /**
+   * @param dualWriteDelayMillis time to wait between marking a new index as a reindex target and copying documents into
+   *                             it, which must exceed the refresh period of the writers' {@link ReindexTargets}
+   * @param maxPasses maximum number of '_reindex' passes, after which a rebuild whose last pass still copied documents
+   *                  fails, keeping the current index
+   * @param parallelism number of indices built concurrently
+   * @param bulkLoadMode bulk load mode to copy documents into new indices in, or null to copy them with their settings
+   * @param docsPerShard number of documents per shard the recommended number of shards is computed from
+   */
+  public IndexManager(@Nonnull RestHighLevelClient client, @Nonnull IndexConvention indexConvention,
+      @Nonnull List<IndexDefinition> definitions, long dualWriteDelayMillis, int maxPasses, int parallelism,
+      @Nullable BulkLoadMode bulkLoadMode, long docsPerShard) {
+    _client = client;
+    _indexConvention = indexConvention;
+    _definitions = definitions;
+    _dualWriteDelayMillis = dualWriteDelayMillis;
+    _maxPasses = maxPasses;
+    _parallelism = parallelism;
+    _bulkLoadMode = bulkLoadMode;
+    _docsPerShard = docsPerShard;
+  }
+
+  /**
+   * Creates missing indices and rebuilds those whose settings or mappings changed, blocking until all are done.
+   */
+  public void ensureIndices() {
+    if (_bulkLoadMode != null) {
+      try {
+        _bulkLoadMode.restoreExpired(_definitions.stream()
+            .map(definition -> _indexConvention.getIndexName(definition.getDocumentClass()))
+            .collect(Collectors.toList()));
+      } catch (IOException e) {
+        log.error("Failed to restore search indices left in bulk load mode", e);
+      }
+    }
+    final ExecutorService executor = Executors.newFixedThreadPool(_parallelism);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (IndexDefinition definition : _definitions) {
+        futures.add(executor.submit(() -> {
+          ensureIndex(definition);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          log.error("Failed to build search index", e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Creates the index of the given definition, or rebuilds it if its settings or mappings changed.
+   */
+  public void ensureIndex(@Nonnull IndexDefinition definition) throws IOException, InterruptedException {
+    final String alias = _indexConvention.getIndexName(definition.getDocumentClass());
+    final String target = definition.getVersionedIndexName(alias);
+    final Set<String> current = getAliasedIndices(alias);
+
+    if (current.size() == 1 && current.contains(target)) {
+      log.info("Search index {} is up to date", alias);
+      logSizing(alias);
+      return;
+    }
+    if (current.size() > 1) {
+      throw new IllegalStateException("Alias " + alias + " points to several indices: " + current);
+    }
+
+    final boolean legacy = current.isEmpty() && indexExists(alias);
+    if (current.isEmpty() && !legacy) {
+      log.info("Creating search index {} behind alias {}", target, alias);
+      createIndex(target, definition);
+      _client.indices().updateAliases(new IndicesAliasesRequest()
+          .addAliasAction(IndicesAliasesRequest.AliasActions.add().index(target).alias(alias)), RequestOptions.DEFAULT);
+      return;
+    }
+
+    final String source = legacy ? alias : current.iterator().next();
+    log.info("Settings or mappings of search index {} changed, rebuilding {} into {}", alias, source, target);
+    final Timer.Sample sample = Timer.start(MetricUtils.get());
+    rebuild(alias, source, target, definition, legacy);
+    sample.stop(MetricUtils.timer("elasticsearch.reindex.latency", "index", alias));
+    logSizing(alias);
+  }
+
+  private void rebuild(@Nonnull String alias, @Nonnull String source, @Nonnull String target,
+      @Nonnull IndexDefinition definition, boolean legacy) throws IOException, InterruptedException {
+    // The target survives a previous, failed rebuild; copying again is harmless as only newer versions are written.
+    if (!indexExists(target)) {
+      createIndex(target, definition);
+    }
+    _client.indices().updateAliases(new IndicesAliasesRequest()
+            .addAliasAction(IndicesAliasesRequest.AliasActions.add().index(target).alias(ReindexTargets.getTargetAlias(alias))),
+        RequestOptions.DEFAULT);
+
+    final AtomicLong progress = new AtomicLong();
+    MetricUtils.get().gauge("elasticsearch.reindex.progress", Tags.of("index", alias), progress, permille -> permille.get() / 1000.0);
+    try {
+      populate(source, target, progress);
+    } catch (IOException | InterruptedException | RuntimeException e) {
+      unmarkTarget(alias, target);
+      throw e;
+    }
+
+    final IndicesAliasesRequest swap = new IndicesAliasesRequest()
+        .addAliasAction(legacy
+            ? IndicesAliasesRequest.AliasActions.removeIndex().index(source)
+            : IndicesAliasesRequest.AliasActions.remove().index(source).alias(alias))
+        .addAliasAction(IndicesAliasesRequest.AliasActions.add().index(target).alias(alias))
+        .addAliasAction(IndicesAliasesRequest.AliasActions.remove().index(target).alias(ReindexTargets.getTargetAlias(alias)));
+    _client.indices().updateAliases(swap, RequestOptions.DEFAULT);
+    if (!legacy) {
+      _client.indices().delete(new DeleteIndexRequest(source), RequestOptions.DEFAULT);
+    }
+    progress.set(1000);
+    log.info("Swapped alias {} from {} to {}", alias, source, target);
+  }
+
+  /**
+   * Copies the documents of the source into the target once writers update it as well, and checks that it then holds
+   * as many documents.
+   */
+  private void populate(@Nonnull String source, @Nonnull String target, @Nonnull AtomicLong progress)
+      throws IOException, InterruptedException {
+    Thread.sleep(_dualWriteDelayMillis);
+
+    final BulkLoadMode.Load load = _bulkLoadMode == null ? null : _bulkLoadMode.start(Collections.singletonList(target));
+    long copied = -1;
+    try {
+      for (int pass = 1; pass <= _maxPasses && copied != 0; pass++) {
+        copied = reindex(source, target, progress);
+        log.info("Reindex pass {} of {} into {} copied {} documents", pass, source, target, copied);
+      }
+    } finally {
+      if (load != null) {
+        load.close();
+      }
+    }
+
+    if (copied != 0) {
+      throw new IllegalStateException(String.format("Documents of %s were still being copied into %s after %d passes, "
+          + "keeping %s", source, target, _maxPasses, source));
+    }
+
+    _client.indices().refresh(new RefreshRequest(source, target), RequestOptions.DEFAULT);
+    final long sourceCount = count(source);
+    long targetCount = count(target);
+    if (targetCount > sourceCount) {
+      final long deleted = deleteMissing(source, target);
+      log.info("Deleted {} documents of {} deleted from {} while being copied", deleted, target, source);
+      _client.indices().refresh(new RefreshRequest(target), RequestOptions.DEFAULT);
+      targetCount = count(target);
+    }
+    if (targetCount < sourceCount) {
+      throw new IllegalStateException(String.format("Rebuilt index %s holds %d documents while %s holds %d, keeping %s",
+          target, targetCount, source, sourceCount, source));
+    }
+  }
+
+  /**
+   * Removes the reindex target alias from the index of a failed rebuild, logging rather than throwing so that the
+   * failure of the rebuild is the one reported.
+   */
+  private void unmarkTarget(@Nonnull String alias, @Nonnull String target) {
+    try {
+      _client.indices().updateAliases(new IndicesAliasesRequest()
+              .addAliasAction(IndicesAliasesRequest.AliasActions.remove().index(target).alias(ReindexTargets.getTargetAlias(alias))),
+          RequestOptions.DEFAULT);
+      log.info("Rebuild of {} into {} failed, writers stop updating {}", alias, target, target);
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to remove alias {} from {}", ReindexTargets.getTargetAlias(alias), target, e);
+    }
+  }
+
+  /**
+   * Runs one sliced '_reindex' pass as a background task and returns the number of documents it created or replaced.
+   *
+   * <p>Documents are written whole with the version they have in the source as an external version. Documents of the
+   * target at the same or a higher version, copied by a previous pass and updated since by the MAE consumer job along
+   * with the source, are left as they are and counted as version conflicts; those created by partial dual-written
+   * updates, or which missed an update, have a lower version and are replaced.
+   */
+  private long reindex(@Nonnull String source, @Nonnull String target, @Nonnull AtomicLong progress)
+      throws IOException, InterruptedException {
+    final ReindexRequest request = new ReindexRequest()
+        .setSourceIndices(source)
+        .setDestIndex(target)
+        .setDestOpType(OP_TYPE_INDEX)
+        .setDestVersionType(VersionType.EXTERNAL)
+        .setAbortOnVersionConflict(false)
+        .setSlices(ReindexRequest.AUTO_SLICES)
+        .setRefresh(false);
+    final TaskSubmissionResponse submission = _client.submitReindexTask(request, RequestOptions.DEFAULT);
+    final String[] taskId = submission.getTask().split(":");
+    final GetTaskRequest getTaskRequest = new GetTaskRequest(taskId[0], Long.parseLong(taskId[1]));
+
+    while (true) {
+      Thread.sleep(TASK_POLL_MILLIS);
+      final Optional<GetTaskResponse> response = _client.tasks().get(getTaskRequest, RequestOptions.DEFAULT);
+      if (!response.isPresent()) {
+        throw new IllegalStateException("Reindex task " + submission.getTask() + " disappeared");
+      }
+      final Map<String, Object> status = toMap(response.get().getTaskInfo().getStatus());
+      final long total = getLong(status, "total");
+      final long copied = getLong(status, "created") + getLong(status, "updated");
+      final long done = copied + getLong(status, "version_conflicts") + getLong(status, "noops");
+      progress.set(total == 0 ? 0 : Math.min(1000, done * 1000 / total));
+      if (response.get().isCompleted()) {
+        return copied;
+      }
+    }
+  }
+
+  /**
+   * Deletes the documents of the target which are not in the source, and returns their number.
+   */
+  private long deleteMissing(@Nonnull String source, @Nonnull String target) throws IOException {
+    final SearchRequest searchRequest = new SearchRequest(target)
+        .source(new SearchSourceBuilder().fetchSource(false).size(PRUNE_BATCH_SIZE))
+        .scroll(PRUNE_SCROLL_KEEP_ALIVE);
+    SearchResponse response = _client.search(searchRequest, RequestOptions.DEFAULT);
+    long deleted = 0;
+    try {
+      while (response.getHits().getHits().length > 0) {
+        final MultiGetRequest multiGet = new MultiGetRequest();
+        for (SearchHit hit : response.getHits().getHits()) {
+          multiGet.add(new MultiGetRequest.Item(source, hit.getId()).fetchSourceContext(FetchSourceContext.DO_NOT_FETCH_SOURCE));
+        }
+        final BulkRequest deletes = new BulkRequest();
+        for (MultiGetItemResponse item : _client.mget(multiGet, RequestOptions.DEFAULT).getResponses()) {
+          if (item.isFailed()) {
+            throw new IOException("Failed to get document " + item.getId() + " of " + source, item.getFailure().getFailure());
+          }
+          if (!item.getResponse().isExists()) {
+            deletes.add(new DeleteRequest(target, item.getId()));
+          }
+        }
+        if (deletes.numberOfActions() > 0) {
+          final BulkResponse bulkResponse = _client.bulk(deletes, RequestOptions.DEFAULT);
+          if (bulkResponse.hasFailures()) {
+            throw new IOException("Failed to delete documents of " + target + ": " + bulkResponse.buildFailureMessage());
+          }
+          deleted += deletes.numberOfActions();
+        }
+        response = _client.scroll(new SearchScrollRequest(response.getScrollId()).scroll(PRUNE_SCROLL_KEEP_ALIVE),
+            RequestOptions.DEFAULT);
+      }
+    } finally {
+      final ClearScrollRequest clearScroll = new ClearScrollRequest();
+      clearScroll.addScrollId(response.getScrollId());
+      _client.clearScroll(clearScroll, RequestOptions.DEFAULT);
+    }
+    return deleted;
+  }
+
+  /**
+   * Logs the number of shards and replicas recommended for the documents of the given index if they differ from its
+   * current ones.
+   */
+  private void logSizing(@Nonnull String alias) throws IOException {
+    final long docCount = count(alias);
+    final int dataNodes = _client.cluster().health(new ClusterHealthRequest(), RequestOptions.DEFAULT).getNumberOfDataNodes();
+    final GetSettingsResponse settings = _client.indices().getSettings(new GetSettingsRequest().indices(alias)
+        .names("index.number_of_shards", "index.number_of_replicas"), RequestOptions.DEFAULT);
+    for (String index : getAliasedIndices(alias)) {
+      final int shards = Integer.parseInt(settings.getSetting(index, "index.number_of_shards"));
+      final int replicas = Integer.parseInt(settings.getSetting(index, "index.number_of_replicas"));
+      final int recommendedShards = IndexSizing.recommendedShards(docCount, _docsPerShard);
+      final int recommendedReplicas = IndexSizing.recommendedReplicas(dataNodes);
+      if (shards != recommendedShards || replicas != recommendedReplicas) {
+        log.info("Search index {} holds {} documents in {} shards with {} replicas, {} shards with {} replicas are "
+            + "recommended", alias, docCount, shards, replicas, recommendedShards, recommendedReplicas);
+      }
+    }
+  }
+
+  @Nonnull
+  private Set<String> getAliasedIndices(@Nonnull String alias) throws IOException {
+    return _client.indices().getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT).getAliases().keySet();
+  }
+
+  private boolean indexExists(@Nonnull String index) throws IOException {
+    return _client.indices().exists(new GetIndexRequest(index), RequestOptions.DEFAULT);
+  }
+
+  private long count(@Nonnull String index) throws IOException {
+    return _client.count(new CountRequest(index), RequestOptions.DEFAULT).getCount();
+  }
+
+  private void createIndex(@Nonnull String index, @Nonnull IndexDefinition definition) throws IOException {
+    final CreateIndexRequest request = new CreateIndexRequest(index);
+    if (definition.getSettings() != null) {
+      request.settings(definition.getSettings(), XContentType.JSON);
+    }
+    if (definition.getMappings() != null) {
+      request.mapping(definition.getMappings(), XContentType.JSON);
+    }
+    _client.indices().create(request, RequestOptions.DEFAULT);
+  }
+
+  @Nonnull
+  private static Map<String, Object> toMap(@Nonnull Task.Status status) {
+    if (!(status instanceof RawTaskStatus)) {
+      throw new IllegalStateException("Unexpected reindex task status " + status);
+    }
+    return ((RawTaskStatus) status).toMap();
+  }
+
+  private static long getLong(@Nonnull Map<String, Object> status, @Nonnull String field) {
+    final Object value = status.get(field);
+    return value instanceof Number ? ((Number) value).longValue() : 0;
+  }
+}
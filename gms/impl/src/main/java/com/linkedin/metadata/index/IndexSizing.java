@@ -0,0 +1,32 @@
+package com.linkedin.metadata.index;
+
+/**
+ * Recommends the number of shards and replicas of a search index from the number of documents it holds.
+ *
+ * <p>Search documents are small and of similar size, so the number of documents per shard stands in for the shard size
+ * Elasticsearch recommends keeping between a few and a few tens of GBs.
+ */
+public final class IndexSizing {
+
+  private IndexSizing() {
+  }
+
+  /**
+   * Returns the number of primary shards needed to hold the given number of documents with at most
+   * {@code docsPerShard} documents per shard.
+   */
+  public static int recommendedShards(long docCount, long docsPerShard) {
+    if (docsPerShard <= 0) {
+      throw new IllegalArgumentException("docsPerShard must be positive, was " + docsPerShard);
+    }
+    return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (docCount + docsPerShard - 1) / docsPerShard));
+  }
+
+  /**
+   * Returns the number of replicas keeping every shard available when a data node is lost, which is one as long as the
+   * cluster has another data node to allocate it to.
+   */
+  public static int recommendedReplicas(int dataNodes) {
+    return dataNodes > 1 ? 1 : 0;
+  }
+}
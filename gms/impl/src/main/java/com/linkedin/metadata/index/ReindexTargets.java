@@ -0,0 +1,84 @@
+package com.linkedin.metadata.index;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+
+
+/**
+ * Resolves the indices being built by {@link IndexManager} for a search index alias, so that writers can send every
+ * update to them as well as to the alias while they are being populated.
+ *
+ * <p>Lookups are cached for {@code refreshMillis}; {@link IndexManager} waits for longer than that between publishing a
+ * new target and starting to copy documents into it, so that no update is missed.
+ */
+@Slf4j
+public class ReindexTargets {
+
+  private final RestHighLevelClient _client;
+  private final long _refreshMillis;
+  private final Map<String, CachedTargets> _cache = new ConcurrentHashMap<>();
+
+  public ReindexTargets(@Nonnull RestHighLevelClient client, long refreshMillis) {
+    _client = client;
+    _refreshMillis = refreshMillis;
+  }
+
+  /**
+   * Returns the name of the alias marking the indices being built for the given search index alias.
+   */
+  @Nonnull
+  public static String getTargetAlias(@Nonnull String alias) {
+    return alias + "_reindex_target";
+  }
+
+  /**
+   * Returns the concrete indices currently being built for the given search index alias, if any.
+   */
+  @Nonnull
+  public List<String> getTargets(@Nonnull String alias) {
+    final long now = System.currentTimeMillis();
+    final CachedTargets cached = _cache.get(alias);
+    if (cached != null && cached._expiresAt > now) {
+      return cached._indices;
+    }
+    final List<String> indices = lookup(alias, cached == null ? Collections.emptyList() : cached._indices);
+    _cache.put(alias, new CachedTargets(indices, now + _refreshMillis));
+    return indices;
+  }
+
+  public long getRefreshMillis() {
+    return _refreshMillis;
+  }
+
+  @Nonnull
+  private List<String> lookup(@Nonnull String alias, @Nonnull List<String> fallback) {
+    try {
+      final GetAliasesResponse response =
+          _client.indices().getAlias(new GetAliasesRequest(getTargetAlias(alias)), RequestOptions.DEFAULT);
+      return Collections.unmodifiableList(new ArrayList<>(response.getAliases().keySet()));
+    } catch (IOException e) {
+      log.error("Failed to look up reindex targets of {}, keeping {}", alias, fallback, e);
+      return fallback;
+    }
+  }
+
+  private static final class CachedTargets {
+    private final List<String> _indices;
+    private final long _expiresAt;
+
+    private CachedTargets(@Nonnull List<String> indices, long expiresAt) {
+      _indices = indices;
+      _expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.linkedin.metadata.outbox;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.UnionTemplate;
+import com.linkedin.metadata.dao.EbeanLocalDAO;
+import com.linkedin.metadata.dao.producer.KafkaMetadataEventProducer;
+import com.linkedin.metadata.dao.producer.MetadataEventOutbox;
+import com.linkedin.metadata.dao.storage.LocalDAOStorageConfig;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.mxe.MetadataAuditEvent;
+import io.ebean.config.ServerConfig;
+import java.sql.Timestamp;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * An {@link EbeanLocalDAO} which, when its outbox is enabled, writes the MAE of every aspect it saves to the
+ * 'metadata_event_outbox' table in the same transaction as the aspect, for the {@link OutboxRelay} to send to Kafka.
+ *
+ * <p>An MAE is then sent if and only if its aspect is committed, whether or not the producer or the process fails in
+ * between, so that search and graph indices do not silently diverge from the aspects.
+ */
+public class OutboxEbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
+    extends EbeanLocalDAO<ASPECT_UNION, URN> implements MetadataEventOutbox {
+
+  static final String INSERT_SQL =
+      "INSERT INTO metadata_event_outbox (topic, event_key, payload, createdon) "
+          + "VALUES (:topic, :eventKey, :payload, :createdOn)";
+
+  private final KafkaMetadataEventProducer<?, ASPECT_UNION, URN> _outboxProducer;
+
+  public OutboxEbeanLocalDAO(@Nonnull Class<ASPECT_UNION> aspectUnionClass,
+      @Nonnull KafkaMetadataEventProducer<?, ASPECT_UNION, URN> producer, @Nonnull ServerConfig serverConfig,
+      @Nonnull Class<URN> urnClass, boolean outboxEnabled) {
+    super(aspectUnionClass, producer, serverConfig, urnClass);
+    _outboxProducer = producer;
+    enableOutbox(outboxEnabled);
+  }
+
+  public OutboxEbeanLocalDAO(@Nonnull KafkaMetadataEventProducer<?, ASPECT_UNION, URN> producer,
+      @Nonnull ServerConfig serverConfig, @Nonnull LocalDAOStorageConfig storageConfig, @Nonnull Class<URN> urnClass,
+      boolean outboxEnabled) {
+    super(producer, serverConfig, storageConfig, urnClass);
+    _outboxProducer = producer;
+    enableOutbox(outboxEnabled);
+  }
+
+  private void enableOutbox(boolean outboxEnabled) {
+    if (outboxEnabled) {
+      _outboxProducer.setOutbox(this);
+    }
+  }
+
+  @Override
+  protected <ASPECT extends RecordTemplate> void saveLatest(@Nonnull URN urn, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable ASPECT oldValue, @Nullable AuditStamp oldAuditStamp, @Nonnull ASPECT newValue,
+      @Nonnull AuditStamp newAuditStamp) {
+    super.saveLatest(urn, aspectClass, oldValue, oldAuditStamp, newValue, newAuditStamp);
+    if (_outboxProducer.hasOutbox()) {
+      _outboxProducer.appendMetadataAuditEvent(urn, oldValue, newValue);
+    }
+  }
+
+  /**
+   * Inserts the event into the outbox table, within the transaction of the DAO saving its aspect.
+   */
+  @Override
+  public void append(@Nonnull String topic, @Nonnull String key, @Nonnull MetadataAuditEvent event) {
+    _server.createSqlUpdate(INSERT_SQL)
+        .setParameter("topic", topic)
+        .setParameter("eventKey", key)
+        .setParameter("payload", RecordUtils.toJsonString(event))
+        .setParameter("createdOn", new Timestamp(System.currentTimeMillis()))
+        .execute();
+  }
+}
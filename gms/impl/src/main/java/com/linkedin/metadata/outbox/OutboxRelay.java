@@ -0,0 +1,225 @@
+package com.linkedin.metadata.outbox;
+
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataAuditEvent;
+import io.ebean.EbeanServer;
+import io.micrometer.core.instrument.Timer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+
+/**
+ * Sends the MAEs written to the 'metadata_event_outbox' table by {@link OutboxEbeanLocalDAO} to Kafka, in batches and
+ * in the order they were written, and deletes them once Kafka has acknowledged them.
+ *
+ * <p>Only one relay sends events at a time, whichever holds the lease kept in the 'metadata_event_outbox_lease' table,
+ * so that events of the same URN are not sent out of order by relays of different GMS instances. The lease is renewed
+ * before every batch; should its holder die, another relay takes over once it expires.
+ *
+ * <p>Delivery is at least once: with an idempotent producer Kafka does not duplicate retried sends, but a relay dying
+ * between sending a batch and deleting it sends the batch again. Events before a failed send are deleted and the rest
+ * retried, in order, on the next run. Only the events relayed are deleted, by id, as an event whose transaction commits
+ * after those of later ids is only read by the next run. The number of events relayed is published as the 'gms.outbox.relayed' counter,
+ * failures as 'gms.outbox.failures', events dropped as 'gms.outbox.dropped' and the latency of batches as the
+ * 'gms.outbox.batch.latency' timer.
+ */
+@Slf4j
+public class OutboxRelay implements Closeable {
+
+  static final String LEASE_NAME = "relay";
+
+  private static final String SELECT_SQL =
+      "SELECT id, topic, event_key, payload FROM metadata_event_outbox ORDER BY id";
+  private static final String DELETE_SQL = "DELETE FROM metadata_event_outbox WHERE id IN (:ids)";
+  private static final String INSERT_LEASE_SQL =
+      "INSERT INTO metadata_event_outbox_lease (name, owner, expireson) VALUES (:name, '', 0)";
+  private static final String ACQUIRE_LEASE_SQL =
+      "UPDATE metadata_event_outbox_lease SET owner = :owner, expireson = :expiresOn "
+          + "WHERE name = :name AND (owner = :owner OR expireson < :now)";
+  private static final String RELEASE_LEASE_SQL =
+      "UPDATE metadata_event_outbox_lease SET expireson = 0 WHERE name = :name AND owner = :owner";
+
+  private final EbeanServer _server;
+  private final Producer<String, IndexedRecord> _producer;
+  private final int _batchSize;
+  private final long _leaseMillis;
+  private final String _owner = UUID.randomUUID().toString();
+  private final ScheduledExecutorService _executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "outbox-relay");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * @param server the server of the database the outbox is in
+   * @param producer the producer to send the events with, which should be idempotent
+   * @param batchSize maximum number of events read and sent at once
+   * @param leaseMillis how long the lease of a relay lasts without being renewed
+   */
+  public OutboxRelay(@Nonnull EbeanServer server, @Nonnull Producer<String, IndexedRecord> producer, int batchSize,
+      long leaseMillis) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive, was " + batchSize);
+    }
+    _server = server;
+    _producer = producer;
+    _batchSize = batchSize;
+    _leaseMillis = leaseMillis;
+  }
+
+  /**
+   * Starts relaying events, checking for new ones every {@code intervalMillis} while the outbox is drained.
+   */
+  public void start(long intervalMillis) {
+    try {
+      _server.createSqlUpdate(INSERT_LEASE_SQL).setParameter("name", LEASE_NAME).execute();
+    } catch (PersistenceException e) {
+      // Inserted by another relay already
+      log.debug("Lease {} already exists", LEASE_NAME);
+    }
+    _executor.scheduleWithFixedDelay(this::drain, 0, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Relays batches of events for as long as there are full ones and this relay holds the lease.
+   */
+  void drain() {
+    try {
+      while (acquireLease() && relayBatch() == _batchSize) {
+        // Keep going while the outbox is backed up
+      }
+    } catch (RuntimeException e) {
+      log.error("Failed to relay events from the outbox", e);
+      MetricUtils.get().counter("gms.outbox.failures").increment();
+    }
+  }
+
+  /**
+   * Acquires or renews the lease, returning whether this relay holds it.
+   */
+  boolean acquireLease() {
+    final long now = System.currentTimeMillis();
+    return _server.createSqlUpdate(ACQUIRE_LEASE_SQL)
+        .setParameter("owner", _owner)
+        .setParameter("expiresOn", now + _leaseMillis)
+        .setParameter("name", LEASE_NAME)
+        .setParameter("now", now)
+        .execute() == 1;
+  }
+
+  /**
+   * Sends the oldest batch of events and deletes the ones acknowledged, up to the first failure.
+   *
+   * @return the number of events relayed
+   */
+  int relayBatch() {
+    final List<OutboxEvent> events = new ArrayList<>();
+    _server.createSqlQuery(SELECT_SQL).setMaxRows(_batchSize).findList().forEach(row -> events.add(
+        new OutboxEvent(row.getLong("id"), row.getString("topic"), row.getString("event_key"),
+            row.getString("payload"))));
+    if (events.isEmpty()) {
+      return 0;
+    }
+
+    final Timer.Sample sample = Timer.start(MetricUtils.get());
+    final List<Future<RecordMetadata>> futures = new ArrayList<>(events.size());
+    for (OutboxEvent event : events) {
+      futures.add(send(event));
+    }
+    _producer.flush();
+
+    final List<Long> relayedIds = new ArrayList<>(events.size());
+    for (int i = 0; i < events.size(); i++) {
+      if (!isAcknowledged(events.get(i), futures.get(i))) {
+        MetricUtils.get().counter("gms.outbox.failures").increment();
+        break;
+      }
+      relayedIds.add(events.get(i)._id);
+    }
+    if (!relayedIds.isEmpty()) {
+      _server.createSqlUpdate(DELETE_SQL).setParameter("ids", relayedIds).execute();
+    }
+    MetricUtils.get().counter("gms.outbox.relayed").increment(relayedIds.size());
+    sample.stop(MetricUtils.timer("gms.outbox.batch.latency"));
+    return relayedIds.size();
+  }
+
+  /**
+   * Sends an event, or returns null if its payload cannot be converted to Avro, which retrying would not help.
+   */
+  private Future<RecordMetadata> send(@Nonnull OutboxEvent event) {
+    final IndexedRecord record;
+    try {
+      record = EventUtils.pegasusToAvroMAE(RecordUtils.toRecordTemplate(MetadataAuditEvent.class, event._payload));
+    } catch (IOException | RuntimeException e) {
+      log.error("Dropping outbox event {} of {} which cannot be converted to Avro", event._id, event._key, e);
+      MetricUtils.get().counter("gms.outbox.dropped").increment();
+      return null;
+    }
+    return _producer.send(new ProducerRecord<>(event._topic, event._key, record));
+  }
+
+  private static boolean isAcknowledged(@Nonnull OutboxEvent event, Future<RecordMetadata> future) {
+    if (future == null) {
+      // Dropped
+      return true;
+    }
+    try {
+      future.get();
+      return true;
+    } catch (ExecutionException e) {
+      log.error("Failed to relay outbox event {} of {} to {}", event._id, event._key, event._topic, e.getCause());
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Stops relaying and releases the lease, so that another relay takes over without waiting for it to expire.
+   */
+  @Override
+  public void close() {
+    _executor.shutdown();
+    try {
+      _executor.awaitTermination(30, TimeUnit.SECONDS);
+      _server.createSqlUpdate(RELEASE_LEASE_SQL).setParameter("name", LEASE_NAME).setParameter("owner", _owner).execute();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (PersistenceException e) {
+      log.warn("Failed to release the outbox relay lease", e);
+    }
+  }
+
+  private static final class OutboxEvent {
+    private final long _id;
+    private final String _topic;
+    private final String _key;
+    private final String _payload;
+
+    private OutboxEvent(long id, @Nonnull String topic, @Nonnull String key, @Nonnull String payload) {
+      _id = id;
+      _topic = topic;
+      _key = key;
+      _payload = payload;
+    }
+  }
+}
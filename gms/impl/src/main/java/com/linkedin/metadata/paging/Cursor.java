@@ -0,0 +1,117 @@
+package com.linkedin.metadata.paging;
+
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.data.template.RecordTemplate;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Opaque continuation token of a query paged with search_after, holding the sort values of the last hit of the previous
+ * page, the number of hits before the next page, and a fingerprint of the query it was issued for so that it cannot
+ * be used to continue a different query.
+ */
+public final class Cursor {
+
+  private static final JacksonDataCodec CODEC = new JacksonDataCodec();
+  private static final String FINGERPRINT_FIELD = "f";
+  private static final String SEARCH_AFTER_FIELD = "a";
+  private static final String OFFSET_FIELD = "o";
+
+  private final Object[] _searchAfter;
+  private final int _offset;
+
+  private Cursor(@Nonnull Object[] searchAfter, int offset) {
+    _searchAfter = searchAfter;
+    _offset = offset;
+  }
+
+  /**
+   * Sort values of the last hit of the previous page.
+   */
+  @Nonnull
+  public Object[] getSearchAfter() {
+    return _searchAfter;
+  }
+
+  /**
+   * Number of hits on the previous pages.
+   */
+  public int getOffset() {
+    return _offset;
+  }
+
+  /**
+   * Returns a fingerprint of the given parts of a query. Records are fingerprinted by value, independently of the order
+   * of their fields, so that the same query sent to another GMS instance has the same fingerprint.
+   */
+  @Nonnull
+  public static String fingerprint(@Nonnull Object... parts) {
+    final List<Object> values = new ArrayList<>(parts.length);
+    for (Object part : parts) {
+      values.add(part instanceof RecordTemplate ? ((RecordTemplate) part).data() : part);
+    }
+    return Integer.toHexString(values.hashCode());
+  }
+
+  /**
+   * Returns the token continuing the query with the given fingerprint after the hit with the given sort values.
+   */
+  @Nonnull
+  public static String encode(@Nonnull String fingerprint, @Nonnull Object[] searchAfter, int offset) {
+    final DataList values = new DataList();
+    for (Object value : searchAfter) {
+      values.add(value == null ? Data.NULL : value);
+    }
+    final DataMap data = new DataMap();
+    data.put(FINGERPRINT_FIELD, fingerprint);
+    data.put(SEARCH_AFTER_FIELD, values);
+    data.put(OFFSET_FIELD, offset);
+    try {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(CODEC.mapToBytes(data));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to encode cursor " + Arrays.toString(searchAfter), e);
+    }
+  }
+
+  /**
+   * Parses the given token of the query with the given fingerprint.
+   *
+   * @throws IllegalArgumentException if the token is malformed or was issued for a different query
+   */
+  @Nonnull
+  public static Cursor decode(@Nonnull String token, @Nonnull String fingerprint) {
+    final DataMap data;
+    try {
+      data = CODEC.bytesToMap(Base64.getUrlDecoder().decode(token));
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Malformed cursor " + token, e);
+    }
+    if (!fingerprint.equals(data.get(FINGERPRINT_FIELD))) {
+      throw new IllegalArgumentException("Cursor " + token + " was issued for a different query");
+    }
+    final DataList values = data.getDataList(SEARCH_AFTER_FIELD);
+    final Integer offset = data.getInteger(OFFSET_FIELD);
+    if (values == null || offset == null) {
+      throw new IllegalArgumentException("Malformed cursor " + token);
+    }
+    final Object[] searchAfter = new Object[values.size()];
+    for (int i = 0; i < searchAfter.length; i++) {
+      searchAfter[i] = values.get(i) == Data.NULL ? null : values.get(i);
+    }
+    return new Cursor(searchAfter, offset);
+  }
+
+  @Nullable
+  static Cursor decodeNullable(@Nullable String token, @Nonnull String fingerprint) {
+    return token == null || token.isEmpty() ? null : decode(token, fingerprint);
+  }
+}
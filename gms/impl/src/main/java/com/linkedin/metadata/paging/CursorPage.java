@@ -0,0 +1,40 @@
+package com.linkedin.metadata.paging;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.query.CursorSearchResultMetadata;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Page of search documents fetched by {@link CursorPagingDAO}.
+ */
+public final class CursorPage<DOCUMENT extends RecordTemplate> {
+
+  private final List<DOCUMENT> _documents;
+  private final CursorSearchResultMetadata _metadata;
+  private final int _totalCount;
+
+  public CursorPage(@Nonnull List<DOCUMENT> documents, @Nonnull CursorSearchResultMetadata metadata, int totalCount) {
+    _documents = documents;
+    _metadata = metadata;
+    _totalCount = totalCount;
+  }
+
+  @Nonnull
+  public List<DOCUMENT> getDocuments() {
+    return _documents;
+  }
+
+  /**
+   * Metadata of the page, with the cursor of the next page. Aggregations are only computed for the first page.
+   */
+  @Nonnull
+  public CursorSearchResultMetadata getMetadata() {
+    return _metadata;
+  }
+
+  public int getTotalCount() {
+    return _totalCount;
+  }
+}
@@ -0,0 +1,218 @@
+package com.linkedin.metadata.paging;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.browse.BrowseTree;
+import com.linkedin.metadata.dao.BaseBrowseDAO;
+import com.linkedin.metadata.dao.browse.BaseBrowseConfig;
+import com.linkedin.metadata.dao.search.ESSearchDAO;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.dao.utils.SearchUtils;
+import com.linkedin.metadata.query.BrowseResult;
+import com.linkedin.metadata.query.BrowseResultEntity;
+import com.linkedin.metadata.query.BrowseResultEntityArray;
+import com.linkedin.metadata.query.CursorBrowseResult;
+import com.linkedin.metadata.query.CursorSearchResultMetadata;
+import com.linkedin.metadata.query.Filter;
+import com.linkedin.metadata.query.SortCriterion;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
+import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+
+
+/**
+ * Pages through search and browse results with cursors, so that deep pages cost as much as the first one.
+ *
+ * <p>Pages are fetched with search_after on the sort of the query, to which the urn is added as a tiebreaker to make
+ * the order total, instead of from/size which collects and discards all the hits of the previous pages on every shard.
+ * The Elasticsearch version we run has no point-in-time API, so instead every page of a query is routed to the same
+ * shard copies with a preference derived from the query, which keeps scores consistent across pages. Pages reflect
+ * the index at the time they are fetched: entities are never returned twice, but entities updated while paging may be
+ * skipped or returned after their new position.
+ *
+ * <p>Aggregations are only computed for the first page of a search, and browse groups for every page from the
+ * given {@link BaseBrowseDAO} without fetching its entities. Latency is recorded by the 'search.cursor.latency' timer,
+ * tagged with the index and the method.
+ */
+@Slf4j
+public class CursorPagingDAO<DOCUMENT extends RecordTemplate> {
+
+  private static final String SEARCH = "search";
+  private static final String BROWSE = "browse";
+
+  private final RestHighLevelClient _client;
+  private final ESSearchDAO<DOCUMENT> _searchDAO;
+  private final BaseBrowseConfig<DOCUMENT> _config;
+  private final BaseBrowseDAO _browseDAO;
+
+  public CursorPagingDAO(@Nonnull RestHighLevelClient client, @Nonnull ESSearchDAO<DOCUMENT> searchDAO,
+      @Nonnull BaseBrowseConfig<DOCUMENT> config, @Nonnull BaseBrowseDAO browseDAO) {
+    _client = client;
+    _searchDAO = searchDAO;
+    _config = config;
+    _browseDAO = browseDAO;
+  }
+
+  /**
+   * Returns the page of the search results of the given input after the given cursor.
+   *
+   * @param cursor cursor of the page from the metadata of the previous page, or null for the first page
+   * @throws IllegalArgumentException if the cursor is malformed or was issued for another query
+   */
+  @Nonnull
+  public CursorPage<DOCUMENT> search(@Nonnull String input, @Nullable Filter filter,
+      @Nullable SortCriterion sortCriterion, @Nullable String cursor, int size) {
+    final String fingerprint = Cursor.fingerprint(SEARCH, _config.getIndexName(), input, filter, sortCriterion);
+    final Cursor after = Cursor.decodeNullable(cursor, fingerprint);
+
+    final SearchRequest request = _searchDAO.constructSearchQuery(input, filter, sortCriterion, 0, size);
+    final SearchSourceBuilder source = after == null ? request.source() : withoutAggregations(request.source());
+    addTiebreaker(source);
+    if (after != null) {
+      source.searchAfter(after.getSearchAfter());
+    }
+    request.source(source).preference(fingerprint);
+
+    final SearchResponse response = execute(SEARCH, request);
+    final SearchHit[] hits = response.getHits().getHits();
+    final List<DOCUMENT> documents = new ArrayList<>(hits.length);
+    for (SearchHit hit : hits) {
+      documents.add(RecordUtils.toRecordTemplate(_config.getSearchDocument(), hit.getSourceAsString()));
+    }
+    final CursorSearchResultMetadata metadata =
+        new CursorSearchResultMetadata(_searchDAO.extractSearchResultMetadata(response).data());
+    final String nextCursor = nextCursor(fingerprint, hits, after, size);
+    if (nextCursor != null) {
+      metadata.setNextCursor(nextCursor);
+    }
+    return new CursorPage<>(documents, metadata, (int) response.getHits().getTotalHits().value);
+  }
+
+  /**
+   * Returns the page of the entities directly under the given path after the given cursor, with the groups under it.
+   *
+   * @param cursor cursor of the page from the previous page, or null for the first page
+   * @throws IllegalArgumentException if the cursor is malformed or was issued for another query
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  public CursorBrowseResult browse(@Nonnull String path, @Nullable Filter filter, @Nullable String cursor, int size) {
+    final String fingerprint = Cursor.fingerprint(BROWSE, _config.getIndexName(), BrowseTree.normalize(path), filter);
+    final Cursor after = Cursor.decodeNullable(cursor, fingerprint);
+    final BrowseResult groups = _browseDAO.browse(path, filter, 0, 0);
+
+    final BoolQueryBuilder query = BrowseTree.entitiesQuery(_config, path);
+    for (Map.Entry<String, String> entry : SearchUtils.getRequestMap(filter).entrySet()) {
+      query.filter(QueryBuilders.termQuery(entry.getKey(), entry.getValue()));
+    }
+    final SearchSourceBuilder source = new SearchSourceBuilder().query(query)
+        .size(size)
+        .fetchSource(new String[]{_config.getBrowsePathFieldName(), _config.getUrnFieldName()}, null)
+        .sort(_config.getSortingField(), SortOrder.ASC);
+    addTiebreaker(source);
+    if (after != null) {
+      source.searchAfter(after.getSearchAfter());
+    }
+
+    final SearchResponse response =
+        execute(BROWSE, new SearchRequest(_config.getIndexName()).source(source).preference(fingerprint));
+    final SearchHit[] hits = response.getHits().getHits();
+    final BrowseResultEntityArray entities = new BrowseResultEntityArray();
+    for (SearchHit hit : hits) {
+      final Map<String, Object> document = hit.getSourceAsMap();
+      final String name = BrowseTree.getEntityName((List<String>) document.get(_config.getBrowsePathFieldName()), path);
+      if (name == null) {
+        continue;
+      }
+      try {
+        entities.add(new BrowseResultEntity().setName(name)
+            .setUrn(Urn.createFromString((String) document.get(_config.getUrnFieldName()))));
+      } catch (URISyntaxException e) {
+        log.error("Invalid urn {} in search index {}", document.get(_config.getUrnFieldName()), _config.getIndexName());
+      }
+    }
+
+    final CursorBrowseResult result = new CursorBrowseResult().setEntities(entities)
+        .setMetadata(groups.getMetadata())
+        .setFrom(after == null ? 0 : after.getOffset())
+        .setPageSize(entities.size())
+        .setNumEntities((int) response.getHits().getTotalHits().value);
+    final String nextCursor = nextCursor(fingerprint, hits, after, size);
+    if (nextCursor != null) {
+      result.setNextCursor(nextCursor);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the cursor of the page following the given hits, or null if they are the last page.
+   */
+  @Nullable
+  private static String nextCursor(@Nonnull String fingerprint, @Nonnull SearchHit[] hits, @Nullable Cursor after,
+      int size) {
+    if (hits.length == 0 || hits.length < size) {
+      return null;
+    }
+    final int offset = (after == null ? 0 : after.getOffset()) + hits.length;
+    return Cursor.encode(fingerprint, hits[hits.length - 1].getSortValues(), offset);
+  }
+
+  /**
+   * Adds the urn to the sort of the given source unless already there, defaulting to sorting by score first.
+   */
+  private void addTiebreaker(@Nonnull SearchSourceBuilder source) {
+    final List<SortBuilder<?>> sorts = source.sorts();
+    if (sorts == null || sorts.isEmpty()) {
+      source.sort(SortBuilders.scoreSort());
+    } else if (sorts.stream().anyMatch(sort -> sort instanceof FieldSortBuilder
+        && _config.getUrnFieldName().equals(((FieldSortBuilder) sort).getFieldName()))) {
+      return;
+    }
+    source.sort(_config.getUrnFieldName(), SortOrder.ASC);
+  }
+
+  @Nonnull
+  private static SearchSourceBuilder withoutAggregations(@Nonnull SearchSourceBuilder source) {
+    final SearchSourceBuilder copy = new SearchSourceBuilder().query(source.query())
+        .postFilter(source.postFilter())
+        .size(source.size())
+        .fetchSource(source.fetchSource())
+        .highlighter(source.highlighter());
+    if (source.sorts() != null) {
+      source.sorts().forEach(copy::sort);
+    }
+    return copy;
+  }
+
+  @Nonnull
+  private SearchResponse execute(@Nonnull String method, @Nonnull SearchRequest request) {
+    final long startNanos = System.nanoTime();
+    try {
+      return _client.search(request, RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new RuntimeException("Cursor " + method + " query failed", e);
+    } finally {
+      MetricUtils.timer("search.cursor.latency", "index", _config.getIndexName(), "method", method)
+          .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.linkedin.metadata.resources;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.UnionTemplate;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.paging.CursorPage;
+import com.linkedin.metadata.paging.CursorPagingDAO;
+import com.linkedin.metadata.query.CursorBrowseResult;
+import com.linkedin.metadata.query.CursorSearchResultMetadata;
+import com.linkedin.metadata.query.Filter;
+import com.linkedin.metadata.query.SortCriterion;
+import com.linkedin.metadata.restli.BaseBrowsableEntityResource;
+import com.linkedin.metadata.restli.RestliUtils;
+import com.linkedin.parseq.Task;
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.server.CollectionResult;
+import com.linkedin.restli.server.PagingContext;
+import com.linkedin.restli.server.RestLiServiceException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * {@link BaseBrowsableEntityResource} which also pages through search and browse results with opaque cursors rather
+ * than offsets, with the same cost for every page. Subclasses expose {@link #searchAfter} as the
+ * {@link #FINDER_SEARCH_AFTER} finder and {@link #browseAfter} as the {@link #ACTION_BROWSE_AFTER} action.
+ */
+public abstract class BaseCursorBrowsableEntityResource<
+    // @formatter:off
+    KEY,
+    VALUE extends RecordTemplate,
+    URN extends Urn,
+    SNAPSHOT extends RecordTemplate,
+    ASPECT_UNION extends UnionTemplate,
+    DOCUMENT extends RecordTemplate>
+    // @formatter:on
+    extends BaseBrowsableEntityResource<KEY, VALUE, URN, SNAPSHOT, ASPECT_UNION, DOCUMENT> {
+
+  public static final String FINDER_SEARCH_AFTER = "searchAfter";
+  public static final String ACTION_BROWSE_AFTER = "browseAfter";
+  public static final String PARAM_CURSOR = "cursor";
+
+  public BaseCursorBrowsableEntityResource(@Nonnull Class<SNAPSHOT> snapshotClass,
+      @Nonnull Class<ASPECT_UNION> aspectUnionClass, @Nonnull Class<URN> urnClass) {
+    super(snapshotClass, aspectUnionClass, urnClass);
+  }
+
+  @Nonnull
+  protected abstract CursorPagingDAO<DOCUMENT> getCursorPagingDAO();
+
+  /**
+   * Returns the page of the search results of the given input after the given cursor, whose metadata holds the cursor
+   * of the next page. Only the count of the paging context is used.
+   */
+  @Nonnull
+  public Task<CollectionResult<VALUE, CursorSearchResultMetadata>> searchAfter(@Nonnull String input,
+      @Nullable String[] aspectNames, @Nullable Filter filter, @Nullable SortCriterion sortCriterion,
+      @Nullable String cursor, @Nonnull PagingContext pagingContext) {
+    final CursorPage<DOCUMENT> page;
+    try {
+      page = getCursorPagingDAO().search(input, filter, sortCriterion, cursor, pagingContext.getCount());
+    } catch (IllegalArgumentException e) {
+      throw new RestLiServiceException(HttpStatus.S_400_BAD_REQUEST, e.getMessage());
+    }
+
+    final List<KEY> keys = new ArrayList<>(page.getDocuments().size());
+    for (DOCUMENT document : page.getDocuments()) {
+      try {
+        keys.add(toKey(createUrnFromString(ModelUtils.getUrnFromDocument(document).toString())));
+      } catch (Exception e) {
+        throw new RuntimeException("Invalid urn in search document " + document, e);
+      }
+    }
+    return batchGet(new HashSet<>(keys), aspectNames).map(values -> new CollectionResult<>(
+        keys.stream().map(values::get).filter(Objects::nonNull).collect(Collectors.toList()), page.getTotalCount(),
+        page.getMetadata()));
+  }
+
+  /**
+   * Returns the page of the entities directly under the given path after the given cursor, which holds the cursor of
+   * the next page.
+   */
+  @Nonnull
+  public Task<CursorBrowseResult> browseAfter(@Nonnull String path, @Nullable Filter filter, @Nullable String cursor,
+      int limit) {
+    return RestliUtils.toTask(() -> {
+      try {
+        return getCursorPagingDAO().browse(path, filter, cursor, limit);
+      } catch (IllegalArgumentException e) {
+        throw new RestLiServiceException(HttpStatus.S_400_BAD_REQUEST, e.getMessage());
+      }
+    });
+  }
+}
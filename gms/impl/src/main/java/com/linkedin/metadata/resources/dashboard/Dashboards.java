@@ -14,13 +14,16 @@ import com.linkedin.metadata.dao.BaseBrowseDAO;
 import com.linkedin.metadata.dao.BaseLocalDAO;
 import com.linkedin.metadata.dao.BaseSearchDAO;
 import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.paging.CursorPagingDAO;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.BrowseResult;
+import com.linkedin.metadata.query.CursorBrowseResult;
+import com.linkedin.metadata.query.CursorSearchResultMetadata;
 import com.linkedin.metadata.query.Filter;
 import com.linkedin.metadata.query.SearchResultMetadata;
 import com.linkedin.metadata.query.SortCriterion;
+import com.linkedin.metadata.resources.BaseCursorBrowsableEntityResource;
 import com.linkedin.metadata.restli.BackfillResult;
-import com.linkedin.metadata.restli.BaseBrowsableEntityResource;
 import com.linkedin.metadata.search.DashboardDocument;
 import com.linkedin.metadata.snapshot.DashboardSnapshot;
 import com.linkedin.parseq.Task;
@@ -49,7 +52,7 @@ import static com.linkedin.metadata.restli.RestliConstants.*;
 
 
 @RestLiCollection(name = "dashboards", namespace = "com.linkedin.dashboard", keyName = "key")
-public class Dashboards extends BaseBrowsableEntityResource<
+public class Dashboards extends BaseCursorBrowsableEntityResource<
     // @formatter:off
     ComplexResourceKey<DashboardKey, EmptyRecord>,
     Dashboard,
@@ -75,6 +78,10 @@ public class Dashboards extends BaseBrowsableEntityResource<
   @Named("dashboardBrowseDao")
   private BaseBrowseDAO _browseDAO;
 
+  @Inject
+  @Named("dashboardCursorPagingDao")
+  private CursorPagingDAO<DashboardDocument> _cursorPagingDAO;
+
   @Nonnull
   @Override
   protected BaseSearchDAO<DashboardDocument> getSearchDAO() {
@@ -93,6 +100,12 @@ public class Dashboards extends BaseBrowsableEntityResource<
     return _browseDAO;
   }
 
+  @Override
+  @Nonnull
+  protected CursorPagingDAO<DashboardDocument> getCursorPagingDAO() {
+    return _cursorPagingDAO;
+  }
+
   @Nonnull
   @Override
   protected DashboardUrn createUrnFromString(@Nonnull String urnString) throws Exception {
@@ -196,6 +209,19 @@ public class Dashboards extends BaseBrowsableEntityResource<
     return super.search(input, aspectNames, filter, sortCriterion, pagingContext);
   }
 
+  @Finder(FINDER_SEARCH_AFTER)
+  @Override
+  @Nonnull
+  public Task<CollectionResult<Dashboard, CursorSearchResultMetadata>> searchAfter(
+      @QueryParam(PARAM_INPUT) @Nonnull String input,
+      @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames,
+      @QueryParam(PARAM_FILTER) @Optional @Nullable Filter filter,
+      @QueryParam(PARAM_SORT) @Optional @Nullable SortCriterion sortCriterion,
+      @QueryParam(PARAM_CURSOR) @Optional @Nullable String cursor,
+      @PagingContextParam @Nonnull PagingContext pagingContext) {
+    return super.searchAfter(input, aspectNames, filter, sortCriterion, cursor, pagingContext);
+  }
+
   @Action(name = ACTION_AUTOCOMPLETE)
   @Override
   @Nonnull
@@ -214,6 +240,15 @@ public class Dashboards extends BaseBrowsableEntityResource<
     return super.browse(path, filter, start, limit);
   }
 
+  @Action(name = ACTION_BROWSE_AFTER)
+  @Override
+  @Nonnull
+  public Task<CursorBrowseResult> browseAfter(@ActionParam(PARAM_PATH) @Nonnull String path,
+      @ActionParam(PARAM_FILTER) @Optional @Nullable Filter filter,
+      @ActionParam(PARAM_CURSOR) @Optional @Nullable String cursor, @ActionParam(PARAM_LIMIT) int limit) {
+    return super.browseAfter(path, filter, cursor, limit);
+  }
+
   @Action(name = ACTION_GET_BROWSE_PATHS)
   @Override
   @Nonnull
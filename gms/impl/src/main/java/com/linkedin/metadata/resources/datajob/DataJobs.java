@@ -15,13 +15,16 @@ import com.linkedin.metadata.dao.BaseBrowseDAO;
 import com.linkedin.metadata.dao.BaseLocalDAO;
 import com.linkedin.metadata.dao.BaseSearchDAO;
 import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.paging.CursorPagingDAO;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.BrowseResult;
+import com.linkedin.metadata.query.CursorBrowseResult;
+import com.linkedin.metadata.query.CursorSearchResultMetadata;
 import com.linkedin.metadata.query.Filter;
 import com.linkedin.metadata.query.SearchResultMetadata;
 import com.linkedin.metadata.query.SortCriterion;
+import com.linkedin.metadata.resources.BaseCursorBrowsableEntityResource;
 import com.linkedin.metadata.restli.BackfillResult;
-import com.linkedin.metadata.restli.BaseBrowsableEntityResource;
 import com.linkedin.metadata.search.DataJobDocument;
 import com.linkedin.metadata.snapshot.DataJobSnapshot;
 import com.linkedin.parseq.Task;
@@ -50,7 +53,7 @@ import static com.linkedin.metadata.restli.RestliConstants.*;
 
 
 @RestLiCollection(name = "dataJobs", namespace = "com.linkedin.datajob", keyName = "key")
-public class DataJobs extends BaseBrowsableEntityResource<
+public class DataJobs extends BaseCursorBrowsableEntityResource<
     // @formatter:off
     ComplexResourceKey<DataJobKey, EmptyRecord>,
     DataJob,
@@ -76,6 +79,10 @@ public class DataJobs extends BaseBrowsableEntityResource<
   @Named("dataJobBrowseDao")
   private BaseBrowseDAO _browseDAO;
 
+  @Inject
+  @Named("dataJobCursorPagingDao")
+  private CursorPagingDAO<DataJobDocument> _cursorPagingDAO;
+
   @Nonnull
   @Override
   protected BaseSearchDAO<DataJobDocument> getSearchDAO() {
@@ -94,6 +101,12 @@ public class DataJobs extends BaseBrowsableEntityResource<
     return _browseDAO;
   }
 
+  @Override
+  @Nonnull
+  protected CursorPagingDAO<DataJobDocument> getCursorPagingDAO() {
+    return _cursorPagingDAO;
+  }
+
   @Nonnull
   @Override
   protected DataJobUrn createUrnFromString(@Nonnull String urnString) throws Exception {
@@ -203,6 +216,19 @@ public class DataJobs extends BaseBrowsableEntityResource<
     return super.search(input, aspectNames, filter, sortCriterion, pagingContext);
   }
 
+  @Finder(FINDER_SEARCH_AFTER)
+  @Override
+  @Nonnull
+  public Task<CollectionResult<DataJob, CursorSearchResultMetadata>> searchAfter(
+      @QueryParam(PARAM_INPUT) @Nonnull String input,
+      @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames,
+      @QueryParam(PARAM_FILTER) @Optional @Nullable Filter filter,
+      @QueryParam(PARAM_SORT) @Optional @Nullable SortCriterion sortCriterion,
+      @QueryParam(PARAM_CURSOR) @Optional @Nullable String cursor,
+      @PagingContextParam @Nonnull PagingContext pagingContext) {
+    return super.searchAfter(input, aspectNames, filter, sortCriterion, cursor, pagingContext);
+  }
+
   @Action(name = ACTION_AUTOCOMPLETE)
   @Override
   @Nonnull
@@ -221,6 +247,15 @@ public class DataJobs extends BaseBrowsableEntityResource<
     return super.browse(path, filter, start, limit);
   }
 
+  @Action(name = ACTION_BROWSE_AFTER)
+  @Override
+  @Nonnull
+  public Task<CursorBrowseResult> browseAfter(@ActionParam(PARAM_PATH) @Nonnull String path,
+      @ActionParam(PARAM_FILTER) @Optional @Nullable Filter filter,
+      @ActionParam(PARAM_CURSOR) @Optional @Nullable String cursor, @ActionParam(PARAM_LIMIT) int limit) {
+    return super.browseAfter(path, filter, cursor, limit);
+  }
+
   @Action(name = ACTION_GET_BROWSE_PATHS)
   @Override
   @Nonnull
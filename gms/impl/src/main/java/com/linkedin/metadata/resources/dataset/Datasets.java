@@ -17,14 +17,17 @@ import com.linkedin.metadata.dao.BaseBrowseDAO;
 import com.linkedin.metadata.dao.BaseLocalDAO;
 import com.linkedin.metadata.dao.BaseSearchDAO;
 import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.paging.CursorPagingDAO;
 import com.linkedin.metadata.query.AutoCompleteResult;
 import com.linkedin.metadata.query.BrowseResult;
+import com.linkedin.metadata.query.CursorBrowseResult;
+import com.linkedin.metadata.query.CursorSearchResultMetadata;
 import com.linkedin.metadata.query.Filter;
 import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.SearchResultMetadata;
 import com.linkedin.metadata.query.SortCriterion;
+import com.linkedin.metadata.resources.BaseCursorBrowsableEntityResource;
 import com.linkedin.metadata.restli.BackfillResult;
-import com.linkedin.metadata.restli.BaseBrowsableEntityResource;
 import com.linkedin.metadata.search.DatasetDocument;
 import com.linkedin.metadata.snapshot.DatasetSnapshot;
 import com.linkedin.parseq.Task;
@@ -54,7 +57,7 @@ import javax.inject.Named;
 import static com.linkedin.metadata.restli.RestliConstants.*;
 
 @RestLiCollection(name = "datasets", namespace = "com.linkedin.dataset", keyName = "dataset")
-public final class Datasets extends BaseBrowsableEntityResource<
+public final class Datasets extends BaseCursorBrowsableEntityResource<
     // @formatter:off
         ComplexResourceKey<DatasetKey, EmptyRecord>,
         Dataset,
@@ -80,6 +83,10 @@ public final class Datasets extends BaseBrowsableEntityResource<
   @Named("datasetBrowseDao")
   private BaseBrowseDAO _browseDAO;
 
+  @Inject
+  @Named("datasetCursorPagingDao")
+  private CursorPagingDAO<DatasetDocument> _cursorPagingDAO;
+
   @Override
   @Nonnull
   protected BaseLocalDAO getLocalDAO() {
@@ -98,6 +105,12 @@ public final class Datasets extends BaseBrowsableEntityResource<
     return _browseDAO;
   }
 
+  @Override
+  @Nonnull
+  protected CursorPagingDAO<DatasetDocument> getCursorPagingDAO() {
+    return _cursorPagingDAO;
+  }
+
   @Nonnull
   @Override
   protected DatasetUrn createUrnFromString(@Nonnull String urnString) throws Exception {
@@ -248,6 +261,19 @@ public final class Datasets extends BaseBrowsableEntityResource<
     return super.search(input, aspectNames, filter, sortCriterion, pagingContext);
   }
 
+  @Finder(FINDER_SEARCH_AFTER)
+  @Override
+  @Nonnull
+  public Task<CollectionResult<Dataset, CursorSearchResultMetadata>> searchAfter(
+      @QueryParam(PARAM_INPUT) @Nonnull String input,
+      @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames,
+      @QueryParam(PARAM_FILTER) @Optional @Nullable Filter filter,
+      @QueryParam(PARAM_SORT) @Optional @Nullable SortCriterion sortCriterion,
+      @QueryParam(PARAM_CURSOR) @Optional @Nullable String cursor,
+      @PagingContextParam @Nonnull PagingContext pagingContext) {
+    return super.searchAfter(input, aspectNames, filter, sortCriterion, cursor, pagingContext);
+  }
+
   /**
    * Retrieves the values for multiple entities obtained after filtering urns from local secondary index. Here the value is
    * made up of latest versions of specified aspects. If no aspects are provided, value model will not contain any metadata aspect.
@@ -289,6 +315,15 @@ public final class Datasets extends BaseBrowsableEntityResource<
     return super.browse(path, filter, start, limit);
   }
 
+  @Action(name = ACTION_BROWSE_AFTER)
+  @Override
+  @Nonnull
+  public Task<CursorBrowseResult> browseAfter(@ActionParam(PARAM_PATH) @Nonnull String path,
+      @ActionParam(PARAM_FILTER) @Optional @Nullable Filter filter,
+      @ActionParam(PARAM_CURSOR) @Optional @Nullable String cursor, @ActionParam(PARAM_LIMIT) int limit) {
+    return super.browseAfter(path, filter, cursor, limit);
+  }
+
   @Action(name = ACTION_GET_BROWSE_PATHS)
   @Override
   @Nonnull
@@ -0,0 +1,50 @@
+package com.linkedin.metadata.resources.search;
+
+import com.linkedin.metadata.crossentity.CrossEntitySearchDAO;
+import com.linkedin.metadata.query.CrossEntitySearchResult;
+import com.linkedin.metadata.restli.RestliUtils;
+import com.linkedin.parseq.Task;
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.server.RestLiServiceException;
+import com.linkedin.restli.server.annotations.Optional;
+import com.linkedin.restli.server.annotations.QueryParam;
+import com.linkedin.restli.server.annotations.RestLiSimpleResource;
+import com.linkedin.restli.server.annotations.RestMethod;
+import com.linkedin.restli.server.resources.SimpleResourceTemplate;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+
+/**
+ * Rest.li entry point: /crossEntitySearch?input={input}&entities=List({entityType},...)&start={start}&count={count}
+ *
+ * <p>Searches all the given entity types, or all searchable entity types if none is given, in a single round trip to
+ * the search backend, and returns the results grouped by entity type with their total counts.
+ */
+@RestLiSimpleResource(name = "crossEntitySearch", namespace = "com.linkedin.search")
+public final class CrossEntitySearch extends SimpleResourceTemplate<CrossEntitySearchResult> {
+
+  @Inject
+  @Named("crossEntitySearchDao")
+  private CrossEntitySearchDAO _searchDAO;
+
+  @Nonnull
+  @RestMethod.Get
+  public Task<CrossEntitySearchResult> get(@QueryParam("input") @Nonnull String input,
+      @QueryParam("entities") @Optional @Nullable String[] entityTypes,
+      @QueryParam("start") @Optional("0") int start,
+      @QueryParam("count") @Optional("10") int count) {
+    return RestliUtils.toTask(() -> {
+      try {
+        return _searchDAO.search(input, entityTypes == null ? Collections.emptyList() : Arrays.asList(entityTypes),
+            start, count);
+      } catch (IllegalArgumentException e) {
+        throw new RestLiServiceException(HttpStatus.S_400_BAD_REQUEST, e.getMessage());
+      }
+    });
+  }
+}
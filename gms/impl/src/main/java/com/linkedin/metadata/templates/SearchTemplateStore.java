@@ -0,0 +1,261 @@
+package com.linkedin.metadata.templates;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentType;
+
+
+/**
+ * Versioned store of the Elasticsearch query templates of the search configs, which overrides the templates bundled
+ * with GMS without a redeploy.
+ *
+ * <p>The store is a directory with one subdirectory per template, named after the template resource without its
+ * '.json' extension, e.g. 'datasetESSearchQueryTemplate'. A subdirectory holds the versions of the template as
+ * '{version}.json' files, which are never modified once written, and a 'manifest.properties' file selecting them:
+ * <pre>
+ *   active=v3
+ *   candidate=v4
+ *   candidateSampleRate=0.05
+ * </pre>
+ * The bundled template stays active if there is no active version, and a share of candidateSampleRate of the search
+ * requests is served with the candidate version, if any, to compare both. The directory is reloaded in the
+ * background; a template whose manifest or versions cannot be loaded keeps its previous selection.
+ */
+@Slf4j
+public class SearchTemplateStore {
+
+  public static final String BUNDLED_VERSION = "bundled";
+
+  private static final String MANIFEST = "manifest.properties";
+  private static final String ACTIVE = "active";
+  private static final String CANDIDATE = "candidate";
+  private static final String CANDIDATE_SAMPLE_RATE = "candidateSampleRate";
+  private static final String PLACEHOLDER = "$INPUT";
+
+  private final Path _directory;
+  private volatile Map<String, Selection> _selections = Collections.emptyMap();
+
+  /**
+   * @param directory directory of the store, or null for an empty store which leaves the bundled templates active
+   */
+  public SearchTemplateStore(@Nullable Path directory) {
+    _directory = directory;
+  }
+
+  /**
+   * Loads the store, then reloads it every {@code reloadMillis} in the background.
+   */
+  @Nonnull
+  public SearchTemplateStore start(long reloadMillis) {
+    if (_directory == null) {
+      return this;
+    }
+    reload();
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "search-template-store");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::reload, reloadMillis, reloadMillis, TimeUnit.MILLISECONDS);
+    return this;
+  }
+
+  /**
+   * Returns the versions of the given template selected by its manifest, or null if it has none.
+   */
+  @Nullable
+  public Selection getSelection(@Nonnull String name) {
+    return _selections.get(name);
+  }
+
+  /**
+   * Reads the manifests and the versions they select from the directory of the store.
+   */
+  public synchronized void reload() {
+    if (_directory == null) {
+      return;
+    }
+    final Map<String, Selection> selections = new HashMap<>();
+    try (DirectoryStream<Path> templates = Files.newDirectoryStream(_directory, Files::isDirectory)) {
+      for (Path template : templates) {
+        final String name = template.getFileName().toString();
+        if (!Files.exists(template.resolve(MANIFEST))) {
+          continue;
+        }
+        try {
+          selections.put(name, load(name, template));
+        } catch (IOException | RuntimeException e) {
+          log.error("Failed to load search template {}, keeping its previous versions", name, e);
+          if (_selections.containsKey(name)) {
+            selections.put(name, _selections.get(name));
+          }
+        }
+      }
+    } catch (IOException e) {
+      log.error("Failed to list search templates in {}", _directory, e);
+      return;
+    }
+
+    selections.forEach((name, selection) -> {
+      if (!selection.equals(_selections.get(name))) {
+        log.info("Search template {} now has active version {} and candidate version {} at sample rate {}", name,
+            selection.getActive() == null ? BUNDLED_VERSION : selection.getActive().getVersion(),
+            selection.getCandidate() == null ? null : selection.getCandidate().getVersion(),
+            selection.getCandidateSampleRate());
+      }
+    });
+    _selections.keySet()
+        .stream()
+        .filter(name -> !selections.containsKey(name))
+        .forEach(name -> log.info("Search template {} now has active version {}", name, BUNDLED_VERSION));
+    _selections = Collections.unmodifiableMap(selections);
+  }
+
+  @Nonnull
+  private static Selection load(@Nonnull String name, @Nonnull Path template) throws IOException {
+    final Properties manifest = new Properties();
+    try (Reader reader = Files.newBufferedReader(template.resolve(MANIFEST), StandardCharsets.UTF_8)) {
+      manifest.load(reader);
+    }
+    final Version active = loadVersion(name, template, manifest.getProperty(ACTIVE));
+    final Version candidate = loadVersion(name, template, manifest.getProperty(CANDIDATE));
+    final double sampleRate = Double.parseDouble(manifest.getProperty(CANDIDATE_SAMPLE_RATE, "0"));
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException("Invalid " + CANDIDATE_SAMPLE_RATE + " " + sampleRate);
+    }
+    return new Selection(active, candidate, candidate == null ? 0 : sampleRate);
+  }
+
+  @Nullable
+  private static Version loadVersion(@Nonnull String name, @Nonnull Path template, @Nullable String version)
+      throws IOException {
+    if (version == null || version.trim().isEmpty()) {
+      return null;
+    }
+    final String content =
+        new String(Files.readAllBytes(template.resolve(version.trim() + ".json")), StandardCharsets.UTF_8);
+    // Fails on malformed JSON
+    XContentHelper.convertToMap(new BytesArray(content), false, XContentType.JSON);
+    if (!content.contains(PLACEHOLDER)) {
+      throw new IllegalArgumentException("Version " + version + " of " + name + " does not contain " + PLACEHOLDER);
+    }
+    return new Version(name, version.trim(), content);
+  }
+
+  /**
+   * Version of a template.
+   */
+  public static final class Version {
+    private final String _name;
+    private final String _version;
+    private final String _content;
+
+    public Version(@Nonnull String name, @Nonnull String version, @Nonnull String content) {
+      _name = name;
+      _version = version;
+      _content = content;
+    }
+
+    @Nonnull
+    public String getName() {
+      return _name;
+    }
+
+    @Nonnull
+    public String getVersion() {
+      return _version;
+    }
+
+    @Nonnull
+    public String getContent() {
+      return _content;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Version)) {
+        return false;
+      }
+      final Version other = (Version) o;
+      return _name.equals(other._name) && _version.equals(other._version) && _content.equals(other._content);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(_name, _version, _content);
+    }
+  }
+
+  /**
+   * Versions of a template selected by its manifest.
+   */
+  public static final class Selection {
+    private final Version _active;
+    private final Version _candidate;
+    private final double _candidateSampleRate;
+
+    public Selection(@Nullable Version active, @Nullable Version candidate, double candidateSampleRate) {
+      _active = active;
+      _candidate = candidate;
+      _candidateSampleRate = candidateSampleRate;
+    }
+
+    /**
+     * Returns the active version, or null if the bundled template is active.
+     */
+    @Nullable
+    public Version getActive() {
+      return _active;
+    }
+
+    @Nullable
+    public Version getCandidate() {
+      return _candidate;
+    }
+
+    /**
+     * Returns the share of the requests served with the candidate version.
+     */
+    public double getCandidateSampleRate() {
+      return _candidateSampleRate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Selection)) {
+        return false;
+      }
+      final Selection other = (Selection) o;
+      return Objects.equals(_active, other._active) && Objects.equals(_candidate, other._candidate)
+          && _candidateSampleRate == other._candidateSampleRate;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(_active, _candidate, _candidateSampleRate);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.linkedin.metadata.templates;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.configs.BaseSearchConfigWithConvention;
+import com.linkedin.metadata.dao.BaseSearchDAO;
+import com.linkedin.metadata.dao.SearchResult;
+import com.linkedin.metadata.dao.search.ESSearchDAO;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.query.AutoCompleteResult;
+import com.linkedin.metadata.query.Filter;
+import com.linkedin.metadata.query.SortCriterion;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+
+
+/**
+ * {@link BaseSearchDAO} serving search requests with the versions of the search query template selected by the
+ * {@link SearchTemplateStore} of the search config, delegating everything else to the given {@link ESSearchDAO}.
+ *
+ * <p>A share of the requests set by the candidate sample rate of the template is served with its candidate version,
+ * the others with its active version. The time Elasticsearch took to run each query is recorded by the
+ * 'search.template.took' timer, tagged with the template, its version and whether it was the active or the candidate
+ * version, so that versions can be compared on query cost before promoting a candidate. Queries slower than the given
+ * threshold are logged with the version of their template.
+ */
+@Slf4j
+public class TemplateExperimentSearchDAO<DOCUMENT extends RecordTemplate> extends BaseSearchDAO<DOCUMENT> {
+
+  private static final String INPUT_PLACEHOLDER = "$INPUT";
+  private static final String ACTIVE = "active";
+  private static final String CANDIDATE = "candidate";
+
+  private final RestHighLevelClient _client;
+  private final ESSearchDAO<DOCUMENT> _delegate;
+  private final BaseSearchConfigWithConvention<DOCUMENT> _config;
+  private final long _slowQueryMillis;
+
+  public TemplateExperimentSearchDAO(@Nonnull RestHighLevelClient client, @Nonnull ESSearchDAO<DOCUMENT> delegate,
+      @Nonnull BaseSearchConfigWithConvention<DOCUMENT> config, long slowQueryMillis) {
+    super(config.getSearchDocument());
+    _client = client;
+    _delegate = delegate;
+    _config = config;
+    _slowQueryMillis = slowQueryMillis;
+  }
+
+  @Override
+  @Nonnull
+  public SearchResult<DOCUMENT> search(@Nonnull String input, @Nullable Filter postFilters,
+      @Nullable SortCriterion sortCriterion, int from, int size) {
+    final SearchTemplateStore.Selection selection = _config.getSearchQueryTemplateSelection();
+    final boolean candidate = selection.getCandidate() != null
+        && ThreadLocalRandom.current().nextDouble() < selection.getCandidateSampleRate();
+    final SearchTemplateStore.Version version = candidate ? selection.getCandidate() : selection.getActive();
+
+    final SearchRequest request = _delegate.constructSearchQuery(input, postFilters, sortCriterion, from, size);
+    request.source().query(QueryBuilders.wrapperQuery(version.getContent().replace(INPUT_PLACEHOLDER, input)));
+
+    final SearchResponse response;
+    try {
+      response = _client.search(request, RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new RuntimeException("Search query with version " + version.getVersion() + " of " + version.getName()
+          + " failed", e);
+    }
+    record(version, candidate ? CANDIDATE : ACTIVE, input, response);
+
+    final SearchHit[] hits = response.getHits().getHits();
+    final List<DOCUMENT> documents = new ArrayList<>(hits.length);
+    for (SearchHit hit : hits) {
+      documents.add(RecordUtils.toRecordTemplate(_config.getSearchDocument(), hit.getSourceAsString()));
+    }
+    final int totalCount = (int) response.getHits().getTotalHits().value;
+    return SearchResult.<DOCUMENT>builder().documentList(documents)
+        .searchResultMetadata(_delegate.extractSearchResultMetadata(response))
+        .from(from)
+        .pageSize(size)
+        .havingMore(totalCount > from + size)
+        .totalCount(totalCount)
+        .build();
+  }
+
+  @Override
+  @Nonnull
+  public SearchResult<DOCUMENT> filter(@Nullable Filter filters, @Nullable SortCriterion sortCriterion, int from,
+      int size) {
+    return _delegate.filter(filters, sortCriterion, from, size);
+  }
+
+  @Override
+  @Nonnull
+  public AutoCompleteResult autoComplete(@Nonnull String query, @Nullable String field, @Nullable Filter requestParams,
+      int limit) {
+    return _delegate.autoComplete(query, field, requestParams, limit);
+  }
+
+  private void record(@Nonnull SearchTemplateStore.Version version, @Nonnull String arm, @Nonnull String input,
+      @Nonnull SearchResponse response) {
+    final long tookMillis = response.getTook().millis();
+    MetricUtils.timer("search.template.took", "template", version.getName(), "version", version.getVersion(), "arm",
+        arm).record(tookMillis, TimeUnit.MILLISECONDS);
+    if (tookMillis >= _slowQueryMillis) {
+      log.warn("Search query for '{}' with {} version {} of {} took {}ms, {} hits", input, arm, version.getVersion(),
+          version.getName(), tookMillis, response.getHits().getTotalHits().value);
+    }
+  }
+}
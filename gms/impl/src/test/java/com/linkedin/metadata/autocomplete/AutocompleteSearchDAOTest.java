@@ -0,0 +1,73 @@
+package com.linkedin.metadata.autocomplete;
+
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.configs.AutocompleteMode;
+import com.linkedin.metadata.configs.DatasetSearchConfig;
+import com.linkedin.metadata.dao.BaseSearchDAO;
+import com.linkedin.metadata.query.AutoCompleteResult;
+import com.linkedin.metadata.query.Condition;
+import com.linkedin.metadata.query.Criterion;
+import com.linkedin.metadata.query.CriterionArray;
+import com.linkedin.metadata.query.Filter;
+import com.linkedin.metadata.search.DatasetDocument;
+import java.util.Collections;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class AutocompleteSearchDAOTest {
+
+  private RestHighLevelClient _client;
+  private BaseSearchDAO<DatasetDocument> _searchDAO;
+  private AutoCompleteResult _result;
+
+  @BeforeMethod
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    _client = mock(RestHighLevelClient.class);
+    _searchDAO = mock(BaseSearchDAO.class);
+    _result = new AutoCompleteResult().setQuery("foo").setSuggestions(new StringArray(Collections.singletonList("foobar")));
+    when(_searchDAO.autoComplete(anyString(), any(), any(), anyInt())).thenReturn(_result);
+  }
+
+  @Test
+  public void testQueryModeDelegates() {
+    final AutocompleteSearchDAO<DatasetDocument> dao =
+        new AutocompleteSearchDAO<>(_client, _searchDAO, new DatasetSearchConfig(null, AutocompleteMode.QUERY));
+
+    assertEquals(dao.autoComplete("foo", "name", null, 10), _result);
+    verify(_searchDAO).autoComplete("foo", "name", null, 10);
+    verifyZeroInteractions(_client);
+  }
+
+  @Test
+  public void testCompletionModeDelegatesFilteredRequests() {
+    final AutocompleteSearchDAO<DatasetDocument> dao =
+        new AutocompleteSearchDAO<>(_client, _searchDAO, new DatasetSearchConfig(null, AutocompleteMode.COMPLETION));
+    final Filter filter = new Filter().setCriteria(new CriterionArray(Collections.singletonList(
+        new Criterion().setField("platform").setValue("hive").setCondition(Condition.EQUAL))));
+
+    assertEquals(dao.autoComplete("foo", "name", filter, 10), _result);
+    verify(_searchDAO).autoComplete("foo", "name", filter, 10);
+    verifyZeroInteractions(_client);
+  }
+
+  @Test
+  public void testCompletionModeDelegatesOtherFields() {
+    final AutocompleteSearchDAO<DatasetDocument> dao =
+        new AutocompleteSearchDAO<>(_client, _searchDAO, new DatasetSearchConfig(null, AutocompleteMode.COMPLETION));
+
+    assertEquals(dao.autoComplete("foo", "fieldPaths", null, 10), _result);
+    verify(_searchDAO).autoComplete("foo", "fieldPaths", null, 10);
+    verifyZeroInteractions(_client);
+  }
+
+  @Test
+  public void testSuggestField() {
+    assertEquals(new DatasetSearchConfig(null, AutocompleteMode.COMPLETION).getAutocompleteSuggestField(), "nameSuggest");
+  }
+}
@@ -0,0 +1,63 @@
+package com.linkedin.metadata.browse;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class BrowseTreeTest {
+
+  @Test
+  public void testNormalize() {
+    assertEquals(BrowseTree.normalize("/Prod//hive/"), "/prod/hive");
+    assertEquals(BrowseTree.normalize("/"), "");
+    assertEquals(BrowseTree.getNodeId("/"), BrowseTree.getNodeId(""));
+  }
+
+  @Test
+  public void testDiffAddsEntity() {
+    final Map<String, BrowseTree.NodeDelta> deltas =
+        BrowseTree.diff(Collections.emptyList(), Collections.singletonList("/prod/hive/db/table"));
+
+    assertEquals(deltas.keySet(), ImmutableMap.of("", 0, "/prod", 0, "/prod/hive", 0, "/prod/hive/db", 0).keySet());
+    assertEquals(deltas.get("").getTotal(), 1);
+    assertEquals(deltas.get("").getGroups(), ImmutableMap.of("prod", 1L));
+    assertEquals(deltas.get("/prod/hive").getGroups(), ImmutableMap.of("db", 1L));
+    // The entity is listed directly under its parent path, not as a group
+    assertEquals(deltas.get("/prod/hive/db").getTotal(), 1);
+    assertTrue(deltas.get("/prod/hive/db").getGroups().isEmpty());
+  }
+
+  @Test
+  public void testDiffMovesEntity() {
+    final Map<String, BrowseTree.NodeDelta> deltas = BrowseTree.diff(Collections.singletonList("/prod/hive/db1/table"),
+        Collections.singletonList("/prod/hive/db2/table"));
+
+    assertEquals(deltas.keySet(), ImmutableMap.of("/prod/hive", 0, "/prod/hive/db1", 0, "/prod/hive/db2", 0).keySet());
+    assertEquals(deltas.get("/prod/hive").getTotal(), 0);
+    assertEquals(deltas.get("/prod/hive").getGroups(), ImmutableMap.of("db1", -1L, "db2", 1L));
+    assertEquals(deltas.get("/prod/hive/db1").getTotal(), -1);
+    assertEquals(deltas.get("/prod/hive/db2").getTotal(), 1);
+  }
+
+  @Test
+  public void testDiffCountsEntityOncePerNode() {
+    final Map<String, BrowseTree.NodeDelta> deltas =
+        BrowseTree.diff(Collections.emptyList(), Arrays.asList("/prod/a/x", "/prod/a/y", "/prod/b"));
+
+    assertEquals(deltas.get("").getTotal(), 1);
+    assertEquals(deltas.get("/prod").getTotal(), 1);
+    assertEquals(deltas.get("/prod").getGroups(), ImmutableMap.of("a", 1L));
+    assertEquals(deltas.get("/prod/a").getTotal(), 1);
+  }
+
+  @Test
+  public void testDiffOfUnchangedPathsIsEmpty() {
+    assertTrue(BrowseTree.diff(Collections.singletonList("/prod/hive/db/table"),
+        Collections.singletonList("/PROD/hive/db/table")).isEmpty());
+  }
+}
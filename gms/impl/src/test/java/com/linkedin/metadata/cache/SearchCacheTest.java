@@ -0,0 +1,84 @@
+package com.linkedin.metadata.cache;
+
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.dao.BaseSearchDAO;
+import com.linkedin.metadata.query.AutoCompleteResult;
+import com.linkedin.metadata.search.DatasetDocument;
+import java.util.Collections;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class SearchCacheTest {
+  private static final String INDEX = "datasetdocument";
+
+  private IndexGenerations _generations;
+  private BaseSearchDAO<DatasetDocument> _searchDAO;
+  private AutoCompleteResult _result;
+
+  @BeforeMethod
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    _generations = mock(IndexGenerations.class);
+    when(_generations.get(INDEX)).thenReturn(1L);
+    _searchDAO = mock(BaseSearchDAO.class);
+    _result = new AutoCompleteResult().setQuery("foo").setSuggestions(new StringArray(Collections.singletonList("foobar")));
+    when(_searchDAO.autoComplete(anyString(), eq("name"), isNull(), eq(10))).thenReturn(_result);
+  }
+
+  @Test
+  public void testCachesResults() {
+    BaseSearchDAO<DatasetDocument> cached = new SearchCache(_generations, 60000, 100).wrap(_searchDAO, DatasetDocument.class, INDEX);
+
+    assertEquals(cached.autoComplete("foo", "name", null, 10), _result);
+    assertEquals(cached.autoComplete("  foo ", "name", null, 10), _result);
+    verify(_searchDAO, times(1)).autoComplete(anyString(), eq("name"), isNull(), eq(10));
+
+    cached.autoComplete("foo", "name", null, 20);
+    verify(_searchDAO, times(1)).autoComplete(anyString(), eq("name"), isNull(), eq(20));
+  }
+
+  @Test
+  public void testCachedResultsAreCopies() {
+    BaseSearchDAO<DatasetDocument> cached = new SearchCache(_generations, 60000, 100).wrap(_searchDAO, DatasetDocument.class, INDEX);
+    AutoCompleteResult expected = new AutoCompleteResult().setQuery("foo").setSuggestions(new StringArray(Collections.singletonList("foobar")));
+
+    cached.autoComplete("foo", "name", null, 10).getSuggestions().add("mutated");
+    _result.setQuery("mutated");
+    AutoCompleteResult result = cached.autoComplete("foo", "name", null, 10);
+    result.getSuggestions().clear();
+
+    assertEquals(cached.autoComplete("foo", "name", null, 10), expected);
+    assertNotSame(cached.autoComplete("foo", "name", null, 10), cached.autoComplete("foo", "name", null, 10));
+  }
+
+  @Test
+  public void testGenerationChangeInvalidatesResults() {
+    BaseSearchDAO<DatasetDocument> cached = new SearchCache(_generations, 60000, 100).wrap(_searchDAO, DatasetDocument.class, INDEX);
+
+    cached.autoComplete("foo", "name", null, 10);
+    when(_generations.get(INDEX)).thenReturn(2L);
+    cached.autoComplete("foo", "name", null, 10);
+
+    verify(_searchDAO, times(2)).autoComplete(anyString(), eq("name"), isNull(), eq(10));
+  }
+
+  @Test
+  public void testSettlingIndexIsNotCached() {
+    when(_generations.isSettling(INDEX)).thenReturn(true);
+    BaseSearchDAO<DatasetDocument> cached = new SearchCache(_generations, 60000, 100).wrap(_searchDAO, DatasetDocument.class, INDEX);
+
+    cached.autoComplete("foo", "name", null, 10);
+    cached.autoComplete("foo", "name", null, 10);
+
+    verify(_searchDAO, times(2)).autoComplete(anyString(), eq("name"), isNull(), eq(10));
+  }
+
+  @Test
+  public void testDisabledCacheReturnsDelegate() {
+    assertSame(new SearchCache(_generations, 60000, 0).wrap(_searchDAO, DatasetDocument.class, INDEX), _searchDAO);
+  }
+}
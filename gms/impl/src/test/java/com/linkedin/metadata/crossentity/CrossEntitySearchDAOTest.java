@@ -0,0 +1,43 @@
+package com.linkedin.metadata.crossentity;
+
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.metadata.configs.ChartSearchConfig;
+import com.linkedin.metadata.configs.DashboardSearchConfig;
+import com.linkedin.metadata.dao.search.ESSearchDAO;
+import com.linkedin.metadata.search.ChartDocument;
+import com.linkedin.metadata.search.DashboardDocument;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class CrossEntitySearchDAOTest {
+
+  private RestHighLevelClient _client;
+  private CrossEntitySearchDAO _searchDAO;
+
+  @BeforeMethod
+  public void setup() {
+    _client = mock(RestHighLevelClient.class);
+    _searchDAO = new CrossEntitySearchDAO(_client, ImmutableMap.of(
+        "dashboard", new ESSearchDAO<>(_client, DashboardDocument.class, new DashboardSearchConfig()),
+        "chart", new ESSearchDAO<>(_client, ChartDocument.class, new ChartSearchConfig())));
+  }
+
+  @Test
+  public void testEntityTypes() {
+    assertEquals(new ArrayList<>(_searchDAO.getEntityTypes()), Arrays.asList("dashboard", "chart"));
+  }
+
+  @Test
+  public void testUnknownEntityType() {
+    assertThrows(IllegalArgumentException.class,
+        () -> _searchDAO.search("foo", Arrays.asList("chart", "dataset"), 0, 10));
+    verifyZeroInteractions(_client);
+  }
+}
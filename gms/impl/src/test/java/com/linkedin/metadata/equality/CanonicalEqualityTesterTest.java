@@ -0,0 +1,58 @@
+package com.linkedin.metadata.equality;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.Owner;
+import com.linkedin.common.OwnerArray;
+import com.linkedin.common.Ownership;
+import com.linkedin.common.OwnershipType;
+import com.linkedin.common.urn.CorpuserUrn;
+import com.linkedin.data.DataMap;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class CanonicalEqualityTesterTest {
+
+  private final CanonicalEqualityTester<Ownership> _tester = new CanonicalEqualityTester<>(Ownership.class);
+
+  @Test
+  public void testIgnoresAuditStamps() {
+    assertTrue(_tester.equals(makeOwnership("foo", 1L), makeOwnership("foo", 2L)));
+  }
+
+  @Test
+  public void testDetectsChanges() {
+    assertFalse(_tester.equals(makeOwnership("foo", 1L), makeOwnership("bar", 1L)));
+    assertFalse(_tester.equals(makeOwnership("foo", 1L),
+        makeOwnership("foo", 1L).setOwners(new OwnerArray())));
+  }
+
+  @Test
+  public void testIgnoresKeyOrderAndIntegerWidth() {
+    DataMap first = new DataMap();
+    first.put("owner", "urn:li:corpuser:foo");
+    first.put("type", "DEVELOPER");
+    DataMap second = new DataMap();
+    second.put("type", "DEVELOPER");
+    second.put("owner", "urn:li:corpuser:foo");
+
+    assertEquals(CanonicalEqualityTester.hash(new Owner(first)), CanonicalEqualityTester.hash(new Owner(second)));
+
+    DataMap intStamp = new DataMap();
+    intStamp.put("time", 1);
+    intStamp.put("actor", "urn:li:corpuser:foo");
+    DataMap longStamp = new DataMap();
+    longStamp.put("time", 1L);
+    longStamp.put("actor", "urn:li:corpuser:foo");
+
+    assertEquals(CanonicalEqualityTester.hash(new AuditStamp(intStamp)),
+        CanonicalEqualityTester.hash(new AuditStamp(longStamp)));
+  }
+
+  private static Ownership makeOwnership(String owner, long time) {
+    return new Ownership()
+        .setOwners(new OwnerArray(new Owner().setOwner(new CorpuserUrn(owner)).setType(OwnershipType.DEVELOPER)))
+        .setLastModified(new AuditStamp().setTime(time).setActor(new CorpuserUrn(owner)));
+  }
+}
@@ -0,0 +1,33 @@
+package com.linkedin.metadata.index;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import org.elasticsearch.common.settings.Settings;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class BulkLoadModeTest {
+
+  @Test
+  public void testRestoresSavedSettings() {
+    Settings settings = BulkLoadMode.toRestoredSettings(
+        ImmutableMap.of(BulkLoadMode.REFRESH_INTERVAL, "30s", BulkLoadMode.NUMBER_OF_REPLICAS, "2",
+            BulkLoadMode.EXPIRES_AT, 1L),
+        BulkLoadMode.REFRESH_INTERVAL, BulkLoadMode.NUMBER_OF_REPLICAS);
+
+    assertEquals(settings.keySet().size(), 2);
+    assertEquals(settings.get(BulkLoadMode.REFRESH_INTERVAL), "30s");
+    assertEquals(settings.get(BulkLoadMode.NUMBER_OF_REPLICAS), "2");
+  }
+
+  @Test
+  public void testResetsSettingsWhichWereNotSet() {
+    Settings settings = BulkLoadMode.toRestoredSettings(Collections.emptyMap(), BulkLoadMode.REFRESH_INTERVAL);
+
+    assertTrue(settings.keySet().contains(BulkLoadMode.REFRESH_INTERVAL));
+    assertNull(settings.get(BulkLoadMode.REFRESH_INTERVAL));
+    assertFalse(settings.keySet().contains(BulkLoadMode.NUMBER_OF_REPLICAS));
+  }
+}
@@ -0,0 +1,45 @@
+package com.linkedin.metadata.index;
+
+import com.linkedin.metadata.search.CorpGroupDocument;
+import com.linkedin.metadata.search.DatasetDocument;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class IndexDefinitionTest {
+
+  @Test
+  public void testReadsSettingsAndMappings() {
+    IndexDefinition definition = new IndexDefinition(DatasetDocument.class, "dataset");
+
+    assertNotNull(definition.getSettings());
+    assertTrue(definition.getSettings().contains("\"index\""));
+    assertNotNull(definition.getMappings());
+    assertTrue(definition.getMappings().contains("\"properties\""));
+  }
+
+  @Test
+  public void testVersionedIndexName() {
+    IndexDefinition definition = new IndexDefinition(DatasetDocument.class, "dataset");
+
+    assertEquals(definition.getVersion(), new IndexDefinition(DatasetDocument.class, "dataset").getVersion());
+    assertNotEquals(definition.getVersion(), new IndexDefinition(DatasetDocument.class, "chart").getVersion());
+    assertEquals(definition.getVersionedIndexName("datasetdocument"), "datasetdocument_v" + definition.getVersion());
+  }
+
+  @Test
+  public void testDefinitionWithoutResources() {
+    IndexDefinition definition = new IndexDefinition(CorpGroupDocument.class, null);
+
+    assertNull(definition.getSettings());
+    assertNull(definition.getMappings());
+    assertEquals(definition.getVersion().length(), 10);
+  }
+
+  @Test
+  public void testAllDefinitionsHaveDistinctDocumentTypes() {
+    assertEquals(IndexDefinitions.all().stream().map(IndexDefinition::getDocumentClass).distinct().count(),
+        IndexDefinitions.all().size());
+  }
+}
@@ -0,0 +1,28 @@
+package com.linkedin.metadata.index;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class IndexSizingTest {
+
+  @Test
+  public void testRecommendedShards() {
+    assertEquals(IndexSizing.recommendedShards(0, 1000), 1);
+    assertEquals(IndexSizing.recommendedShards(1000, 1000), 1);
+    assertEquals(IndexSizing.recommendedShards(1001, 1000), 2);
+    assertEquals(IndexSizing.recommendedShards(25_000_000, 10_000_000), 3);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testRecommendedShardsRequiresPositiveDocsPerShard() {
+    IndexSizing.recommendedShards(1000, 0);
+  }
+
+  @Test
+  public void testRecommendedReplicas() {
+    assertEquals(IndexSizing.recommendedReplicas(1), 0);
+    assertEquals(IndexSizing.recommendedReplicas(3), 1);
+  }
+}
@@ -0,0 +1,113 @@
+package com.linkedin.metadata.outbox;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.CorpuserUrn;
+import com.linkedin.identity.CorpUserInfo;
+import com.linkedin.metadata.aspect.CorpUserAspect;
+import com.linkedin.metadata.dao.producer.KafkaMetadataEventProducer;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.snapshot.CorpUserSnapshot;
+import com.linkedin.mxe.MetadataAuditEvent;
+import com.linkedin.mxe.TopicConventionImpl;
+import com.linkedin.mxe.Topics;
+import io.ebean.EbeanServer;
+import io.ebean.SqlRow;
+import io.ebean.config.ServerConfig;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.apache.kafka.clients.producer.Producer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class OutboxEbeanLocalDAOTest {
+
+  private static final CorpuserUrn URN = new CorpuserUrn("foo");
+  private static final AuditStamp AUDIT_STAMP = new AuditStamp().setActor(new CorpuserUrn("tester")).setTime(0L);
+
+  private String _url;
+  private EbeanServer _server;
+  private Producer _producer;
+
+  @BeforeMethod
+  public void setup() {
+    _url = OutboxRelayTest.newUrl();
+    _server = OutboxRelayTest.createServer(_url);
+    _producer = mock(Producer.class);
+  }
+
+  @AfterMethod
+  public void teardown() {
+    _server.shutdown(false, false);
+  }
+
+  @Test
+  public void testAppendsMaeOfWriteToOutbox() {
+    final OutboxEbeanLocalDAO<CorpUserAspect, CorpuserUrn> dao = newDAO(true);
+
+    dao.add(URN, new CorpUserInfo().setActive(false), AUDIT_STAMP);
+    dao.add(URN, new CorpUserInfo().setActive(true), AUDIT_STAMP);
+
+    final List<SqlRow> rows = outbox();
+    assertEquals(rows.size(), 2);
+    assertEquals(rows.get(0).getString("topic"), Topics.METADATA_AUDIT_EVENT);
+    assertEquals(rows.get(0).getString("event_key"), URN.toString());
+    assertFalse(event(rows.get(0)).hasOldSnapshot());
+    final MetadataAuditEvent event = event(rows.get(1));
+    assertFalse(event.getOldSnapshot().getCorpUserSnapshot().getAspects().get(0).getCorpUserInfo().isActive());
+    assertTrue(event.getNewSnapshot().getCorpUserSnapshot().getAspects().get(0).getCorpUserInfo().isActive());
+    verifyZeroInteractions(_producer);
+  }
+
+  @Test
+  public void testAppendsMaeOfBackfillToOutbox() {
+    final OutboxEbeanLocalDAO<CorpUserAspect, CorpuserUrn> dao = newDAO(true);
+    dao.add(URN, new CorpUserInfo().setActive(true), AUDIT_STAMP);
+
+    assertTrue(dao.backfill(CorpUserInfo.class, URN).isPresent());
+
+    final List<SqlRow> rows = outbox();
+    assertEquals(rows.size(), 2);
+    final MetadataAuditEvent event = event(rows.get(1));
+    assertEquals(event.getNewSnapshot().getCorpUserSnapshot().getUrn(), URN);
+    assertEquals(event.getOldSnapshot(), event.getNewSnapshot());
+    verifyZeroInteractions(_producer);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSendsMaeWhenOutboxIsDisabled() {
+    final OutboxEbeanLocalDAO<CorpUserAspect, CorpuserUrn> dao = newDAO(false);
+
+    dao.add(URN, new CorpUserInfo().setActive(true), AUDIT_STAMP);
+
+    assertTrue(outbox().isEmpty());
+    verify(_producer).send(any(), any());
+  }
+
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private OutboxEbeanLocalDAO<CorpUserAspect, CorpuserUrn> newDAO(boolean outboxEnabled) {
+    final ServerConfig serverConfig = OutboxRelayTest.newServerConfig(_url);
+    serverConfig.setDdlGenerate(true);
+    serverConfig.setDdlRun(true);
+    final KafkaMetadataEventProducer<CorpUserSnapshot, CorpUserAspect, CorpuserUrn> producer =
+        new KafkaMetadataEventProducer<>(CorpUserSnapshot.class, CorpUserAspect.class, _producer,
+            new TopicConventionImpl());
+    return new OutboxEbeanLocalDAO<>(CorpUserAspect.class, producer, serverConfig, CorpuserUrn.class, outboxEnabled);
+  }
+
+  @Nonnull
+  private List<SqlRow> outbox() {
+    return _server.createSqlQuery("SELECT topic, event_key, payload FROM metadata_event_outbox ORDER BY id").findList();
+  }
+
+  @Nonnull
+  private static MetadataAuditEvent event(@Nonnull SqlRow row) {
+    return RecordUtils.toRecordTemplate(MetadataAuditEvent.class, row.getString("payload"));
+  }
+}
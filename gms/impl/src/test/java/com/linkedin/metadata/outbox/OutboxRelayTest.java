@@ -0,0 +1,233 @@
+package com.linkedin.metadata.outbox;
+
+import com.linkedin.common.urn.CorpuserUrn;
+import com.linkedin.identity.CorpUserInfo;
+import com.linkedin.metadata.aspect.CorpUserAspect;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.snapshot.CorpUserSnapshot;
+import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.mxe.MetadataAuditEvent;
+import io.ebean.EbeanServer;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import io.ebean.datasource.DataSourceConfig;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class OutboxRelayTest {
+
+  private static final String TOPIC = "MetadataAuditEvent_v4";
+  private static final String INSERT_WITH_ID_SQL =
+      "INSERT INTO metadata_event_outbox (id, topic, event_key, payload, createdon) "
+          + "VALUES (:id, :topic, :eventKey, :payload, :createdOn)";
+
+  private EbeanServer _server;
+  private Producer<String, IndexedRecord> _producer;
+
+  @BeforeMethod
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    _server = createServer(newUrl());
+    _producer = mock(Producer.class);
+  }
+
+  @AfterMethod
+  public void teardown() {
+    _server.shutdown(false, false);
+  }
+
+  @Test
+  public void testRelaysEventsInOrderAndDeletesThem() {
+    insert(1, "urn:li:corpuser:foo");
+    insert(2, "urn:li:corpuser:bar");
+    insert(3, "urn:li:corpuser:foo");
+    when(_producer.send(any())).thenReturn(acknowledged());
+
+    assertEquals(new OutboxRelay(_server, _producer, 10, 60000).relayBatch(), 3);
+
+    assertEquals(sentKeys(3), Arrays.asList("urn:li:corpuser:foo", "urn:li:corpuser:bar", "urn:li:corpuser:foo"));
+    verify(_producer).flush();
+    assertEquals(remainingIds(), Collections.emptyList());
+  }
+
+  @Test
+  public void testRelaysAtMostOneBatch() {
+    insert(1, "urn:li:corpuser:foo");
+    insert(2, "urn:li:corpuser:bar");
+    insert(3, "urn:li:corpuser:baz");
+    when(_producer.send(any())).thenReturn(acknowledged());
+
+    assertEquals(new OutboxRelay(_server, _producer, 2, 60000).relayBatch(), 2);
+
+    assertEquals(sentKeys(2), Arrays.asList("urn:li:corpuser:foo", "urn:li:corpuser:bar"));
+    assertEquals(remainingIds(), Collections.singletonList(3L));
+  }
+
+  @Test
+  public void testKeepsEventsFromFirstFailure() {
+    insert(1, "urn:li:corpuser:foo");
+    insert(2, "urn:li:corpuser:bar");
+    insert(3, "urn:li:corpuser:baz");
+    when(_producer.send(any())).thenReturn(acknowledged(), failed(), acknowledged());
+
+    assertEquals(new OutboxRelay(_server, _producer, 10, 60000).relayBatch(), 1);
+
+    // The event after the failure is kept too, so that it is not relayed before the failed one
+    assertEquals(remainingIds(), Arrays.asList(2L, 3L));
+  }
+
+  @Test
+  public void testDeletesOnlyRelayedEvents() {
+    insert(1, "urn:li:corpuser:foo");
+    insert(3, "urn:li:corpuser:bar");
+    // An event of a lower id whose transaction commits while the batch is being sent
+    when(_producer.send(any())).thenAnswer(invocation -> {
+      if (remainingIds().size() == 2) {
+        insert(2, "urn:li:corpuser:baz");
+      }
+      return acknowledged();
+    });
+
+    assertEquals(new OutboxRelay(_server, _producer, 10, 60000).relayBatch(), 2);
+
+    assertEquals(remainingIds(), Collections.singletonList(2L));
+  }
+
+  @Test
+  public void testDropsEventsWhichCannotBeConverted() {
+    insert(1, "urn:li:corpuser:foo");
+    _server.createSqlUpdate(INSERT_WITH_ID_SQL)
+        .setParameter("id", 2L)
+        .setParameter("topic", TOPIC)
+        .setParameter("eventKey", "urn:li:corpuser:bar")
+        .setParameter("payload", "not json")
+        .setParameter("createdOn", new Timestamp(System.currentTimeMillis()))
+        .execute();
+    when(_producer.send(any())).thenReturn(acknowledged());
+
+    assertEquals(new OutboxRelay(_server, _producer, 10, 60000).relayBatch(), 2);
+
+    assertEquals(sentKeys(1), Collections.singletonList("urn:li:corpuser:foo"));
+    assertEquals(remainingIds(), Collections.emptyList());
+  }
+
+  @Test
+  public void testOnlyLeaseHolderRelays() {
+    final OutboxRelay relay = new OutboxRelay(_server, _producer, 10, 60000);
+    final OutboxRelay other = new OutboxRelay(_server, _producer, 10, 60000);
+    relay.start(60000);
+    other.start(60000);
+    try {
+      assertTrue(relay.acquireLease() || other.acquireLease());
+      assertFalse(relay.acquireLease() && other.acquireLease());
+    } finally {
+      relay.close();
+      other.close();
+    }
+  }
+
+  @Nonnull
+  static String newUrl() {
+    return "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+  }
+
+  @Nonnull
+  static ServerConfig newServerConfig(@Nonnull String url) {
+    final DataSourceConfig dataSourceConfig = new DataSourceConfig();
+    dataSourceConfig.setUsername("sa");
+    dataSourceConfig.setPassword("");
+    dataSourceConfig.setUrl(url);
+    dataSourceConfig.setDriver("org.h2.Driver");
+
+    final ServerConfig serverConfig = new ServerConfig();
+    serverConfig.setName("outbox-test-" + UUID.randomUUID());
+    serverConfig.setDataSourceConfig(dataSourceConfig);
+    serverConfig.setDefaultServer(false);
+    serverConfig.setRegister(false);
+    return serverConfig;
+  }
+
+  /**
+   * Creates a server on the database of the given URL, along with the outbox tables.
+   */
+  @Nonnull
+  static EbeanServer createServer(@Nonnull String url) {
+    final EbeanServer server = EbeanServerFactory.create(newServerConfig(url));
+    server.createSqlUpdate("CREATE TABLE metadata_event_outbox (id BIGINT NOT NULL AUTO_INCREMENT, "
+        + "topic VARCHAR(255) NOT NULL, event_key VARCHAR(500) NOT NULL, payload VARCHAR(10000) NOT NULL, "
+        + "createdon TIMESTAMP NOT NULL, PRIMARY KEY (id))").execute();
+    server.createSqlUpdate("CREATE TABLE metadata_event_outbox_lease (name VARCHAR(100) NOT NULL, "
+        + "owner VARCHAR(255) NOT NULL, expireson BIGINT NOT NULL, PRIMARY KEY (name))").execute();
+    return server;
+  }
+
+  private void insert(long id, @Nonnull String urn) {
+    _server.createSqlUpdate(INSERT_WITH_ID_SQL)
+        .setParameter("id", id)
+        .setParameter("topic", TOPIC)
+        .setParameter("eventKey", urn)
+        .setParameter("payload", RecordUtils.toJsonString(newEvent(urn)))
+        .setParameter("createdOn", new Timestamp(System.currentTimeMillis()))
+        .execute();
+  }
+
+  @Nonnull
+  private static MetadataAuditEvent newEvent(@Nonnull String urn) {
+    final CorpuserUrn corpuserUrn = new CorpuserUrn(urn.substring(urn.lastIndexOf(':') + 1));
+    final Snapshot snapshot = new Snapshot();
+    RecordUtils.setSelectedRecordTemplateInUnion(snapshot, ModelUtils.newSnapshot(CorpUserSnapshot.class, corpuserUrn,
+        Collections.singletonList(ModelUtils.newAspectUnion(CorpUserAspect.class, new CorpUserInfo().setActive(true)))));
+    return new MetadataAuditEvent().setNewSnapshot(snapshot);
+  }
+
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private List<String> sentKeys(int times) {
+    final ArgumentCaptor<ProducerRecord<String, IndexedRecord>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+    verify(_producer, times(times)).send(record.capture());
+    record.getAllValues().forEach(sent -> assertEquals(sent.topic(), TOPIC));
+    return record.getAllValues().stream().map(ProducerRecord::key).collect(Collectors.toList());
+  }
+
+  @Nonnull
+  private List<Long> remainingIds() {
+    final List<Long> ids = new ArrayList<>();
+    _server.createSqlQuery("SELECT id FROM metadata_event_outbox ORDER BY id").findList()
+        .forEach(row -> ids.add(row.getLong("id")));
+    return ids;
+  }
+
+  @Nonnull
+  private static Future<RecordMetadata> acknowledged() {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Nonnull
+  private static Future<RecordMetadata> failed() {
+    final CompletableFuture<RecordMetadata> future = new CompletableFuture<>();
+    future.completeExceptionally(new KafkaException("Failed to send"));
+    return future;
+  }
+}
@@ -0,0 +1,49 @@
+package com.linkedin.metadata.paging;
+
+import com.linkedin.metadata.dao.utils.QueryUtils;
+import com.linkedin.metadata.query.Filter;
+import java.util.Collections;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class CursorTest {
+
+  @Test
+  public void testEncodeDecode() {
+    final String fingerprint = Cursor.fingerprint("search", "datasetdocument", "foo", null, null);
+    final String token = Cursor.encode(fingerprint, new Object[]{1.5f, "urn:li:dataset:(urn:li:dataPlatform:hive,foo,PROD)", null}, 20);
+
+    final Cursor cursor = Cursor.decode(token, fingerprint);
+
+    assertEquals(cursor.getOffset(), 20);
+    assertEquals(cursor.getSearchAfter().length, 3);
+    assertEquals(((Number) cursor.getSearchAfter()[0]).floatValue(), 1.5f);
+    assertEquals(cursor.getSearchAfter()[1], "urn:li:dataset:(urn:li:dataPlatform:hive,foo,PROD)");
+    assertNull(cursor.getSearchAfter()[2]);
+  }
+
+  @Test
+  public void testFingerprintIsByValue() {
+    final Filter filter1 = QueryUtils.newFilter(Collections.singletonMap("platform", "hive"));
+    final Filter filter2 = QueryUtils.newFilter(Collections.singletonMap("platform", "hive"));
+    final Filter filter3 = QueryUtils.newFilter(Collections.singletonMap("platform", "kafka"));
+
+    assertEquals(Cursor.fingerprint("foo", filter1), Cursor.fingerprint("foo", filter2));
+    assertNotEquals(Cursor.fingerprint("foo", filter1), Cursor.fingerprint("foo", filter3));
+    assertNotEquals(Cursor.fingerprint("foo", filter1), Cursor.fingerprint("bar", filter1));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testDecodeOtherQuery() {
+    final String token = Cursor.encode(Cursor.fingerprint("foo"), new Object[]{"urn:li:corpuser:foo"}, 10);
+
+    Cursor.decode(token, Cursor.fingerprint("bar"));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testDecodeMalformed() {
+    Cursor.decode("not a cursor", Cursor.fingerprint("foo"));
+  }
+}
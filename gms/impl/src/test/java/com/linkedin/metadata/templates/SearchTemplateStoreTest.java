@@ -0,0 +1,91 @@
+package com.linkedin.metadata.templates;
+
+import com.linkedin.metadata.configs.ChartSearchConfig;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class SearchTemplateStoreTest {
+  private static final String TEMPLATE = "chartESSearchQueryTemplate";
+  private static final String V1 = "{\"query_string\": {\"query\": \"$INPUT\", \"fields\": [\"title^2\"]}}";
+  private static final String V2 = "{\"query_string\": {\"query\": \"$INPUT\", \"fields\": [\"title^4\"]}}";
+
+  private Path _directory;
+  private SearchTemplateStore _store;
+
+  @BeforeMethod
+  public void setup() throws IOException {
+    _directory = Files.createTempDirectory("search-templates");
+    Files.createDirectory(_directory.resolve(TEMPLATE));
+    write("v1.json", V1);
+    write("v2.json", V2);
+    _store = new SearchTemplateStore(_directory);
+  }
+
+  @Test
+  public void testActiveAndCandidate() throws IOException {
+    write("manifest.properties", "active=v1\ncandidate=v2\ncandidateSampleRate=0.1\n");
+    _store.reload();
+
+    final SearchTemplateStore.Selection selection = _store.getSelection(TEMPLATE);
+    assertEquals(selection.getActive().getVersion(), "v1");
+    assertEquals(selection.getActive().getContent(), V1);
+    assertEquals(selection.getCandidate().getVersion(), "v2");
+    assertEquals(selection.getCandidateSampleRate(), 0.1);
+
+    final ChartSearchConfig config = new ChartSearchConfig(null, _store);
+    assertEquals(config.getSearchQueryTemplate(), V1);
+  }
+
+  @Test
+  public void testReload() throws IOException {
+    write("manifest.properties", "active=v1\n");
+    _store.reload();
+    write("manifest.properties", "active=v2\n");
+    _store.reload();
+
+    assertEquals(_store.getSelection(TEMPLATE).getActive().getVersion(), "v2");
+    assertNull(_store.getSelection(TEMPLATE).getCandidate());
+  }
+
+  @Test
+  public void testInvalidVersionKeepsPreviousSelection() throws IOException {
+    write("manifest.properties", "active=v1\n");
+    _store.reload();
+    write("v3.json", "{\"query_string\": ");
+    write("manifest.properties", "active=v3\n");
+    _store.reload();
+
+    assertEquals(_store.getSelection(TEMPLATE).getActive().getVersion(), "v1");
+  }
+
+  @Test
+  public void testCandidateOnlyKeepsBundledActive() throws IOException {
+    write("manifest.properties", "candidate=v2\ncandidateSampleRate=0.5\n");
+    _store.reload();
+
+    final SearchTemplateStore.Selection selection =
+        new ChartSearchConfig(null, _store).getSearchQueryTemplateSelection();
+    assertEquals(selection.getActive().getVersion(), SearchTemplateStore.BUNDLED_VERSION);
+    assertEquals(selection.getActive().getContent(), new ChartSearchConfig().getSearchQueryTemplate());
+    assertEquals(selection.getCandidate().getVersion(), "v2");
+  }
+
+  @Test
+  public void testNoStore() {
+    final SearchTemplateStore.Selection selection = new ChartSearchConfig().getSearchQueryTemplateSelection();
+
+    assertEquals(selection.getActive().getVersion(), SearchTemplateStore.BUNDLED_VERSION);
+    assertNull(selection.getCandidate());
+  }
+
+  private void write(String file, String content) throws IOException {
+    Files.write(_directory.resolve(TEMPLATE).resolve(file), content.getBytes(StandardCharsets.UTF_8));
+  }
+}
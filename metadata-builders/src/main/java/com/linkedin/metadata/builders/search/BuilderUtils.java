@@ -10,6 +10,8 @@ import com.linkedin.common.urn.DatasetUrn;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.StringArray;
 import java.net.URISyntaxException;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import lombok.extern.slf4j.Slf4j;
@@ -96,4 +98,24 @@ public final class BuilderUtils {
         .map(DatasetUrn::getDatasetNameEntity)
         .collect(Collectors.toCollection(StringArray::new));
   }
+
+  /**
+   * Given a dataset name return the inputs of the completion suggester serving autocomplete on it: the name itself
+   * followed by each of its suffixes starting after a '.' or '/'
+   *
+   * @param name dataset name e.g. {db}.{table} or /dir/subdir/{name}
+   * @return suggester inputs, e.g. [db.schema.table, schema.table, table] for db.schema.table
+   */
+  @Nonnull
+  public static StringArray getSuggestInputs(@Nonnull String name) {
+    final Set<String> inputs = new LinkedHashSet<>();
+    inputs.add(name);
+    for (int i = 0; i < name.length() - 1; i++) {
+      final char c = name.charAt(i);
+      if (c == '.' || c == '/') {
+        inputs.add(name.substring(i + 1));
+      }
+    }
+    return new StringArray(inputs);
+  }
 }
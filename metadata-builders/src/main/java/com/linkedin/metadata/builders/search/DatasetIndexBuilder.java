@@ -34,7 +34,8 @@ public class DatasetIndexBuilder extends BaseIndexBuilder<DatasetDocument> {
   }
 
   /**
-   * Given dataset urn, this returns a {@link DatasetDocument} model that has urn, dataset name, platform and origin fields set
+   * Given dataset urn, this returns a {@link DatasetDocument} model that has urn, dataset name, name suggester inputs,
+   * platform and origin fields set
    *
    * @param urn {@link DatasetUrn} that needs to be set
    * @return {@link DatasetDocument} model with relevant fields set that are extracted from the urn
@@ -43,6 +44,7 @@ public class DatasetIndexBuilder extends BaseIndexBuilder<DatasetDocument> {
   private static DatasetDocument setUrnDerivedFields(@Nonnull DatasetUrn urn) {
     return new DatasetDocument()
         .setName(urn.getDatasetNameEntity())
+        .setNameSuggest(BuilderUtils.getSuggestInputs(urn.getDatasetNameEntity()))
         .setOrigin(urn.getOriginEntity())
         .setPlatform(urn.getPlatformEntity().getPlatformNameEntity())
         .setUrn(urn)
@@ -37,4 +37,12 @@ public class BuilderUtilsTest {
     assertEquals(BuilderUtils.getDatasetNames(datasetUrns), Arrays.asList("testDataset1", "testDataset2"));
   }
 
+  @Test
+  public void testGetSuggestInputs() {
+    assertEquals(BuilderUtils.getSuggestInputs("db.schema.table"), Arrays.asList("db.schema.table", "schema.table", "table"));
+    assertEquals(BuilderUtils.getSuggestInputs("/dir/subdir/name"),
+        Arrays.asList("/dir/subdir/name", "dir/subdir/name", "subdir/name", "name"));
+    assertEquals(BuilderUtils.getSuggestInputs("table"), Arrays.asList("table"));
+    assertEquals(BuilderUtils.getSuggestInputs("dir/"), Arrays.asList("dir/"));
+  }
 }
@@ -50,6 +50,7 @@ public class DatasetIndexBuilderTest {
         .setBrowsePaths(new StringArray("/prod/foo/bar"))
         .setOrigin(FabricType.PROD)
         .setName("bar")
+        .setNameSuggest(new StringArray("bar"))
         .setPlatform("foo");
 
     // when
@@ -71,6 +72,7 @@ public class DatasetIndexBuilderTest {
         .setBrowsePaths(new StringArray("/prod/foo/bar"))
         .setOrigin(FabricType.PROD)
         .setName("bar")
+        .setNameSuggest(new StringArray("bar"))
         .setPlatform("foo");
 
     // when
@@ -92,6 +94,7 @@ public class DatasetIndexBuilderTest {
         .setBrowsePaths(new StringArray("/prod/foo/bar"))
         .setOrigin(FabricType.PROD)
         .setName("bar")
+        .setNameSuggest(new StringArray("bar"))
         .setPlatform("foo");
 
     // when
@@ -113,6 +116,7 @@ public class DatasetIndexBuilderTest {
         .setBrowsePaths(new StringArray("/prod/foo/bar"))
         .setOrigin(FabricType.PROD)
         .setName("bar")
+        .setNameSuggest(new StringArray("bar"))
         .setPlatform("foo");
 
     // when
@@ -138,6 +142,7 @@ public class DatasetIndexBuilderTest {
         .setBrowsePaths(new StringArray("/prod/foo/bar"))
         .setOrigin(FabricType.PROD)
         .setName("bar")
+        .setNameSuggest(new StringArray("bar"))
         .setPlatform("foo");
 
     // when
@@ -170,6 +175,7 @@ public class DatasetIndexBuilderTest {
         .setBrowsePaths(new StringArray("/prod/foo/bar"))
         .setOrigin(FabricType.PROD)
         .setName("bar")
+        .setNameSuggest(new StringArray("bar"))
         .setPlatform("foo");
 
     // when
@@ -197,6 +203,7 @@ public class DatasetIndexBuilderTest {
         .setBrowsePaths(new StringArray("/prod/foo/bar"))
         .setOrigin(FabricType.PROD)
         .setName("bar")
+        .setNameSuggest(new StringArray("bar"))
         .setPlatform("foo");
 
     // when
@@ -219,6 +226,7 @@ public class DatasetIndexBuilderTest {
         .setBrowsePaths(new StringArray("/prod/foo/bar"))
         .setOrigin(FabricType.PROD)
         .setName("bar")
+        .setNameSuggest(new StringArray("bar"))
         .setPlatform("foo");
 
     // when
@@ -240,6 +248,7 @@ public class DatasetIndexBuilderTest {
         .setBrowsePaths(new StringArray("/prod/foo/bar"))
         .setOrigin(FabricType.PROD)
         .setName("bar")
+        .setNameSuggest(new StringArray("bar"))
         .setPlatform("foo");
 
     // when
@@ -266,6 +275,7 @@ public class DatasetIndexBuilderTest {
         .setBrowsePaths(new StringArray("/prod/foo/bar"))
         .setOrigin(FabricType.PROD)
         .setName("bar")
+        .setNameSuggest(new StringArray("bar"))
         .setPlatform("foo");
 
     // when
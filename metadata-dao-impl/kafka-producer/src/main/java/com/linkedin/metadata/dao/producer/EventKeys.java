@@ -0,0 +1,52 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.mxe.MetadataChangeEvent;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nonnull;
+import org.apache.kafka.common.utils.Utils;
+
+
+/**
+ * The keys of metadata events, shared by everything producing them so that all the events of an entity land on the same
+ * partition of a topic, and are therefore consumed in the order they were produced.
+ *
+ * <p>The key of an event is the URN of its entity. Kafka's default partitioner assigns it to a partition by the murmur2
+ * hash of its bytes, as does {@link #partition(String, int)}, so that consumers may process the events of different
+ * partitions in parallel without coordinating on entities.
+ */
+public final class EventKeys {
+
+  private EventKeys() {
+  }
+
+  /**
+   * Returns the key of the events of the given entity.
+   */
+  @Nonnull
+  public static String of(@Nonnull Urn urn) {
+    return urn.toString();
+  }
+
+  /**
+   * Returns the key of the given MCE, which is that of the entity of its proposed snapshot.
+   */
+  @Nonnull
+  public static String of(@Nonnull MetadataChangeEvent event) {
+    final RecordTemplate snapshot = RecordUtils.getSelectedRecordTemplateFromUnion(event.getProposedSnapshot());
+    return of(ModelUtils.getUrnFromSnapshot(snapshot));
+  }
+
+  /**
+   * Returns the partition Kafka's default partitioner assigns the given key to, out of the given number of partitions.
+   */
+  public static int partition(@Nonnull String key, int numPartitions) {
+    if (numPartitions <= 0) {
+      throw new IllegalArgumentException("numPartitions must be positive, was " + numPartitions);
+    }
+    return Utils.toPositive(Utils.murmur2(key.getBytes(StandardCharsets.UTF_8))) % numPartitions;
+  }
+}
@@ -9,18 +9,26 @@ import com.linkedin.metadata.dao.exception.ModelConversionException;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.dao.utils.RecordUtils;
 import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
 import com.linkedin.mxe.Configs;
 import com.linkedin.mxe.MetadataAuditEvent;
 import com.linkedin.mxe.MetadataChangeEvent;
 import com.linkedin.mxe.TopicConvention;
 import com.linkedin.mxe.TopicConventionImpl;
 import com.linkedin.mxe.Topics;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
+import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
@@ -37,14 +45,29 @@ import org.apache.kafka.clients.producer.ProducerRecord;
  *
  * <p>The topic names that this emits to can be controlled by constructing this with a {@link TopicConvention}. If
  * none is given, defaults to a {@link TopicConventionImpl} with the default delimiter of an underscore (_).
+ *
+ * <p>Events are keyed by {@link EventKeys}, so that all the events of an entity go to the same partition.
+ *
+ * <p>When an outbox is set, MAEs are appended to it within the transaction of the write rather than sent once the
+ * write is committed, and the MAEs of backfills are appended to it on their own, see {@link #setOutbox}.
+ *
+ * <p>The conversion latency and delivery latency of events are published as the 'kafka.producer.conversion.latency' and
+ * 'kafka.producer.delivery.latency' timers, tagged with the topic and, for deliveries, whether they succeeded.
  */
 @Slf4j
 public class KafkaMetadataEventProducer<SNAPSHOT extends RecordTemplate, ASPECT_UNION extends UnionTemplate, URN extends Urn>
     extends BaseMetadataEventProducer<SNAPSHOT, ASPECT_UNION, URN> {
 
+  private static final Map<String, String> TOPICS = getTopics();
+
   private final Producer<String, ? extends IndexedRecord> _producer;
   private final Optional<Callback> _callback;
   private final TopicConvention _topicConvention;
+  private final Map<String, Optional<AspectSpecificTopic>> _aspectSpecificTopics = new ConcurrentHashMap<>();
+  private OrderedExecutor _conversionExecutor;
+  private MetadataEventOutbox _outbox;
+  // The aspect whose MAE was last appended to the outbox by this thread, not to be appended again once it is committed
+  private final ThreadLocal<RecordTemplate> _appended = new ThreadLocal<>();
 
   /**
    * Constructor.
@@ -78,50 +101,82 @@ public class KafkaMetadataEventProducer<SNAPSHOT extends RecordTemplate, ASPECT_
     _topicConvention = topicConvention;
   }
 
+  /**
+   * Converts events to Avro and sends them on the given executor rather than on the calling thread, so that writes do
+   * not wait on Avro encoding. Events of the same URN are still sent in the order they were produced. The aspects passed
+   * to this producer must not be modified afterwards.
+   */
+  public void setConversionExecutor(@Nullable OrderedExecutor conversionExecutor) {
+    _conversionExecutor = conversionExecutor;
+  }
+
+  /**
+   * Appends MAEs to the given outbox, by {@link #appendMetadataAuditEvent} within the transaction of the write, rather
+   * than sending them once the write is committed: {@link #produceMetadataAuditEvent} then skips the MAE of the aspect
+   * just appended, and appends any other, such as those of backfills which are not written in a transaction, to the
+   * outbox on its own. Aspect specific MAEs are still sent directly.
+   */
+  public void setOutbox(@Nullable MetadataEventOutbox outbox) {
+    _outbox = outbox;
+  }
+
+  public boolean hasOutbox() {
+    return _outbox != null;
+  }
+
+  /**
+   * Appends the MAE of a write to the outbox, to be called within the transaction of the write.
+   *
+   * @throws IllegalStateException if no outbox is set
+   */
+  public <ASPECT extends RecordTemplate> void appendMetadataAuditEvent(@Nonnull URN urn, @Nullable ASPECT oldValue,
+      @Nonnull ASPECT newValue) {
+    if (_outbox == null) {
+      throw new IllegalStateException("No outbox is set");
+    }
+    _outbox.append(_topicConvention.getMetadataAuditEventTopicName(), EventKeys.of(urn),
+        newMetadataAuditEvent(urn, oldValue, newValue));
+    _appended.set(newValue);
+  }
+
   @Override
   public <ASPECT extends RecordTemplate> void produceSnapshotBasedMetadataChangeEvent(@Nonnull URN urn,
       @Nonnull ASPECT newValue) {
     MetadataChangeEvent metadataChangeEvent = new MetadataChangeEvent();
     metadataChangeEvent.setProposedSnapshot(makeSnapshot(urn, newValue));
 
-    GenericRecord record;
-    try {
-      record = EventUtils.pegasusToAvroMCE(metadataChangeEvent);
-    } catch (IOException e) {
-      throw new ModelConversionException("Failed to convert Pegasus MCE to Avro", e);
-    }
-
-    if (_callback.isPresent()) {
-      _producer.send(new ProducerRecord(_topicConvention.getMetadataChangeEventTopicName(), urn.toString(), record),
-          _callback.get());
-    } else {
-      _producer.send(new ProducerRecord(_topicConvention.getMetadataChangeEventTopicName(), urn.toString(), record));
-    }
+    send(_topicConvention.getMetadataChangeEventTopicName(), urn, () -> {
+      try {
+        return EventUtils.pegasusToAvroMCE(metadataChangeEvent);
+      } catch (IOException e) {
+        throw new ModelConversionException("Failed to convert Pegasus MCE to Avro", e);
+      }
+    });
   }
 
   @Override
   public <ASPECT extends RecordTemplate> void produceMetadataAuditEvent(@Nonnull URN urn, @Nullable ASPECT oldValue,
       @Nonnull ASPECT newValue) {
-
-    MetadataAuditEvent metadataAuditEvent = new MetadataAuditEvent();
-    metadataAuditEvent.setNewSnapshot(makeSnapshot(urn, newValue));
-    if (oldValue != null) {
-      metadataAuditEvent.setOldSnapshot(makeSnapshot(urn, oldValue));
+    if (_outbox != null) {
+      if (_appended.get() == newValue) {
+        // Already appended to the outbox within the transaction of the write
+        _appended.remove();
+      } else {
+        _outbox.append(_topicConvention.getMetadataAuditEventTopicName(), EventKeys.of(urn),
+            newMetadataAuditEvent(urn, oldValue, newValue));
+      }
+      return;
     }
 
-    GenericRecord record;
-    try {
-      record = EventUtils.pegasusToAvroMAE(metadataAuditEvent);
-    } catch (IOException e) {
-      throw new ModelConversionException("Failed to convert Pegasus MAE to Avro", e);
-    }
+    MetadataAuditEvent metadataAuditEvent = newMetadataAuditEvent(urn, oldValue, newValue);
 
-    if (_callback.isPresent()) {
-      _producer.send(new ProducerRecord(_topicConvention.getMetadataAuditEventTopicName(), urn.toString(), record),
-          _callback.get());
-    } else {
-      _producer.send(new ProducerRecord(_topicConvention.getMetadataAuditEventTopicName(), urn.toString(), record));
-    }
+    send(_topicConvention.getMetadataAuditEventTopicName(), urn, () -> {
+      try {
+        return EventUtils.pegasusToAvroMAE(metadataAuditEvent);
+      } catch (IOException e) {
+        throw new ModelConversionException("Failed to convert Pegasus MAE to Avro", e);
+      }
+    });
   }
 
   @Override
@@ -129,44 +184,72 @@ public class KafkaMetadataEventProducer<SNAPSHOT extends RecordTemplate, ASPECT_
       @Nullable ASPECT oldValue, @Nonnull ASPECT newValue) {
     // TODO switch to convention once versions are annotated in the schema
     final String topicKey = ModelUtils.getAspectSpecificMAETopicName(urn, newValue);
-    if (!isValidAspectSpecificTopic(topicKey)) {
+    final Optional<AspectSpecificTopic> aspectSpecificTopic = _aspectSpecificTopics.computeIfAbsent(topicKey,
+        key -> isValidAspectSpecificTopic(key) ? Optional.of(new AspectSpecificTopic(key, urn, newValue)) : Optional.empty());
+    if (!aspectSpecificTopic.isPresent()) {
       log.warn("The event topic for entity {} and aspect {}, expected to be {}, has not been registered.",
           urn.getClass().getCanonicalName(), newValue.getClass().getCanonicalName(), topicKey);
       return;
     }
 
-    String topic;
-    Class<? extends SpecificRecord> maeAvroClass;
-    RecordTemplate metadataAuditEvent;
-    try {
-      topic = (String) Topics.class.getField(topicKey).get(null);
-      maeAvroClass = Configs.TOPIC_SCHEMA_CLASS_MAP.get(topic);
-      metadataAuditEvent = (RecordTemplate) EventUtils.getPegasusClass(maeAvroClass).newInstance();
-
-      metadataAuditEvent.getClass().getMethod("setUrn", urn.getClass()).invoke(metadataAuditEvent, urn);
-      metadataAuditEvent.getClass().getMethod("setNewValue", newValue.getClass()).invoke(metadataAuditEvent, newValue);
-      if (oldValue != null) {
-        metadataAuditEvent.getClass()
-            .getMethod("setOldValue", oldValue.getClass())
-            .invoke(metadataAuditEvent, oldValue);
+    final AspectSpecificTopic topic = aspectSpecificTopic.get();
+    final RecordTemplate metadataAuditEvent = topic.newEvent(urn, oldValue, newValue);
+    send(topic._topic, urn, () -> {
+      try {
+        return EventUtils.pegasusToAvroAspectSpecificMXE(topic._avroClass, metadataAuditEvent);
+      } catch (NoSuchFieldException | IOException | IllegalAccessException e) {
+        throw new ModelConversionException("Failed to convert Pegasus aspect specific MAE to Avro", e);
       }
-    } catch (NoSuchFieldException | IllegalAccessException | ClassNotFoundException | NoSuchMethodException
-        | InstantiationException | InvocationTargetException e) {
-      throw new IllegalArgumentException("Failed to compose the Pegasus aspect specific MAE", e);
-    }
+    });
+  }
 
-    GenericRecord record;
-    try {
-      record = EventUtils.pegasusToAvroAspectSpecificMXE(maeAvroClass, metadataAuditEvent);
-    } catch (NoSuchFieldException | IOException | IllegalAccessException e) {
-      throw new ModelConversionException("Failed to convert Pegasus aspect specific MAE to Avro", e);
+  /**
+   * Converts an event to Avro and sends it, on the conversion executor if there is one.
+   */
+  private void send(@Nonnull String topic, @Nonnull URN urn, @Nonnull Supplier<GenericRecord> conversion) {
+    final String key = EventKeys.of(urn);
+    if (_conversionExecutor == null) {
+      sendRecord(topic, key, convert(topic, conversion));
+      return;
     }
+    _conversionExecutor.execute(key, () -> {
+      try {
+        sendRecord(topic, key, convert(topic, conversion));
+      } catch (RuntimeException e) {
+        log.error("Failed to send event of {} to {}", key, topic, e);
+        MetricUtils.get().counter("kafka.producer.send.failures", "topic", topic).increment();
+        _callback.ifPresent(callback -> callback.onCompletion(null, e));
+      }
+    });
+  }
 
-    if (_callback.isPresent()) {
-      _producer.send(new ProducerRecord(topic, urn.toString(), record), _callback.get());
-    } else {
-      _producer.send(new ProducerRecord(topic, urn.toString(), record));
+  @Nonnull
+  private static GenericRecord convert(@Nonnull String topic, @Nonnull Supplier<GenericRecord> conversion) {
+    final Timer.Sample sample = Timer.start(MetricUtils.get());
+    final GenericRecord record = conversion.get();
+    sample.stop(MetricUtils.timer("kafka.producer.conversion.latency", "topic", topic));
+    return record;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void sendRecord(@Nonnull String topic, @Nonnull String key, @Nonnull GenericRecord record) {
+    final long startNanos = System.nanoTime();
+    _producer.send(new ProducerRecord(topic, key, record), (metadata, exception) -> {
+      MetricUtils.timer("kafka.producer.delivery.latency", "topic", topic, "result",
+          exception == null ? "success" : "failure").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      _callback.ifPresent(callback -> callback.onCompletion(metadata, exception));
+    });
+  }
+
+  @Nonnull
+  private MetadataAuditEvent newMetadataAuditEvent(@Nonnull URN urn, @Nullable RecordTemplate oldValue,
+      @Nonnull RecordTemplate newValue) {
+    MetadataAuditEvent metadataAuditEvent = new MetadataAuditEvent();
+    metadataAuditEvent.setNewSnapshot(makeSnapshot(urn, newValue));
+    if (oldValue != null) {
+      metadataAuditEvent.setOldSnapshot(makeSnapshot(urn, oldValue));
     }
+    return metadataAuditEvent;
   }
 
   @Nonnull
@@ -179,6 +262,60 @@ public class KafkaMetadataEventProducer<SNAPSHOT extends RecordTemplate, ASPECT_
 
   @VisibleForTesting
   static boolean isValidAspectSpecificTopic(@Nonnull String topic) {
-    return Arrays.stream(Topics.class.getFields()).anyMatch(field -> field.getName().equals(topic));
+    return TOPICS.containsKey(topic);
+  }
+
+  @Nonnull
+  private static Map<String, String> getTopics() {
+    final Map<String, String> topics = new HashMap<>();
+    for (Field field : Topics.class.getFields()) {
+      try {
+        topics.put(field.getName(), (String) field.get(null));
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Failed to read topic " + field.getName(), e);
+      }
+    }
+    return Collections.unmodifiableMap(topics);
+  }
+
+  /**
+   * The topic of an aspect specific MAE, along with the classes and setters of its Pegasus and Avro models, resolved
+   * once per topic rather than for every event.
+   */
+  private static final class AspectSpecificTopic {
+    private final String _topic;
+    private final Class<? extends SpecificRecord> _avroClass;
+    private final Class<?> _pegasusClass;
+    private final Method _setUrn;
+    private final Method _setNewValue;
+    private final Method _setOldValue;
+
+    private AspectSpecificTopic(@Nonnull String topicKey, @Nonnull Urn urn, @Nonnull RecordTemplate aspect) {
+      try {
+        _topic = TOPICS.get(topicKey);
+        _avroClass = Configs.TOPIC_SCHEMA_CLASS_MAP.get(_topic);
+        _pegasusClass = EventUtils.getPegasusClass(_avroClass);
+        _setUrn = _pegasusClass.getMethod("setUrn", urn.getClass());
+        _setNewValue = _pegasusClass.getMethod("setNewValue", aspect.getClass());
+        _setOldValue = _pegasusClass.getMethod("setOldValue", aspect.getClass());
+      } catch (ClassNotFoundException | NoSuchMethodException e) {
+        throw new IllegalArgumentException("Failed to compose the Pegasus aspect specific MAE", e);
+      }
+    }
+
+    @Nonnull
+    private RecordTemplate newEvent(@Nonnull Urn urn, @Nullable RecordTemplate oldValue, @Nonnull RecordTemplate newValue) {
+      try {
+        final RecordTemplate event = (RecordTemplate) _pegasusClass.newInstance();
+        _setUrn.invoke(event, urn);
+        _setNewValue.invoke(event, newValue);
+        if (oldValue != null) {
+          _setOldValue.invoke(event, oldValue);
+        }
+        return event;
+      } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
+        throw new IllegalArgumentException("Failed to compose the Pegasus aspect specific MAE", e);
+      }
+    }
   }
 }
\ No newline at end of file
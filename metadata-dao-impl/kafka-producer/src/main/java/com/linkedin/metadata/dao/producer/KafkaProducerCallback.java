@@ -5,12 +5,17 @@ import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.RecordMetadata;
 
 
+/**
+ * Logs failed sends, and successful ones at debug level so as not to log every event at high volumes.
+ */
 @Slf4j
 public class KafkaProducerCallback implements Callback {
   @Override
   public void onCompletion(RecordMetadata metadata, Exception exception) {
-    log.info("Kafka producer callback:");
-    log.info("  Metadata: " + (metadata == null ? "null" : metadata.toString()));
-    log.info("  Exception: " + (exception == null ? "null" : exception.toString()));
+    if (exception != null) {
+      log.error("Failed to send event, metadata: {}", metadata, exception);
+    } else {
+      log.debug("Sent event, metadata: {}", metadata);
+    }
   }
 }
@@ -0,0 +1,21 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.mxe.MetadataAuditEvent;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Stores MAEs alongside the metadata they describe, in the transaction writing it, to be relayed to Kafka once it is
+ * committed. An MAE is then sent if and only if its write is committed, even if the process dies in between.
+ */
+public interface MetadataEventOutbox {
+
+  /**
+   * Appends an event to the outbox, within the current transaction.
+   *
+   * @param topic the topic the event is to be sent to
+   * @param key the key the event is to be sent with, see {@link EventKeys}
+   * @param event the event
+   */
+  void append(@Nonnull String topic, @Nonnull String key, @Nonnull MetadataAuditEvent event);
+}
@@ -0,0 +1,92 @@
+package com.linkedin.metadata.dao.producer;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Runs tasks on a fixed pool of threads while preserving the order of the tasks submitted with the same key.
+ *
+ * <p>Every key is assigned to one thread by its hash, so that events of the same entity are sent in the order they
+ * were produced. Each thread has a bounded queue; submitting a task to a full queue blocks until there is room, which
+ * slows writers down rather than buffering without limit when Kafka cannot keep up.
+ */
+@Slf4j
+public class OrderedExecutor implements Closeable {
+
+  private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+  private final List<ThreadPoolExecutor> _executors;
+
+  /**
+   * @param name prefix of the names of the threads
+   * @param threads number of threads
+   * @param queueCapacity maximum number of tasks waiting to be run by each thread
+   */
+  public OrderedExecutor(@Nonnull String name, int threads, int queueCapacity) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("threads must be positive, was " + threads);
+    }
+    _executors = new ArrayList<>(threads);
+    for (int i = 0; i < threads; i++) {
+      final String threadName = name + "-" + i;
+      _executors.add(new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+          runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+          },
+          (runnable, executor) -> {
+            if (executor.isShutdown()) {
+              throw new RejectedExecutionException("Executor " + threadName + " is shut down");
+            }
+            try {
+              executor.getQueue().put(runnable);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new RejectedExecutionException("Interrupted while waiting for room in the queue of " + threadName, e);
+            }
+          }));
+    }
+  }
+
+  /**
+   * Runs the given task after all the tasks previously submitted with the same key, blocking while the queue of the
+   * thread of the key is full.
+   */
+  public void execute(@Nonnull String key, @Nonnull Runnable task) {
+    _executors.get(Math.floorMod(key.hashCode(), _executors.size())).execute(task);
+  }
+
+  /**
+   * Returns the number of tasks waiting to be run.
+   */
+  public int getQueueSize() {
+    return _executors.stream().mapToInt(executor -> executor.getQueue().size()).sum();
+  }
+
+  /**
+   * Stops accepting tasks and waits for the submitted ones to be run.
+   */
+  @Override
+  public void close() {
+    _executors.forEach(ThreadPoolExecutor::shutdown);
+    try {
+      for (ThreadPoolExecutor executor : _executors) {
+        if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+          log.warn("Dropping {} tasks not run within {}s of closing", executor.shutdownNow().size(),
+              CLOSE_TIMEOUT_SECONDS);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.urn.Urn;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.kafka.clients.producer.internals.DefaultPartitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class EventKeysTest {
+
+  @Test
+  public void testKeyIsUrn() throws Exception {
+    Urn urn = Urn.createFromString("urn:li:corpuser:foo");
+
+    assertEquals(EventKeys.of(urn), "urn:li:corpuser:foo");
+  }
+
+  @Test
+  public void testPartitionMatchesDefaultPartitioner() {
+    Node node = new Node(0, "localhost", 9092);
+    List<PartitionInfo> partitions = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      partitions.add(new PartitionInfo("topic", i, node, new Node[]{node}, new Node[]{node}));
+    }
+    Cluster cluster = new Cluster("cluster", Collections.singletonList(node), partitions, Collections.emptySet(),
+        Collections.emptySet());
+    DefaultPartitioner partitioner = new DefaultPartitioner();
+
+    for (int i = 0; i < 100; i++) {
+      String key = "urn:li:dataset:(urn:li:dataPlatform:kafka,topic" + i + ",PROD)";
+      byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+      assertEquals(EventKeys.partition(key, 12), partitioner.partition("topic", key, keyBytes, null, null, cluster));
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testPartitionRequiresPartitions() {
+    EventKeys.partition("urn:li:corpuser:foo", 0);
+  }
+}
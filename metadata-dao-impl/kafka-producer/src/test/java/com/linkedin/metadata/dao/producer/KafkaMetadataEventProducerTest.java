@@ -0,0 +1,74 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.urn.CorpuserUrn;
+import com.linkedin.identity.CorpUserInfo;
+import com.linkedin.metadata.aspect.CorpUserAspect;
+import com.linkedin.metadata.snapshot.CorpUserSnapshot;
+import com.linkedin.mxe.MetadataAuditEvent;
+import com.linkedin.mxe.TopicConventionImpl;
+import com.linkedin.mxe.Topics;
+import org.apache.kafka.clients.producer.Producer;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class KafkaMetadataEventProducerTest {
+
+  @Test
+  public void testAppendsMaeToOutboxInsteadOfSending() {
+    Producer producer = mock(Producer.class);
+    MetadataEventOutbox outbox = mock(MetadataEventOutbox.class);
+    KafkaMetadataEventProducer<CorpUserSnapshot, CorpUserAspect, CorpuserUrn> eventProducer =
+        new KafkaMetadataEventProducer<>(CorpUserSnapshot.class, CorpUserAspect.class, producer,
+            new TopicConventionImpl());
+    eventProducer.setOutbox(outbox);
+    CorpuserUrn urn = new CorpuserUrn("foo");
+    CorpUserInfo oldValue = new CorpUserInfo().setActive(false);
+    CorpUserInfo newValue = new CorpUserInfo().setActive(true);
+
+    eventProducer.appendMetadataAuditEvent(urn, oldValue, newValue);
+    eventProducer.produceMetadataAuditEvent(urn, oldValue, newValue);
+
+    ArgumentCaptor<MetadataAuditEvent> event = ArgumentCaptor.forClass(MetadataAuditEvent.class);
+    verify(outbox).append(eq(Topics.METADATA_AUDIT_EVENT), eq("urn:li:corpuser:foo"), event.capture());
+    assertEquals(event.getValue().getNewSnapshot().getCorpUserSnapshot().getUrn(), urn);
+    assertTrue(event.getValue().hasOldSnapshot());
+    verifyZeroInteractions(producer);
+  }
+
+  @Test
+  public void testAppendsMaeOutsideTransactionToOutbox() {
+    Producer producer = mock(Producer.class);
+    MetadataEventOutbox outbox = mock(MetadataEventOutbox.class);
+    KafkaMetadataEventProducer<CorpUserSnapshot, CorpUserAspect, CorpuserUrn> eventProducer =
+        new KafkaMetadataEventProducer<>(CorpUserSnapshot.class, CorpUserAspect.class, producer,
+            new TopicConventionImpl());
+    eventProducer.setOutbox(outbox);
+    CorpuserUrn urn = new CorpuserUrn("foo");
+    CorpUserInfo written = new CorpUserInfo().setActive(true);
+    CorpUserInfo backfilled = new CorpUserInfo().setActive(true);
+
+    // The MAE of a write, appended within its transaction, and then that of a backfill of the same aspect
+    eventProducer.appendMetadataAuditEvent(urn, null, written);
+    eventProducer.produceMetadataAuditEvent(urn, null, written);
+    eventProducer.produceMetadataAuditEvent(urn, backfilled, backfilled);
+
+    ArgumentCaptor<MetadataAuditEvent> event = ArgumentCaptor.forClass(MetadataAuditEvent.class);
+    verify(outbox, times(2)).append(eq(Topics.METADATA_AUDIT_EVENT), eq("urn:li:corpuser:foo"), event.capture());
+    assertFalse(event.getAllValues().get(0).hasOldSnapshot());
+    assertTrue(event.getAllValues().get(1).hasOldSnapshot());
+    verifyZeroInteractions(producer);
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testAppendRequiresOutbox() {
+    KafkaMetadataEventProducer<CorpUserSnapshot, CorpUserAspect, CorpuserUrn> eventProducer =
+        new KafkaMetadataEventProducer<>(CorpUserSnapshot.class, CorpUserAspect.class, mock(Producer.class),
+            new TopicConventionImpl());
+
+    eventProducer.appendMetadataAuditEvent(new CorpuserUrn("foo"), null, new CorpUserInfo().setActive(true));
+  }
+}
@@ -0,0 +1,43 @@
+package com.linkedin.metadata.dao.producer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class OrderedExecutorTest {
+
+  @Test
+  public void testPreservesOrderPerKey() {
+    Map<String, List<Integer>> runs = new ConcurrentHashMap<>();
+    OrderedExecutor executor = new OrderedExecutor("test", 4, 2);
+
+    for (int i = 0; i < 100; i++) {
+      for (String key : new String[]{"urn:li:foo:1", "urn:li:foo:2", "urn:li:foo:3"}) {
+        final int task = i;
+        executor.execute(key, () -> runs.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()))
+            .add(task));
+      }
+    }
+    executor.close();
+
+    assertEquals(runs.size(), 3);
+    for (List<Integer> tasks : runs.values()) {
+      assertEquals(tasks.size(), 100);
+      for (int i = 0; i < 100; i++) {
+        assertEquals(tasks.get(i).intValue(), i);
+      }
+    }
+    assertEquals(executor.getQueueSize(), 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testRequiresThreads() {
+    new OrderedExecutor("test", 0, 1);
+  }
+}
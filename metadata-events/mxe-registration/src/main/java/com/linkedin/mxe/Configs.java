@@ -29,6 +29,7 @@ public class Configs {
       put(Topics.FAILED_METADATA_CHANGE_EVENT, FailedMetadataChangeEvent.SCHEMA$);
       put(Topics.METADATA_GRAPH_EVENT, MetadataGraphEvent.SCHEMA$);
       put(Topics.METADATA_SEARCH_EVENT, MetadataSearchEvent.SCHEMA$);
+      put(Topics.METADATA_LATEST_STATE, MetadataAuditEvent.SCHEMA$);
 
       put(Topics.DEV_METADATA_AUDIT_EVENT, MetadataAuditEvent.SCHEMA$);
       put(Topics.DEV_METADATA_CHANGE_EVENT, MetadataChangeEvent.SCHEMA$);
@@ -6,6 +6,8 @@ public class Topics {
   public static final String FAILED_METADATA_CHANGE_EVENT = "FailedMetadataChangeEvent_v4";
   public static final String METADATA_GRAPH_EVENT = "MetadataGraphEvent_v4";
   public static final String METADATA_SEARCH_EVENT = "MetadataSearchEvent_v4";
+  // Compacted topic of the latest snapshot of every entity, as MAEs holding only a new snapshot
+  public static final String METADATA_LATEST_STATE = "MetadataLatestState_v4";
 
   public static final String DEV_METADATA_AUDIT_EVENT = "MetadataAuditEvent_v4_dev";
   public static final String DEV_METADATA_CHANGE_EVENT = "MetadataChangeEvent_v4_dev";
@@ -0,0 +1,54 @@
+package com.linkedin.mxe.serde;
+
+import com.linkedin.mxe.Configs;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import java.util.Collections;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.avro.Schema;
+
+
+/**
+ * A {@link KafkaAvroDeserializer} for MXEs, sharing the cache of schemas of {@link SchemaRegistryClients} with all the
+ * other serializers and deserializers of the process.
+ *
+ * <p>Events of the known MXE topics are decoded straight into the current schema of their topic, as registered in
+ * {@link Configs}, rather than into the schema they were written with. Converting them to Pegasus then saves the pass
+ * re-encoding them from the writer schema to the current one.
+ */
+public class MxeAvroDeserializer extends KafkaAvroDeserializer {
+
+  private static final Map<String, Schema> READER_SCHEMAS =
+      Collections.unmodifiableMap(SchemaRegistryClients.getTopicSchemas());
+
+  public MxeAvroDeserializer() {
+  }
+
+  public MxeAvroDeserializer(@Nonnull SchemaRegistryClient client) {
+    super(client);
+  }
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    if (schemaRegistry == null) {
+      schemaRegistry = SchemaRegistryClients.get(configs);
+    }
+    super.configure(configs, isKey);
+  }
+
+  @Override
+  public Object deserialize(String topic, byte[] bytes) {
+    final Schema readerSchema = getReaderSchema(topic);
+    return readerSchema == null ? super.deserialize(topic, bytes) : super.deserialize(topic, bytes, readerSchema);
+  }
+
+  /**
+   * Returns the schema to decode the events of the given topic into, or null to decode them into their writer schema.
+   */
+  @Nullable
+  static Schema getReaderSchema(@Nonnull String topic) {
+    return READER_SCHEMAS.get(topic);
+  }
+}
@@ -0,0 +1,29 @@
+package com.linkedin.mxe.serde;
+
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+
+/**
+ * A {@link KafkaAvroSerializer} for MXEs sharing the cache of schema ids of {@link SchemaRegistryClients} with all the
+ * other serializers and deserializers of the process.
+ */
+public class MxeAvroSerializer extends KafkaAvroSerializer {
+
+  public MxeAvroSerializer() {
+  }
+
+  public MxeAvroSerializer(@Nonnull SchemaRegistryClient client) {
+    super(client);
+  }
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    if (schemaRegistry == null) {
+      schemaRegistry = SchemaRegistryClients.get(configs);
+    }
+    super.configure(configs, isKey);
+  }
+}
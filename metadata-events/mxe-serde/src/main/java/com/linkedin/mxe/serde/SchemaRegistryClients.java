@@ -0,0 +1,122 @@
+package com.linkedin.mxe.serde;
+
+import com.linkedin.mxe.Configs;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import io.confluent.kafka.serializers.AbstractKafkaAvroSerDeConfig;
+import io.confluent.kafka.serializers.KafkaAvroSerializerConfig;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.kafka.common.config.types.Password;
+
+
+/**
+ * Schema registry clients shared by all the MXE serializers and deserializers of a process, one per registry and client
+ * configuration, such as credentials and SSL settings.
+ *
+ * <p>Each Confluent serializer otherwise has a client of its own, whose cache of schema ids starts empty, so that the
+ * first event of every topic sent by every producer waits on a request to the registry. A shared client is warmed when
+ * created, in the background, by looking up the ids of the current schemas of all the MXE topics; topics whose schema
+ * is not registered yet are left to be registered on their first event.
+ */
+@Slf4j
+public final class SchemaRegistryClients {
+
+  // Prefixes of the configs used by the registry clients: SSL, proxy and basic and bearer authentication settings
+  private static final List<String> CLIENT_CONFIG_PREFIXES =
+      Arrays.asList("schema.registry.", "basic.auth.", "bearer.auth.", "proxy.");
+
+  private static final Map<List<Object>, SchemaRegistryClient> CLIENTS = new ConcurrentHashMap<>();
+
+  private SchemaRegistryClients() {
+  }
+
+  /**
+   * Returns the client of the registry of the given serializer or deserializer configs, created on first use.
+   */
+  @Nonnull
+  public static SchemaRegistryClient get(@Nonnull Map<String, ?> configs) {
+    final AbstractKafkaAvroSerDeConfig config = new KafkaAvroSerializerConfig(configs);
+    final List<String> urls = config.getSchemaRegistryUrls();
+    return CLIENTS.computeIfAbsent(Arrays.asList(urls, config.getMaxSchemasPerSubject(), clientConfigs(configs)), key -> {
+      final SchemaRegistryClient client =
+          new CachedSchemaRegistryClient(urls, config.getMaxSchemasPerSubject(), configs);
+      final Thread warmer = new Thread(() -> warm(client, getTopicSchemas()), "schema-registry-warmer");
+      warmer.setDaemon(true);
+      warmer.start();
+      return client;
+    });
+  }
+
+  /**
+   * Returns the configs of the given ones which configure the registry client, by name.
+   */
+  @Nonnull
+  static Map<String, String> clientConfigs(@Nonnull Map<String, ?> configs) {
+    final Map<String, String> clientConfigs = new TreeMap<>();
+    configs.forEach((name, value) -> {
+      if (CLIENT_CONFIG_PREFIXES.stream().anyMatch(name::startsWith)) {
+        // Passwords hide their value from toString
+        clientConfigs.put(name, value instanceof Password ? ((Password) value).value() : String.valueOf(value));
+      }
+    });
+    return clientConfigs;
+  }
+
+  /**
+   * Looks up the ids of the given schemas of topic values, caching them in the given client.
+   *
+   * @return the number of schemas found
+   */
+  public static int warm(@Nonnull SchemaRegistryClient client, @Nonnull Map<String, Schema> topicSchemas) {
+    int found = 0;
+    for (Map.Entry<String, Schema> entry : topicSchemas.entrySet()) {
+      try {
+        client.getId(entry.getKey() + "-value", new AvroSchema(entry.getValue()));
+        found++;
+      } catch (IOException | RestClientException e) {
+        log.debug("Schema of topic {} is not registered yet", entry.getKey(), e);
+      }
+    }
+    log.info("Cached the ids of {} of {} MXE schemas", found, topicSchemas.size());
+    return found;
+  }
+
+  /**
+   * Returns the schemas of the values of all the MXE topics, by topic.
+   */
+  @Nonnull
+  static Map<String, Schema> getTopicSchemas() {
+    final Map<String, Schema> schemas = new HashMap<>(Configs.TOPIC_SCHEMA_MAP);
+    for (Map.Entry<String, Class<? extends SpecificRecord>> entry : Configs.TOPIC_SCHEMA_CLASS_MAP.entrySet()) {
+      final Schema schema = getSchema(entry.getValue());
+      if (schema != null) {
+        schemas.put(entry.getKey(), schema);
+      }
+    }
+    return schemas;
+  }
+
+  /**
+   * Returns the schema of the given generated Avro class.
+   */
+  static Schema getSchema(@Nonnull Class<? extends SpecificRecord> avroClass) {
+    try {
+      return (Schema) avroClass.getField("SCHEMA$").get(null);
+    } catch (NoSuchFieldException | IllegalAccessException e) {
+      log.warn("Failed to read the schema of {}", avroClass, e);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.linkedin.mxe.serde;
+
+import com.linkedin.mxe.Configs;
+import com.linkedin.mxe.Topics;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class MxeAvroDeserializerTest {
+
+  @Test
+  public void testDecodesKnownTopicsIntoTheirCurrentSchema() {
+    assertSame(MxeAvroDeserializer.getReaderSchema(Topics.METADATA_AUDIT_EVENT),
+        com.linkedin.pegasus2avro.mxe.MetadataAuditEvent.SCHEMA$);
+    assertSame(MxeAvroDeserializer.getReaderSchema(Topics.METADATA_CHANGE_EVENT),
+        com.linkedin.pegasus2avro.mxe.MetadataChangeEvent.SCHEMA$);
+    assertEquals(MxeAvroDeserializer.getReaderSchema(Topics.METADATA_AUDIT_EVENT_CORPGROUP_CORPGROUPINFO),
+        SchemaRegistryClients.getSchema(Configs.TOPIC_SCHEMA_CLASS_MAP.get(Topics.METADATA_AUDIT_EVENT_CORPGROUP_CORPGROUPINFO)));
+  }
+
+  @Test
+  public void testDecodesUnknownTopicsIntoTheirWriterSchema() {
+    assertNull(MxeAvroDeserializer.getReaderSchema("SomeOtherTopic"));
+  }
+}
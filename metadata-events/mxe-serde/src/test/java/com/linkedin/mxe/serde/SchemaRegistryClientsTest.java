@@ -0,0 +1,59 @@
+package com.linkedin.mxe.serde;
+
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.kafka.common.config.types.Password;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class SchemaRegistryClientsTest {
+
+  private static final Schema FOO_SCHEMA = SchemaBuilder.record("Foo").fields().requiredString("foo").endRecord();
+  private static final Schema BAR_SCHEMA = SchemaBuilder.record("Bar").fields().requiredLong("bar").endRecord();
+
+  @Test
+  public void testWarmCachesRegisteredSchemas() throws Exception {
+    final MockSchemaRegistryClient client = new MockSchemaRegistryClient();
+    final int id = client.register("FooTopic-value", new AvroSchema(FOO_SCHEMA));
+    final Map<String, Schema> topicSchemas = new HashMap<>();
+    topicSchemas.put("FooTopic", FOO_SCHEMA);
+    topicSchemas.put("BarTopic", BAR_SCHEMA);
+
+    assertEquals(SchemaRegistryClients.warm(client, topicSchemas), 1);
+    assertEquals(client.getId("FooTopic-value", new AvroSchema(FOO_SCHEMA)), id);
+  }
+
+  @Test
+  public void testClientsAreSharedByRegistryAndClientConfigs() {
+    final Map<String, Object> configs = new HashMap<>();
+    configs.put("schema.registry.url", "http://localhost:1");
+    configs.put("basic.auth.credentials.source", "USER_INFO");
+    configs.put("basic.auth.user.info", "foo:bar");
+    final Map<String, Object> otherConsumerConfigs = new HashMap<>(configs);
+    otherConsumerConfigs.put("group.id", "other");
+    final Map<String, Object> otherCredentialsConfigs = new HashMap<>(configs);
+    otherCredentialsConfigs.put("basic.auth.user.info", "foo:baz");
+
+    assertSame(SchemaRegistryClients.get(otherConsumerConfigs), SchemaRegistryClients.get(configs));
+    assertNotSame(SchemaRegistryClients.get(otherCredentialsConfigs), SchemaRegistryClients.get(configs));
+  }
+
+  @Test
+  public void testClientConfigsIncludeSslPasswords() {
+    final Map<String, Object> configs = new HashMap<>();
+    configs.put("schema.registry.ssl.truststore.password", new Password("secret"));
+    configs.put("schema.registry.url", "http://localhost:1");
+    configs.put("group.id", "foo");
+
+    final Map<String, String> clientConfigs = SchemaRegistryClients.clientConfigs(configs);
+
+    assertEquals(clientConfigs.size(), 2);
+    assertEquals(clientConfigs.get("schema.registry.ssl.truststore.password"), "secret");
+  }
+}
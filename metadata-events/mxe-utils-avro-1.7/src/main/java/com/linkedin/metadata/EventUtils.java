@@ -12,6 +12,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nonnull;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericDatumReader;
@@ -32,6 +34,8 @@ public class EventUtils {
 
   private static final RecordDataSchema MAE_PEGASUS_SCHEMA = new MetadataAuditEvent().schema();
 
+  private static final RecordDataSchema FAILED_MCE_PEGASUS_SCHEMA = new FailedMetadataChangeEvent().schema();
+
   private static final Schema ORIGINAL_MCE_AVRO_SCHEMA =
       getAvroSchemaFromResource("avro/com/linkedin/mxe/MetadataChangeEvent.avsc");
 
@@ -47,6 +51,8 @@ public class EventUtils {
 
   private static final Schema RENAMED_FAILED_MCE_AVRO_SCHEMA = com.linkedin.pegasus2avro.mxe.FailedMetadataChangeEvent.SCHEMA$;
 
+  private static final Map<Class<?>, Schema> ORIGINAL_ASPECT_SPECIFIC_AVRO_SCHEMAS = new ConcurrentHashMap<>();
+
   private EventUtils() {
     // Util class
   }
@@ -87,6 +93,19 @@ public class EventUtils {
         ORIGINAL_MCE_AVRO_SCHEMA));
   }
 
+  /**
+   * Converts a {@link GenericRecord} Failed MCE into the equivalent Pegasus model.
+   *
+   * @param record the {@link GenericRecord} that contains the Failed MCE in com.linkedin.pegasus2avro namespace
+   * @return the Pegasus {@link FailedMetadataChangeEvent} model
+   */
+  @Nonnull
+  public static FailedMetadataChangeEvent avroToPegasusFailedMCE(@Nonnull GenericRecord record) throws IOException {
+    return new FailedMetadataChangeEvent(DataTranslator.genericRecordToDataMap(
+        renameSchemaNamespace(record, RENAMED_FAILED_MCE_AVRO_SCHEMA, ORIGINAL_FAILED_MCE_AVRO_SCHEMA),
+        FAILED_MCE_PEGASUS_SCHEMA, ORIGINAL_FAILED_MCE_AVRO_SCHEMA));
+  }
+
   /**
    * Converts a Pegasus MAE into the equivalent Avro model as a {@link GenericRecord}.
    *
@@ -128,7 +147,8 @@ public class EventUtils {
       @Nonnull Class<T> clazz, @Nonnull RecordTemplate event)
       throws NoSuchFieldException, IOException, IllegalAccessException {
     final Schema newSchema = (Schema) clazz.getField("SCHEMA$").get(null);
-    final Schema originalSchema = getAvroSchemaFromResource(getAvroResourcePath(clazz));
+    final Schema originalSchema = ORIGINAL_ASPECT_SPECIFIC_AVRO_SCHEMAS.computeIfAbsent(clazz,
+        key -> getAvroSchemaFromResource(getAvroResourcePath(key)));
     final GenericRecord original = DataTranslator.dataMapToGenericRecord(event.data(), event.schema(), originalSchema);
     return (MXE) renameSchemaNamespace(original, originalSchema, newSchema);
   }
@@ -154,8 +174,9 @@ public class EventUtils {
   private static GenericRecord renameSchemaNamespace(@Nonnull GenericRecord original, @Nonnull Schema originalSchema,
       @Nonnull Schema newSchema) throws IOException {
 
-    // Step 1: Updates to the latest original schema
-    final GenericRecord record = changeSchema(original, original.getSchema(), originalSchema);
+    // Step 1: Updates to the latest original schema, which records converted from Pegasus already use
+    final GenericRecord record = original.getSchema() == originalSchema
+        ? original : changeSchema(original, original.getSchema(), originalSchema);
 
     // Step 2: Updates to the new renamed schema
     return changeSchema(record, newSchema, newSchema);
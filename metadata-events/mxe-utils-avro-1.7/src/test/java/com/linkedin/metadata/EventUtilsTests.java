@@ -77,6 +77,17 @@ public class EventUtilsTests {
     assertNotNull(record.get("metadataChangeEvent"));
   }
 
+  @Test
+  public void testFailedMCERoundTrip() throws IOException {
+    FailedMetadataChangeEvent event = recordTemplateFromResource("test-pegasus2avro-fmce.json", FailedMetadataChangeEvent.class);
+
+    FailedMetadataChangeEvent roundTripped = EventUtils.avroToPegasusFailedMCE(EventUtils.pegasusToAvroFailedMCE(event));
+
+    assertEquals(roundTripped.getError(), "Test");
+    assertEquals(roundTripped.getMetadataChangeEvent().getProposedSnapshot().getDatasetSnapshot().getAspects().get(0)
+        .getOwnership().getOwners().get(0).getOwner(), new CorpuserUrn("foobar"));
+  }
+
   private GenericRecord genericRecordFromResource(String resourcePath, Schema schema) throws IOException {
     InputStream is = getClass().getClassLoader().getResourceAsStream(resourcePath);
     JsonDecoder decoder = DecoderFactory.get().jsonDecoder(schema, is);
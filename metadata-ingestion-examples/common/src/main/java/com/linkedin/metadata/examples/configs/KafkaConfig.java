@@ -1,12 +1,13 @@
 package com.linkedin.metadata.examples.configs;
 
+import com.linkedin.mxe.serde.MxeAvroSerializer;
 import io.confluent.kafka.serializers.AbstractKafkaAvroSerDeConfig;
-import io.confluent.kafka.serializers.KafkaAvroSerializer;
 import java.util.Arrays;
 import java.util.Map;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
@@ -22,12 +23,21 @@ public class KafkaConfig {
   @Value("${KAFKA_SCHEMAREGISTRY_URL:http://localhost:8081}")
   private String kafkaSchemaRegistryUrl;
 
+  @Value("${KAFKA_PRODUCER_COMPRESSION_TYPE:lz4}")
+  private String compressionType;
+
+  @Value("${KAFKA_PRODUCER_LINGER_MS:10}")
+  private int lingerMs;
+
+  @Value("${KAFKA_PRODUCER_BATCH_SIZE:131072}")
+  private int batchSize;
+
   @Bean(name = "kafkaEventProducer")
   public Producer<String, GenericRecord> kafkaProducerFactory(KafkaProperties properties) {
     KafkaProperties.Producer producerProps = properties.getProducer();
 
     producerProps.setKeySerializer(StringSerializer.class);
-    producerProps.setValueSerializer(KafkaAvroSerializer.class);
+    producerProps.setValueSerializer(MxeAvroSerializer.class);
 
     // KAFKA_BOOTSTRAP_SERVER has precedence over SPRING_KAFKA_BOOTSTRAP_SERVERS
     if (kafkaBootstrapServers != null && kafkaBootstrapServers.length() > 0) {
@@ -36,6 +46,10 @@ public class KafkaConfig {
 
     Map<String, Object> props = properties.buildProducerProperties();
     props.put(AbstractKafkaAvroSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, kafkaSchemaRegistryUrl);
+    props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+    // Batches the events sent without waiting for one another
+    props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+    props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
 
     return new KafkaProducer<>(props);
   }
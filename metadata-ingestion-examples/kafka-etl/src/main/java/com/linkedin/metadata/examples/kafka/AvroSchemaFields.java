@@ -0,0 +1,195 @@
+package com.linkedin.metadata.examples.kafka;
+
+import com.linkedin.data.template.StringArray;
+import com.linkedin.schema.ArrayType;
+import com.linkedin.schema.BooleanType;
+import com.linkedin.schema.BytesType;
+import com.linkedin.schema.DateType;
+import com.linkedin.schema.EnumType;
+import com.linkedin.schema.FixedType;
+import com.linkedin.schema.MapType;
+import com.linkedin.schema.NullType;
+import com.linkedin.schema.NumberType;
+import com.linkedin.schema.RecordType;
+import com.linkedin.schema.SchemaField;
+import com.linkedin.schema.SchemaFieldArray;
+import com.linkedin.schema.SchemaFieldDataType;
+import com.linkedin.schema.StringType;
+import com.linkedin.schema.TimeType;
+import com.linkedin.schema.UnionType;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.avro.Schema;
+
+
+/**
+ * Extracts the {@link SchemaField}s of an Avro schema.
+ *
+ * <p>Every field of a record is a schema field, and so are the fields of its nested records, with a path of the names of
+ * the fields leading to them separated by dots, including records nested in arrays and maps. A field whose type is a
+ * union of null and another type is nullable, and typed as the other type. A record nested in itself is only extracted
+ * once, its field being marked as recursive.
+ */
+public final class AvroSchemaFields {
+
+  private static final String LOGICAL_TYPE_PROP = "logicalType";
+
+  private AvroSchemaFields() {
+  }
+
+  /**
+   * Returns the fields of the given schema, or a single field with an empty path if it is not a record.
+   */
+  @Nonnull
+  public static SchemaFieldArray getFields(@Nonnull Schema schema) {
+    final SchemaFieldArray fields = new SchemaFieldArray();
+    if (schema.getType() == Schema.Type.RECORD) {
+      addFields(schema, "", fields, new HashSet<>());
+    } else {
+      fields.add(newField("", schema, false, null));
+    }
+    return fields;
+  }
+
+  private static void addFields(@Nonnull Schema record, @Nonnull String prefix, @Nonnull SchemaFieldArray fields,
+      @Nonnull Set<String> ancestors) {
+    ancestors.add(record.getFullName());
+    for (Schema.Field field : record.getFields()) {
+      final String path = prefix.isEmpty() ? field.name() : prefix + "." + field.name();
+      final Schema nonNull = withoutNull(field.schema());
+      final Schema schema = nonNull != null ? nonNull : field.schema();
+      final Schema nested = nestedRecord(schema);
+      final boolean recursive = nested != null && ancestors.contains(nested.getFullName());
+
+      fields.add(newField(path, schema, nonNull != null, field.doc()).setRecursive(recursive));
+      if (nested != null && !recursive) {
+        addFields(nested, path, fields, ancestors);
+      }
+    }
+    ancestors.remove(record.getFullName());
+  }
+
+  @Nonnull
+  private static SchemaField newField(@Nonnull String path, @Nonnull Schema schema, boolean nullable,
+      @Nullable String doc) {
+    final SchemaField field = new SchemaField().setFieldPath(path)
+        .setNativeDataType(getNativeDataType(schema))
+        .setType(new SchemaFieldDataType().setType(getType(schema)))
+        .setNullable(nullable);
+    if (doc != null) {
+      field.setDescription(doc);
+    }
+    return field;
+  }
+
+  /**
+   * Returns the type of the given union of null and another type without null, or null if it is not such a union.
+   */
+  @Nullable
+  private static Schema withoutNull(@Nonnull Schema schema) {
+    if (schema.getType() != Schema.Type.UNION) {
+      return null;
+    }
+    final List<Schema> types = schema.getTypes().stream()
+        .filter(type -> type.getType() != Schema.Type.NULL)
+        .collect(Collectors.toList());
+    return types.size() == 1 && schema.getTypes().size() == 2 ? types.get(0) : null;
+  }
+
+  /**
+   * Returns the record of the given record field, or of the items of an array or values of a map, if any.
+   */
+  @Nullable
+  private static Schema nestedRecord(@Nonnull Schema schema) {
+    switch (schema.getType()) {
+      case RECORD:
+        return schema;
+      case ARRAY:
+        return nestedRecord(unwrap(schema.getElementType()));
+      case MAP:
+        return nestedRecord(unwrap(schema.getValueType()));
+      default:
+        return null;
+    }
+  }
+
+  @Nonnull
+  private static Schema unwrap(@Nonnull Schema schema) {
+    final Schema nonNull = withoutNull(schema);
+    return nonNull != null ? nonNull : schema;
+  }
+
+  @Nonnull
+  private static SchemaFieldDataType.Type getType(@Nonnull Schema schema) {
+    final String logicalType = schema.getProp(LOGICAL_TYPE_PROP);
+    if ("date".equals(logicalType)) {
+      return SchemaFieldDataType.Type.create(new DateType());
+    }
+    if (logicalType != null && (logicalType.startsWith("time-") || logicalType.startsWith("timestamp-"))) {
+      return SchemaFieldDataType.Type.create(new TimeType());
+    }
+
+    switch (schema.getType()) {
+      case BOOLEAN:
+        return SchemaFieldDataType.Type.create(new BooleanType());
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return SchemaFieldDataType.Type.create(new NumberType());
+      case STRING:
+        return SchemaFieldDataType.Type.create(new StringType());
+      case BYTES:
+        return SchemaFieldDataType.Type.create(new BytesType());
+      case FIXED:
+        return SchemaFieldDataType.Type.create(new FixedType());
+      case ENUM:
+        return SchemaFieldDataType.Type.create(new EnumType());
+      case NULL:
+        return SchemaFieldDataType.Type.create(new NullType());
+      case ARRAY:
+        return SchemaFieldDataType.Type.create(
+            new ArrayType().setNestedType(new StringArray(getNativeDataType(schema.getElementType()))));
+      case MAP:
+        return SchemaFieldDataType.Type.create(
+            new MapType().setKeyType("string").setValueType(getNativeDataType(schema.getValueType())));
+      case UNION:
+        final List<String> nestedTypes = new ArrayList<>();
+        schema.getTypes().forEach(type -> nestedTypes.add(getNativeDataType(type)));
+        return SchemaFieldDataType.Type.create(new UnionType().setNestedTypes(new StringArray(nestedTypes)));
+      case RECORD:
+        return SchemaFieldDataType.Type.create(new RecordType());
+      default:
+        throw new IllegalArgumentException("Unsupported Avro type " + schema.getType());
+    }
+  }
+
+  /**
+   * Returns the name of the type of the given schema, which is the full name of named types.
+   */
+  @Nonnull
+  private static String getNativeDataType(@Nonnull Schema schema) {
+    switch (schema.getType()) {
+      case RECORD:
+      case ENUM:
+      case FIXED:
+        return schema.getFullName();
+      case ARRAY:
+        return "array<" + getNativeDataType(schema.getElementType()) + ">";
+      case MAP:
+        return "map<string," + getNativeDataType(schema.getValueType()) + ">";
+      case UNION:
+        return schema.getTypes().stream()
+            .map(AvroSchemaFields::getNativeDataType)
+            .collect(Collectors.joining(",", "union<", ">"));
+      default:
+        final String logicalType = schema.getProp(LOGICAL_TYPE_PROP);
+        return logicalType != null ? logicalType : schema.getType().getName();
+    }
+  }
+}
@@ -9,22 +9,29 @@ import com.linkedin.metadata.aspect.DatasetAspect;
 import com.linkedin.metadata.dao.producer.KafkaMetadataEventProducer;
 import com.linkedin.metadata.examples.configs.TopicConventionFactory;
 import com.linkedin.metadata.snapshot.DatasetSnapshot;
-import com.linkedin.mxe.MetadataChangeEvent;
 import com.linkedin.mxe.TopicConvention;
 import com.linkedin.schema.KafkaSchema;
-import com.linkedin.schema.SchemaField;
-import com.linkedin.schema.SchemaFieldArray;
-import com.linkedin.schema.SchemaFieldDataType;
 import com.linkedin.schema.SchemaMetadata;
-import com.linkedin.schema.StringType;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.zookeeper.ZooKeeper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -35,6 +42,11 @@ import org.springframework.stereotype.Component;
  * <p>This should cause DataHub to be populated with this information, assuming it and the mce-consumer-job are running
  * locally.
  *
+ * <p>Schemas are looked up concurrently, on KAFKA_ETL_THREADS threads, and MCEs are all sent by one producer which is
+ * flushed once at the end. When KAFKA_ETL_INCREMENTAL is set, MCEs are only sent for the topics whose latest schema
+ * version differs from the one in the checkpoint file KAFKA_ETL_CHECKPOINT_FILE, which is updated at the end of every
+ * crawl whose MCEs were all sent.
+ *
  * <p>Can be run with {@code ./gradlew :metadata-ingestion-examples:java:kafka-etl:bootRun}.
  */
 @Slf4j
@@ -58,10 +70,18 @@ public final class KafkaEtl implements CommandLineRunner {
   @Named("schemaRegistryClient")
   private SchemaRegistryClient _schemaRegistryClient;
 
-  private SchemaMetadata buildDatasetSchema(String datasetName, String schema, int schemaVersion) {
-    final AuditStamp auditStamp = new AuditStamp();
-    auditStamp.setTime(System.currentTimeMillis());
-    auditStamp.setActor(new CorpuserUrn(System.getenv("USER")));
+  @Value("${KAFKA_ETL_THREADS:16}")
+  private int threads;
+
+  @Value("${KAFKA_ETL_INCREMENTAL:true}")
+  private boolean incremental;
+
+  @Value("${KAFKA_ETL_CHECKPOINT_FILE:/tmp/datahub-kafka-etl.checkpoint}")
+  private String checkpointFile;
+
+  private SchemaMetadata buildDatasetSchema(String datasetName, String schema, int schemaVersion,
+      AuditStamp auditStamp) {
+    final Schema avroSchema = new Schema.Parser().parse(schema);
     final SchemaMetadata.PlatformSchema platformSchema = new SchemaMetadata.PlatformSchema();
     platformSchema.setKafkaSchema(new KafkaSchema().setDocumentSchema(schema));
     return new SchemaMetadata().setSchemaName(datasetName)
@@ -69,53 +89,96 @@ public final class KafkaEtl implements CommandLineRunner {
         .setCreated(auditStamp)
         .setLastModified(auditStamp)
         .setVersion(schemaVersion)
-        .setHash("")
+        .setHash(Long.toHexString(SchemaNormalization.parsingFingerprint64(avroSchema)))
         .setPlatformSchema(platformSchema)
-        .setFields(new SchemaFieldArray(new SchemaField().setFieldPath("")
-            .setDescription("")
-            .setNativeDataType("string")
-            .setType(new SchemaFieldDataType().setType(SchemaFieldDataType.Type.create(new StringType())))));
+        .setFields(AvroSchemaFields.getFields(avroSchema));
   }
 
-  private void produceKafkaDatasetMce(SchemaMetadata schemaMetadata) {
-    MetadataChangeEvent.class.getClassLoader().getResource("avro/com/linkedin/mxe/MetadataChangeEvent.avsc");
+  /**
+   * Looks up the latest schema of the given topic and sends an MCE for it if its version is not the checkpointed one.
+   */
+  private void crawl(String datasetName, KafkaMetadataEventProducer<DatasetSnapshot, DatasetAspect, DatasetUrn>
+      eventProducer, SchemaVersionCheckpoint checkpoint, Map<String, Integer> sentVersions, AuditStamp auditStamp) {
+    final String topic = datasetName + "-value";
+    io.confluent.kafka.schemaregistry.client.SchemaMetadata schemaMetadata;
+    try {
+      schemaMetadata = _schemaRegistryClient.getLatestSchemaMetadata(topic);
+    } catch (Throwable t) {
+      log.error("Failed to get schema for topic " + datasetName, t);
+      log.error("Common failure: does this event schema exist in the schema registry?");
+      return;
+    }
+
+    if (schemaMetadata == null) {
+      log.warn(String.format("Skipping topic without schema: %s", topic));
+      return;
+    }
+    if (incremental && Integer.valueOf(schemaMetadata.getVersion()).equals(checkpoint.getVersion(datasetName))) {
+      log.debug("Skipping topic with unchanged schema: {}", datasetName);
+      return;
+    }
 
+    final SchemaMetadata datasetSchema;
+    try {
+      datasetSchema =
+          buildDatasetSchema(datasetName, schemaMetadata.getSchema(), schemaMetadata.getVersion(), auditStamp);
+    } catch (RuntimeException e) {
+      log.error("Failed to read schema for topic " + datasetName, e);
+      return;
+    }
     // Kafka topics are considered datasets in the current DataHub metadata ecosystem.
-    final KafkaMetadataEventProducer<DatasetSnapshot, DatasetAspect, DatasetUrn> eventProducer =
-        new KafkaMetadataEventProducer<>(DatasetSnapshot.class, DatasetAspect.class, _producer, _topicConvention);
-    eventProducer.produceSnapshotBasedMetadataChangeEvent(
-        new DatasetUrn(KAFKA_URN, schemaMetadata.getSchemaName(), FabricType.PROD), schemaMetadata);
-    _producer.flush();
+    eventProducer.produceSnapshotBasedMetadataChangeEvent(new DatasetUrn(KAFKA_URN, datasetName, FabricType.PROD),
+        datasetSchema);
+    sentVersions.put(datasetName, schemaMetadata.getVersion());
   }
 
   @Override
   public void run(String... args) throws Exception {
     log.info("Starting up");
+    final long startMillis = System.currentTimeMillis();
 
-    final List<String> topics = _zooKeeper.getChildren("/brokers/topics", false);
-    for (String datasetName : topics) {
-      if (datasetName.startsWith("_")) {
-        continue;
-      }
+    final List<String> topics = _zooKeeper.getChildren("/brokers/topics", false)
+        .stream()
+        .filter(topic -> !topic.startsWith("_"))
+        .collect(Collectors.toList());
+    final SchemaVersionCheckpoint checkpoint = SchemaVersionCheckpoint.load(Paths.get(checkpointFile));
 
-      final String topic = datasetName + "-value";
-      io.confluent.kafka.schemaregistry.client.SchemaMetadata schemaMetadata;
-      try {
-        schemaMetadata = _schemaRegistryClient.getLatestSchemaMetadata(topic);
-      } catch (Throwable t) {
-        log.error("Failed to get schema for topic " + datasetName, t);
-        log.error("Common failure: does this event schema exist in the schema registry?");
-        continue;
-      }
+    final AtomicLong sendFailures = new AtomicLong();
+    final KafkaMetadataEventProducer<DatasetSnapshot, DatasetAspect, DatasetUrn> eventProducer =
+        new KafkaMetadataEventProducer<>(DatasetSnapshot.class, DatasetAspect.class, _producer, _topicConvention,
+            (metadata, exception) -> {
+              if (exception != null) {
+                sendFailures.incrementAndGet();
+                log.error("Failed to send MCE", exception);
+              }
+            });
+    final AuditStamp auditStamp =
+        new AuditStamp().setTime(startMillis).setActor(new CorpuserUrn(System.getenv("USER")));
+    final Map<String, Integer> sentVersions = new ConcurrentHashMap<>();
 
-      if (schemaMetadata == null) {
-        log.warn(String.format("Skipping topic without schema: %s", topic));
-        continue;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final List<Future<?>> crawls = new ArrayList<>(topics.size());
+    try {
+      for (String datasetName : topics) {
+        crawls.add(executor.submit(() -> crawl(datasetName, eventProducer, checkpoint, sentVersions, auditStamp)));
+      }
+      for (Future<?> crawl : crawls) {
+        crawl.get();
       }
-      log.trace(topic);
+    } finally {
+      executor.shutdownNow();
+      _producer.flush();
+    }
 
-      produceKafkaDatasetMce(buildDatasetSchema(datasetName, schemaMetadata.getSchema(), schemaMetadata.getVersion()));
-      log.info("Successfully fired MCE for " + datasetName);
+    log.info("Crawled {} topics in {} ms, sent {} MCEs, {} send failures", topics.size(),
+        System.currentTimeMillis() - startMillis, sentVersions.size(), sendFailures.get());
+    if (sendFailures.get() > 0) {
+      log.warn("Not updating checkpoint {}, so that the topics of this crawl are sent again next time",
+          checkpointFile);
+      return;
     }
+    checkpoint.retainAll(topics);
+    checkpoint.putAll(sentVersions);
+    checkpoint.save();
   }
 }
@@ -0,0 +1,85 @@
+package com.linkedin.metadata.examples.kafka;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * The versions of the schemas of the topics MCEs were last sent for, kept in a local properties file so that a crawl
+ * only sends MCEs for the topics whose schema changed since the previous one.
+ */
+public final class SchemaVersionCheckpoint {
+
+  private final Path _file;
+  private final Map<String, Integer> _versions;
+
+  private SchemaVersionCheckpoint(@Nonnull Path file, @Nonnull Map<String, Integer> versions) {
+    _file = file;
+    _versions = versions;
+  }
+
+  /**
+   * Loads the checkpoint from the given file, which is empty if the file does not exist yet.
+   */
+  @Nonnull
+  public static SchemaVersionCheckpoint load(@Nonnull Path file) throws IOException {
+    final Map<String, Integer> versions = new HashMap<>();
+    if (Files.exists(file)) {
+      final Properties properties = new Properties();
+      try (InputStream in = Files.newInputStream(file)) {
+        properties.load(in);
+      }
+      properties.stringPropertyNames().forEach(topic -> versions.put(topic, Integer.valueOf(properties.getProperty(topic))));
+    }
+    return new SchemaVersionCheckpoint(file, versions);
+  }
+
+  /**
+   * Returns the version of the schema of the given topic MCEs were last sent for, or null if none was.
+   */
+  @Nullable
+  public Integer getVersion(@Nonnull String topic) {
+    return _versions.get(topic);
+  }
+
+  public void putAll(@Nonnull Map<String, Integer> versions) {
+    _versions.putAll(versions);
+  }
+
+  /**
+   * Forgets the topics other than the given ones, which no longer exist.
+   */
+  public void retainAll(@Nonnull Collection<String> topics) {
+    _versions.keySet().retainAll(topics);
+  }
+
+  public int size() {
+    return _versions.size();
+  }
+
+  /**
+   * Saves the checkpoint, replacing its file atomically so that it is never left half written.
+   */
+  public void save() throws IOException {
+    final Properties properties = new Properties();
+    _versions.forEach((topic, version) -> properties.setProperty(topic, String.valueOf(version)));
+
+    final Path parent = _file.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    final Path temp = Files.createTempFile(parent, _file.getFileName().toString(), ".tmp");
+    try (OutputStream out = Files.newOutputStream(temp)) {
+      properties.store(out, "Versions of the schemas of the topics crawled by kafka-etl");
+    }
+    Files.move(temp, _file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
@@ -0,0 +1,122 @@
+package com.linkedin.metadata.examples.kafka;
+
+import com.linkedin.schema.SchemaField;
+import com.linkedin.schema.SchemaFieldArray;
+import com.linkedin.schema.SchemaFieldDataType;
+import com.linkedin.schema.StringType;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.apache.avro.Schema;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AvroSchemaFieldsTest {
+
+  private static final Schema SCHEMA = new Schema.Parser().parse("{\"type\": \"record\", \"name\": \"Outer\", "
+      + "\"namespace\": \"com.example\", \"fields\": ["
+      + "{\"name\": \"name\", \"type\": \"string\", \"doc\": \"The name\"},"
+      + "{\"name\": \"count\", \"type\": [\"null\", \"int\"]},"
+      + "{\"name\": \"items\", \"type\": {\"type\": \"array\", \"items\": {\"type\": \"record\", \"name\": \"Inner\", "
+      + "\"fields\": [{\"name\": \"id\", \"type\": \"string\"}]}}},"
+      + "{\"name\": \"inner\", \"type\": \"Inner\"},"
+      + "{\"name\": \"counts\", \"type\": {\"type\": \"map\", \"values\": \"long\"}},"
+      + "{\"name\": \"parent\", \"type\": [\"null\", \"Outer\"]},"
+      + "{\"name\": \"createdAt\", \"type\": {\"type\": \"long\", \"logicalType\": \"timestamp-millis\"}},"
+      + "{\"name\": \"day\", \"type\": {\"type\": \"int\", \"logicalType\": \"date\"}},"
+      + "{\"name\": \"color\", \"type\": {\"type\": \"enum\", \"name\": \"Color\", \"symbols\": [\"RED\", \"BLUE\"]}},"
+      + "{\"name\": \"choice\", \"type\": [\"null\", \"string\", \"int\"]}"
+      + "]}");
+
+  @Test
+  public void testExtractsNestedFieldsWithDottedPaths() {
+    final SchemaFieldArray fields = AvroSchemaFields.getFields(SCHEMA);
+
+    assertEquals(fields.stream().map(SchemaField::getFieldPath).collect(Collectors.toList()),
+        Arrays.asList("name", "count", "items", "items.id", "inner", "inner.id", "counts", "parent", "createdAt", "day",
+            "color", "choice"));
+  }
+
+  @Test
+  public void testTypesFields() {
+    final SchemaFieldArray fields = AvroSchemaFields.getFields(SCHEMA);
+
+    final SchemaField name = field(fields, "name");
+    assertEquals(name.getNativeDataType(), "string");
+    assertTrue(name.getType().getType().isStringType());
+    assertFalse(name.isNullable());
+    assertEquals(name.getDescription(), "The name");
+
+    final SchemaField items = field(fields, "items");
+    assertEquals(items.getNativeDataType(), "array<com.example.Inner>");
+    assertEquals(items.getType().getType().getArrayType().getNestedType(), Arrays.asList("com.example.Inner"));
+    assertTrue(field(fields, "items.id").getType().getType().isStringType());
+
+    final SchemaField inner = field(fields, "inner");
+    assertEquals(inner.getNativeDataType(), "com.example.Inner");
+    assertTrue(inner.getType().getType().isRecordType());
+
+    final SchemaField counts = field(fields, "counts");
+    assertEquals(counts.getNativeDataType(), "map<string,long>");
+    assertEquals(counts.getType().getType().getMapType().getValueType(), "long");
+
+    final SchemaField color = field(fields, "color");
+    assertEquals(color.getNativeDataType(), "com.example.Color");
+    assertTrue(color.getType().getType().isEnumType());
+  }
+
+  @Test
+  public void testTypesLogicalTypes() {
+    final SchemaFieldArray fields = AvroSchemaFields.getFields(SCHEMA);
+
+    assertEquals(field(fields, "createdAt").getNativeDataType(), "timestamp-millis");
+    assertTrue(field(fields, "createdAt").getType().getType().isTimeType());
+    assertEquals(field(fields, "day").getNativeDataType(), "date");
+    assertTrue(field(fields, "day").getType().getType().isDateType());
+  }
+
+  @Test
+  public void testUnwrapsNullableUnionsOnly() {
+    final SchemaFieldArray fields = AvroSchemaFields.getFields(SCHEMA);
+
+    final SchemaField count = field(fields, "count");
+    assertTrue(count.isNullable());
+    assertEquals(count.getNativeDataType(), "int");
+    assertTrue(count.getType().getType().isNumberType());
+
+    final SchemaField choice = field(fields, "choice");
+    assertFalse(choice.isNullable());
+    assertEquals(choice.getNativeDataType(), "union<null,string,int>");
+    assertEquals(choice.getType().getType().getUnionType().getNestedTypes(), Arrays.asList("null", "string", "int"));
+  }
+
+  @Test
+  public void testMarksRecursiveRecords() {
+    final SchemaFieldArray fields = AvroSchemaFields.getFields(SCHEMA);
+
+    final SchemaField parent = field(fields, "parent");
+    assertTrue(parent.isNullable());
+    assertTrue(parent.isRecursive());
+    assertEquals(parent.getNativeDataType(), "com.example.Outer");
+    assertFalse(field(fields, "inner").isRecursive());
+    assertTrue(fields.stream().noneMatch(field -> field.getFieldPath().startsWith("parent.")));
+  }
+
+  @Test
+  public void testExtractsSingleFieldOfNonRecord() {
+    final SchemaFieldArray fields = AvroSchemaFields.getFields(Schema.create(Schema.Type.STRING));
+
+    assertEquals(fields.size(), 1);
+    assertEquals(fields.get(0).getFieldPath(), "");
+    assertEquals(fields.get(0).getType(),
+        new SchemaFieldDataType().setType(SchemaFieldDataType.Type.create(new StringType())));
+  }
+
+  private static SchemaField field(SchemaFieldArray fields, String path) {
+    return fields.stream()
+        .filter(field -> field.getFieldPath().equals(path))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No field " + path));
+  }
+}
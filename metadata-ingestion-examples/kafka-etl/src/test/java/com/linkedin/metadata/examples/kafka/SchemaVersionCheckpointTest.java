@@ -0,0 +1,85 @@
+package com.linkedin.metadata.examples.kafka;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class SchemaVersionCheckpointTest {
+
+  private Path _dir;
+
+  @BeforeMethod
+  public void setup() throws Exception {
+    _dir = Files.createTempDirectory("schema-version-checkpoint-test");
+  }
+
+  @AfterMethod
+  public void teardown() throws Exception {
+    try (Stream<Path> files = Files.walk(_dir)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+    }
+  }
+
+  @Test
+  public void testEmptyWithoutFile() throws Exception {
+    final SchemaVersionCheckpoint checkpoint = SchemaVersionCheckpoint.load(_dir.resolve("checkpoint.properties"));
+
+    assertEquals(checkpoint.size(), 0);
+    assertNull(checkpoint.getVersion("foo"));
+  }
+
+  @Test
+  public void testSavesAndLoadsVersions() throws Exception {
+    final Path file = _dir.resolve("nested").resolve("checkpoint.properties");
+    final SchemaVersionCheckpoint checkpoint = SchemaVersionCheckpoint.load(file);
+    final Map<String, Integer> versions = new HashMap<>();
+    versions.put("foo", 1);
+    versions.put("bar", 3);
+    checkpoint.putAll(versions);
+    checkpoint.save();
+
+    final SchemaVersionCheckpoint loaded = SchemaVersionCheckpoint.load(file);
+    assertEquals(loaded.size(), 2);
+    assertEquals(loaded.getVersion("foo"), Integer.valueOf(1));
+    assertEquals(loaded.getVersion("bar"), Integer.valueOf(3));
+
+    loaded.putAll(Collections.singletonMap("foo", 2));
+    loaded.save();
+    assertEquals(SchemaVersionCheckpoint.load(file).getVersion("foo"), Integer.valueOf(2));
+    // Replaced atomically, leaving no temporary file behind
+    try (Stream<Path> files = Files.list(file.getParent())) {
+      assertEquals(files.count(), 1);
+    }
+  }
+
+  @Test
+  public void testForgetsTopicsWhichNoLongerExist() throws Exception {
+    final Path file = _dir.resolve("checkpoint.properties");
+    final SchemaVersionCheckpoint checkpoint = SchemaVersionCheckpoint.load(file);
+    final Map<String, Integer> versions = new HashMap<>();
+    versions.put("foo", 1);
+    versions.put("bar", 1);
+    versions.put("baz", 1);
+    checkpoint.putAll(versions);
+
+    checkpoint.retainAll(Arrays.asList("foo", "baz", "qux"));
+    checkpoint.save();
+
+    final SchemaVersionCheckpoint loaded = SchemaVersionCheckpoint.load(file);
+    assertEquals(loaded.size(), 2);
+    assertNull(loaded.getVersion("bar"));
+    assertNull(loaded.getVersion("qux"));
+    assertEquals(loaded.getVersion("baz"), Integer.valueOf(1));
+  }
+}
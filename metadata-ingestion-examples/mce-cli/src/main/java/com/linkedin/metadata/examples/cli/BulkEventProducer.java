@@ -0,0 +1,307 @@
+package com.linkedin.metadata.examples.cli;
+
+import com.google.common.base.Joiner;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.data.schema.validation.RequiredMode;
+import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
+import com.linkedin.data.schema.validation.ValidateDataAgainstSchema;
+import com.linkedin.data.schema.validation.ValidationOptions;
+import com.linkedin.data.schema.validation.ValidationResult;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.dao.producer.EventKeys;
+import com.linkedin.metadata.dao.producer.OrderedExecutor;
+import com.linkedin.mxe.MetadataChangeEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+
+/**
+ * Produces the events of an events file as fast as Kafka takes them.
+ *
+ * <p>Events are read one by one by an {@link EventFileReader}, then validated, converted to Avro and sent on a pool of
+ * threads, those of the same entity in order. Sends are asynchronous, with at most {@code maxInFlight} events read but
+ * not yet acknowledged, which bounds memory whatever the size of the file. Invalid events and events which failed to
+ * be sent are written to a failure file, one JSON object per line with the position of the event, the error and the
+ * event itself. Progress and throughput are logged periodically.
+ */
+@Slf4j
+public class BulkEventProducer {
+
+  private static final JacksonDataCodec CODEC = new JacksonDataCodec();
+  private static final String PROPOSED_SNAPSHOT_FIELD = "proposedSnapshot";
+  private static final String URN_FIELD = "urn";
+
+  private final Producer<String, GenericRecord> _producer;
+  private final String _topic;
+  private final int _threads;
+  private final int _maxInFlight;
+  private final long _progressIntervalMillis;
+
+  /**
+   * @param producer the producer to send events with
+   * @param topic the topic to send events to
+   * @param threads number of threads validating and sending events
+   * @param maxInFlight maximum number of events read but not yet acknowledged
+   * @param progressIntervalMillis interval between progress reports
+   */
+  public BulkEventProducer(@Nonnull Producer<String, GenericRecord> producer, @Nonnull String topic, int threads,
+      int maxInFlight, long progressIntervalMillis) {
+    if (maxInFlight <= 0) {
+      throw new IllegalArgumentException("maxInFlight must be positive, was " + maxInFlight);
+    }
+    _producer = producer;
+    _topic = topic;
+    _threads = threads;
+    _maxInFlight = maxInFlight;
+    _progressIntervalMillis = progressIntervalMillis;
+  }
+
+  /**
+   * Produces all the events of the given reader, returning once they are all acknowledged or failed.
+   *
+   * @param failureFile file the events which could not be produced are written to, created only if there are any
+   */
+  @Nonnull
+  public Result produce(@Nonnull EventFileReader reader, @Nonnull File failureFile)
+      throws IOException, InterruptedException {
+    final Run run = new Run(failureFile);
+    final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "mce-cli-progress");
+      thread.setDaemon(true);
+      return thread;
+    });
+    reporter.scheduleAtFixedRate(run::reportProgress, _progressIntervalMillis, _progressIntervalMillis,
+        TimeUnit.MILLISECONDS);
+    final OrderedExecutor executor = new OrderedExecutor("mce-cli-producer", _threads, _maxInFlight);
+    try {
+      EventFileReader.RawEvent event;
+      while ((event = reader.next()) != null) {
+        run._inFlight.acquire();
+        run._read.incrementAndGet();
+        final EventFileReader.RawEvent rawEvent = event;
+        final DataMap data;
+        try {
+          data = CODEC.bytesToMap(rawEvent.getJson());
+        } catch (IOException e) {
+          run.fail(rawEvent, null, "Invalid JSON: " + e.getMessage(), run._invalid);
+          continue;
+        }
+        executor.execute(keyOf(data, rawEvent), () -> run.validateAndSend(rawEvent, data));
+      }
+      // Every event read holds a permit until it is acknowledged or failed: waits for all of them to be, rather than
+      // rely on closing the executor, which gives up on the events still queued after a while
+      run._inFlight.acquire(_maxInFlight);
+    } finally {
+      executor.close();
+      _producer.flush();
+      reporter.shutdownNow();
+      run.closeFailures();
+    }
+    return run.toResult();
+  }
+
+  /**
+   * Returns the key events are ordered by, which is the URN of their entity if they have one.
+   */
+  @Nonnull
+  private static String keyOf(@Nonnull DataMap data, @Nonnull EventFileReader.RawEvent event) {
+    final DataMap snapshot = data.getDataMap(PROPOSED_SNAPSHOT_FIELD);
+    if (snapshot != null && snapshot.size() == 1) {
+      final Object member = snapshot.values().iterator().next();
+      if (member instanceof DataMap && ((DataMap) member).get(URN_FIELD) instanceof String) {
+        return ((DataMap) member).getString(URN_FIELD);
+      }
+    }
+    return "#" + event.getIndex();
+  }
+
+  /**
+   * Returns the options events files and events are validated with.
+   */
+  @Nonnull
+  static ValidationOptions validationOptions() {
+    final ValidationOptions options = new ValidationOptions();
+    options.setRequiredMode(RequiredMode.CAN_BE_ABSENT_IF_HAS_DEFAULT);
+    options.setUnrecognizedFieldMode(UnrecognizedFieldMode.DISALLOW);
+    return options;
+  }
+
+  /**
+   * Validates the given data against the MCE schema and wraps it.
+   *
+   * @throws IllegalArgumentException if the data is not a valid MCE
+   */
+  @Nonnull
+  static MetadataChangeEvent toEvent(@Nonnull DataMap data) {
+    final ValidationResult result = ValidateDataAgainstSchema.validate(data,
+        DataTemplateUtil.getSchema(MetadataChangeEvent.class), validationOptions());
+    if (!result.isValid()) {
+      throw new IllegalArgumentException(Joiner.on('\n').join(result.getMessages()));
+    }
+    return DataTemplateUtil.wrap(data, MetadataChangeEvent.class);
+  }
+
+  /**
+   * The state of one run of {@link #produce}.
+   */
+  private final class Run {
+    private final Semaphore _inFlight = new Semaphore(_maxInFlight);
+    private final AtomicLong _read = new AtomicLong();
+    private final AtomicLong _sent = new AtomicLong();
+    private final AtomicLong _invalid = new AtomicLong();
+    private final AtomicLong _failed = new AtomicLong();
+    private final long _startMillis = System.currentTimeMillis();
+    private final File _failureFile;
+    private Writer _failures;
+    private long _lastReportMillis = _startMillis;
+    private long _lastReportSent;
+
+    private Run(@Nonnull File failureFile) {
+      _failureFile = failureFile;
+    }
+
+    private void validateAndSend(@Nonnull EventFileReader.RawEvent event, @Nonnull DataMap data) {
+      final MetadataChangeEvent mce;
+      final GenericRecord record;
+      try {
+        mce = toEvent(data);
+        record = EventUtils.pegasusToAvroMCE(mce);
+      } catch (RuntimeException | IOException e) {
+        fail(event, data, e.getMessage() != null ? e.getMessage() : e.toString(), _invalid);
+        return;
+      }
+      try {
+        _producer.send(new ProducerRecord<>(_topic, EventKeys.of(mce), record), (metadata, exception) -> {
+          if (exception == null) {
+            _sent.incrementAndGet();
+            _inFlight.release();
+          } else {
+            fail(event, data, "Failed to send: " + exception, _failed);
+          }
+        });
+      } catch (RuntimeException e) {
+        fail(event, data, "Failed to send: " + e, _failed);
+      }
+    }
+
+    /**
+     * Counts a failed event and writes it to the failure file.
+     */
+    private void fail(@Nonnull EventFileReader.RawEvent event, @Nullable DataMap data, @Nonnull String error,
+        @Nonnull AtomicLong counter) {
+      counter.incrementAndGet();
+      _inFlight.release();
+      log.warn("Event {} at line {} could not be produced: {}", event.getIndex(), event.getLine(), error);
+
+      final DataMap failure = new DataMap();
+      failure.put("index", event.getIndex());
+      failure.put("line", event.getLine());
+      failure.put("error", error);
+      if (data != null) {
+        failure.put("event", data);
+      } else {
+        failure.put("json", new String(event.getJson(), StandardCharsets.UTF_8));
+      }
+      try {
+        writeFailure(CODEC.mapToString(failure));
+      } catch (IOException e) {
+        log.error("Failed to write event {} to {}", event.getIndex(), _failureFile, e);
+      }
+    }
+
+    private synchronized void writeFailure(@Nonnull String line) throws IOException {
+      if (_failures == null) {
+        _failures = Files.newBufferedWriter(_failureFile.toPath(), StandardCharsets.UTF_8);
+      }
+      _failures.write(line);
+      _failures.write('\n');
+    }
+
+    private synchronized void closeFailures() throws IOException {
+      if (_failures != null) {
+        _failures.close();
+      }
+    }
+
+    private synchronized void reportProgress() {
+      final long now = System.currentTimeMillis();
+      final long sent = _sent.get();
+      log.info("Read {} events, sent {} ({} events/s), {} invalid, {} failed to send", _read.get(), sent,
+          rate(sent - _lastReportSent, now - _lastReportMillis), _invalid.get(), _failed.get());
+      _lastReportMillis = now;
+      _lastReportSent = sent;
+    }
+
+    @Nonnull
+    private Result toResult() {
+      return new Result(_read.get(), _sent.get(), _invalid.get(), _failed.get(),
+          System.currentTimeMillis() - _startMillis);
+    }
+  }
+
+  private static long rate(long events, long millis) {
+    return millis <= 0 ? events : events * 1000 / millis;
+  }
+
+  /**
+   * The outcome of producing an events file.
+   */
+  public static final class Result {
+    private final long _read;
+    private final long _sent;
+    private final long _invalid;
+    private final long _failed;
+    private final long _elapsedMillis;
+
+    Result(long read, long sent, long invalid, long failed, long elapsedMillis) {
+      _read = read;
+      _sent = sent;
+      _invalid = invalid;
+      _failed = failed;
+      _elapsedMillis = elapsedMillis;
+    }
+
+    public long getRead() {
+      return _read;
+    }
+
+    public long getSent() {
+      return _sent;
+    }
+
+    public long getInvalid() {
+      return _invalid;
+    }
+
+    public long getFailed() {
+      return _failed;
+    }
+
+    public long getElapsedMillis() {
+      return _elapsedMillis;
+    }
+
+    /**
+     * Returns the number of events sent per second.
+     */
+    public long getThroughput() {
+      return rate(_sent, _elapsedMillis);
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.linkedin.metadata.examples.cli;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Reads the events of an events file one by one, without loading the whole file in memory.
+ *
+ * <p>The file is either a {@link MetadataChangeEvents} JSON object, or NDJSON with one MCE JSON object per line. Events
+ * are returned as their raw JSON, to be parsed and validated by other threads than the one reading the file. NDJSON is
+ * read line by line without being parsed, so that a malformed line fails on its own rather than ending the file, whereas
+ * a malformed {@link MetadataChangeEvents} object cannot be read past.
+ */
+public class EventFileReader implements Closeable {
+
+  static final String EVENTS_FIELD = "events";
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  // Either of them, depending on whether the file is a MetadataChangeEvents object or NDJSON
+  private final JsonParser _parser;
+  private final BufferedReader _lines;
+  private long _index;
+  private int _lineNumber;
+
+  public EventFileReader(@Nonnull File eventsFile) throws IOException {
+    if (!isWrapped(eventsFile)) {
+      _parser = null;
+      _lines = Files.newBufferedReader(eventsFile.toPath(), StandardCharsets.UTF_8);
+      return;
+    }
+    _lines = null;
+    _parser = JSON_FACTORY.createParser(eventsFile);
+    // Move to the start of the events array
+    _parser.nextToken();
+    while (_parser.nextToken() == JsonToken.FIELD_NAME) {
+      if (EVENTS_FIELD.equals(_parser.getCurrentName())) {
+        if (_parser.nextToken() != JsonToken.START_ARRAY) {
+          throw new IOException("Expected an array of events in " + eventsFile);
+        }
+        return;
+      }
+      _parser.nextToken();
+      _parser.skipChildren();
+    }
+    throw new IOException("No events in " + eventsFile);
+  }
+
+  /**
+   * Returns the next event, or null if there are no more.
+   *
+   * @throws IOException if the file cannot be read, or is a malformed {@link MetadataChangeEvents} object
+   */
+  @Nullable
+  public RawEvent next() throws IOException {
+    if (_lines != null) {
+      return nextLine();
+    }
+    final JsonToken token = _parser.nextToken();
+    if (token == null || token == JsonToken.END_ARRAY) {
+      return null;
+    }
+    if (token != JsonToken.START_OBJECT) {
+      throw new IOException(String.format("Expected an event at line %d, got %s",
+          _parser.getTokenLocation().getLineNr(), token));
+    }
+    final int line = _parser.getTokenLocation().getLineNr();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(bytes)) {
+      generator.copyCurrentStructure(_parser);
+    }
+    return new RawEvent(++_index, line, bytes.toByteArray());
+  }
+
+  /**
+   * Returns the next non blank line of NDJSON, or null if there are no more.
+   */
+  @Nullable
+  private RawEvent nextLine() throws IOException {
+    String line;
+    while ((line = _lines.readLine()) != null) {
+      _lineNumber++;
+      if (!line.trim().isEmpty()) {
+        return new RawEvent(++_index, _lineNumber, line.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (_parser != null) {
+      _parser.close();
+    } else {
+      _lines.close();
+    }
+  }
+
+  /**
+   * Returns whether the file is a {@link MetadataChangeEvents} object rather than NDJSON, from its first field, as no
+   * MCE has an 'events' field. A file starting with malformed JSON is taken to be NDJSON, whose lines fail on their own.
+   */
+  private static boolean isWrapped(@Nonnull File eventsFile) throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(eventsFile)) {
+      return parser.nextToken() == JsonToken.START_OBJECT && parser.nextToken() == JsonToken.FIELD_NAME
+          && EVENTS_FIELD.equals(parser.getCurrentName());
+    } catch (JsonProcessingException e) {
+      return false;
+    }
+  }
+
+  /**
+   * The raw JSON of an event, along with its position in the file. The JSON of an NDJSON line may be malformed.
+   */
+  public static final class RawEvent {
+    private final long _index;
+    private final int _line;
+    private final byte[] _json;
+
+    RawEvent(long index, int line, @Nonnull byte[] json) {
+      _index = index;
+      _line = line;
+      _json = json;
+    }
+
+    /**
+     * Returns the position of the event in the file, starting from 1.
+     */
+    public long getIndex() {
+      return _index;
+    }
+
+    /**
+     * Returns the line of the file the event starts at.
+     */
+    public int getLine() {
+      return _line;
+    }
+
+    @Nonnull
+    public byte[] getJson() {
+      return _json;
+    }
+  }
+}
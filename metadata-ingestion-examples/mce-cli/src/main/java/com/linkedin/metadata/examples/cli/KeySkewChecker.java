@@ -0,0 +1,103 @@
+package com.linkedin.metadata.examples.cli;
+
+import com.linkedin.metadata.dao.producer.EventKeys;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+
+
+/**
+ * Checks how the records of a topic are spread over its partitions, and whether they are keyed by {@link EventKeys}.
+ *
+ * <p>Reports the number of records of every partition and how far the largest is from the mean, then reads a sample of
+ * the latest records of every partition, counting those without a key and those whose key belongs to another partition,
+ * which were sent by a producer partitioning them some other way and may be consumed out of order.
+ */
+@Slf4j
+public class KeySkewChecker {
+
+  private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+  private static final int MAX_EMPTY_POLLS = 5;
+
+  private final Consumer<String, ?> _consumer;
+
+  public KeySkewChecker(@Nonnull Consumer<String, ?> consumer) {
+    _consumer = consumer;
+  }
+
+  /**
+   * Checks the given topic, reading up to the given number of records of every partition.
+   *
+   * @return whether every sampled record is keyed by {@link EventKeys}
+   */
+  public boolean check(@Nonnull String topic, int samplesPerPartition) {
+    final List<TopicPartition> partitions = _consumer.partitionsFor(topic)
+        .stream()
+        .map(info -> new TopicPartition(topic, info.partition()))
+        .sorted((p1, p2) -> Integer.compare(p1.partition(), p2.partition()))
+        .collect(Collectors.toList());
+    if (partitions.isEmpty()) {
+      throw new IllegalArgumentException("Topic " + topic + " does not exist");
+    }
+
+    final Map<TopicPartition, Long> beginning = _consumer.beginningOffsets(partitions);
+    final Map<TopicPartition, Long> end = _consumer.endOffsets(partitions);
+    final List<Long> counts = new ArrayList<>();
+    for (TopicPartition partition : partitions) {
+      counts.add(end.get(partition) - beginning.get(partition));
+      log.info("Partition {}: {} records", partition.partition(), counts.get(counts.size() - 1));
+    }
+    log.info("Skew of {}: largest partition holds {} times the mean", topic, String.format("%.2f", skew(counts)));
+
+    _consumer.assign(partitions);
+    for (TopicPartition partition : partitions) {
+      _consumer.seek(partition, Math.max(beginning.get(partition), end.get(partition) - samplesPerPartition));
+    }
+    long sampled = 0;
+    long unkeyed = 0;
+    long misplaced = 0;
+    int emptyPolls = 0;
+    while (emptyPolls < MAX_EMPTY_POLLS && !reachedEnd(partitions, end)) {
+      int polled = 0;
+      for (ConsumerRecord<String, ?> record : _consumer.poll(POLL_TIMEOUT)) {
+        polled++;
+        sampled++;
+        if (record.key() == null) {
+          unkeyed++;
+        } else if (EventKeys.partition(record.key(), partitions.size()) != record.partition()) {
+          misplaced++;
+        }
+      }
+      emptyPolls = polled == 0 ? emptyPolls + 1 : 0;
+    }
+    _consumer.assign(Collections.emptyList());
+
+    log.info("Sampled {} records of {}: {} without a key, {} with a key of another partition", sampled, topic, unkeyed,
+        misplaced);
+    return unkeyed == 0 && misplaced == 0;
+  }
+
+  /**
+   * Returns the ratio of the largest of the given counts to their mean, which is 1 when they are all equal.
+   */
+  static double skew(@Nonnull List<Long> counts) {
+    final long total = counts.stream().mapToLong(Long::longValue).sum();
+    if (total == 0) {
+      return 1;
+    }
+    final long max = counts.stream().mapToLong(Long::longValue).max().getAsLong();
+    return (double) max * counts.size() / total;
+  }
+
+  private boolean reachedEnd(@Nonnull List<TopicPartition> partitions, @Nonnull Map<TopicPartition, Long> end) {
+    return partitions.stream().allMatch(partition -> _consumer.position(partition) >= end.get(partition));
+  }
+}
@@ -4,21 +4,16 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.linkedin.data.DataMap;
-import com.linkedin.data.schema.validation.RequiredMode;
-import com.linkedin.data.schema.validation.UnrecognizedFieldMode;
 import com.linkedin.data.schema.validation.ValidateDataAgainstSchema;
-import com.linkedin.data.schema.validation.ValidationOptions;
 import com.linkedin.data.schema.validation.ValidationResult;
 import com.linkedin.data.template.DataTemplateUtil;
-import com.linkedin.metadata.EventUtils;
-import com.linkedin.mxe.MetadataChangeEvent;
 import com.linkedin.mxe.Topics;
 import com.linkedin.restli.common.ContentType;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.time.Duration;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -28,7 +23,6 @@ import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.producer.Producer;
-import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import picocli.CommandLine;
@@ -38,16 +32,42 @@ import picocli.CommandLine;
 @Component
 public class MceCli implements CommandLineRunner {
   private enum Mode {
-    PRODUCE, CONSUME
+    PRODUCE, CONSUME, CHECK_KEYS
   }
 
   private static final class Args {
     @CommandLine.Option(names = {"-m", "--mode"}, defaultValue = "CONSUME")
     Mode mode;
 
+    @CommandLine.Option(names = {"-t", "--topic"}, defaultValue = Topics.METADATA_CHANGE_EVENT,
+        description = "Topic to check the keys of in 'check_keys' mode.")
+    String topic;
+
+    @CommandLine.Option(names = {"-s", "--samples"}, defaultValue = "1000",
+        description = "Number of records read from every partition in 'check_keys' mode.")
+    int samples;
+
+    @CommandLine.Option(names = {"-j", "--threads"},
+        description = "Number of threads validating and sending events in 'produce' mode; defaults to the number of CPUs.")
+    Integer threads;
+
+    @CommandLine.Option(names = {"--max-in-flight"}, defaultValue = "1000",
+        description = "Maximum number of events read but not yet acknowledged in 'produce' mode.")
+    int maxInFlight;
+
+    @CommandLine.Option(names = {"-f", "--failure-file"},
+        description = "File the events which could not be produced are written to in 'produce' mode; "
+            + "defaults to EVENT_FILE.failures.ndjson.")
+    File failureFile;
+
+    @CommandLine.Option(names = {"--progress-interval"}, defaultValue = "10",
+        description = "Seconds between progress reports in 'produce' mode.")
+    int progressInterval;
+
     @CommandLine.Parameters(
         paramLabel = "EVENT_FILE",
-        description = "MCE file; required if running 'producer' mode. See MetadataChangeEvents.pdl for schema.",
+        description = "MCE file; required if running 'producer' mode. Either a MetadataChangeEvents JSON object, see "
+            + "MetadataChangeEvents.pdl for schema, or NDJSON with one MetadataChangeEvent per line.",
         arity = "0..1"
     )
     File eventFile;
@@ -79,12 +99,8 @@ public class MceCli implements CommandLineRunner {
   static MetadataChangeEvents readEventsFile(@Nonnull File eventsFile) throws IOException {
     final DataMap dataMap = ContentType.JSON.getCodec().readMap(new FileInputStream(eventsFile));
 
-    final ValidationOptions options = new ValidationOptions();
-    options.setRequiredMode(RequiredMode.CAN_BE_ABSENT_IF_HAS_DEFAULT);
-    options.setUnrecognizedFieldMode(UnrecognizedFieldMode.DISALLOW);
-
-    final ValidationResult result =
-        ValidateDataAgainstSchema.validate(dataMap, DataTemplateUtil.getSchema(MetadataChangeEvents.class), options);
+    final ValidationResult result = ValidateDataAgainstSchema.validate(dataMap,
+        DataTemplateUtil.getSchema(MetadataChangeEvents.class), BulkEventProducer.validationOptions());
 
     if (!result.isValid()) {
       throw new IllegalArgumentException(
@@ -95,13 +111,23 @@ public class MceCli implements CommandLineRunner {
     return DataTemplateUtil.wrap(dataMap, MetadataChangeEvents.class);
   }
 
-  private void produce(@Nonnull File eventsFile) throws IOException, ExecutionException, InterruptedException {
-    final MetadataChangeEvents events = readEventsFile(eventsFile);
-    int record = 1;
-    for (MetadataChangeEvent mce : events.getEvents()) {
-      log.info("Producing record {} of {}", record++, events.getEvents().size());
-      _producer.send(new ProducerRecord(Topics.METADATA_CHANGE_EVENT, EventUtils.pegasusToAvroMCE(mce))).get();
-      log.info("Produced record.");
+  private void produce(@Nonnull Args args) throws IOException, InterruptedException {
+    final int threads = args.threads != null ? args.threads : Runtime.getRuntime().availableProcessors();
+    final File failureFile =
+        args.failureFile != null ? args.failureFile : new File(args.eventFile.getPath() + ".failures.ndjson");
+    final BulkEventProducer producer = new BulkEventProducer(_producer, Topics.METADATA_CHANGE_EVENT, threads,
+        args.maxInFlight, TimeUnit.SECONDS.toMillis(args.progressInterval));
+
+    log.info("Producing records of {} with {} threads.", args.eventFile, threads);
+    final BulkEventProducer.Result result;
+    try (EventFileReader reader = new EventFileReader(args.eventFile)) {
+      result = producer.produce(reader, failureFile);
+    }
+    log.info("Produced {} of {} records in {} ms ({} records/s).", result.getSent(), result.getRead(),
+        result.getElapsedMillis(), result.getThroughput());
+    if (result.getInvalid() + result.getFailed() > 0) {
+      log.warn("{} records were invalid and {} failed to be sent, see {}.", result.getInvalid(), result.getFailed(),
+          failureFile);
     }
   }
 
@@ -118,7 +144,13 @@ public class MceCli implements CommandLineRunner {
         if (args.eventFile == null) {
           throw new IllegalArgumentException("Event file is required when producing.");
         }
-        produce(args.eventFile);
+        produce(args);
+        break;
+      case CHECK_KEYS:
+        if (!new KeySkewChecker(_consumer).check(args.topic, args.samples)) {
+          log.warn("Some records of {} are not keyed by URN, so events of an entity may be consumed out of order.",
+              args.topic);
+        }
         break;
       default:
         break;
@@ -1,7 +1,7 @@
 package com.linkedin.metadata.examples.cli.config;
 
+import com.linkedin.mxe.serde.MxeAvroDeserializer;
 import io.confluent.kafka.serializers.AbstractKafkaAvroSerDeConfig;
-import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import java.util.Arrays;
 import java.util.Map;
 import org.apache.avro.generic.GenericRecord;
@@ -27,7 +27,7 @@ public class KafkaConsumerConfig {
     KafkaProperties.Consumer consumerProps = properties.getConsumer();
 
     consumerProps.setKeyDeserializer(StringDeserializer.class);
-    consumerProps.setValueDeserializer(KafkaAvroDeserializer.class);
+    consumerProps.setValueDeserializer(MxeAvroDeserializer.class);
     consumerProps.setGroupId("mce-cli");
 
     // KAFKA_BOOTSTRAP_SERVER has precedence over SPRING_KAFKA_BOOTSTRAP_SERVERS
@@ -0,0 +1,146 @@
+package com.linkedin.metadata.examples.cli;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.JacksonDataCodec;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class BulkEventProducerTest {
+  private static final JacksonDataCodec CODEC = new JacksonDataCodec();
+  private static final String TOPIC = "MetadataChangeEvent_v4";
+
+  private MockProducer<String, GenericRecord> _producer;
+  private File _failureFile;
+
+  @BeforeMethod
+  public void setup() throws Exception {
+    final Serializer<GenericRecord> valueSerializer = (topic, record) -> new byte[0];
+    _producer = new MockProducer<>(false, new StringSerializer(), valueSerializer);
+    _failureFile = File.createTempFile("failures", ".ndjson");
+    _failureFile.deleteOnExit();
+    Files.delete(_failureFile.toPath());
+  }
+
+  @Test
+  public void testBoundsEventsInFlight() throws Exception {
+    final List<String> events = exampleEvents();
+    final BulkEventProducer producer = new BulkEventProducer(_producer, TOPIC, 4, 2, 60000);
+
+    final CompletableFuture<BulkEventProducer.Result> result = produce(producer, ndjson(events));
+
+    waitForSends(2);
+    // No more events are read until those in flight are acknowledged
+    Thread.sleep(200);
+    assertEquals(_producer.history().size(), 2);
+    assertFalse(result.isDone());
+    // Acknowledges the events one by one, the producer waiting for all of them
+    while (!result.isDone()) {
+      _producer.completeNext();
+      Thread.sleep(10);
+    }
+
+    assertEquals(result.get().getRead(), events.size());
+    assertEquals(result.get().getSent(), events.size());
+    assertEquals(_producer.history().size(), events.size());
+    _producer.history().forEach(record -> assertEquals(record.topic(), TOPIC));
+    assertFalse(_failureFile.exists());
+  }
+
+  @Test
+  public void testWritesFailedEventsToFailureFile() throws Exception {
+    final List<String> events = exampleEvents();
+    final List<String> lines = new ArrayList<>();
+    lines.add(events.get(0));
+    lines.add("{\"proposedSnapshot\": ");
+    lines.add("{\"a\": 1}");
+    lines.add(events.get(1));
+    final BulkEventProducer producer = new BulkEventProducer(_producer, TOPIC, 1, 10, 60000);
+
+    final CompletableFuture<BulkEventProducer.Result> result = produce(producer, ndjson(lines));
+
+    waitForSends(2);
+    assertTrue(_producer.errorNext(new KafkaException("Failed to send")));
+    assertTrue(_producer.completeNext());
+    final BulkEventProducer.Result produced = result.get(10, TimeUnit.SECONDS);
+
+    assertEquals(produced.getRead(), 4);
+    assertEquals(produced.getSent(), 1);
+    assertEquals(produced.getInvalid(), 2);
+    assertEquals(produced.getFailed(), 1);
+    final List<DataMap> failures = new ArrayList<>();
+    for (String line : Files.readAllLines(_failureFile.toPath(), StandardCharsets.UTF_8)) {
+      failures.add(CODEC.stringToMap(line));
+    }
+    failures.sort((first, second) -> Integer.compare(first.getInteger("line"), second.getInteger("line")));
+    assertEquals(failures.size(), 3);
+    // The first event, whose send failed
+    assertEquals(failures.get(0).getInteger("line"), Integer.valueOf(1));
+    assertTrue(failures.get(0).getString("error").startsWith("Failed to send"));
+    assertTrue(failures.get(0).containsKey("event"));
+    // Malformed JSON
+    assertEquals(failures.get(1).getInteger("line"), Integer.valueOf(2));
+    assertTrue(failures.get(1).getString("error").startsWith("Invalid JSON"));
+    assertEquals(failures.get(1).getString("json"), "{\"proposedSnapshot\": ");
+    // Not an MCE
+    assertEquals(failures.get(2).getInteger("line"), Integer.valueOf(3));
+    assertTrue(failures.get(2).containsKey("event"));
+  }
+
+  private CompletableFuture<BulkEventProducer.Result> produce(BulkEventProducer producer, File eventsFile) {
+    final CompletableFuture<BulkEventProducer.Result> result = new CompletableFuture<>();
+    final Thread thread = new Thread(() -> {
+      try (EventFileReader reader = new EventFileReader(eventsFile)) {
+        result.complete(producer.produce(reader, _failureFile));
+      } catch (Exception e) {
+        result.completeExceptionally(e);
+      }
+    });
+    thread.setDaemon(true);
+    thread.start();
+    return result;
+  }
+
+  private void waitForSends(int sends) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 10000;
+    while (_producer.history().size() < sends && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(_producer.history().size(), sends);
+  }
+
+  /**
+   * Returns the JSON of the events of the example bootstrap file, one per line.
+   */
+  private static List<String> exampleEvents() throws Exception {
+    final List<String> events = new ArrayList<>();
+    try (EventFileReader reader = new EventFileReader(new File("example-bootstrap.json"))) {
+      EventFileReader.RawEvent event;
+      while ((event = reader.next()) != null) {
+        events.add(new String(event.getJson(), StandardCharsets.UTF_8));
+      }
+    }
+    return events;
+  }
+
+  private static File ndjson(List<String> lines) throws Exception {
+    final File file = File.createTempFile("events", ".ndjson");
+    file.deleteOnExit();
+    Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    return file;
+  }
+}
@@ -0,0 +1,74 @@
+package com.linkedin.metadata.examples.cli;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.JacksonDataCodec;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class EventFileReaderTest {
+  private static final JacksonDataCodec CODEC = new JacksonDataCodec();
+
+  @Test
+  public void testReadWrapped() throws Exception {
+    int count = 0;
+    try (EventFileReader reader = new EventFileReader(new File("example-bootstrap.json"))) {
+      EventFileReader.RawEvent event;
+      while ((event = reader.next()) != null) {
+        assertEquals(event.getIndex(), ++count);
+        // Every event is a valid MCE on its own
+        BulkEventProducer.toEvent(CODEC.bytesToMap(event.getJson()));
+      }
+    }
+    assertEquals(count, MceCli.readEventsFile(new File("example-bootstrap.json")).getEvents().size());
+  }
+
+  @Test
+  public void testReadNdjson() throws Exception {
+    final File file = File.createTempFile("events", ".ndjson");
+    file.deleteOnExit();
+    Files.write(file.toPath(), Arrays.asList("{\"a\": 1}", "", "{\"b\": {\"c\": [2, 3]}}"), StandardCharsets.UTF_8);
+
+    try (EventFileReader reader = new EventFileReader(file)) {
+      final EventFileReader.RawEvent first = reader.next();
+      assertEquals(first.getIndex(), 1);
+      assertEquals(first.getLine(), 1);
+      assertEquals(CODEC.bytesToMap(first.getJson()).getInteger("a"), Integer.valueOf(1));
+
+      final EventFileReader.RawEvent second = reader.next();
+      assertEquals(second.getIndex(), 2);
+      assertEquals(second.getLine(), 3);
+      final DataMap data = CODEC.bytesToMap(second.getJson());
+      assertEquals(data.getDataMap("b").getDataList("c").size(), 2);
+
+      assertNull(reader.next());
+    }
+  }
+
+  @Test
+  public void testReadMalformedNdjson() throws Exception {
+    final File file = File.createTempFile("events", ".ndjson");
+    file.deleteOnExit();
+    Files.write(file.toPath(), Arrays.asList("{\"a\": ", "not json", "{\"b\": 2}"), StandardCharsets.UTF_8);
+
+    try (EventFileReader reader = new EventFileReader(file)) {
+      // Malformed lines are returned as they are, to fail on their own
+      assertEquals(new String(reader.next().getJson(), StandardCharsets.UTF_8), "{\"a\": ");
+      final EventFileReader.RawEvent second = reader.next();
+      assertEquals(second.getLine(), 2);
+      assertEquals(new String(second.getJson(), StandardCharsets.UTF_8), "not json");
+      assertEquals(CODEC.bytesToMap(reader.next().getJson()).getInteger("b"), Integer.valueOf(2));
+      assertNull(reader.next());
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidEvent() throws Exception {
+    BulkEventProducer.toEvent(CODEC.bytesToMap("{\"a\": 1}".getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,17 @@
+package com.linkedin.metadata.examples.cli;
+
+import java.util.Arrays;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class KeySkewCheckerTest {
+
+  @Test
+  public void testSkew() {
+    assertEquals(KeySkewChecker.skew(Arrays.asList(10L, 10L, 10L, 10L)), 1.0);
+    assertEquals(KeySkewChecker.skew(Arrays.asList(40L, 0L, 0L, 0L)), 4.0);
+    assertEquals(KeySkewChecker.skew(Arrays.asList(0L, 0L)), 1.0);
+  }
+}
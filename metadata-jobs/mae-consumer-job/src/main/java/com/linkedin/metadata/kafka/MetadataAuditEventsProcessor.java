@@ -1,5 +1,6 @@
 package com.linkedin.metadata.kafka;
 
+import com.linkedin.data.DataList;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.events.metadata.ChangeType;
 import com.linkedin.metadata.EventUtils;
@@ -9,8 +10,13 @@ import com.linkedin.metadata.builders.graph.RegisteredGraphBuilders;
 import com.linkedin.metadata.builders.search.BaseIndexBuilder;
 import com.linkedin.metadata.builders.search.SnapshotProcessor;
 import com.linkedin.metadata.dao.internal.BaseGraphWriterDAO;
+import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.index.ReindexTargets;
 import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.metadata.kafka.browse.BrowseTreeUpdater;
+import com.linkedin.metadata.kafka.delta.DocumentDelta;
+import com.linkedin.metadata.kafka.delta.GraphDelta;
 import com.linkedin.metadata.kafka.elasticsearch.ElasticsearchConnector;
 import com.linkedin.metadata.kafka.elasticsearch.MCEElasticEvent;
 import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
@@ -21,11 +27,16 @@ import java.lang.reflect.InvocationTargetException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
@@ -41,15 +52,26 @@ public class MetadataAuditEventsProcessor {
   private BaseGraphWriterDAO graphWriterDAO;
   private Set<BaseIndexBuilder<? extends RecordTemplate>> indexBuilders;
   private IndexConvention indexConvention;
+  private ReindexTargets reindexTargets;
+  private BrowseTreeUpdater browseTreeUpdater;
+
+  @Value("${MAE_DELTA_UPDATES:true}")
+  private boolean deltaUpdates;
+
+  private static final String BROWSE_PATHS_FIELD = "browsePaths";
+  private static final String REMOVED_FIELD = "removed";
 
   public MetadataAuditEventsProcessor(ElasticsearchConnector elasticSearchConnector,
       SnapshotProcessor snapshotProcessor, BaseGraphWriterDAO graphWriterDAO,
-      Set<BaseIndexBuilder<? extends RecordTemplate>> indexBuilders, IndexConvention indexConvention) {
+      Set<BaseIndexBuilder<? extends RecordTemplate>> indexBuilders, IndexConvention indexConvention,
+      ReindexTargets reindexTargets, BrowseTreeUpdater browseTreeUpdater) {
     this.elasticSearchConnector = elasticSearchConnector;
     this.snapshotProcessor = snapshotProcessor;
     this.graphWriterDAO = graphWriterDAO;
     this.indexBuilders = indexBuilders;
     this.indexConvention = indexConvention;
+    this.reindexTargets = reindexTargets;
+    this.browseTreeUpdater = browseTreeUpdater;
     log.info("registered index builders {}", indexBuilders);
   }
 
@@ -66,8 +88,11 @@ public class MetadataAuditEventsProcessor {
 
         log.info(snapshot.toString());
 
-        updateElasticsearch(snapshot);
-        updateNeo4j(RecordUtils.getSelectedRecordTemplateFromUnion(snapshot));
+        final Snapshot oldSnapshot = deltaUpdates && event.hasOldSnapshot()
+            && hasSameAspects(event.getOldSnapshot(), snapshot) ? event.getOldSnapshot() : null;
+        updateElasticsearch(snapshot, oldSnapshot);
+        updateNeo4j(RecordUtils.getSelectedRecordTemplateFromUnion(snapshot),
+            oldSnapshot == null ? null : RecordUtils.getSelectedRecordTemplateFromUnion(oldSnapshot));
       }
     } catch (Exception e) {
       log.error("Error deserializing message: {}", e.toString());
@@ -75,16 +100,39 @@ public class MetadataAuditEventsProcessor {
     }
   }
 
+  /**
+   * Returns whether both snapshots are of the same entity and hold the same aspects, in which case the documents and
+   * relationships built from the old one are those to replace by the ones built from the new one.
+   */
+  private static boolean hasSameAspects(final Snapshot oldSnapshot, final Snapshot newSnapshot) {
+    final RecordTemplate oldRecord = RecordUtils.getSelectedRecordTemplateFromUnion(oldSnapshot);
+    final RecordTemplate newRecord = RecordUtils.getSelectedRecordTemplateFromUnion(newSnapshot);
+    return oldRecord.getClass().equals(newRecord.getClass())
+        && ModelUtils.getUrnFromSnapshot(oldRecord).equals(ModelUtils.getUrnFromSnapshot(newRecord))
+        && aspectTypes(oldRecord).equals(aspectTypes(newRecord));
+  }
+
+  private static Set<Class<?>> aspectTypes(final RecordTemplate snapshot) {
+    return ModelUtils.getAspectsFromSnapshot(snapshot).stream().map(Object::getClass).collect(Collectors.toSet());
+  }
+
   /**
    * Process snapshot and update Neo4j
    *
    * @param snapshot Snapshot
+   * @param oldSnapshot previous value of the aspects of the snapshot, if known, in which case only the entities and
+   *                    relationships which changed are written
    */
-  private void updateNeo4j(final RecordTemplate snapshot) {
+  private void updateNeo4j(final RecordTemplate snapshot, @Nullable final RecordTemplate oldSnapshot) {
     try {
       final BaseGraphBuilder graphBuilder = RegisteredGraphBuilders.getGraphBuilder(snapshot.getClass()).get();
       final GraphBuilder.GraphUpdates updates = graphBuilder.build(snapshot);
 
+      if (oldSnapshot != null) {
+        updateNeo4j(GraphDelta.compute(graphBuilder.build(oldSnapshot), updates));
+        return;
+      }
+
       if (!updates.getEntities().isEmpty()) {
         graphWriterDAO.addEntities(updates.getEntities());
       }
@@ -97,21 +145,83 @@ public class MetadataAuditEventsProcessor {
     }
   }
 
+  private void updateNeo4j(final GraphDelta delta) throws Exception {
+    if (delta.isEmpty()) {
+      log.debug("No change to the graph");
+      return;
+    }
+    if (!delta.getEntities().isEmpty()) {
+      graphWriterDAO.addEntities(delta.getEntities());
+    }
+    if (!delta.getRemovedRelationships().isEmpty()) {
+      graphWriterDAO.removeRelationships(delta.getRemovedRelationships());
+    }
+    for (List<RecordTemplate> relationships : delta.getAddedRelationships().values()) {
+      graphWriterDAO.addRelationships(relationships, BaseGraphWriterDAO.RemovalOption.NONE);
+    }
+  }
+
   /**
-   * Process snapshot and update Elasticsearch
+   * Process snapshot and update Elasticsearch, including any index being rebuilt to replace the current one and the
+   * browse trees
    *
    * @param snapshot Snapshot
    */
-  private void updateElasticsearch(final Snapshot snapshot) {
+  public void updateElasticsearch(final Snapshot snapshot) {
+    updateElasticsearch(snapshot, null, elasticSearchConnector);
+  }
+
+  /**
+   * Process snapshot and update Elasticsearch through the given connector, including any index being rebuilt to
+   * replace the current one and the browse trees
+   *
+   * @param snapshot Snapshot
+   * @param connector connector to write the documents with, for callers which need to know when they are written
+   */
+  public void updateElasticsearch(final Snapshot snapshot, final ElasticsearchConnector connector) {
+    updateElasticsearch(snapshot, null, connector);
+  }
+
+  /**
+   * Process snapshot and update Elasticsearch, including any index being rebuilt to replace the current one and the
+   * browse trees
+   *
+   * @param snapshot Snapshot
+   * @param oldSnapshot previous value of the aspects of the snapshot, if known, in which case documents are updated
+   *                    with the fields which changed only, and not at all if none did
+   */
+  public void updateElasticsearch(final Snapshot snapshot, @Nullable final Snapshot oldSnapshot) {
+    updateElasticsearch(snapshot, oldSnapshot, elasticSearchConnector);
+  }
+
+  private void updateElasticsearch(final Snapshot snapshot, @Nullable final Snapshot oldSnapshot,
+      final ElasticsearchConnector connector) {
+    // Browse paths and removed flags of the documents, by index and urn
+    final Map<String, Map<String, Map<String, Object>>> browseFields = new HashMap<>();
     List<RecordTemplate> docs = new ArrayList<>();
+    // Documents built from the old snapshot, by type
+    final Map<Class<?>, RecordTemplate> oldDocs = new HashMap<>();
     try {
       docs = snapshotProcessor.getDocumentsToUpdate(snapshot);
+      if (oldSnapshot != null) {
+        snapshotProcessor.getDocumentsToUpdate(oldSnapshot).forEach(doc -> oldDocs.put(doc.getClass(), doc));
+      }
     } catch (Exception e) {
       log.error("Error in getting documents from snapshot: {}", e.toString());
     }
 
     for (RecordTemplate doc : docs) {
-      MCEElasticEvent elasticEvent = new MCEElasticEvent(doc);
+      final RecordTemplate update;
+      if (oldSnapshot != null && oldDocs.containsKey(doc.getClass())) {
+        update = DocumentDelta.changedFields(oldDocs.get(doc.getClass()), doc);
+        if (update == null) {
+          log.debug("No change to document {}", doc);
+          continue;
+        }
+      } else {
+        update = doc;
+      }
+      MCEElasticEvent elasticEvent = new MCEElasticEvent(update, doc);
       BaseIndexBuilder indexBuilderForDoc = null;
       for (BaseIndexBuilder indexBuilder : indexBuilders) {
         Class docType = indexBuilder.getDocumentType();
@@ -123,16 +233,41 @@ public class MetadataAuditEventsProcessor {
       if (indexBuilderForDoc == null) {
         continue;
       }
-      elasticEvent.setIndex(indexConvention.getIndexName(indexBuilderForDoc.getDocumentType()));
+      final String index = indexConvention.getIndexName(indexBuilderForDoc.getDocumentType());
+      elasticEvent.setIndex(index);
+      final String urn;
       try {
-        String urn = indexBuilderForDoc.getDocumentType().getMethod("getUrn").invoke(doc).toString();
+        urn = indexBuilderForDoc.getDocumentType().getMethod("getUrn").invoke(doc).toString();
         elasticEvent.setId(URLEncoder.encode(urn.toLowerCase(), "UTF-8"));
       } catch (UnsupportedEncodingException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
         log.error("Failed to encode the urn with error: {}", e.toString());
         continue;
       }
       elasticEvent.setActionType(ChangeType.UPDATE);
-      elasticSearchConnector.feedElasticEvent(elasticEvent);
+      connector.feedElasticEvent(elasticEvent);
+
+      for (String target : reindexTargets.getTargets(index)) {
+        MCEElasticEvent targetEvent = new MCEElasticEvent(update, doc);
+        targetEvent.setIndex(target);
+        targetEvent.setId(elasticEvent.getId());
+        targetEvent.setActionType(ChangeType.UPDATE);
+        connector.feedElasticEvent(targetEvent);
+      }
+
+      final Map<String, Object> fields = browseFields.computeIfAbsent(index, k -> new HashMap<>())
+          .computeIfAbsent(urn, k -> new HashMap<>());
+      for (String field : Arrays.asList(BROWSE_PATHS_FIELD, REMOVED_FIELD)) {
+        if (doc.data().containsKey(field)) {
+          fields.put(field, doc.data().get(field));
+        }
+      }
     }
+
+    browseFields.forEach((index, urns) -> urns.forEach((urn, fields) -> {
+      final DataList browsePaths = (DataList) fields.get(BROWSE_PATHS_FIELD);
+      browseTreeUpdater.update(index, urn,
+          browsePaths == null ? null : browsePaths.stream().map(Object::toString).collect(Collectors.toList()),
+          (Boolean) fields.get(REMOVED_FIELD));
+    }));
   }
 }
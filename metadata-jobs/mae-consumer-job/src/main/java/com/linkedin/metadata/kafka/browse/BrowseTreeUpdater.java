@@ -0,0 +1,488 @@
+package com.linkedin.metadata.kafka.browse;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.linkedin.metadata.browse.BrowseTree;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+
+
+/**
+ * Keeps the {@link BrowseTree}s of the search indices up to date as the browse paths and removed flags of entities
+ * change.
+ *
+ * <p>The state of an entity the tree accounts for is read from its entity document, cached, and replaced with a
+ * compare-and-set write when an update changes it, so that concurrent updates of an entity are applied once. The
+ * resulting changes to the node counts are accumulated and written every {@code flushMillis} with scripted upserts,
+ * which keeps the number of writes to hot nodes such as the root independent of the rate of updates.
+ *
+ * <p>Accumulated changes are lost if the consumer dies before writing them. Each consumer therefore holds a lease in
+ * every tree it updates, acquired before its first entity write and renewed with every flush, and releases it when
+ * closed after writing its changes. The node counts of a tree are recomputed from its entity documents when a lease of
+ * it is not renewed for 60 flush periods, as well as after node updates fail.
+ *
+ * <p>Node updates are counted by the 'browse.tree.node.updates' metric, failed ones by 'browse.tree.node.failures',
+ * and recounts of trees by 'browse.tree.recounts'.
+ */
+@Slf4j
+public class BrowseTreeUpdater {
+
+  private static final int MAX_ATTEMPTS = 5;
+  private static final int NODE_RETRY_ON_CONFLICT = 10;
+  private static final long LEASE_TIMEOUT_FLUSHES = 60;
+  private static final int MAX_LEASES = 1000;
+  private static final int RECOUNT_BATCH_SIZE = 1000;
+  private static final TimeValue RECOUNT_SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+  private static final long CLOSE_TIMEOUT_SECONDS = 30;
+  private static final String NODE_SCRIPT = "if (ctx._source.groups == null) { ctx._source.groups = [:]; }"
+      + " ctx._source.total += params.total;"
+      + " for (entry in params.groups.entrySet()) {"
+      + "   long count = ctx._source.groups.getOrDefault(entry.getKey(), 0L) + entry.getValue();"
+      + "   if (count > 0) { ctx._source.groups[entry.getKey()] = count; } else { ctx._source.groups.remove(entry.getKey()); }"
+      + " }";
+
+  private final RestHighLevelClient _client;
+  private final boolean _enabled;
+  private final Cache<String, EntityState> _states;
+  private final Set<String> _indices = Collections.newSetFromMap(new ConcurrentHashMap<>());
+  private final String _leaseId = BrowseTree.getLeaseId(UUID.randomUUID().toString());
+  private final long _leaseTimeoutMillis;
+  private final Set<String> _leases = Collections.newSetFromMap(new ConcurrentHashMap<>());
+  private final Set<String> _recounts = Collections.newSetFromMap(new ConcurrentHashMap<>());
+  private final ScheduledExecutorService _executor;
+  private Map<String, Map<String, BrowseTree.NodeDelta>> _pending = new HashMap<>();
+
+  /**
+   * @param enabled whether to maintain the browse trees, doing nothing otherwise
+   * @param cacheSize maximum number of entity states cached, with which unchanged updates need no read
+   */
+  public BrowseTreeUpdater(@Nonnull RestHighLevelClient client, boolean enabled, long flushMillis, long cacheSize) {
+    _client = client;
+    _enabled = enabled;
+    _states = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+    _leaseTimeoutMillis = flushMillis * LEASE_TIMEOUT_FLUSHES;
+    if (enabled) {
+      _executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "browse-tree-updater");
+        thread.setDaemon(true);
+        return thread;
+      });
+      _executor.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+      _executor.scheduleWithFixedDelay(this::recover, _leaseTimeoutMillis, _leaseTimeoutMillis, TimeUnit.MILLISECONDS);
+    } else {
+      _executor = null;
+    }
+  }
+
+  /**
+   * Applies an update of an entity of the given search index to its browse tree.
+   *
+   * @param browsePaths new browse paths of the entity, or null if unchanged by the update
+   * @param removed new removed flag of the entity, or null if unchanged by the update
+   */
+  public void update(@Nonnull String searchIndex, @Nonnull String urn, @Nullable Collection<String> browsePaths,
+      @Nullable Boolean removed) {
+    if (!_enabled || (browsePaths == null && removed == null)) {
+      return;
+    }
+    final String index = BrowseTree.getIndexName(searchIndex);
+    final String id = BrowseTree.getEntityId(urn);
+    final String cacheKey = index + " " + id;
+
+    try {
+      ensureIndex(index);
+      ensureLease(index);
+      for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+        EntityState current = _states.getIfPresent(cacheKey);
+        if (current == null) {
+          current = read(index, id);
+        }
+        final EntityState next = current.update(browsePaths, removed);
+        if (next.sameAs(current)) {
+          _states.put(cacheKey, current);
+          return;
+        }
+        try {
+          _states.put(cacheKey, write(index, id, current, next));
+          addPending(index, BrowseTree.diff(current.getCountedPaths(), next.getCountedPaths()));
+          return;
+        } catch (ElasticsearchStatusException e) {
+          if (e.status() != RestStatus.CONFLICT) {
+            throw e;
+          }
+          // Updated concurrently or stale cache entry: read the entity again
+          _states.invalidate(cacheKey);
+        }
+      }
+      log.error("Failed to update browse tree {} for {} after {} attempts", index, urn, MAX_ATTEMPTS);
+    } catch (IOException | RuntimeException e) {
+      _states.invalidate(cacheKey);
+      log.error("Failed to update browse tree {} for {}", index, urn, e);
+    }
+  }
+
+  /**
+   * Writes the accumulated changes to the node counts, and renews the leases of this consumer.
+   */
+  public void flush() {
+    final Map<String, Map<String, BrowseTree.NodeDelta>> pending;
+    synchronized (this) {
+      pending = _pending;
+      _pending = new HashMap<>();
+    }
+
+    final BulkRequest bulkRequest = new BulkRequest();
+    pending.forEach((index, deltas) -> deltas.forEach((path, delta) -> {
+      if (!delta.isEmpty()) {
+        bulkRequest.add(nodeUpdate(index, path, delta));
+      }
+    }));
+    final int nodeUpdates = bulkRequest.numberOfActions();
+    _leases.forEach(index -> bulkRequest.add(lease(index)));
+    if (bulkRequest.numberOfActions() == 0) {
+      return;
+    }
+
+    try {
+      final BulkResponse response = _client.bulk(bulkRequest, RequestOptions.DEFAULT);
+      long failures = 0;
+      for (BulkItemResponse item : response.getItems()) {
+        if (!item.isFailed()) {
+          continue;
+        }
+        if (item.getId().equals(_leaseId)) {
+          log.warn("Failed to renew lease of browse tree {}: {}", item.getIndex(), item.getFailureMessage());
+        } else {
+          failures++;
+          _recounts.add(item.getIndex());
+          log.error("Failed to update browse tree node {}: {}", item.getId(), item.getFailureMessage());
+        }
+      }
+      MetricUtils.get().counter("browse.tree.node.updates").increment(nodeUpdates - failures);
+      MetricUtils.get().counter("browse.tree.node.failures").increment(failures);
+    } catch (IOException | RuntimeException e) {
+      // Some of the updates may have been applied: recount rather than retry them
+      _recounts.addAll(pending.keySet());
+      MetricUtils.get().counter("browse.tree.node.failures").increment(nodeUpdates);
+      log.error("Failed to update browse tree nodes", e);
+    }
+  }
+
+  /**
+   * Stops the periodic flushes, writes the accumulated changes and releases the leases of the trees whose counts are
+   * up to date.
+   */
+  @PreDestroy
+  public void close() {
+    if (_executor == null || _executor.isShutdown()) {
+      return;
+    }
+    _executor.shutdown();
+    try {
+      if (!_executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        _executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      _executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    flush();
+
+    final BulkRequest releases = new BulkRequest();
+    for (String index : _leases) {
+      // Leases of trees which still need a recount are left to expire, so that another consumer recounts them
+      if (!_recounts.contains(index)) {
+        releases.add(new DeleteRequest(index, _leaseId));
+      }
+    }
+    if (releases.numberOfActions() == 0) {
+      return;
+    }
+    try {
+      final BulkResponse response = _client.bulk(releases, RequestOptions.DEFAULT);
+      if (response.hasFailures()) {
+        log.warn("Failed to release browse tree leases: {}", response.buildFailureMessage());
+      }
+    } catch (IOException | RuntimeException e) {
+      log.warn("Failed to release browse tree leases", e);
+    }
+  }
+
+  private void ensureIndex(@Nonnull String index) throws IOException {
+    if (!_indices.contains(index)) {
+      BrowseTree.ensureIndex(_client, index);
+      _indices.add(index);
+    }
+  }
+
+  private void ensureLease(@Nonnull String index) throws IOException {
+    if (!_leases.contains(index)) {
+      _client.index(lease(index), RequestOptions.DEFAULT);
+      _leases.add(index);
+    }
+  }
+
+  @Nonnull
+  private IndexRequest lease(@Nonnull String index) {
+    final Map<String, Object> source = new HashMap<>();
+    source.put(BrowseTree.KIND_FIELD, BrowseTree.LEASE_KIND);
+    source.put(BrowseTree.HEARTBEAT_FIELD, System.currentTimeMillis());
+    return new IndexRequest(index).id(_leaseId).source(source);
+  }
+
+  /**
+   * Recounts the trees whose leases expired, releasing the leases, and those whose node updates failed.
+   */
+  private void recover() {
+    try {
+      final SearchRequest request = new SearchRequest(BrowseTree.getIndexName("*")).source(new SearchSourceBuilder()
+          .query(QueryBuilders.termQuery(BrowseTree.KIND_FIELD, BrowseTree.LEASE_KIND))
+          .seqNoAndPrimaryTerm(true)
+          .size(MAX_LEASES));
+      final long expiry = System.currentTimeMillis() - _leaseTimeoutMillis;
+      for (SearchHit hit : _client.search(request, RequestOptions.DEFAULT).getHits().getHits()) {
+        final Object heartbeat = hit.getSourceAsMap().get(BrowseTree.HEARTBEAT_FIELD);
+        if (hit.getId().equals(_leaseId) || (heartbeat instanceof Number && ((Number) heartbeat).longValue() >= expiry)) {
+          continue;
+        }
+        log.warn("Lease {} of browse tree {} expired, recounting the tree", hit.getId(), hit.getIndex());
+        recount(hit.getIndex());
+        try {
+          _client.delete(new DeleteRequest(hit.getIndex(), hit.getId())
+              .setIfSeqNo(hit.getSeqNo())
+              .setIfPrimaryTerm(hit.getPrimaryTerm()), RequestOptions.DEFAULT);
+        } catch (ElasticsearchStatusException e) {
+          // Renewed, or released by another consumer recounting the tree
+          if (e.status() != RestStatus.CONFLICT) {
+            throw e;
+          }
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to recover expired browse tree leases", e);
+    }
+
+    for (String index : new ArrayList<>(_recounts)) {
+      _recounts.remove(index);
+      try {
+        recount(index);
+      } catch (IOException | RuntimeException e) {
+        _recounts.add(index);
+        log.error("Failed to recount browse tree {}", index, e);
+      }
+    }
+  }
+
+  /**
+   * Recomputes the node counts of the given tree from its entity documents. Updates of entities applied concurrently
+   * by other consumers may be counted twice, until the next recount.
+   */
+  private void recount(@Nonnull String index) throws IOException {
+    flush();
+
+    final Map<String, BrowseTree.NodeDelta> counts = new HashMap<>();
+    scroll(index, BrowseTree.ENTITY_KIND, new String[]{BrowseTree.PATHS_FIELD, BrowseTree.REMOVED_FIELD}, hit -> {
+      final EntityState state = toEntityState(hit.getSourceAsMap(), -1, -1);
+      BrowseTree.diff(Collections.emptyList(), state.getCountedPaths())
+          .forEach((path, delta) -> counts.computeIfAbsent(path, k -> new BrowseTree.NodeDelta()).merge(delta));
+    });
+    final Set<String> nodeIds = new HashSet<>();
+    counts.keySet().forEach(path -> nodeIds.add(BrowseTree.getNodeId(path)));
+
+    final List<DocWriteRequest<?>> writes = new ArrayList<>();
+    scroll(index, BrowseTree.NODE_KIND, null, hit -> {
+      if (!nodeIds.contains(hit.getId())) {
+        writes.add(new DeleteRequest(index, hit.getId()));
+      }
+    });
+    counts.forEach((path, count) -> writes.add(node(index, path, count)));
+
+    for (int from = 0; from < writes.size(); from += RECOUNT_BATCH_SIZE) {
+      final BulkRequest bulkRequest = new BulkRequest();
+      writes.subList(from, Math.min(from + RECOUNT_BATCH_SIZE, writes.size())).forEach(bulkRequest::add);
+      final BulkResponse response = _client.bulk(bulkRequest, RequestOptions.DEFAULT);
+      if (response.hasFailures()) {
+        throw new IOException("Failed to recount browse tree " + index + ": " + response.buildFailureMessage());
+      }
+    }
+    MetricUtils.get().counter("browse.tree.recounts").increment();
+    log.info("Recounted browse tree {}: {} nodes", index, counts.size());
+  }
+
+  /**
+   * Feeds the documents of the given kind of the given tree to the given consumer, with the given source fields, or no
+   * source if null.
+   */
+  private void scroll(@Nonnull String index, @Nonnull String kind, @Nullable String[] fields,
+      @Nonnull Consumer<SearchHit> consumer) throws IOException {
+    final SearchSourceBuilder source = new SearchSourceBuilder()
+        .query(QueryBuilders.termQuery(BrowseTree.KIND_FIELD, kind))
+        .size(RECOUNT_BATCH_SIZE);
+    if (fields == null) {
+      source.fetchSource(false);
+    } else {
+      source.fetchSource(fields, null);
+    }
+    SearchResponse response = _client.search(new SearchRequest(index).source(source).scroll(RECOUNT_SCROLL_KEEP_ALIVE),
+        RequestOptions.DEFAULT);
+    try {
+      while (response.getHits().getHits().length > 0) {
+        for (SearchHit hit : response.getHits().getHits()) {
+          consumer.accept(hit);
+        }
+        response = _client.scroll(new SearchScrollRequest(response.getScrollId()).scroll(RECOUNT_SCROLL_KEEP_ALIVE),
+            RequestOptions.DEFAULT);
+      }
+    } finally {
+      final ClearScrollRequest clearScroll = new ClearScrollRequest();
+      clearScroll.addScrollId(response.getScrollId());
+      _client.clearScroll(clearScroll, RequestOptions.DEFAULT);
+    }
+  }
+
+  private synchronized void addPending(@Nonnull String index, @Nonnull Map<String, BrowseTree.NodeDelta> deltas) {
+    final Map<String, BrowseTree.NodeDelta> indexDeltas = _pending.computeIfAbsent(index, k -> new HashMap<>());
+    deltas.forEach((path, delta) -> indexDeltas.computeIfAbsent(path, k -> new BrowseTree.NodeDelta()).merge(delta));
+  }
+
+  @Nonnull
+  private EntityState read(@Nonnull String index, @Nonnull String id) throws IOException {
+    final GetResponse response = _client.get(new GetRequest(index, id), RequestOptions.DEFAULT);
+    if (!response.isExists()) {
+      return EntityState.ABSENT;
+    }
+    return toEntityState(response.getSourceAsMap(), response.getSeqNo(), response.getPrimaryTerm());
+  }
+
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private static EntityState toEntityState(@Nonnull Map<String, Object> source, long seqNo, long primaryTerm) {
+    return new EntityState((List<String>) source.get(BrowseTree.PATHS_FIELD),
+        Boolean.TRUE.equals(source.get(BrowseTree.REMOVED_FIELD)), seqNo, primaryTerm);
+  }
+
+  @Nonnull
+  private EntityState write(@Nonnull String index, @Nonnull String id, @Nonnull EntityState current,
+      @Nonnull EntityState next) throws IOException {
+    final Map<String, Object> source = new HashMap<>();
+    source.put(BrowseTree.KIND_FIELD, BrowseTree.ENTITY_KIND);
+    source.put(BrowseTree.PATHS_FIELD, next._paths);
+    source.put(BrowseTree.REMOVED_FIELD, next._removed);
+
+    final IndexRequest request = new IndexRequest(index).id(id).source(source);
+    if (current == EntityState.ABSENT) {
+      request.opType(DocWriteRequest.OpType.CREATE);
+    } else {
+      request.setIfSeqNo(current._seqNo).setIfPrimaryTerm(current._primaryTerm);
+    }
+    final IndexResponse response = _client.index(request, RequestOptions.DEFAULT);
+    return new EntityState(next._paths, next._removed, response.getSeqNo(), response.getPrimaryTerm());
+  }
+
+  @Nonnull
+  private static UpdateRequest nodeUpdate(@Nonnull String index, @Nonnull String path,
+      @Nonnull BrowseTree.NodeDelta delta) {
+    final Map<String, Object> params = new HashMap<>();
+    params.put("total", delta.getTotal());
+    params.put("groups", new HashMap<>(delta.getGroups()));
+
+    final Map<String, Object> upsert = new HashMap<>();
+    upsert.put(BrowseTree.KIND_FIELD, BrowseTree.NODE_KIND);
+    upsert.put(BrowseTree.PATH_FIELD, path);
+    upsert.put(BrowseTree.TOTAL_FIELD, 0L);
+    upsert.put(BrowseTree.GROUPS_FIELD, new HashMap<>());
+
+    return new UpdateRequest(index, BrowseTree.getNodeId(path))
+        .script(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, NODE_SCRIPT, params))
+        .scriptedUpsert(true)
+        .upsert(upsert)
+        .retryOnConflict(NODE_RETRY_ON_CONFLICT);
+  }
+
+  @Nonnull
+  private static IndexRequest node(@Nonnull String index, @Nonnull String path, @Nonnull BrowseTree.NodeDelta count) {
+    final Map<String, Object> source = new HashMap<>();
+    source.put(BrowseTree.KIND_FIELD, BrowseTree.NODE_KIND);
+    source.put(BrowseTree.PATH_FIELD, path);
+    source.put(BrowseTree.TOTAL_FIELD, count.getTotal());
+    source.put(BrowseTree.GROUPS_FIELD, new HashMap<>(count.getGroups()));
+    return new IndexRequest(index).id(BrowseTree.getNodeId(path)).source(source);
+  }
+
+  /**
+   * Browse paths and removed flag of an entity the browse tree accounts for, with the version of its entity document.
+   */
+  private static final class EntityState {
+    private static final EntityState ABSENT = new EntityState(Collections.emptyList(), false, -1, -1);
+
+    private final List<String> _paths;
+    private final boolean _removed;
+    private final long _seqNo;
+    private final long _primaryTerm;
+
+    private EntityState(@Nullable List<String> paths, boolean removed, long seqNo, long primaryTerm) {
+      _paths = paths == null ? Collections.emptyList() : paths;
+      _removed = removed;
+      _seqNo = seqNo;
+      _primaryTerm = primaryTerm;
+    }
+
+    @Nonnull
+    EntityState update(@Nullable Collection<String> paths, @Nullable Boolean removed) {
+      return new EntityState(paths == null ? _paths : new ArrayList<>(paths), removed == null ? _removed : removed,
+          _seqNo, _primaryTerm);
+    }
+
+    @Nonnull
+    Collection<String> getCountedPaths() {
+      return _removed ? Collections.emptyList() : _paths;
+    }
+
+    boolean sameAs(@Nonnull EntityState other) {
+      return this != ABSENT && other != ABSENT && _removed == other._removed
+          && new HashSet<>(_paths).equals(new HashSet<>(other._paths));
+    }
+  }
+}
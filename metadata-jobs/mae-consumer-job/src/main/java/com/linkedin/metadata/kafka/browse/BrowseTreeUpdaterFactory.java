@@ -0,0 +1,30 @@
+package com.linkedin.metadata.kafka.browse;
+
+import com.linkedin.gms.factory.common.RestHighLevelClientFactory;
+import javax.annotation.Nonnull;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+
+@Configuration
+public class BrowseTreeUpdaterFactory {
+
+  @Value("${BROWSE_TREE_ENABLED:false}")
+  private boolean enabled;
+
+  @Value("${BROWSE_TREE_FLUSH_MS:1000}")
+  private long flushMillis;
+
+  @Value("${BROWSE_TREE_CACHE_SIZE:100000}")
+  private long cacheSize;
+
+  @Bean(name = "browseTreeUpdater")
+  @Nonnull
+  public BrowseTreeUpdater createInstance(
+      @Qualifier(RestHighLevelClientFactory.INDEXING_CLIENT_BEAN) RestHighLevelClient indexingClient) {
+    return new BrowseTreeUpdater(indexingClient, enabled, flushMillis, cacheSize);
+  }
+}
@@ -0,0 +1,94 @@
+package com.linkedin.metadata.kafka.config;
+
+import com.linkedin.gms.factory.common.BulkLoadModeFactory;
+import com.linkedin.gms.factory.common.LocalEbeanServerConfigFactory;
+import com.linkedin.gms.factory.common.RestHighLevelClientFactory;
+import com.linkedin.metadata.dao.internal.BaseGraphWriterDAO;
+import com.linkedin.metadata.index.BulkLoadMode;
+import com.linkedin.metadata.index.IndexDefinitions;
+import com.linkedin.metadata.kafka.MetadataAuditEventsProcessor;
+import com.linkedin.metadata.kafka.browse.BrowseTreeUpdater;
+import com.linkedin.metadata.kafka.elasticsearch.ElasticsearchConnector;
+import com.linkedin.metadata.kafka.rebuild.IndexRebuilder;
+import com.linkedin.metadata.kafka.rebuild.RebuildCheckpoints;
+import com.linkedin.metadata.kafka.rebuild.SnapshotReader;
+import com.linkedin.metadata.utils.elasticsearch.IndexConvention;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+
+/**
+ * Rebuilds the search and graph indices from the GMS database on startup when REBUILD_INDICES is set.
+ *
+ * <p>MAEs keep being consumed during the rebuild. A rebuild interrupted midway resumes from the checkpoints kept in
+ * REBUILD_CHECKPOINT_FILE; delete the file to start over. With REBUILD_BULK_LOAD, the search indices are in
+ * {@link BulkLoadMode} for the duration of the rebuild, so searches do not see documents until it completes.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "REBUILD_INDICES", havingValue = "true")
+@Import({LocalEbeanServerConfigFactory.class, BulkLoadModeFactory.class})
+public class IndexRebuildConfig {
+
+  @Value("${REBUILD_CHECKPOINT_FILE:/tmp/datahub-index-rebuild.properties}")
+  private String checkpointFile;
+
+  @Value("${REBUILD_PARTITIONS:8}")
+  private int partitions;
+
+  @Value("${REBUILD_PAGE_SIZE:500}")
+  private int pageSize;
+
+  @Value("${REBUILD_ENTITIES_PER_SECOND:1000}")
+  private double entitiesPerSecond;
+
+  @Value("${REBUILD_BULK_LOAD:false}")
+  private boolean bulkLoad;
+
+  @Value("${ES_BULK_COMPRESSION:false}")
+  private boolean bulkCompression;
+
+  @Bean
+  public IndexRebuilder indexRebuilder(@Nonnull ServerConfig gmsEbeanServiceConfig,
+      @Nonnull MetadataAuditEventsProcessor metadataAuditEventsProcessor,
+      @Nonnull @Qualifier(RestHighLevelClientFactory.INDEXING_CLIENT_BEAN) RestHighLevelClient indexingClient,
+      @Nonnull BrowseTreeUpdater browseTreeUpdater, @Nonnull BaseGraphWriterDAO graphWriterDAO) throws IOException {
+    return new IndexRebuilder(new SnapshotReader(EbeanServerFactory.create(gmsEbeanServiceConfig)),
+        metadataAuditEventsProcessor, () -> ElasticsearchConnector.synchronous(indexingClient, bulkCompression),
+        browseTreeUpdater, graphWriterDAO,
+        new RebuildCheckpoints(Paths.get(checkpointFile)), partitions, pageSize, entitiesPerSecond);
+  }
+
+  @Bean
+  public CommandLineRunner indexRebuildRunner(@Nonnull IndexRebuilder indexRebuilder,
+      @Nonnull BulkLoadMode bulkLoadMode, @Nonnull IndexConvention indexConvention) {
+    return args -> {
+      log.info("Rebuilding search and graph indices from the GMS database");
+      final List<String> indices = IndexDefinitions.all().stream()
+          .map(definition -> indexConvention.getIndexName(definition.getDocumentClass()))
+          .collect(Collectors.toList());
+      final BulkLoadMode.Load load = bulkLoad ? bulkLoadMode.start(indices) : null;
+      try {
+        indexRebuilder.rebuild();
+      } finally {
+        if (load != null) {
+          load.close();
+        }
+      }
+    };
+  }
+}
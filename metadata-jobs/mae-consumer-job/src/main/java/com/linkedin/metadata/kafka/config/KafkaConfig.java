@@ -1,14 +1,17 @@
 package com.linkedin.metadata.kafka.config;
 
+import com.linkedin.mxe.serde.MxeAvroDeserializer;
+import com.linkedin.mxe.serde.MxeAvroSerializer;
 import io.confluent.kafka.serializers.AbstractKafkaAvroSerDeConfig;
-import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
@@ -25,14 +28,33 @@ public class KafkaConfig {
   private String kafkaBootstrapServer;
   @Value("${KAFKA_SCHEMAREGISTRY_URL:http://localhost:8081}")
   private String kafkaSchemaRegistryUrl;
+  // Events are keyed by URN, so all the events of an entity are on one partition and consumed by one thread
+  @Value("${KAFKA_LISTENER_CONCURRENCY:1}")
+  private int kafkaListenerConcurrency;
+  @Value("${KAFKA_PRODUCER_COMPRESSION_TYPE:lz4}")
+  private String compressionType;
 
   @Bean
   public KafkaListenerContainerFactory<?> kafkaListenerContainerFactory(KafkaProperties properties) {
+    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(buildConsumerProperties(properties)));
+    factory.setConcurrency(kafkaListenerConcurrency);
+
+    log.info("KafkaListenerContainerFactory built successfully");
+
+    return factory;
+  }
+
+  /**
+   * Builds the properties of consumers of MXEs.
+   */
+  public Map<String, Object> buildConsumerProperties(KafkaProperties properties) {
     KafkaProperties.Consumer consumerProps = properties.getConsumer();
 
     // Specify (de)serializers for record keys and for record values.
     consumerProps.setKeyDeserializer(StringDeserializer.class);
-    consumerProps.setValueDeserializer(KafkaAvroDeserializer.class);
+    consumerProps.setValueDeserializer(MxeAvroDeserializer.class);
     // Records will be flushed every 10 seconds.
     consumerProps.setEnableAutoCommit(true);
     consumerProps.setAutoCommitInterval(Duration.ofSeconds(10));
@@ -45,13 +67,27 @@ public class KafkaConfig {
     } // else we rely on KafkaProperties which defaults to localhost:9092
 
     props.put(AbstractKafkaAvroSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, kafkaSchemaRegistryUrl);
+    return props;
+  }
 
-    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
-        new ConcurrentKafkaListenerContainerFactory<>();
-    factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+  /**
+   * Builds the properties of producers of MXEs.
+   */
+  public Map<String, Object> buildProducerProperties(KafkaProperties properties) {
+    KafkaProperties.Producer producerProps = properties.getProducer();
 
-    log.info("KafkaListenerContainerFactory built successfully");
+    producerProps.setKeySerializer(StringSerializer.class);
+    producerProps.setValueSerializer(MxeAvroSerializer.class);
 
-    return factory;
+    Map<String, Object> props = properties.buildProducerProperties();
+
+    // KAFKA_BOOTSTRAP_SERVER has precedence over SPRING_KAFKA_BOOTSTRAP_SERVERS
+    if (kafkaBootstrapServer != null && kafkaBootstrapServer.length() > 0) {
+      props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, Arrays.asList(kafkaBootstrapServer.split(",")));
+    } // else we rely on KafkaProperties which defaults to localhost:9092
+
+    props.put(AbstractKafkaAvroSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, kafkaSchemaRegistryUrl);
+    props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+    return props;
   }
 }
@@ -0,0 +1,82 @@
+package com.linkedin.metadata.kafka.config;
+
+import com.linkedin.metadata.kafka.state.LatestStateFolder;
+import com.linkedin.metadata.kafka.state.SnapshotStore;
+import com.linkedin.mxe.Topics;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+
+/**
+ * Folds MAEs into the latest state topic when LATEST_STATE_ENABLED is set.
+ *
+ * <p>The topic, KAFKA_LATEST_STATE_TOPIC_NAME, is to be created log-compacted, with as many partitions as the MAE topic.
+ * The store of the latest snapshots is kept in LATEST_STATE_DIR, on a persistent volume so as not to catch up with the
+ * whole topic on every restart.
+ */
+@Configuration
+@ConditionalOnProperty(name = "LATEST_STATE_ENABLED", havingValue = "true")
+public class LatestStateConfig {
+
+  // How often the consumer, while all its partitions are paused catching up, checks whether they are caught up with
+  private static final long IDLE_EVENT_INTERVAL_MILLIS = 1000;
+
+  @Value("${KAFKA_LATEST_STATE_TOPIC_NAME:" + Topics.METADATA_LATEST_STATE + "}")
+  private String stateTopicName;
+
+  @Value("${LATEST_STATE_DIR:/tmp/datahub-latest-state}")
+  private String stateDir;
+
+  @Value("${LATEST_STATE_BATCH_SIZE:500}")
+  private int batchSize;
+
+  @Bean(destroyMethod = "close")
+  public SnapshotStore latestStateStore() throws IOException {
+    return new SnapshotStore(Paths.get(stateDir));
+  }
+
+  @Bean(destroyMethod = "close")
+  public LatestStateFolder latestStateFolder(@Nonnull SnapshotStore latestStateStore, @Nonnull KafkaConfig kafkaConfig,
+      @Nonnull KafkaProperties properties) {
+    final Map<String, Object> restoreProps = kafkaConfig.buildConsumerProperties(properties);
+    // Reads partitions of the latest state topic by itself, outside of any consumer group
+    restoreProps.remove(ConsumerConfig.GROUP_ID_CONFIG);
+    restoreProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    restoreProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchSize);
+
+    return new LatestStateFolder(latestStateStore,
+        new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(kafkaConfig.buildProducerProperties(properties))),
+        new DefaultKafkaConsumerFactory<>(restoreProps), stateTopicName);
+  }
+
+  @Bean
+  public KafkaListenerContainerFactory<?> latestStateListenerContainerFactory(@Nonnull KafkaConfig kafkaConfig,
+      @Nonnull KafkaProperties properties, @Nonnull LatestStateFolder latestStateFolder) {
+    final Map<String, Object> props = kafkaConfig.buildConsumerProperties(properties);
+    props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchSize);
+    // Fold all the MAEs still in the topic when first started
+    props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+    final ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+    factory.setBatchListener(true);
+    factory.getContainerProperties().setConsumerRebalanceListener(latestStateFolder);
+    factory.getContainerProperties().setIdleEventInterval(IDLE_EVENT_INTERVAL_MILLIS);
+    return factory;
+  }
+}
@@ -0,0 +1,53 @@
+package com.linkedin.metadata.kafka.delta;
+
+import com.linkedin.data.Data;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Computes the fields of a search document which changed between the documents built from the previous and the new
+ * value of the same aspects.
+ */
+public final class DocumentDelta {
+
+  private static final String URN_FIELD = "urn";
+
+  private DocumentDelta() {
+  }
+
+  /**
+   * Returns a document holding the urn, the fields of the new document whose value differs from the old one, and an
+   * explicit null for each field of the old document absent from the new one, so that updating the indexed document
+   * with it clears those. Returns null if no field changed.
+   */
+  @Nullable
+  public static <DOCUMENT extends RecordTemplate> DOCUMENT changedFields(@Nonnull DOCUMENT oldDocument,
+      @Nonnull DOCUMENT newDocument) {
+    final DataMap changed = new DataMap();
+    for (Map.Entry<String, Object> field : newDocument.data().entrySet()) {
+      if (!URN_FIELD.equals(field.getKey()) && !Objects.equals(field.getValue(), oldDocument.data().get(field.getKey()))) {
+        changed.put(field.getKey(), field.getValue());
+      }
+    }
+    for (String field : oldDocument.data().keySet()) {
+      if (!newDocument.data().containsKey(field)) {
+        changed.put(field, Data.NULL);
+      }
+    }
+    if (changed.isEmpty()) {
+      return null;
+    }
+    if (newDocument.data().containsKey(URN_FIELD)) {
+      changed.put(URN_FIELD, newDocument.data().get(URN_FIELD));
+    }
+    @SuppressWarnings("unchecked")
+    final Class<DOCUMENT> documentClass = (Class<DOCUMENT>) newDocument.getClass();
+    return RecordUtils.toRecordTemplate(documentClass, changed);
+  }
+}
@@ -0,0 +1,105 @@
+package com.linkedin.metadata.kafka.delta;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.builders.graph.GraphBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+
+/**
+ * The difference between the graph updates built from the previous and the new value of the same aspects: the
+ * entities which changed, and the relationships to add and to remove, so that only those are written to the graph
+ * rather than every relationship of the aspects being removed and added back.
+ *
+ * <p>Relationships and entities are compared by value, which for the records built by the graph builders covers their
+ * source, destination and properties.
+ */
+public final class GraphDelta {
+
+  private final List<RecordTemplate> _entities;
+  private final Map<Class<?>, List<RecordTemplate>> _addedRelationships;
+  private final List<RecordTemplate> _removedRelationships;
+
+  private GraphDelta(@Nonnull List<RecordTemplate> entities,
+      @Nonnull Map<Class<?>, List<RecordTemplate>> addedRelationships, @Nonnull List<RecordTemplate> removedRelationships) {
+    _entities = entities;
+    _addedRelationships = addedRelationships;
+    _removedRelationships = removedRelationships;
+  }
+
+  /**
+   * Computes the delta from the updates built from the previous value of some aspects to those built from their new
+   * value.
+   */
+  @Nonnull
+  public static GraphDelta compute(@Nonnull GraphBuilder.GraphUpdates oldUpdates,
+      @Nonnull GraphBuilder.GraphUpdates newUpdates) {
+    final Set<RecordTemplate> oldEntities = new HashSet<>(oldUpdates.getEntities());
+    final List<RecordTemplate> entities = new ArrayList<>();
+    for (RecordTemplate entity : newUpdates.getEntities()) {
+      if (!oldEntities.contains(entity)) {
+        entities.add(entity);
+      }
+    }
+
+    final Set<RecordTemplate> oldRelationships = relationships(oldUpdates);
+    final Set<RecordTemplate> newRelationships = relationships(newUpdates);
+    final Map<Class<?>, List<RecordTemplate>> added = new LinkedHashMap<>();
+    for (RecordTemplate relationship : newRelationships) {
+      if (!oldRelationships.contains(relationship)) {
+        added.computeIfAbsent(relationship.getClass(), type -> new ArrayList<>()).add(relationship);
+      }
+    }
+    final List<RecordTemplate> removed = new ArrayList<>();
+    for (RecordTemplate relationship : oldRelationships) {
+      if (!newRelationships.contains(relationship)) {
+        removed.add(relationship);
+      }
+    }
+    return new GraphDelta(entities, added, removed);
+  }
+
+  /**
+   * Returns the entities which are new or changed.
+   */
+  @Nonnull
+  public List<RecordTemplate> getEntities() {
+    return Collections.unmodifiableList(_entities);
+  }
+
+  /**
+   * Returns the relationships to add, by type.
+   */
+  @Nonnull
+  public Map<Class<?>, List<RecordTemplate>> getAddedRelationships() {
+    return Collections.unmodifiableMap(_addedRelationships);
+  }
+
+  /**
+   * Returns the relationships to remove.
+   */
+  @Nonnull
+  public List<RecordTemplate> getRemovedRelationships() {
+    return Collections.unmodifiableList(_removedRelationships);
+  }
+
+  public boolean isEmpty() {
+    return _entities.isEmpty() && _addedRelationships.isEmpty() && _removedRelationships.isEmpty();
+  }
+
+  @Nonnull
+  private static Set<RecordTemplate> relationships(@Nonnull GraphBuilder.GraphUpdates updates) {
+    final Set<RecordTemplate> relationships = new LinkedHashSet<>();
+    for (GraphBuilder.RelationshipUpdates update : updates.getRelationshipUpdates()) {
+      relationships.addAll(update.getRelationships());
+    }
+    return relationships;
+  }
+}
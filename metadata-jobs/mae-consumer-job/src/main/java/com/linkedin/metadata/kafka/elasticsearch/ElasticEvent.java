@@ -15,4 +15,12 @@ public abstract class ElasticEvent {
   public XContentBuilder buildJson() {
     return null;
   }
+
+  /**
+   * Builds the document to index when an update finds no document to apply to, which by default is the same as the
+   * update.
+   */
+  public XContentBuilder buildUpsertJson() {
+    return buildJson();
+  }
 }
\ No newline at end of file
@@ -1,9 +1,18 @@
 package com.linkedin.metadata.kafka.elasticsearch;
 
 import com.linkedin.events.metadata.ChangeType;
+import com.linkedin.metadata.cache.IndexGenerations;
+import com.linkedin.metadata.utils.elasticsearch.GzipBulkRequests;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
@@ -12,22 +21,53 @@ import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.TimeValue;
 
 @Slf4j
 public class ElasticsearchConnector {
 
   private BulkProcessor _bulkProcessor;
+  // Failures of the bulk requests of a synchronous connector since the last flush, null if none
+  private final AtomicReference<String> _failure = new AtomicReference<>();
   private static final int DEFAULT_NUMBER_OF_RETRIES = 3; // TODO: Test and also add these into config
   private static final long DEFAULT_RETRY_INTERVAL = 1L;
 
   public ElasticsearchConnector(RestHighLevelClient elasticSearchRestClient, Integer bulkRequestsLimit,
                                 Integer bulkFlushPeriod) {
-    initBulkProcessor(elasticSearchRestClient, bulkRequestsLimit, bulkFlushPeriod);
+    this(elasticSearchRestClient, bulkRequestsLimit, bulkFlushPeriod, false);
+  }
+
+  /**
+   * @param bulkCompression whether to gzip the bodies of bulk requests, see {@link GzipBulkRequests}
+   */
+  public ElasticsearchConnector(RestHighLevelClient elasticSearchRestClient, Integer bulkRequestsLimit,
+                                Integer bulkFlushPeriod, boolean bulkCompression) {
+    initBulkProcessor(elasticSearchRestClient, bulkRequestsLimit, bulkFlushPeriod, bulkCompression);
+  }
+
+  private ElasticsearchConnector() {
+  }
+
+  /**
+   * Returns a connector which only sends its requests when flushed, on the calling thread, and reports their failures
+   * through {@link #flushOrThrow()}. Used by writers which must know their documents were indexed before moving on.
+   */
+  @Nonnull
+  public static ElasticsearchConnector synchronous(@Nonnull RestHighLevelClient elasticSearchRestClient,
+      boolean bulkCompression) {
+    final ElasticsearchConnector connector = new ElasticsearchConnector();
+    connector.initBulkProcessor(elasticSearchRestClient, -1, null, bulkCompression, true);
+    return connector;
   }
 
   private void initBulkProcessor(RestHighLevelClient elasticSearchRestClient, Integer bulkRequestsLimit,
-                                 Integer bulkFlushPeriod) {
+                                 Integer bulkFlushPeriod, boolean bulkCompression) {
+    initBulkProcessor(elasticSearchRestClient, bulkRequestsLimit, bulkFlushPeriod, bulkCompression, false);
+  }
+
+  private void initBulkProcessor(RestHighLevelClient elasticSearchRestClient, Integer bulkRequestsLimit,
+                                 Integer bulkFlushPeriod, boolean bulkCompression, boolean synchronous) {
     BulkProcessor.Listener listener = new BulkProcessor.Listener() {
       @Override
       public void beforeBulk(long executionId, BulkRequest request) {
@@ -38,21 +78,38 @@ public class ElasticsearchConnector {
       public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
         log.info("Successfully feeded bulk request. Number of events: " + response.getItems().length + " Took time ms: "
             + response.getIngestTookInMillis());
+        bumpGenerations(elasticSearchRestClient, request, response);
+        if (synchronous && response.hasFailures()) {
+          _failure.accumulateAndGet(response.buildFailureMessage(), ElasticsearchConnector::join);
+        }
       }
 
       @Override
       public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
         log.info("Error feeding bulk request. No retries left", failure);
+        if (synchronous) {
+          _failure.accumulateAndGet(failure.toString(), ElasticsearchConnector::join);
+        }
       }
     };
 
-    _bulkProcessor = BulkProcessor.builder(
-        (request, bulkListener) -> elasticSearchRestClient.bulkAsync(request, RequestOptions.DEFAULT, bulkListener), listener)
+    final BulkProcessor.Builder builder = BulkProcessor.builder((request, bulkListener) -> {
+      if (bulkCompression) {
+        GzipBulkRequests.bulkAsync(elasticSearchRestClient, request, bulkListener);
+      } else {
+        elasticSearchRestClient.bulkAsync(request, RequestOptions.DEFAULT, bulkListener);
+      }
+    }, listener)
         .setBulkActions(bulkRequestsLimit)
-        .setFlushInterval(TimeValue.timeValueSeconds(bulkFlushPeriod))
         .setBackoffPolicy(BackoffPolicy.constantBackoff(TimeValue.timeValueSeconds(DEFAULT_RETRY_INTERVAL),
-            DEFAULT_NUMBER_OF_RETRIES))
-        .build();
+            DEFAULT_NUMBER_OF_RETRIES));
+    if (synchronous) {
+      // Bulk requests are then executed by the thread flushing, which waits for their responses
+      builder.setConcurrentRequests(0).setBulkSize(new ByteSizeValue(-1));
+    } else {
+      builder.setFlushInterval(TimeValue.timeValueSeconds(bulkFlushPeriod));
+    }
+    _bulkProcessor = builder.build();
   }
 
   public void feedElasticEvent(@Nonnull ElasticEvent event) {
@@ -65,6 +122,63 @@ public class ElasticsearchConnector {
     }
   }
 
+  /**
+   * Increments the generation of the indices written by a bulk request, invalidating the search results GMS cached
+   * for them.
+   */
+  private static void bumpGenerations(@Nonnull RestHighLevelClient elasticSearchRestClient,
+      @Nonnull BulkRequest bulkRequest, @Nonnull BulkResponse response) {
+    // Responses name the concrete indices written, while GMS queries aliases; use the names the requests were sent to.
+    final Set<String> indices = new HashSet<>();
+    for (BulkItemResponse item : response.getItems()) {
+      if (!item.isFailed()) {
+        indices.add(bulkRequest.requests().get(item.getItemId()).index());
+      }
+    }
+    if (indices.isEmpty()) {
+      return;
+    }
+    final BulkRequest request = new BulkRequest();
+    indices.forEach(index -> request.add(IndexGenerations.incrementRequest(index)));
+    elasticSearchRestClient.bulkAsync(request, RequestOptions.DEFAULT, new ActionListener<BulkResponse>() {
+      @Override
+      public void onResponse(BulkResponse bulkResponse) {
+        if (bulkResponse.hasFailures()) {
+          log.error("Failed to bump search index generations: {}", bulkResponse.buildFailureMessage());
+        }
+      }
+
+      @Override
+      public void onFailure(Exception e) {
+        log.error("Failed to bump search index generations", e);
+      }
+    });
+  }
+
+  /**
+   * Sends the requests added so far without waiting for the bulk size or flush interval to be reached.
+   */
+  public void flush() {
+    _bulkProcessor.flush();
+  }
+
+  /**
+   * Sends the requests added so far and waits for them, throwing if any failed. Only for {@link #synchronous}
+   * connectors.
+   */
+  public void flushOrThrow() throws IOException {
+    _bulkProcessor.flush();
+    final String failure = _failure.getAndSet(null);
+    if (failure != null) {
+      throw new IOException("Failed to index documents: " + failure);
+    }
+  }
+
+  @Nonnull
+  private static String join(@Nullable String previous, @Nonnull String failure) {
+    return previous == null ? failure : previous + "; " + failure;
+  }
+
   @Nonnull
   private static IndexRequest createIndexRequest(@Nonnull ElasticEvent event) {
     return new IndexRequest(event.getIndex()).id(event.getId()).source(event.buildJson());
@@ -77,7 +191,8 @@ public class ElasticsearchConnector {
 
   @Nonnull
   private static UpdateRequest createUpsertRequest(@Nonnull ElasticEvent event) {
-    final IndexRequest indexRequest = new IndexRequest(event.getIndex()).id(event.getId()).source(event.buildJson());
+    final IndexRequest indexRequest =
+        new IndexRequest(event.getIndex()).id(event.getId()).source(event.buildUpsertJson());
     return new UpdateRequest(event.getIndex(), event.getId()).doc(event.buildJson())
         .detectNoop(false)
         .upsert(indexRequest);
@@ -1,7 +1,9 @@
 package com.linkedin.metadata.kafka.elasticsearch;
 
+import com.linkedin.gms.factory.common.RestHighLevelClientFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,10 +21,14 @@ public class ElasticsearchConnectorFactory {
   @Value("${ES_BULK_FLUSH_PERIOD:1}")
   private Integer bulkFlushPeriod;
 
+  @Value("${ES_BULK_COMPRESSION:false}")
+  private boolean bulkCompression;
+
   @Bean(name = "elasticsearchConnector")
   @Nonnull
-  public ElasticsearchConnector createInstance(RestHighLevelClient elasticSearchRestHighLevelClient) {
-    return new ElasticsearchConnector(elasticSearchRestHighLevelClient, bulkRequestsLimit, bulkFlushPeriod);
+  public ElasticsearchConnector createInstance(
+      @Qualifier(RestHighLevelClientFactory.INDEXING_CLIENT_BEAN) RestHighLevelClient indexingClient) {
+    return new ElasticsearchConnector(indexingClient, bulkRequestsLimit, bulkFlushPeriod, bulkCompression);
   }
 
 }
\ No newline at end of file
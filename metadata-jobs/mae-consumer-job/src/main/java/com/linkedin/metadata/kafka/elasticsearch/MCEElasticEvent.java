@@ -15,17 +15,38 @@ import org.elasticsearch.common.xcontent.XContentType;
 public class MCEElasticEvent extends ElasticEvent {
 
   private final RecordTemplate _doc;
+  private final RecordTemplate _upsertDoc;
 
   public MCEElasticEvent(RecordTemplate doc) {
+    this(doc, doc);
+  }
+
+  /**
+   * @param doc the fields to update the document with
+   * @param upsertDoc the whole document, indexed when there is no document to update yet
+   */
+  public MCEElasticEvent(RecordTemplate doc, RecordTemplate upsertDoc) {
     this._doc = doc;
+    this._upsertDoc = upsertDoc;
   }
 
   @Override
   @Nullable
   public XContentBuilder buildJson() {
+    return toJson(this._doc);
+  }
+
+  @Override
+  @Nullable
+  public XContentBuilder buildUpsertJson() {
+    return toJson(this._upsertDoc);
+  }
+
+  @Nullable
+  private static XContentBuilder toJson(RecordTemplate doc) {
     XContentBuilder builder = null;
     try {
-      String jsonString = RecordUtils.toJsonString(this._doc);
+      String jsonString = RecordUtils.toJsonString(doc);
       builder = XContentFactory.jsonBuilder().prettyPrint();
       XContentParser parser = XContentFactory.xContent(XContentType.JSON)
           .createParser(NamedXContentRegistry.EMPTY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, jsonString);
@@ -0,0 +1,190 @@
+package com.linkedin.metadata.kafka.rebuild;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.builders.graph.BaseGraphBuilder;
+import com.linkedin.metadata.builders.graph.GraphBuilder;
+import com.linkedin.metadata.builders.graph.RegisteredGraphBuilders;
+import com.linkedin.metadata.dao.internal.BaseGraphWriterDAO;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.kafka.MetadataAuditEventsProcessor;
+import com.linkedin.metadata.kafka.browse.BrowseTreeUpdater;
+import com.linkedin.metadata.kafka.elasticsearch.ElasticsearchConnector;
+import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import io.micrometer.core.instrument.Counter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Rebuilds the search and graph indices from the aspects stored by EbeanLocalDAO, for when Elasticsearch or Neo4j was
+ * lost or got corrupted.
+ *
+ * <p>The aspect table is split into URN ranges processed concurrently by a pool of workers. Each worker reads its range
+ * page by page, runs every snapshot through the same index builders as {@link MetadataAuditEventsProcessor} and the
+ * {@link RegisteredGraphBuilders}, and writes the documents of a page in a bulk request and its graph updates in
+ * batches. Once both are written, the last URN of the page is checkpointed, so that a restarted rebuild resumes where it
+ * stopped without skipping any entity; a range whose documents fail to be written fails the rebuild. The number of entities processed per second is capped across all workers so the
+ * rebuild can run next to production traffic.
+ */
+@Slf4j
+public class IndexRebuilder {
+
+  private final SnapshotReader _reader;
+  private final MetadataAuditEventsProcessor _processor;
+  private final Supplier<ElasticsearchConnector> _elasticsearchConnectors;
+  private final BrowseTreeUpdater _browseTreeUpdater;
+  private final BaseGraphWriterDAO _graphWriterDAO;
+  private final RebuildCheckpoints _checkpoints;
+  private final int _partitions;
+  private final int _pageSize;
+  private final RateLimiter _rateLimiter;
+  private final Counter _entities = MetricUtils.get().counter("index.rebuild.entities");
+  private final AtomicInteger _remainingPartitions =
+      MetricUtils.get().gauge("index.rebuild.partitions.remaining", new AtomicInteger());
+
+  /**
+   * @param elasticsearchConnectors supplier of the {@link ElasticsearchConnector#synchronous} connectors the workers
+   *                                write documents with
+   * @param partitions number of URN ranges the aspect table is split into, which is also the number of workers
+   * @param pageSize number of entities read and written at once by a worker
+   * @param entitiesPerSecond maximum number of entities processed per second across all workers
+   */
+  public IndexRebuilder(@Nonnull SnapshotReader reader, @Nonnull MetadataAuditEventsProcessor processor,
+      @Nonnull Supplier<ElasticsearchConnector> elasticsearchConnectors, @Nonnull BrowseTreeUpdater browseTreeUpdater,
+      @Nonnull BaseGraphWriterDAO graphWriterDAO, @Nonnull RebuildCheckpoints checkpoints, int partitions, int pageSize,
+      double entitiesPerSecond) {
+    _reader = reader;
+    _processor = processor;
+    _elasticsearchConnectors = elasticsearchConnectors;
+    _browseTreeUpdater = browseTreeUpdater;
+    _graphWriterDAO = graphWriterDAO;
+    _checkpoints = checkpoints;
+    _partitions = partitions;
+    _pageSize = pageSize;
+    _rateLimiter = RateLimiter.create(entitiesPerSecond);
+  }
+
+  /**
+   * Rebuilds the indices from the latest checkpoints, blocking until every URN range is done.
+   */
+  public void rebuild() throws IOException, InterruptedException {
+    List<String> upperBounds = _checkpoints.getUpperBounds();
+    if (upperBounds == null) {
+      upperBounds = _reader.getUpperBounds(_partitions);
+      _checkpoints.setUpperBounds(upperBounds);
+      log.info("Split aspect table into {} URN ranges: {}", upperBounds.size(), upperBounds);
+    } else {
+      log.info("Resuming rebuild of {} URN ranges from checkpoints", upperBounds.size());
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(upperBounds.size());
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < upperBounds.size(); i++) {
+        if (_checkpoints.isDone(i)) {
+          continue;
+        }
+        final int partition = i;
+        final String lower = i == 0 ? null : upperBounds.get(i - 1);
+        final String upper = upperBounds.get(i);
+        _remainingPartitions.incrementAndGet();
+        futures.add(executor.submit(() -> {
+          rebuildPartition(partition, lower, upper);
+          _remainingPartitions.decrementAndGet();
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          throw new IOException("Failed to rebuild indices, rerun to resume from the last checkpoints", e.getCause());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    _browseTreeUpdater.flush();
+    log.info("Rebuilt search and graph indices, processed {} entities", (long) _entities.count());
+  }
+
+  /**
+   * Rebuilds the URNs greater than {@code lower} and at most {@code upper}, null bounds standing for the start and end
+   * of the table.
+   */
+  private void rebuildPartition(int partition, @Nullable String lower, @Nullable String upper) throws IOException {
+    final ElasticsearchConnector connector = _elasticsearchConnectors.get();
+    final String lastUrn = _checkpoints.getLastUrn(partition);
+    String after = lastUrn != null ? lastUrn : lower;
+    while (true) {
+      final List<String> urns = _reader.getUrns(after, upper, _pageSize);
+      if (urns.isEmpty()) {
+        _checkpoints.update(partition, after, true);
+        log.info("Rebuilt URN range {} ending at {}", partition, upper);
+        return;
+      }
+      _rateLimiter.acquire(urns.size());
+
+      final List<Snapshot> snapshots = _reader.getSnapshots(urns);
+      for (Snapshot snapshot : snapshots) {
+        _processor.updateElasticsearch(snapshot, connector);
+      }
+      writeGraph(snapshots);
+      connector.flushOrThrow();
+      _browseTreeUpdater.flush();
+
+      after = urns.get(urns.size() - 1);
+      _checkpoints.update(partition, after, false);
+      _entities.increment(urns.size());
+    }
+  }
+
+  /**
+   * Writes the graph updates of the given snapshots, batching the entities of all of them into a single write.
+   *
+   * <p>Relationships are written per {@link GraphBuilder.RelationshipUpdates}, as {@link MetadataAuditEventsProcessor}
+   * does, since their pre-update operation removes the edges of the source or destination of the first relationship
+   * only.
+   */
+  @SuppressWarnings("unchecked")
+  private void writeGraph(@Nonnull List<Snapshot> snapshots) {
+    final List<RecordTemplate> entities = new ArrayList<>();
+    final List<GraphBuilder.RelationshipUpdates> relationshipUpdates = new ArrayList<>();
+    for (Snapshot snapshot : snapshots) {
+      final RecordTemplate record = RecordUtils.getSelectedRecordTemplateFromUnion(snapshot);
+      final Optional<BaseGraphBuilder> graphBuilder = RegisteredGraphBuilders.getGraphBuilder(record.getClass());
+      if (!graphBuilder.isPresent()) {
+        continue;
+      }
+      final GraphBuilder.GraphUpdates updates = graphBuilder.get().build(record);
+      entities.addAll(updates.getEntities());
+      relationshipUpdates.addAll(updates.getRelationshipUpdates());
+    }
+
+    try {
+      if (!entities.isEmpty()) {
+        _graphWriterDAO.addEntities(entities);
+      }
+      for (GraphBuilder.RelationshipUpdates update : relationshipUpdates) {
+        if (!update.getRelationships().isEmpty()) {
+          _graphWriterDAO.addRelationships(update.getRelationships(), update.getPreUpdateOperation());
+        }
+      }
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to write graph updates", e);
+    }
+  }
+}
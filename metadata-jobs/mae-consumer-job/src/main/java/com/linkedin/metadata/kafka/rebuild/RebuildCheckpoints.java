@@ -0,0 +1,99 @@
+package com.linkedin.metadata.kafka.rebuild;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Progress of an index rebuild, persisted to a properties file so that a rebuild can be resumed after a restart.
+ *
+ * <p>Holds the URN ranges the aspect table was partitioned into along with, for each partition, the last URN written
+ * to the indices and whether the partition is done.
+ */
+public class RebuildCheckpoints {
+
+  private static final String PARTITIONS = "partitions";
+
+  private final Path _file;
+  private final Properties _properties = new Properties();
+
+  public RebuildCheckpoints(@Nonnull Path file) throws IOException {
+    _file = file;
+    if (Files.exists(file)) {
+      try (InputStream in = Files.newInputStream(file)) {
+        _properties.load(in);
+      }
+    }
+  }
+
+  /**
+   * Returns the inclusive upper bounds of the partitions, null standing for the end of the table, or null if the table
+   * hasn't been partitioned yet.
+   */
+  @Nullable
+  public synchronized List<String> getUpperBounds() {
+    final String partitions = _properties.getProperty(PARTITIONS);
+    if (partitions == null) {
+      return null;
+    }
+    final List<String> upperBounds = new ArrayList<>();
+    for (int i = 0; i < Integer.parseInt(partitions); i++) {
+      upperBounds.add(_properties.getProperty(key(i, "upper")));
+    }
+    return upperBounds;
+  }
+
+  public synchronized void setUpperBounds(@Nonnull List<String> upperBounds) throws IOException {
+    _properties.clear();
+    _properties.setProperty(PARTITIONS, String.valueOf(upperBounds.size()));
+    for (int i = 0; i < upperBounds.size(); i++) {
+      if (upperBounds.get(i) != null) {
+        _properties.setProperty(key(i, "upper"), upperBounds.get(i));
+      }
+    }
+    save();
+  }
+
+  /**
+   * Returns the last URN of the given partition written to the indices, or null if none was.
+   */
+  @Nullable
+  public synchronized String getLastUrn(int partition) {
+    return _properties.getProperty(key(partition, "last"));
+  }
+
+  public synchronized boolean isDone(int partition) {
+    return Boolean.parseBoolean(_properties.getProperty(key(partition, "done")));
+  }
+
+  public synchronized void update(int partition, @Nullable String lastUrn, boolean done) throws IOException {
+    if (lastUrn != null) {
+      _properties.setProperty(key(partition, "last"), lastUrn);
+    }
+    _properties.setProperty(key(partition, "done"), String.valueOf(done));
+    save();
+  }
+
+  private void save() throws IOException {
+    // Write to a temporary file first so that a crash never leaves a truncated checkpoint behind.
+    final Path tmp = _file.resolveSibling(_file.getFileName() + ".tmp");
+    try (OutputStream out = Files.newOutputStream(tmp)) {
+      _properties.store(out, "Index rebuild checkpoints");
+    }
+    Files.move(tmp, _file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  @Nonnull
+  private static String key(int partition, @Nonnull String field) {
+    return "partition." + partition + "." + field;
+  }
+}
@@ -0,0 +1,186 @@
+package com.linkedin.metadata.kafka.rebuild;
+
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.schema.UnionDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.snapshot.ChartSnapshot;
+import com.linkedin.metadata.snapshot.CorpGroupSnapshot;
+import com.linkedin.metadata.snapshot.CorpUserSnapshot;
+import com.linkedin.metadata.snapshot.DashboardSnapshot;
+import com.linkedin.metadata.snapshot.DataFlowSnapshot;
+import com.linkedin.metadata.snapshot.DataJobSnapshot;
+import com.linkedin.metadata.snapshot.DataProcessSnapshot;
+import com.linkedin.metadata.snapshot.DatasetSnapshot;
+import com.linkedin.metadata.snapshot.MLFeatureSnapshot;
+import com.linkedin.metadata.snapshot.MLModelSnapshot;
+import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.metadata.snapshot.TagSnapshot;
+import io.ebean.EbeanServer;
+import io.ebean.SqlQuery;
+import io.ebean.SqlRow;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Reads the latest version of every aspect from the 'metadata_aspect' table written by EbeanLocalDAO, page by page in
+ * URN order, and assembles them into {@link Snapshot}s.
+ */
+@Slf4j
+public class SnapshotReader {
+
+  private static final long LATEST_VERSION = 0;
+  private static final JacksonDataCodec CODEC = new JacksonDataCodec();
+
+  /**
+   * Snapshot types keyed by the entity type of their URN.
+   */
+  private static final Map<String, Class<? extends RecordTemplate>> SNAPSHOT_CLASSES =
+      ImmutableMap.<String, Class<? extends RecordTemplate>>builder()
+          .put("chart", ChartSnapshot.class)
+          .put("corpGroup", CorpGroupSnapshot.class)
+          .put("corpuser", CorpUserSnapshot.class)
+          .put("dashboard", DashboardSnapshot.class)
+          .put("dataFlow", DataFlowSnapshot.class)
+          .put("dataJob", DataJobSnapshot.class)
+          .put("dataProcess", DataProcessSnapshot.class)
+          .put("dataset", DatasetSnapshot.class)
+          .put("mlFeature", MLFeatureSnapshot.class)
+          .put("mlModel", MLModelSnapshot.class)
+          .put("tag", TagSnapshot.class)
+          .build();
+
+  private final EbeanServer _server;
+
+  public SnapshotReader(@Nonnull EbeanServer server) {
+    _server = server;
+  }
+
+  /**
+   * Splits the URNs of the table into {@code partitions} ranges holding about as many aspects each, returning the
+   * inclusive upper bound of each range. The bound of the last range is null.
+   */
+  @Nonnull
+  public List<String> getUpperBounds(int partitions) {
+    final long count = _server.createSqlQuery("SELECT COUNT(*) AS cnt FROM metadata_aspect WHERE version = :version")
+        .setParameter("version", LATEST_VERSION)
+        .findOne()
+        .getLong("cnt");
+    final List<String> upperBounds = new ArrayList<>();
+    for (int i = 1; i < partitions; i++) {
+      final SqlRow row = _server.createSqlQuery(
+          "SELECT urn FROM metadata_aspect WHERE version = :version ORDER BY urn LIMIT 1 OFFSET :offset")
+          .setParameter("version", LATEST_VERSION)
+          .setParameter("offset", count * i / partitions)
+          .findOne();
+      if (row != null && (upperBounds.isEmpty() || !row.getString("urn").equals(upperBounds.get(upperBounds.size() - 1)))) {
+        upperBounds.add(row.getString("urn"));
+      }
+    }
+    upperBounds.add(null);
+    return upperBounds;
+  }
+
+  /**
+   * Returns up to {@code limit} URNs greater than {@code after} and at most {@code upper}, in order.
+   */
+  @Nonnull
+  public List<String> getUrns(@Nullable String after, @Nullable String upper, int limit) {
+    final StringBuilder sql = new StringBuilder("SELECT DISTINCT urn FROM metadata_aspect WHERE version = :version");
+    if (after != null) {
+      sql.append(" AND urn > :after");
+    }
+    if (upper != null) {
+      sql.append(" AND urn <= :upper");
+    }
+    sql.append(" ORDER BY urn LIMIT :limit");
+
+    final SqlQuery query = _server.createSqlQuery(sql.toString())
+        .setParameter("version", LATEST_VERSION)
+        .setParameter("limit", limit);
+    if (after != null) {
+      query.setParameter("after", after);
+    }
+    if (upper != null) {
+      query.setParameter("upper", upper);
+    }
+    final List<String> urns = new ArrayList<>();
+    for (SqlRow row : query.findList()) {
+      urns.add(row.getString("urn"));
+    }
+    return urns;
+  }
+
+  /**
+   * Returns a {@link Snapshot} holding the latest version of every aspect of each of the given URNs. URNs of unknown
+   * entity types are skipped, as are aspects which are not part of the snapshot of their entity.
+   */
+  @Nonnull
+  public List<Snapshot> getSnapshots(@Nonnull List<String> urns) {
+    if (urns.isEmpty()) {
+      return new ArrayList<>();
+    }
+    final Map<String, DataList> aspectsByUrn = new LinkedHashMap<>();
+    final List<SqlRow> rows = _server.createSqlQuery(
+        "SELECT urn, aspect, metadata FROM metadata_aspect WHERE version = :version AND urn IN (:urns)")
+        .setParameter("version", LATEST_VERSION)
+        .setParameter("urns", urns)
+        .findList();
+    for (SqlRow row : rows) {
+      final String urn = row.getString("urn");
+      final Class<? extends RecordTemplate> snapshotClass = getSnapshotClass(urn);
+      if (snapshotClass == null || !isAspectOf(snapshotClass, row.getString("aspect"))) {
+        continue;
+      }
+      try {
+        final DataMap aspect = new DataMap();
+        aspect.put(row.getString("aspect"), CODEC.stringToMap(row.getString("metadata")));
+        aspectsByUrn.computeIfAbsent(urn, key -> new DataList()).add(aspect);
+      } catch (IOException e) {
+        log.error("Failed to parse aspect {} of {}", row.getString("aspect"), urn, e);
+      }
+    }
+
+    final List<Snapshot> snapshots = new ArrayList<>();
+    for (Map.Entry<String, DataList> entry : aspectsByUrn.entrySet()) {
+      final DataMap snapshot = new DataMap();
+      snapshot.put("urn", entry.getKey());
+      snapshot.put("aspects", entry.getValue());
+      final DataMap union = new DataMap();
+      union.put(getSnapshotClass(entry.getKey()).getName(), snapshot);
+      snapshots.add(new Snapshot(union));
+    }
+    return snapshots;
+  }
+
+  @Nullable
+  private static Class<? extends RecordTemplate> getSnapshotClass(@Nonnull String urn) {
+    try {
+      return SNAPSHOT_CLASSES.get(Urn.createFromString(urn).getEntityType());
+    } catch (URISyntaxException e) {
+      log.error("Skipping invalid urn {}", urn);
+      return null;
+    }
+  }
+
+  private static boolean isAspectOf(@Nonnull Class<? extends RecordTemplate> snapshotClass, @Nonnull String aspect) {
+    final RecordDataSchema schema = (RecordDataSchema) DataTemplateUtil.getSchema(snapshotClass);
+    final ArrayDataSchema aspects = (ArrayDataSchema) schema.getField("aspects").getType().getDereferencedDataSchema();
+    final UnionDataSchema aspectUnion = (UnionDataSchema) aspects.getItems().getDereferencedDataSchema();
+    return aspectUnion.getTypeByMemberKey(aspect) != null;
+  }
+}
@@ -0,0 +1,326 @@
+package com.linkedin.metadata.kafka.state;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.MetadataAuditEvent;
+import com.linkedin.mxe.Topics;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.ListenableFuture;
+
+
+/**
+ * Folds MAEs into the latest snapshot of every entity, kept in a {@link SnapshotStore} and published to the latest
+ * state topic, a log-compacted topic keyed by URN from which consumers can bootstrap the current state of all entities
+ * rather than fetching it from GMS.
+ *
+ * <p>The latest state of the entities of partition N of the MAE topic is published to partition N of the latest state
+ * topic, which must therefore have as many partitions. When it is assigned a partition, the folder first catches its
+ * store up with the latest state published to that partition since its checkpoint, by another instance of the job or
+ * before the store was lost, so that it folds MAEs into up to date snapshots. The partition is paused meanwhile, and
+ * caught up with on a thread of its own, so that the consumer keeps polling rather than being evicted from its group
+ * by a long catch up.
+ *
+ * <p>MAEs are folded in batches. A batch whose latest state fails to be published or stored is folded again, which
+ * changes nothing for the MAEs already folded. The number of MAEs folded is published as the 'mae.latest.state.events'
+ * counter, tagged with the result, and the number of snapshots caught up with as 'mae.latest.state.restored'.
+ */
+@Slf4j
+public class LatestStateFolder implements ConsumerAwareRebalanceListener, Closeable {
+
+  public static final String LISTENER_ID = "mae-consumer-job-latest-state";
+
+  private static final JacksonDataCodec CODEC = new JacksonDataCodec();
+  private static final Duration RESTORE_POLL_TIMEOUT = Duration.ofSeconds(1);
+
+  private final SnapshotStore _store;
+  private final KafkaTemplate<String, GenericRecord> _kafkaTemplate;
+  private final ConsumerFactory<String, GenericRecord> _restoreConsumerFactory;
+  private final String _stateTopic;
+  // Catch ups of the partitions of the MAE topic which are paused until they are done
+  private final Map<TopicPartition, Future<?>> _restores = new ConcurrentHashMap<>();
+  private final ExecutorService _restoreExecutor = Executors.newSingleThreadExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "latest-state-restore");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * @param store the store of the latest snapshots
+   * @param kafkaTemplate the template to publish the latest snapshots with
+   * @param restoreConsumerFactory the factory of the consumers reading the latest state topic to catch up with it,
+   *                               without a consumer group
+   * @param stateTopic the latest state topic
+   */
+  public LatestStateFolder(@Nonnull SnapshotStore store, @Nonnull KafkaTemplate<String, GenericRecord> kafkaTemplate,
+      @Nonnull ConsumerFactory<String, GenericRecord> restoreConsumerFactory, @Nonnull String stateTopic) {
+    _store = store;
+    _kafkaTemplate = kafkaTemplate;
+    _restoreConsumerFactory = restoreConsumerFactory;
+    _stateTopic = stateTopic;
+  }
+
+  @KafkaListener(id = LISTENER_ID,
+      groupId = "${KAFKA_LATEST_STATE_CONSUMER_GROUP_ID:mae-consumer-job-latest-state}",
+      topics = "${KAFKA_TOPIC_NAME:" + Topics.METADATA_AUDIT_EVENT + "}",
+      containerFactory = "latestStateListenerContainerFactory")
+  public void consume(final List<ConsumerRecord<String, GenericRecord>> consumerRecords, final Consumer<?, ?> consumer) {
+    resumeRestored(consumer);
+
+    // Offsets of the first MAEs of the batch, to fold them again should publishing or storing fail, by partition
+    final Map<TopicPartition, Long> firstOffsets = new HashMap<>();
+    for (ConsumerRecord<String, GenericRecord> consumerRecord : consumerRecords) {
+      firstOffsets.putIfAbsent(new TopicPartition(consumerRecord.topic(), consumerRecord.partition()),
+          consumerRecord.offset());
+    }
+    final List<ListenableFuture<SendResult<String, GenericRecord>>> sends = new ArrayList<>();
+    int skipped = 0;
+
+    try {
+      for (ConsumerRecord<String, GenericRecord> consumerRecord : consumerRecords) {
+        final DataMap update = toSnapshot(consumerRecord);
+        if (update == null) {
+          skipped++;
+          continue;
+        }
+        final String urn = SnapshotMerger.getUrn(update);
+        final byte[] stateBytes = _store.get(urn);
+        final DataMap state = SnapshotMerger.merge(stateBytes == null ? null : CODEC.bytesToMap(stateBytes), update);
+        // Converted before the store is updated, so that a snapshot which cannot be published is not stored either
+        final GenericRecord stateRecord = toLatestStateRecord(consumerRecord, state);
+        if (stateRecord == null) {
+          skipped++;
+          continue;
+        }
+        _store.put(urn, CODEC.mapToBytes(state));
+        sends.add(_kafkaTemplate.send(new ProducerRecord<>(_stateTopic, consumerRecord.partition(), urn, stateRecord)));
+      }
+    } catch (IOException e) {
+      log.error("Failed to store the latest state, folding the batch again", e);
+      MetricUtils.get().counter("mae.latest.state.events", "result", "failure").increment(consumerRecords.size());
+      firstOffsets.forEach(consumer::seek);
+      return;
+    }
+    _kafkaTemplate.flush();
+
+    final Map<Integer, Long> checkpoints = new HashMap<>();
+    try {
+      for (ListenableFuture<SendResult<String, GenericRecord>> send : sends) {
+        final SendResult<String, GenericRecord> result = send.get();
+        checkpoints.merge(result.getRecordMetadata().partition(), result.getRecordMetadata().offset() + 1, Math::max);
+      }
+      _store.checkpoint(checkpoints);
+    } catch (ExecutionException e) {
+      log.error("Failed to publish the latest state, folding the batch again", e.getCause());
+      MetricUtils.get().counter("mae.latest.state.events", "result", "failure").increment(consumerRecords.size());
+      firstOffsets.forEach(consumer::seek);
+      return;
+    } catch (IOException e) {
+      log.error("Failed to checkpoint the latest state, folding the batch again", e);
+      MetricUtils.get().counter("mae.latest.state.events", "result", "failure").increment(consumerRecords.size());
+      firstOffsets.forEach(consumer::seek);
+      return;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      firstOffsets.forEach(consumer::seek);
+      return;
+    }
+    MetricUtils.get().counter("mae.latest.state.events", "result", "success").increment(sends.size());
+    MetricUtils.get().counter("mae.latest.state.events", "result", "skipped").increment(skipped);
+  }
+
+  /**
+   * Pauses the partitions assigned and catches up with the latest state published to them, to be resumed once done.
+   */
+  @Override
+  public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    if (partitions.isEmpty()) {
+      return;
+    }
+    final String maeTopic = partitions.iterator().next().topic();
+    final int maePartitions = getPartitionCount(consumer, maeTopic);
+    final int statePartitions = getPartitionCount(consumer, _stateTopic);
+    if (statePartitions != maePartitions) {
+      throw new IllegalStateException(String.format("The latest state topic %s has %d partitions rather than the %d of %s",
+          _stateTopic, statePartitions, maePartitions, maeTopic));
+    }
+    consumer.pause(partitions);
+    for (TopicPartition partition : partitions) {
+      _restores.put(partition, submitRestore(partition.partition()));
+    }
+  }
+
+  @Override
+  public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    // No longer paused; a catch up still running only adds snapshots the next owner of the partition catches up with
+    partitions.forEach(_restores::remove);
+  }
+
+  /**
+   * Resumes the partitions which are caught up with when the consumer receives no MAEs, as happens when all its
+   * partitions are paused.
+   */
+  @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+  public void onIdle(@Nonnull ListenerContainerIdleEvent event) {
+    resumeRestored(event.getConsumer());
+  }
+
+  /**
+   * Resumes the partitions of the given consumer which are caught up with, and catches up with those which failed to
+   * again.
+   */
+  void resumeRestored(@Nonnull Consumer<?, ?> consumer) {
+    final List<TopicPartition> restored = new ArrayList<>();
+    final Iterator<Map.Entry<TopicPartition, Future<?>>> iterator = _restores.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<TopicPartition, Future<?>> entry = iterator.next();
+      if (!consumer.assignment().contains(entry.getKey()) || !entry.getValue().isDone()) {
+        // Assigned to the consumer of another container, or still catching up
+        continue;
+      }
+      try {
+        entry.getValue().get();
+        restored.add(entry.getKey());
+        iterator.remove();
+      } catch (ExecutionException e) {
+        log.error("Failed to restore partition {} of {}, retrying", entry.getKey().partition(), _stateTopic,
+            e.getCause());
+        MetricUtils.get().counter("mae.latest.state.restore.failures").increment();
+        entry.setValue(submitRestore(entry.getKey().partition()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    if (!restored.isEmpty()) {
+      consumer.resume(restored);
+    }
+  }
+
+  /**
+   * Stops catching up with the latest state topic.
+   */
+  @Override
+  public void close() {
+    _restoreExecutor.shutdownNow();
+  }
+
+  @Nonnull
+  private Future<?> submitRestore(int partition) {
+    return _restoreExecutor.submit(() -> {
+      restore(partition);
+      return null;
+    });
+  }
+
+  private static int getPartitionCount(@Nonnull Consumer<?, ?> consumer, @Nonnull String topic) {
+    final List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+    if (partitions == null || partitions.isEmpty()) {
+      throw new IllegalStateException("Topic " + topic + " does not exist");
+    }
+    return partitions.size();
+  }
+
+  /**
+   * Puts the snapshots published to the given partition of the latest state topic since the checkpoint of the partition
+   * into the store.
+   */
+  private void restore(int partition) throws IOException {
+    final TopicPartition statePartition = new TopicPartition(_stateTopic, partition);
+    try (Consumer<String, GenericRecord> consumer = _restoreConsumerFactory.createConsumer()) {
+      consumer.assign(Collections.singletonList(statePartition));
+      final long end = consumer.endOffsets(Collections.singletonList(statePartition)).get(statePartition);
+      long checkpoint = _store.getCheckpoint(partition);
+      if (checkpoint > end) {
+        log.warn("Checkpoint {} of {} is past its end {}, restoring it from the beginning", checkpoint, statePartition,
+            end);
+        checkpoint = 0;
+      }
+      if (checkpoint == end) {
+        return;
+      }
+
+      log.info("Restoring {} from offset {} to {}", statePartition, checkpoint, end);
+      consumer.seek(statePartition, checkpoint);
+      long restored = 0;
+      while (consumer.position(statePartition) < end) {
+        for (ConsumerRecord<String, GenericRecord> consumerRecord : consumer.poll(RESTORE_POLL_TIMEOUT)) {
+          final DataMap state = toSnapshot(consumerRecord);
+          if (state != null) {
+            _store.put(SnapshotMerger.getUrn(state), CODEC.mapToBytes(state));
+            restored++;
+          }
+        }
+      }
+      _store.checkpoint(Collections.singletonMap(partition, end));
+      MetricUtils.get().counter("mae.latest.state.restored").increment(restored);
+      log.info("Restored {} snapshots from {}", restored, statePartition);
+    }
+  }
+
+  /**
+   * Returns the data of the new snapshot of the MAE of the given record, or null if it cannot be read.
+   */
+  @Nullable
+  private static DataMap toSnapshot(@Nonnull ConsumerRecord<String, GenericRecord> consumerRecord) {
+    if (consumerRecord.value() == null) {
+      return null;
+    }
+    try {
+      final MetadataAuditEvent event = EventUtils.avroToPegasusMAE(consumerRecord.value());
+      return event.hasNewSnapshot() ? (DataMap) event.getNewSnapshot().data() : null;
+    } catch (Exception e) {
+      log.error("Failed to read the MAE at offset {} of {}-{}", consumerRecord.offset(), consumerRecord.topic(),
+          consumerRecord.partition(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns the record of the given latest state of the entity of the MAE of the given record, or null if it cannot be
+   * converted to Avro, which folding it again would not help.
+   */
+  @Nullable
+  private static GenericRecord toLatestStateRecord(@Nonnull ConsumerRecord<String, GenericRecord> consumerRecord,
+      @Nonnull DataMap state) {
+    try {
+      return EventUtils.pegasusToAvroMAE(new MetadataAuditEvent().setNewSnapshot(new Snapshot(state)));
+    } catch (Exception e) {
+      log.error("Failed to convert the latest state of the MAE at offset {} of {}-{}", consumerRecord.offset(),
+          consumerRecord.topic(), consumerRecord.partition(), e);
+      return null;
+    }
+  }
+}
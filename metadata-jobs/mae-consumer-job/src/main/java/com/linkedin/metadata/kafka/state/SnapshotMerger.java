@@ -0,0 +1,87 @@
+package com.linkedin.metadata.kafka.state;
+
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.metadata.snapshot.Snapshot;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Folds the aspects of the snapshots of MAEs into the latest snapshot of their entity, working on the data of
+ * {@link Snapshot} unions so as not to depend on the type of entity.
+ */
+public final class SnapshotMerger {
+
+  private static final String URN_FIELD = "urn";
+  private static final String ASPECTS_FIELD = "aspects";
+
+  private SnapshotMerger() {
+  }
+
+  /**
+   * Returns the snapshot holding the aspects of the given update along with the aspects of the given state it does not
+   * have, in their original order.
+   *
+   * @param state data of the latest snapshot of the entity, or null if there is none
+   * @param update data of the new snapshot of an MAE of the entity
+   */
+  @Nonnull
+  public static DataMap merge(@Nullable DataMap state, @Nonnull DataMap update) {
+    final String memberKey = getMemberKey(update);
+    if (state == null || !state.containsKey(memberKey)) {
+      return update;
+    }
+    final DataMap updateSnapshot = update.getDataMap(memberKey);
+
+    final DataList aspects = new DataList();
+    final DataList stateAspects = state.getDataMap(memberKey).getDataList(ASPECTS_FIELD);
+    if (stateAspects != null) {
+      aspects.addAll(stateAspects);
+    }
+    for (Object aspect : updateSnapshot.getDataList(ASPECTS_FIELD)) {
+      final String aspectKey = getMemberKey((DataMap) aspect);
+      final int index = indexOf(aspects, aspectKey);
+      if (index < 0) {
+        aspects.add(aspect);
+      } else {
+        aspects.set(index, aspect);
+      }
+    }
+
+    final DataMap snapshot = new DataMap();
+    snapshot.put(URN_FIELD, updateSnapshot.get(URN_FIELD));
+    snapshot.put(ASPECTS_FIELD, aspects);
+    final DataMap merged = new DataMap();
+    merged.put(memberKey, snapshot);
+    return merged;
+  }
+
+  /**
+   * Returns the URN of the entity of the given snapshot.
+   */
+  @Nonnull
+  public static String getUrn(@Nonnull DataMap snapshot) {
+    return snapshot.getDataMap(getMemberKey(snapshot)).getString(URN_FIELD);
+  }
+
+  private static int indexOf(@Nonnull DataList aspects, @Nonnull String aspectKey) {
+    for (int i = 0; i < aspects.size(); i++) {
+      if (((DataMap) aspects.get(i)).containsKey(aspectKey)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the key of the member of the given union, which is the fully qualified name of its type.
+   */
+  @Nonnull
+  private static String getMemberKey(@Nonnull DataMap union) {
+    if (union.size() != 1) {
+      throw new IllegalArgumentException("Expected a union with a single member, got " + union.keySet());
+    }
+    return union.keySet().iterator().next();
+  }
+}
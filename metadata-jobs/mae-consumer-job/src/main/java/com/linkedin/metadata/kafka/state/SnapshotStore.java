@@ -0,0 +1,276 @@
+package com.linkedin.metadata.kafka.state;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * A file-backed store of the latest snapshot of every entity, keyed by URN.
+ *
+ * <p>Values are appended to a log file, with the position of the latest value of every key kept in memory, so that only
+ * the keys need to fit in memory. The log is compacted, rewriting the latest value of every key only, once most of it
+ * is made of overwritten values; should compaction fail, the store keeps using the log as it is until it doubles. A
+ * record cut short by a crash is dropped when the log is opened.
+ *
+ * <p>Alongside the log, the store keeps checkpoints: for every partition of the latest state topic, the offset up to
+ * which the values of its entities are in the store.
+ */
+@Slf4j
+public class SnapshotStore implements Closeable {
+
+  private static final String LOG_FILE = "snapshots.log";
+  private static final String CHECKPOINTS_FILE = "checkpoints";
+  private static final int HEADER_BYTES = 8;
+  // Compact only logs of at least this size, not to rewrite small logs over and over
+  private static final long MIN_COMPACTION_BYTES = 64L * 1024 * 1024;
+
+  private final Path _dir;
+  private final Map<String, Location> _locations = new HashMap<>();
+  private final Properties _checkpoints = new Properties();
+  private FileChannel _channel;
+  private long _size;
+  private long _liveBytes;
+  private long _minCompactionBytes;
+
+  public SnapshotStore(@Nonnull Path dir) throws IOException {
+    this(dir, MIN_COMPACTION_BYTES);
+  }
+
+  SnapshotStore(@Nonnull Path dir, long minCompactionBytes) throws IOException {
+    _dir = dir;
+    _minCompactionBytes = minCompactionBytes;
+    Files.createDirectories(dir);
+    final Path checkpoints = dir.resolve(CHECKPOINTS_FILE);
+    if (Files.exists(checkpoints)) {
+      try (InputStream in = Files.newInputStream(checkpoints)) {
+        _checkpoints.load(in);
+      }
+    }
+    _channel = open(dir.resolve(LOG_FILE));
+    load();
+    log.info("Opened snapshot store of {} entities in {}", _locations.size(), dir);
+  }
+
+  /**
+   * Returns the latest value of the given key, or null if there is none.
+   */
+  @Nullable
+  public synchronized byte[] get(@Nonnull String key) throws IOException {
+    final Location location = _locations.get(key);
+    return location == null ? null : read(_channel, location);
+  }
+
+  public synchronized void put(@Nonnull String key, @Nonnull byte[] value) throws IOException {
+    final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    final ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + keyBytes.length + value.length);
+    record.putInt(keyBytes.length).putInt(value.length).put(keyBytes).put(value);
+    record.flip();
+    writeFully(_channel, record, _size);
+
+    final Location previous =
+        _locations.put(key, new Location(_size + HEADER_BYTES + keyBytes.length, value.length, keyBytes.length));
+    if (previous != null) {
+      _liveBytes -= previous.recordBytes();
+    }
+    _size += record.capacity();
+    _liveBytes += record.capacity();
+
+    if (_size >= _minCompactionBytes && _liveBytes * 2 < _size) {
+      try {
+        compact();
+      } catch (IOException e) {
+        log.warn("Failed to compact {}, retrying once it doubles", LOG_FILE, e);
+        _minCompactionBytes = _size * 2;
+      }
+    }
+  }
+
+  public synchronized int size() {
+    return _locations.size();
+  }
+
+  /**
+   * Returns the offset of the given partition of the latest state topic up to which values are in the store.
+   */
+  public synchronized long getCheckpoint(int partition) {
+    return Long.parseLong(_checkpoints.getProperty(String.valueOf(partition), "0"));
+  }
+
+  /**
+   * Forces the values written to disk, then saves the given checkpoints.
+   */
+  public synchronized void checkpoint(@Nonnull Map<Integer, Long> offsets) throws IOException {
+    _channel.force(false);
+    if (offsets.isEmpty()) {
+      return;
+    }
+    offsets.forEach((partition, offset) -> _checkpoints.setProperty(String.valueOf(partition), String.valueOf(offset)));
+    // Write to a temporary file first so that a crash never leaves truncated checkpoints behind.
+    final Path file = _dir.resolve(CHECKPOINTS_FILE);
+    final Path tmp = _dir.resolve(CHECKPOINTS_FILE + ".tmp");
+    try (OutputStream out = Files.newOutputStream(tmp)) {
+      _checkpoints.store(out, "Latest state topic offsets");
+    }
+    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    _channel.force(false);
+    _channel.close();
+  }
+
+  /**
+   * Reads the log to rebuild the locations of the values, truncating any record cut short.
+   */
+  private void load() throws IOException {
+    final long fileSize = _channel.size();
+    long position = 0;
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(_dir.resolve(LOG_FILE)), 1 << 16))) {
+      while (position < fileSize) {
+        final int keyLength;
+        final int valueLength;
+        final byte[] keyBytes;
+        try {
+          keyLength = in.readInt();
+          valueLength = in.readInt();
+          if (keyLength < 0 || valueLength < 0 || position + HEADER_BYTES + keyLength + valueLength > fileSize) {
+            break;
+          }
+          keyBytes = new byte[keyLength];
+          in.readFully(keyBytes);
+          skipFully(in, valueLength);
+        } catch (EOFException e) {
+          break;
+        }
+        final Location previous = _locations.put(new String(keyBytes, StandardCharsets.UTF_8),
+            new Location(position + HEADER_BYTES + keyLength, valueLength, keyLength));
+        if (previous != null) {
+          _liveBytes -= previous.recordBytes();
+        }
+        position += HEADER_BYTES + keyLength + valueLength;
+        _liveBytes += HEADER_BYTES + keyLength + valueLength;
+      }
+    }
+    if (position < fileSize) {
+      log.warn("Truncating {} bytes of a record cut short at the end of {}", fileSize - position, LOG_FILE);
+      _channel.truncate(position);
+    }
+    _size = position;
+  }
+
+  /**
+   * Rewrites the log with the latest value of every key only, leaving the log as it is if it fails.
+   */
+  private void compact() throws IOException {
+    final Path compacted = _dir.resolve(LOG_FILE + ".compact");
+    Files.deleteIfExists(compacted);
+    final Map<String, Location> locations = new HashMap<>();
+    long size = 0;
+    final FileChannel out = open(compacted);
+    try {
+      for (Map.Entry<String, Location> entry : _locations.entrySet()) {
+        final byte[] keyBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+        final byte[] value = read(_channel, entry.getValue());
+        final ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + keyBytes.length + value.length);
+        record.putInt(keyBytes.length).putInt(value.length).put(keyBytes).put(value);
+        record.flip();
+        writeFully(out, record, size);
+        locations.put(entry.getKey(), new Location(size + HEADER_BYTES + keyBytes.length, value.length, keyBytes.length));
+        size += record.capacity();
+      }
+      out.force(false);
+      // Replaces the log while it is still open, so that it is still read and written should this fail
+      Files.move(compacted, _dir.resolve(LOG_FILE), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      out.close();
+      Files.deleteIfExists(compacted);
+      throw e;
+    }
+    // The compacted file, still open, is now the log
+    final FileChannel previous = _channel;
+    _channel = out;
+    previous.close();
+    log.info("Compacted {} from {} to {} bytes", LOG_FILE, _size, size);
+    _locations.clear();
+    _locations.putAll(locations);
+    _size = size;
+    _liveBytes = size;
+  }
+
+  @Nonnull
+  private static FileChannel open(@Nonnull Path file) throws IOException {
+    return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  @Nonnull
+  private static byte[] read(@Nonnull FileChannel channel, @Nonnull Location location) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(location._length);
+    long position = location._position;
+    while (buffer.hasRemaining()) {
+      final int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new EOFException("Value at " + location._position + " is cut short");
+      }
+      position += read;
+    }
+    return buffer.array();
+  }
+
+  private static void writeFully(@Nonnull FileChannel channel, @Nonnull ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private static void skipFully(@Nonnull DataInputStream in, int bytes) throws IOException {
+    int remaining = bytes;
+    while (remaining > 0) {
+      final int skipped = in.skipBytes(remaining);
+      if (skipped <= 0) {
+        throw new EOFException();
+      }
+      remaining -= skipped;
+    }
+  }
+
+  /**
+   * Where the value of a key is in the log.
+   */
+  private static final class Location {
+    private final long _position;
+    private final int _length;
+    private final int _keyLength;
+
+    private Location(long position, int length, int keyLength) {
+      _position = position;
+      _length = length;
+      _keyLength = keyLength;
+    }
+
+    private long recordBytes() {
+      return HEADER_BYTES + _keyLength + (long) _length;
+    }
+  }
+}
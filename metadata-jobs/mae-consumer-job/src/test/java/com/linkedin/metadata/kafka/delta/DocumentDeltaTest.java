@@ -0,0 +1,55 @@
+package com.linkedin.metadata.kafka.delta;
+
+import com.linkedin.common.FabricType;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.common.urn.DatasetUrn;
+import com.linkedin.data.Data;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.search.DatasetDocument;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class DocumentDeltaTest {
+
+  private static final DatasetUrn URN = new DatasetUrn(new DataPlatformUrn("hive"), "db.table", FabricType.PROD);
+
+  @Test
+  public void testChangedFields() {
+    final DatasetDocument oldDocument = new DatasetDocument().setUrn(URN).setName("table").setDescription("old");
+    final DatasetDocument newDocument = new DatasetDocument().setUrn(URN).setName("table").setDescription("new")
+        .setOwners(new StringArray(Arrays.asList("foo", "bar")));
+
+    final DatasetDocument delta = DocumentDelta.changedFields(oldDocument, newDocument);
+
+    assertEquals(delta, new DatasetDocument().setUrn(URN).setDescription("new")
+        .setOwners(new StringArray(Arrays.asList("foo", "bar"))));
+  }
+
+  @Test
+  public void testUnchangedFields() {
+    final DatasetDocument oldDocument = new DatasetDocument().setUrn(URN).setName("table").setDescription("foo");
+    final DatasetDocument newDocument = new DatasetDocument().setUrn(URN).setName("table").setDescription("foo");
+
+    assertNull(DocumentDelta.changedFields(oldDocument, newDocument));
+  }
+
+  @Test
+  public void testRemovedFieldsAreCleared() {
+    final DatasetDocument oldDocument = new DatasetDocument().setUrn(URN).setName("table").setDescription("foo")
+        .setOwners(new StringArray(Arrays.asList("foo", "bar")));
+    final DatasetDocument newDocument = new DatasetDocument().setUrn(URN).setName("table");
+
+    final DatasetDocument delta = DocumentDelta.changedFields(oldDocument, newDocument);
+
+    assertNotNull(delta);
+    assertEquals(delta.data().size(), 3);
+    assertEquals(delta.data().get("urn"), URN.toString());
+    assertSame(delta.data().get("description"), Data.NULL);
+    assertSame(delta.data().get("owners"), Data.NULL);
+    assertTrue(RecordUtils.toJsonString(delta).contains("\"description\":null"));
+  }
+}
@@ -0,0 +1,84 @@
+package com.linkedin.metadata.kafka.delta;
+
+import com.linkedin.common.FabricType;
+import com.linkedin.common.urn.DataPlatformUrn;
+import com.linkedin.common.urn.DatasetUrn;
+import com.linkedin.dataset.DatasetLineageType;
+import com.linkedin.metadata.builders.graph.GraphBuilder;
+import com.linkedin.metadata.dao.internal.BaseGraphWriterDAO;
+import com.linkedin.metadata.entity.DatasetEntity;
+import com.linkedin.metadata.relationship.DownstreamOf;
+import java.util.Arrays;
+import java.util.Collections;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class GraphDeltaTest {
+
+  private static final DatasetUrn SOURCE = makeUrn("source");
+  private static final DatasetUrn DEST1 = makeUrn("dest1");
+  private static final DatasetUrn DEST2 = makeUrn("dest2");
+
+  @Test
+  public void testUnchanged() {
+    final GraphBuilder.GraphUpdates updates = makeUpdates(makeEntity("source"),
+        makeDownstreamOf(DEST1, DatasetLineageType.COPY), makeDownstreamOf(DEST2, DatasetLineageType.COPY));
+    final GraphBuilder.GraphUpdates sameUpdates = makeUpdates(makeEntity("source"),
+        makeDownstreamOf(DEST1, DatasetLineageType.COPY), makeDownstreamOf(DEST2, DatasetLineageType.COPY));
+
+    final GraphDelta delta = GraphDelta.compute(updates, sameUpdates);
+
+    assertTrue(delta.isEmpty());
+  }
+
+  @Test
+  public void testChanged() {
+    final GraphBuilder.GraphUpdates oldUpdates = makeUpdates(makeEntity("old"),
+        makeDownstreamOf(DEST1, DatasetLineageType.COPY), makeDownstreamOf(DEST2, DatasetLineageType.COPY));
+    final GraphBuilder.GraphUpdates newUpdates = makeUpdates(makeEntity("new"),
+        makeDownstreamOf(DEST1, DatasetLineageType.COPY), makeDownstreamOf(DEST2, DatasetLineageType.TRANSFORMED));
+
+    final GraphDelta delta = GraphDelta.compute(oldUpdates, newUpdates);
+
+    assertFalse(delta.isEmpty());
+    assertEquals(delta.getEntities(), Collections.singletonList(makeEntity("new")));
+    assertEquals(delta.getAddedRelationships(), Collections.singletonMap(DownstreamOf.class,
+        Collections.singletonList(makeDownstreamOf(DEST2, DatasetLineageType.TRANSFORMED))));
+    assertEquals(delta.getRemovedRelationships(),
+        Collections.singletonList(makeDownstreamOf(DEST2, DatasetLineageType.COPY)));
+  }
+
+  @Test
+  public void testRemoved() {
+    final GraphBuilder.GraphUpdates oldUpdates = makeUpdates(makeEntity("source"),
+        makeDownstreamOf(DEST1, DatasetLineageType.COPY), makeDownstreamOf(DEST2, DatasetLineageType.COPY));
+    final GraphBuilder.GraphUpdates newUpdates = makeUpdates(makeEntity("source"),
+        makeDownstreamOf(DEST1, DatasetLineageType.COPY));
+
+    final GraphDelta delta = GraphDelta.compute(oldUpdates, newUpdates);
+
+    assertTrue(delta.getEntities().isEmpty());
+    assertTrue(delta.getAddedRelationships().isEmpty());
+    assertEquals(delta.getRemovedRelationships(),
+        Collections.singletonList(makeDownstreamOf(DEST2, DatasetLineageType.COPY)));
+  }
+
+  private static GraphBuilder.GraphUpdates makeUpdates(DatasetEntity entity, DownstreamOf... relationships) {
+    return new GraphBuilder.GraphUpdates(Collections.singletonList(entity), Collections.singletonList(
+        new GraphBuilder.RelationshipUpdates(Arrays.asList(relationships), BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE)));
+  }
+
+  private static DatasetEntity makeEntity(String name) {
+    return new DatasetEntity().setUrn(SOURCE).setName(name);
+  }
+
+  private static DownstreamOf makeDownstreamOf(DatasetUrn destination, DatasetLineageType type) {
+    return new DownstreamOf().setSource(SOURCE).setDestination(destination).setType(type);
+  }
+
+  private static DatasetUrn makeUrn(String name) {
+    return new DatasetUrn(new DataPlatformUrn("hive"), name, FabricType.PROD);
+  }
+}
@@ -0,0 +1,76 @@
+package com.linkedin.metadata.kafka.rebuild;
+
+import com.linkedin.common.urn.CorpuserUrn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.identity.CorpUserInfo;
+import com.linkedin.metadata.aspect.CorpUserAspect;
+import com.linkedin.metadata.dao.internal.BaseGraphWriterDAO;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.kafka.MetadataAuditEventsProcessor;
+import com.linkedin.metadata.kafka.browse.BrowseTreeUpdater;
+import com.linkedin.metadata.kafka.elasticsearch.ElasticsearchConnector;
+import com.linkedin.metadata.relationship.ReportsTo;
+import com.linkedin.metadata.snapshot.CorpUserSnapshot;
+import com.linkedin.metadata.snapshot.Snapshot;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class IndexRebuilderTest {
+
+  private SnapshotReader _reader;
+  private BaseGraphWriterDAO _graphWriterDAO;
+  private RebuildCheckpoints _checkpoints;
+  private IndexRebuilder _rebuilder;
+
+  @BeforeMethod
+  public void setup() throws Exception {
+    _reader = mock(SnapshotReader.class);
+    _graphWriterDAO = mock(BaseGraphWriterDAO.class);
+    _checkpoints = new RebuildCheckpoints(
+        Files.createTempDirectory("index-rebuilder").resolve("checkpoints.properties"));
+    final ElasticsearchConnector connector = mock(ElasticsearchConnector.class);
+    _rebuilder = new IndexRebuilder(_reader, mock(MetadataAuditEventsProcessor.class), () -> connector,
+        mock(BrowseTreeUpdater.class), _graphWriterDAO, _checkpoints, 1, 10, 1000);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testRelationshipsWrittenPerSource() throws Exception {
+    final List<String> urns = Arrays.asList(new CorpuserUrn("bar").toString(), new CorpuserUrn("foo").toString());
+    when(_reader.getUpperBounds(1)).thenReturn(Collections.singletonList(null));
+    when(_reader.getUrns(null, null, 10)).thenReturn(urns);
+    when(_reader.getUrns(urns.get(1), null, 10)).thenReturn(Collections.emptyList());
+    when(_reader.getSnapshots(urns)).thenReturn(Arrays.asList(snapshot("bar", "baz"), snapshot("foo", "baz")));
+
+    _rebuilder.rebuild();
+
+    verify(_graphWriterDAO).addEntities(anyList());
+    final ArgumentCaptor<List<RecordTemplate>> relationships = ArgumentCaptor.forClass(List.class);
+    verify(_graphWriterDAO, times(2))
+        .addRelationships(relationships.capture(), eq(BaseGraphWriterDAO.RemovalOption.REMOVE_ALL_EDGES_FROM_SOURCE));
+    assertEquals(relationships.getAllValues().get(0),
+        Collections.singletonList(new ReportsTo().setSource(new CorpuserUrn("bar")).setDestination(new CorpuserUrn("baz"))));
+    assertEquals(relationships.getAllValues().get(1),
+        Collections.singletonList(new ReportsTo().setSource(new CorpuserUrn("foo")).setDestination(new CorpuserUrn("baz"))));
+    assertTrue(_checkpoints.isDone(0));
+  }
+
+  private static Snapshot snapshot(String name, String manager) {
+    final Snapshot snapshot = new Snapshot();
+    RecordUtils.setSelectedRecordTemplateInUnion(snapshot, ModelUtils.newSnapshot(CorpUserSnapshot.class,
+        new CorpuserUrn(name),
+        Collections.singletonList(ModelUtils.newAspectUnion(CorpUserAspect.class,
+            new CorpUserInfo().setActive(true).setManagerUrn(new CorpuserUrn(manager))))));
+    return snapshot;
+  }
+}
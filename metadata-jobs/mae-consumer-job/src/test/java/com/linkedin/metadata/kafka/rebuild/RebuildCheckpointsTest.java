@@ -0,0 +1,70 @@
+package com.linkedin.metadata.kafka.rebuild;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class RebuildCheckpointsTest {
+
+  private Path _file;
+
+  @BeforeMethod
+  public void setup() throws Exception {
+    _file = Files.createTempDirectory("rebuild-checkpoints").resolve("checkpoints.properties");
+  }
+
+  @Test
+  public void testNotPartitioned() throws Exception {
+    final RebuildCheckpoints checkpoints = new RebuildCheckpoints(_file);
+
+    assertNull(checkpoints.getUpperBounds());
+    assertNull(checkpoints.getLastUrn(0));
+    assertFalse(checkpoints.isDone(0));
+    assertFalse(Files.exists(_file));
+  }
+
+  @Test
+  public void testPersisted() throws Exception {
+    final RebuildCheckpoints checkpoints = new RebuildCheckpoints(_file);
+    checkpoints.setUpperBounds(Arrays.asList("urn:li:corpuser:m", null));
+    checkpoints.update(0, "urn:li:corpuser:f", false);
+    checkpoints.update(1, null, true);
+
+    final RebuildCheckpoints reloaded = new RebuildCheckpoints(_file);
+    assertEquals(reloaded.getUpperBounds(), Arrays.asList("urn:li:corpuser:m", null));
+    assertEquals(reloaded.getLastUrn(0), "urn:li:corpuser:f");
+    assertFalse(reloaded.isDone(0));
+    assertNull(reloaded.getLastUrn(1));
+    assertTrue(reloaded.isDone(1));
+    assertFalse(Files.exists(_file.resolveSibling(_file.getFileName() + ".tmp")));
+  }
+
+  @Test
+  public void testUpdateKeepsLastUrnWhenNull() throws Exception {
+    final RebuildCheckpoints checkpoints = new RebuildCheckpoints(_file);
+    checkpoints.setUpperBounds(Arrays.asList((String) null));
+    checkpoints.update(0, "urn:li:corpuser:a", false);
+    checkpoints.update(0, null, true);
+
+    assertEquals(checkpoints.getLastUrn(0), "urn:li:corpuser:a");
+    assertTrue(checkpoints.isDone(0));
+  }
+
+  @Test
+  public void testRepartitioningClearsProgress() throws Exception {
+    final RebuildCheckpoints checkpoints = new RebuildCheckpoints(_file);
+    checkpoints.setUpperBounds(Arrays.asList("urn:li:corpuser:m", null));
+    checkpoints.update(0, "urn:li:corpuser:f", true);
+
+    checkpoints.setUpperBounds(Arrays.asList((String) null));
+
+    assertEquals(checkpoints.getUpperBounds(), Arrays.asList((String) null));
+    assertNull(checkpoints.getLastUrn(0));
+    assertFalse(checkpoints.isDone(0));
+  }
+}
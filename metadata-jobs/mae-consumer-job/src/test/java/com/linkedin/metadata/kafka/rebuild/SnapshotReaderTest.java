@@ -0,0 +1,123 @@
+package com.linkedin.metadata.kafka.rebuild;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.identity.CorpUserInfo;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.snapshot.CorpUserSnapshot;
+import com.linkedin.metadata.snapshot.Snapshot;
+import io.ebean.EbeanServer;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import io.ebean.datasource.DataSourceConfig;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class SnapshotReaderTest {
+
+  private static final String CORP_USER_INFO = "com.linkedin.identity.CorpUserInfo";
+
+  private EbeanServer _server;
+  private SnapshotReader _reader;
+
+  @BeforeMethod
+  public void setup() {
+    final DataSourceConfig dataSourceConfig = new DataSourceConfig();
+    dataSourceConfig.setUsername("sa");
+    dataSourceConfig.setPassword("");
+    dataSourceConfig.setUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+    dataSourceConfig.setDriver("org.h2.Driver");
+
+    final ServerConfig serverConfig = new ServerConfig();
+    serverConfig.setName("snapshot-reader-test-" + UUID.randomUUID());
+    serverConfig.setDataSourceConfig(dataSourceConfig);
+    serverConfig.setDefaultServer(false);
+    serverConfig.setRegister(false);
+    _server = EbeanServerFactory.create(serverConfig);
+    _server.createSqlUpdate("CREATE TABLE metadata_aspect (urn VARCHAR(500) NOT NULL, aspect VARCHAR(200) NOT NULL, "
+        + "version BIGINT NOT NULL, metadata VARCHAR(10000) NOT NULL, PRIMARY KEY (urn, aspect, version))").execute();
+    _reader = new SnapshotReader(_server);
+  }
+
+  @AfterMethod
+  public void teardown() {
+    _server.shutdown(false, false);
+  }
+
+  @Test
+  public void testRangesCoverEveryUrnOnce() {
+    for (int i = 0; i < 20; i++) {
+      insert(String.format("urn:li:corpuser:user%02d", i), CORP_USER_INFO, 0, "{\"active\": true}");
+    }
+
+    final List<String> upperBounds = _reader.getUpperBounds(4);
+    assertEquals(upperBounds.size(), 4);
+    assertNull(upperBounds.get(3));
+
+    final List<String> urns = new ArrayList<>();
+    for (int i = 0; i < upperBounds.size(); i++) {
+      String after = i == 0 ? null : upperBounds.get(i - 1);
+      List<String> page;
+      while (!(page = _reader.getUrns(after, upperBounds.get(i), 3)).isEmpty()) {
+        urns.addAll(page);
+        after = page.get(page.size() - 1);
+      }
+    }
+    assertEquals(urns.size(), 20);
+    assertEquals(urns.get(0), "urn:li:corpuser:user00");
+    assertEquals(urns.get(19), "urn:li:corpuser:user19");
+    assertEquals(urns.stream().distinct().count(), 20);
+  }
+
+  @Test
+  public void testGetUrnsSkipsOldVersions() {
+    insert("urn:li:corpuser:a", CORP_USER_INFO, 0, "{\"active\": true}");
+    insert("urn:li:corpuser:b", CORP_USER_INFO, 1, "{\"active\": true}");
+
+    assertEquals(_reader.getUrns(null, null, 10), Collections.singletonList("urn:li:corpuser:a"));
+  }
+
+  @Test
+  public void testGetSnapshots() {
+    insert("urn:li:corpuser:a", CORP_USER_INFO, 0, "{\"active\": true, \"email\": \"a@linkedin.com\"}");
+    insert("urn:li:corpuser:a", CORP_USER_INFO, 1, "{\"active\": false}");
+    // Not an aspect of corp users
+    insert("urn:li:corpuser:a", "com.linkedin.dataset.DatasetProperties", 0, "{}");
+    // Unknown entity type
+    insert("urn:li:unknown:b", CORP_USER_INFO, 0, "{\"active\": true}");
+
+    final List<Snapshot> snapshots = _reader.getSnapshots(Arrays.asList("urn:li:corpuser:a", "urn:li:unknown:b"));
+
+    assertEquals(snapshots.size(), 1);
+    final RecordTemplate snapshot = RecordUtils.getSelectedRecordTemplateFromUnion(snapshots.get(0));
+    assertTrue(snapshot instanceof CorpUserSnapshot);
+    assertEquals(ModelUtils.getUrnFromSnapshot(snapshot).toString(), "urn:li:corpuser:a");
+    final List<? extends RecordTemplate> aspects = ModelUtils.getAspectsFromSnapshot(snapshot);
+    assertEquals(aspects.size(), 1);
+    assertEquals(aspects.get(0), new CorpUserInfo().setActive(true).setEmail("a@linkedin.com"));
+  }
+
+  @Test
+  public void testGetSnapshotsOfNoUrns() {
+    assertTrue(_reader.getSnapshots(Collections.emptyList()).isEmpty());
+  }
+
+  private void insert(String urn, String aspect, long version, String metadata) {
+    _server.createSqlUpdate("INSERT INTO metadata_aspect (urn, aspect, version, metadata) "
+        + "VALUES (:urn, :aspect, :version, :metadata)")
+        .setParameter("urn", urn)
+        .setParameter("aspect", aspect)
+        .setParameter("version", version)
+        .setParameter("metadata", metadata)
+        .execute();
+  }
+}
@@ -0,0 +1,212 @@
+package com.linkedin.metadata.kafka.state;
+
+import com.linkedin.common.urn.CorpuserUrn;
+import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.identity.CorpUserInfo;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.aspect.CorpUserAspect;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.snapshot.CorpUserSnapshot;
+import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.mxe.MetadataAuditEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class LatestStateFolderTest {
+
+  private static final String MAE_TOPIC = "MetadataAuditEvent_v4";
+  private static final String STATE_TOPIC = "MetadataLatestState_v4";
+  private static final JacksonDataCodec CODEC = new JacksonDataCodec();
+
+  private Path _dir;
+  private SnapshotStore _store;
+  private KafkaTemplate<String, GenericRecord> _kafkaTemplate;
+  private ConsumerFactory<String, GenericRecord> _restoreConsumerFactory;
+  private Consumer<String, GenericRecord> _consumer;
+  private LatestStateFolder _folder;
+  private final AtomicLong _stateOffset = new AtomicLong();
+
+  @BeforeMethod
+  @SuppressWarnings("unchecked")
+  public void setup() throws IOException {
+    _dir = Files.createTempDirectory("latest-state-folder-test");
+    _store = new SnapshotStore(_dir);
+    _kafkaTemplate = mock(KafkaTemplate.class);
+    _restoreConsumerFactory = mock(ConsumerFactory.class);
+    _consumer = mock(Consumer.class);
+    when(_consumer.partitionsFor(MAE_TOPIC)).thenReturn(partitions(MAE_TOPIC));
+    when(_consumer.partitionsFor(STATE_TOPIC)).thenReturn(partitions(STATE_TOPIC));
+    _folder = new LatestStateFolder(_store, _kafkaTemplate, _restoreConsumerFactory, STATE_TOPIC);
+  }
+
+  @AfterMethod
+  public void teardown() throws IOException {
+    _folder.close();
+    _store.close();
+    try (Stream<Path> files = Files.walk(_dir)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testFoldsMaesIntoLatestState() throws IOException {
+    when(_kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> published(invocation.getArgument(0)));
+
+    _folder.consume(Arrays.asList(mae(1, 10, "foo", false), mae(1, 11, "bar", true), mae(1, 12, "foo", true)),
+        _consumer);
+
+    assertTrue(state("foo").getCorpUserSnapshot().getAspects().get(0).getCorpUserInfo().isActive());
+    assertTrue(state("bar").getCorpUserSnapshot().getAspects().get(0).getCorpUserInfo().isActive());
+    final ArgumentCaptor<ProducerRecord<String, GenericRecord>> published = ArgumentCaptor.forClass(ProducerRecord.class);
+    verify(_kafkaTemplate, times(3)).send(published.capture());
+    for (ProducerRecord<String, GenericRecord> record : published.getAllValues()) {
+      assertEquals(record.topic(), STATE_TOPIC);
+      assertEquals((int) record.partition(), 1);
+    }
+    assertEquals(published.getAllValues().get(2).key(), "urn:li:corpuser:foo");
+    verify(_kafkaTemplate).flush();
+    assertEquals(_store.getCheckpoint(1), 3);
+    verify(_consumer, never()).seek(any(TopicPartition.class), anyLong());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testFoldsBatchAgainWhenPublishingFails() throws IOException {
+    when(_kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+      final SettableListenableFuture<SendResult<String, GenericRecord>> future = new SettableListenableFuture<>();
+      future.setException(new KafkaException("Failed to send"));
+      return future;
+    });
+
+    _folder.consume(Arrays.asList(mae(0, 5, "foo", true), mae(1, 7, "bar", true), mae(0, 6, "baz", true)), _consumer);
+
+    verify(_consumer).seek(new TopicPartition(MAE_TOPIC, 0), 5);
+    verify(_consumer).seek(new TopicPartition(MAE_TOPIC, 1), 7);
+    assertEquals(_store.getCheckpoint(0), 0);
+    assertEquals(_store.getCheckpoint(1), 0);
+  }
+
+  @Test
+  public void testSkipsUnreadableMaes() {
+    _folder.consume(Collections.singletonList(new ConsumerRecord<String, GenericRecord>(MAE_TOPIC, 0, 0, "foo", null)), _consumer);
+
+    assertEquals(_store.size(), 0);
+    verifyZeroInteractions(_kafkaTemplate);
+  }
+
+  @Test
+  public void testCatchesUpWithLatestStateBeforeResuming() throws Exception {
+    final MockConsumer<String, GenericRecord> restoreConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    final TopicPartition statePartition = new TopicPartition(STATE_TOPIC, 1);
+    restoreConsumer.updateEndOffsets(Collections.singletonMap(statePartition, 2L));
+    restoreConsumer.schedulePollTask(() -> {
+      restoreConsumer.addRecord(stateRecord(0, "foo", false));
+      restoreConsumer.addRecord(stateRecord(1, "foo", true));
+    });
+    when(_restoreConsumerFactory.createConsumer()).thenReturn(restoreConsumer);
+    final TopicPartition maePartition = new TopicPartition(MAE_TOPIC, 1);
+    when(_consumer.assignment()).thenReturn(Collections.singleton(maePartition));
+    final AtomicBoolean resumed = new AtomicBoolean();
+    doAnswer(invocation -> {
+      resumed.set(true);
+      return null;
+    }).when(_consumer).resume(Collections.singletonList(maePartition));
+
+    _folder.onPartitionsAssigned(_consumer, Collections.singletonList(maePartition));
+
+    verify(_consumer).pause(Collections.singletonList(maePartition));
+    final long deadline = System.currentTimeMillis() + 10000;
+    while (!resumed.get() && System.currentTimeMillis() < deadline) {
+      _folder.resumeRestored(_consumer);
+      Thread.sleep(10);
+    }
+    assertTrue(resumed.get());
+    assertTrue(state("foo").getCorpUserSnapshot().getAspects().get(0).getCorpUserInfo().isActive());
+    assertEquals(_store.getCheckpoint(1), 2);
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testFailsWithoutLatestStateTopic() {
+    when(_consumer.partitionsFor(STATE_TOPIC)).thenReturn(null);
+
+    _folder.onPartitionsAssigned(_consumer, Collections.singletonList(new TopicPartition(MAE_TOPIC, 0)));
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testFailsWithLatestStateTopicOfOtherPartitionCount() {
+    when(_consumer.partitionsFor(STATE_TOPIC)).thenReturn(partitions(STATE_TOPIC).subList(0, 1));
+
+    _folder.onPartitionsAssigned(_consumer, Collections.singletonList(new TopicPartition(MAE_TOPIC, 0)));
+  }
+
+  private Snapshot state(String name) throws IOException {
+    final byte[] state = _store.get(new CorpuserUrn(name).toString());
+    assertNotNull(state);
+    return new Snapshot(CODEC.bytesToMap(state));
+  }
+
+  private SettableListenableFuture<SendResult<String, GenericRecord>> published(
+      ProducerRecord<String, GenericRecord> record) {
+    final SettableListenableFuture<SendResult<String, GenericRecord>> future = new SettableListenableFuture<>();
+    future.set(new SendResult<>(record, new RecordMetadata(new TopicPartition(record.topic(), record.partition()), 0,
+        _stateOffset.getAndIncrement(), 0, 0L, 0, 0)));
+    return future;
+  }
+
+  private static List<PartitionInfo> partitions(String topic) {
+    return Arrays.asList(new PartitionInfo(topic, 0, null, null, null), new PartitionInfo(topic, 1, null, null, null));
+  }
+
+  private static ConsumerRecord<String, GenericRecord> mae(int partition, long offset, String name, boolean active)
+      throws IOException {
+    return new ConsumerRecord<>(MAE_TOPIC, partition, offset, new CorpuserUrn(name).toString(), event(name, active));
+  }
+
+  private static ConsumerRecord<String, GenericRecord> stateRecord(long offset, String name, boolean active) {
+    try {
+      return new ConsumerRecord<>(STATE_TOPIC, 1, offset, new CorpuserUrn(name).toString(), event(name, active));
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static GenericRecord event(String name, boolean active) throws IOException {
+    final Snapshot snapshot = new Snapshot();
+    RecordUtils.setSelectedRecordTemplateInUnion(snapshot, ModelUtils.newSnapshot(CorpUserSnapshot.class,
+        new CorpuserUrn(name),
+        Collections.singletonList(ModelUtils.newAspectUnion(CorpUserAspect.class, new CorpUserInfo().setActive(active)))));
+    return EventUtils.pegasusToAvroMAE(new MetadataAuditEvent().setNewSnapshot(snapshot));
+  }
+}
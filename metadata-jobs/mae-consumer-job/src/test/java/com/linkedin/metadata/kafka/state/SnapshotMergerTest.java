@@ -0,0 +1,88 @@
+package com.linkedin.metadata.kafka.state;
+
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class SnapshotMergerTest {
+
+  private static final String CORP_USER_SNAPSHOT = "com.linkedin.metadata.snapshot.CorpUserSnapshot";
+  private static final String DATASET_SNAPSHOT = "com.linkedin.metadata.snapshot.DatasetSnapshot";
+  private static final String CORP_USER_INFO = "com.linkedin.identity.CorpUserInfo";
+  private static final String CORP_USER_EDITABLE_INFO = "com.linkedin.identity.CorpUserEditableInfo";
+  private static final String URN = "urn:li:corpuser:foo";
+
+  @Test
+  public void testUpdateIsStateOfNewEntity() {
+    final DataMap update = snapshot(CORP_USER_SNAPSHOT, aspect(CORP_USER_INFO, "active", true));
+
+    assertSame(SnapshotMerger.merge(null, update), update);
+  }
+
+  @Test
+  public void testReplacesAspectsOfUpdateAndKeepsOthersInOrder() {
+    final DataMap state = snapshot(CORP_USER_SNAPSHOT, aspect(CORP_USER_INFO, "active", false),
+        aspect(CORP_USER_EDITABLE_INFO, "aboutMe", "me"));
+    final DataMap update = snapshot(CORP_USER_SNAPSHOT, aspect(CORP_USER_INFO, "active", true));
+
+    final DataMap merged = SnapshotMerger.merge(state, update);
+
+    assertEquals(merged, snapshot(CORP_USER_SNAPSHOT, aspect(CORP_USER_INFO, "active", true),
+        aspect(CORP_USER_EDITABLE_INFO, "aboutMe", "me")));
+  }
+
+  @Test
+  public void testAppendsNewAspects() {
+    final DataMap state = snapshot(CORP_USER_SNAPSHOT, aspect(CORP_USER_INFO, "active", true));
+    final DataMap update = snapshot(CORP_USER_SNAPSHOT, aspect(CORP_USER_EDITABLE_INFO, "aboutMe", "me"));
+
+    final DataMap merged = SnapshotMerger.merge(state, update);
+
+    assertEquals(merged, snapshot(CORP_USER_SNAPSHOT, aspect(CORP_USER_INFO, "active", true),
+        aspect(CORP_USER_EDITABLE_INFO, "aboutMe", "me")));
+  }
+
+  @Test
+  public void testUpdateOfOtherSnapshotTypeReplacesState() {
+    final DataMap state = snapshot(DATASET_SNAPSHOT, aspect("com.linkedin.schema.SchemaMetadata", "version", 1L));
+    final DataMap update = snapshot(CORP_USER_SNAPSHOT, aspect(CORP_USER_INFO, "active", true));
+
+    assertSame(SnapshotMerger.merge(state, update), update);
+  }
+
+  @Test
+  public void testGetsUrn() {
+    assertEquals(SnapshotMerger.getUrn(snapshot(CORP_USER_SNAPSHOT, aspect(CORP_USER_INFO, "active", true))), URN);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testRejectsDataWhichIsNotUnion() {
+    final DataMap data = snapshot(CORP_USER_SNAPSHOT);
+    data.putAll(snapshot(DATASET_SNAPSHOT));
+
+    SnapshotMerger.merge(null, data);
+  }
+
+  private static DataMap snapshot(String snapshotType, DataMap... aspects) {
+    final DataMap snapshot = new DataMap();
+    snapshot.put("urn", URN);
+    final DataList aspectList = new DataList();
+    aspectList.addAll(Arrays.asList(aspects));
+    snapshot.put("aspects", aspectList);
+    final DataMap union = new DataMap();
+    union.put(snapshotType, snapshot);
+    return union;
+  }
+
+  private static DataMap aspect(String aspectType, String field, Object value) {
+    final DataMap aspect = new DataMap();
+    aspect.put(field, value);
+    final DataMap union = new DataMap();
+    union.put(aspectType, aspect);
+    return union;
+  }
+}
@@ -0,0 +1,150 @@
+package com.linkedin.metadata.kafka.state;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class SnapshotStoreTest {
+
+  private Path _dir;
+
+  @BeforeMethod
+  public void setup() throws IOException {
+    _dir = Files.createTempDirectory("snapshot-store-test");
+  }
+
+  @AfterMethod
+  public void teardown() throws IOException {
+    try (Stream<Path> files = Files.walk(_dir)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+    }
+  }
+
+  @Test
+  public void testWritesRecordsOfLengthsKeyAndValue() throws IOException {
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      store.put("k", new byte[]{1, 2, 3});
+    }
+
+    assertEquals(Files.readAllBytes(log()), new byte[]{0, 0, 0, 1, 0, 0, 0, 3, 'k', 1, 2, 3});
+  }
+
+  @Test
+  public void testReadsLatestValuesWhenReopened() throws IOException {
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      store.put("a", bytes("a1"));
+      store.put("b", bytes("b1"));
+      store.put("a", bytes("a2"));
+      assertEquals(store.get("a"), bytes("a2"));
+      assertNull(store.get("c"));
+    }
+
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      assertEquals(store.size(), 2);
+      assertEquals(store.get("a"), bytes("a2"));
+      assertEquals(store.get("b"), bytes("b1"));
+    }
+  }
+
+  @Test
+  public void testTruncatesRecordCutShort() throws IOException {
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      store.put("a", bytes("a1"));
+    }
+    final long size = Files.size(log());
+    // A record whose value was cut short by a crash
+    final ByteBuffer record = ByteBuffer.allocate(9).putInt(1).putInt(100).put((byte) 'b');
+    Files.write(log(), record.array(), StandardOpenOption.APPEND);
+
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      assertEquals(Files.size(log()), size);
+      assertEquals(store.size(), 1);
+      assertNull(store.get("b"));
+      store.put("b", bytes("b1"));
+    }
+
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      assertEquals(store.get("a"), bytes("a1"));
+      assertEquals(store.get("b"), bytes("b1"));
+    }
+  }
+
+  @Test
+  public void testTruncatesHeaderCutShort() throws IOException {
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      store.put("a", bytes("a1"));
+    }
+    final long size = Files.size(log());
+    Files.write(log(), new byte[]{0, 0}, StandardOpenOption.APPEND);
+
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      assertEquals(Files.size(log()), size);
+      assertEquals(store.get("a"), bytes("a1"));
+    }
+  }
+
+  @Test
+  public void testCompactsMostlyOverwrittenLog() throws IOException {
+    final long recordSize = 8 + 1 + 2;
+    try (SnapshotStore store = new SnapshotStore(_dir, 1)) {
+      store.put("a", bytes("a1"));
+      store.put("b", bytes("b1"));
+      store.put("a", bytes("a2"));
+      assertEquals(Files.size(log()), 3 * recordSize);
+      store.put("a", bytes("a3"));
+      store.put("a", bytes("a4"));
+
+      // Compacted on the last write, which overwrote most of the log
+      assertEquals(Files.size(log()), 2 * recordSize);
+      assertEquals(store.get("a"), bytes("a4"));
+      assertEquals(store.get("b"), bytes("b1"));
+      assertFalse(Files.exists(_dir.resolve("snapshots.log.compact")));
+
+      store.put("c", bytes("c1"));
+      assertEquals(Files.size(log()), 3 * recordSize);
+    }
+
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      assertEquals(store.size(), 3);
+      assertEquals(store.get("a"), bytes("a4"));
+      assertEquals(store.get("b"), bytes("b1"));
+      assertEquals(store.get("c"), bytes("c1"));
+    }
+  }
+
+  @Test
+  public void testKeepsCheckpoints() throws IOException {
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      assertEquals(store.getCheckpoint(0), 0);
+      store.checkpoint(Collections.singletonMap(0, 10L));
+      store.checkpoint(Collections.singletonMap(1, 20L));
+      store.checkpoint(Collections.singletonMap(0, 15L));
+    }
+
+    try (SnapshotStore store = new SnapshotStore(_dir)) {
+      assertEquals(store.getCheckpoint(0), 15);
+      assertEquals(store.getCheckpoint(1), 20);
+      assertEquals(store.getCheckpoint(2), 0);
+    }
+  }
+
+  private Path log() {
+    return _dir.resolve("snapshots.log");
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -13,6 +13,7 @@ import com.linkedin.mxe.Topics;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.lang.exception.ExceptionUtils;
@@ -75,13 +76,30 @@ public class MetadataChangeEventsProcessor {
       final GenericRecord genericFailedMCERecord = EventUtils.pegasusToAvroFailedMCE(failedMetadataChangeEvent);
       log.debug("Sending FailedMessages to topic - {}", fmceTopicName);
       log.info("Error while processing MCE: FailedMetadataChangeEvent - {}", failedMetadataChangeEvent);
-      this.kafkaTemplate.send(fmceTopicName, genericFailedMCERecord);
+      this.kafkaTemplate.send(fmceTopicName, keyOf(event), genericFailedMCERecord);
     } catch (IOException e) {
       log.error("Error while sending FailedMetadataChangeEvent: Exception  - {}, FailedMetadataChangeEvent - {}",
           e.getStackTrace(), failedMetadataChangeEvent);
     }
   }
 
+  /**
+   * Returns the URN of the entity of the given MCE, to key its FailedMetadataChangeEvent by like MCEs so that retries
+   * of the events of an entity stay in order, or null if it cannot be derived.
+   */
+  @Nullable
+  private static String keyOf(@Nonnull MetadataChangeEvent event) {
+    if (!event.hasProposedSnapshot()) {
+      return null;
+    }
+    try {
+      return ModelUtils.getUrnFromSnapshotUnion(event.getProposedSnapshot()).toString();
+    } catch (RuntimeException e) {
+      log.warn("Failed to get the URN of MCE, sending its FailedMetadataChangeEvent without a key", e);
+      return null;
+    }
+  }
+
   /**
    * Populate a FailedMetadataChangeEvent from a MCE
    *
@@ -1,13 +1,15 @@
 package com.linkedin.metadata.kafka.config;
 
+import com.linkedin.mxe.serde.MxeAvroDeserializer;
+import com.linkedin.mxe.serde.MxeAvroSerializer;
 import io.confluent.kafka.serializers.AbstractKafkaAvroSerDeConfig;
-import io.confluent.kafka.serializers.KafkaAvroDeserializer;
-import io.confluent.kafka.serializers.KafkaAvroSerializer;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,23 +22,66 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.ErrorHandler;
+import org.springframework.kafka.listener.SeekToCurrentBatchErrorHandler;
 
 
 @Slf4j
 @Configuration
 public class KafkaConfig {
+  // Interval at which the retry consumer resumes the partitions whose next event became due while it got no records
+  private static final long RETRY_IDLE_EVENT_INTERVAL_MILLIS = 1000;
+
   @Value("${KAFKA_BOOTSTRAP_SERVER:http://localhost:9092}")
   private String kafkaBootstrapServers;
   @Value("${KAFKA_SCHEMAREGISTRY_URL:http://localhost:8081}")
   private String kafkaSchemaRegistryUrl;
+  // Events are keyed by URN, so all the events of an entity are on one partition and consumed by one thread
+  @Value("${KAFKA_LISTENER_CONCURRENCY:1}")
+  private int kafkaListenerConcurrency;
+  @Value("${KAFKA_PRODUCER_COMPRESSION_TYPE:lz4}")
+  private String compressionType;
+  @Value("${MCE_RETRY_BATCH_SIZE:500}")
+  private int retryBatchSize;
 
   @Bean
   public KafkaListenerContainerFactory<?> kafkaListenerContainerFactory(KafkaProperties properties) {
+    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(buildConsumerProperties(properties)));
+    factory.setConcurrency(kafkaListenerConcurrency);
+
+    log.info("KafkaListenerContainerFactory built successfully");
+
+    return factory;
+  }
+
+  /**
+   * Listener container factory of the retries of failed MCEs, which are consumed in batches. A failed batch is consumed
+   * again from its first record.
+   */
+  @Bean
+  public KafkaListenerContainerFactory<?> retryListenerContainerFactory(KafkaProperties properties) {
+    Map<String, Object> props = buildConsumerProperties(properties);
+    props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, retryBatchSize);
+
+    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+    factory.setBatchListener(true);
+    factory.setBatchErrorHandler(new SeekToCurrentBatchErrorHandler());
+    factory.getContainerProperties().setIdleEventInterval(RETRY_IDLE_EVENT_INTERVAL_MILLIS);
+
+    log.info("Retry KafkaListenerContainerFactory built successfully");
+
+    return factory;
+  }
+
+  private Map<String, Object> buildConsumerProperties(KafkaProperties properties) {
     KafkaProperties.Consumer consumerProps = properties.getConsumer();
 
     // Specify (de)serializers for record keys and for record values.
     consumerProps.setKeyDeserializer(StringDeserializer.class);
-    consumerProps.setValueDeserializer(KafkaAvroDeserializer.class);
+    consumerProps.setValueDeserializer(MxeAvroDeserializer.class);
     // Records will be flushed every 10 seconds.
     consumerProps.setEnableAutoCommit(true);
     consumerProps.setAutoCommitInterval(Duration.ofSeconds(10));
@@ -48,14 +93,7 @@ public class KafkaConfig {
 
     Map<String, Object> props = properties.buildConsumerProperties();
     props.put(AbstractKafkaAvroSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, kafkaSchemaRegistryUrl);
-
-    ConcurrentKafkaListenerContainerFactory<String, GenericRecord> factory =
-        new ConcurrentKafkaListenerContainerFactory<>();
-    factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
-
-    log.info("KafkaListenerContainerFactory built successfully");
-
-    return factory;
+    return props;
   }
 
   @Bean
@@ -63,7 +101,7 @@ public class KafkaConfig {
     KafkaProperties.Producer producerProps = properties.getProducer();
 
     producerProps.setKeySerializer(StringSerializer.class);
-    producerProps.setValueSerializer(KafkaAvroSerializer.class);
+    producerProps.setValueSerializer(MxeAvroSerializer.class);
 
     // KAFKA_BOOTSTRAP_SERVER has precedence over SPRING_KAFKA_BOOTSTRAP_SERVERS
     if (kafkaBootstrapServers != null && kafkaBootstrapServers.length() > 0) {
@@ -72,6 +110,7 @@ public class KafkaConfig {
 
     Map<String, Object> props = properties.buildProducerProperties();
     props.put(AbstractKafkaAvroSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, kafkaSchemaRegistryUrl);
+    props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
 
     KafkaTemplate<String, GenericRecord> template =
         new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
@@ -0,0 +1,78 @@
+package com.linkedin.metadata.kafka.config;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.metadata.dao.internal.BaseRemoteWriterDAO;
+import com.linkedin.metadata.kafka.retry.FailedMetadataChangeEventsRetrier;
+import com.linkedin.metadata.kafka.retry.RetryTiers;
+import com.linkedin.metadata.kafka.retry.UrnCircuitBreaker;
+import com.linkedin.mxe.Topics;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.apache.avro.generic.GenericRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+
+
+/**
+ * Retries the MCEs published to the FMCE topic with increasing delays when MCE_RETRY_ENABLED is set.
+ *
+ * <p>MCE_RETRY_DELAYS_MS lists the delay of every retry, each with its own delay topic to create along with the dead
+ * letter topic where events end up when their error is fatal or they ran out of retries.
+ */
+@Configuration
+@ConditionalOnProperty(name = "MCE_RETRY_ENABLED", havingValue = "true")
+public class RetryConfig {
+  public static final String RETRY_EXECUTOR_BEAN = "mceRetryExecutor";
+
+  @Value("${KAFKA_FMCE_TOPIC_NAME:" + Topics.FAILED_METADATA_CHANGE_EVENT + "}")
+  private String fmceTopicName;
+
+  @Value("${KAFKA_FMCE_DEAD_LETTER_TOPIC_NAME:" + Topics.FAILED_METADATA_CHANGE_EVENT + "_dead}")
+  private String deadLetterTopicName;
+
+  @Value("${MCE_RETRY_DELAYS_MS:60000,600000,3600000}")
+  private String delaysMillis;
+
+  @Value("${MCE_RETRY_THREADS:4}")
+  private int threads;
+
+  @Value("${MCE_RETRY_CIRCUIT_BREAKER_FAILURES:3}")
+  private int circuitBreakerFailures;
+
+  @Value("${MCE_RETRY_CIRCUIT_BREAKER_OPEN_MS:600000}")
+  private long circuitBreakerOpenMillis;
+
+  @Value("${MCE_RETRY_CIRCUIT_BREAKER_MAX_ENTITIES:100000}")
+  private long circuitBreakerMaxEntities;
+
+  /**
+   * Executor the retries of different entities run in parallel on, shut down with the context.
+   */
+  @Bean(name = RETRY_EXECUTOR_BEAN, destroyMethod = "shutdown")
+  public ExecutorService retryExecutor() {
+    return Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+        .setNameFormat("mce-retry-%d")
+        .setDaemon(true)
+        .build());
+  }
+
+  @Bean
+  public FailedMetadataChangeEventsRetrier failedMetadataChangeEventsRetrier(
+      @Nonnull BaseRemoteWriterDAO remoteWriterDAO, @Nonnull KafkaTemplate<String, GenericRecord> kafkaTemplate,
+      @Nonnull @Qualifier(RETRY_EXECUTOR_BEAN) ExecutorService executor) {
+    final List<Long> delays =
+        Arrays.stream(delaysMillis.split(",")).map(String::trim).map(Long::parseLong).collect(Collectors.toList());
+    return new FailedMetadataChangeEventsRetrier(remoteWriterDAO, kafkaTemplate,
+        new RetryTiers(fmceTopicName, delays, deadLetterTopicName),
+        new UrnCircuitBreaker(circuitBreakerFailures, circuitBreakerOpenMillis, circuitBreakerMaxEntities),
+        executor);
+  }
+}
@@ -0,0 +1,49 @@
+package com.linkedin.metadata.kafka.retry;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Classifies the errors of failed MCEs, as recorded in the stack traces of FailedMetadataChangeEvents, as retryable or
+ * fatal.
+ *
+ * <p>When GMS answered, its response status decides: server errors, throttling and timeouts are retryable, other client
+ * errors are not. Otherwise, errors are retryable when caused by a failure to reach GMS at all. Anything else, such as an
+ * invalid snapshot, would fail the same way again and is fatal.
+ */
+public final class ErrorClassifier {
+
+  private static final Pattern RESPONSE_STATUS = Pattern.compile("Response status (\\d{3})");
+
+  private static final List<String> RETRYABLE_CAUSES = Arrays.asList(
+      "java.net.ConnectException",
+      "java.net.NoRouteToHostException",
+      "java.net.SocketTimeoutException",
+      "java.net.UnknownHostException",
+      "java.util.concurrent.TimeoutException",
+      "java.nio.channels.ClosedChannelException",
+      "Connection refused",
+      "Connection reset");
+
+  private ErrorClassifier() {
+  }
+
+  /**
+   * Returns whether the failure with the given stack trace may succeed when retried.
+   */
+  public static boolean isRetryable(@Nonnull String stackTrace) {
+    final Matcher status = RESPONSE_STATUS.matcher(stackTrace);
+    if (status.find()) {
+      return isRetryableStatus(Integer.parseInt(status.group(1)));
+    }
+    return RETRYABLE_CAUSES.stream().anyMatch(stackTrace::contains);
+  }
+
+  private static boolean isRetryableStatus(int status) {
+    return status >= 500 || status == 408 || status == 429;
+  }
+}
@@ -0,0 +1,310 @@
+package com.linkedin.metadata.kafka.retry;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.EventUtils;
+import com.linkedin.metadata.dao.internal.BaseRemoteWriterDAO;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.snapshot.Snapshot;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.mxe.FailedMetadataChangeEvent;
+import com.linkedin.mxe.Topics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.ListenableFuture;
+
+
+/**
+ * Retries the MCEs which failed to be ingested, as published to the FMCE topic, with increasing delays.
+ *
+ * <p>A failed MCE whose error is retryable according to {@link ErrorClassifier} is moved to the first of the
+ * {@link RetryTiers}, and retried once it spent the delay of the tier in it. Failing again moves it to the next tier,
+ * until there is none left or the error is fatal, and then to the dead letter topic. The attempt an event waits for and
+ * when it is due are kept in the headers of its record.
+ *
+ * <p>Due events are retried in batches, the events of different entities in parallel and those of the same entity in
+ * order. Entities whose events keep failing are skipped for a while by a {@link UrnCircuitBreaker}, their events going
+ * back to the same tier without being retried. The partitions of a tier whose next event is not due yet are paused
+ * until it is. The outcome of every event is counted by the 'mce.retry.events' counter, tagged with the result.
+ *
+ * <p>A batch returns only once the events it moved on are acknowledged by Kafka, and fails otherwise, to be consumed
+ * again rather than have its offsets committed with events lost.
+ */
+@Slf4j
+public class FailedMetadataChangeEventsRetrier {
+
+  static final String ATTEMPT_HEADER = "retry-attempt";
+  static final String DUE_AT_HEADER = "retry-due-at";
+
+  static final String RETRY_LISTENER_ID = "mce-consumer-job-retry";
+
+  private static final long SEND_TIMEOUT_MILLIS = 60000;
+
+  private final BaseRemoteWriterDAO _remoteWriterDAO;
+  private final KafkaTemplate<String, GenericRecord> _kafkaTemplate;
+  private final RetryTiers _tiers;
+  private final UrnCircuitBreaker _circuitBreaker;
+  private final ExecutorService _executor;
+  // Time until which partitions of the retry topics are paused, their next event not being due yet
+  private final Map<TopicPartition, Long> _pausedUntil = new ConcurrentHashMap<>();
+
+  public FailedMetadataChangeEventsRetrier(@Nonnull BaseRemoteWriterDAO remoteWriterDAO,
+      @Nonnull KafkaTemplate<String, GenericRecord> kafkaTemplate, @Nonnull RetryTiers tiers,
+      @Nonnull UrnCircuitBreaker circuitBreaker, @Nonnull ExecutorService executor) {
+    _remoteWriterDAO = remoteWriterDAO;
+    _kafkaTemplate = kafkaTemplate;
+    _tiers = tiers;
+    _circuitBreaker = circuitBreaker;
+    _executor = executor;
+  }
+
+  /**
+   * Returns the topics of the retry tiers, to listen to.
+   */
+  @Nonnull
+  public String[] getRetryTopics() {
+    return _tiers.getTopics().toArray(new String[0]);
+  }
+
+  @KafkaListener(id = "mce-consumer-job-fmce", groupId = "${KAFKA_RETRY_CONSUMER_GROUP_ID:mce-consumer-job-retry}",
+      topics = "${KAFKA_FMCE_TOPIC_NAME:" + Topics.FAILED_METADATA_CHANGE_EVENT + "}",
+      containerFactory = "retryListenerContainerFactory")
+  public void consumeFailed(final List<ConsumerRecord<String, GenericRecord>> consumerRecords)
+      throws InterruptedException {
+    final List<ListenableFuture<SendResult<String, GenericRecord>>> sends = new ArrayList<>();
+    for (ConsumerRecord<String, GenericRecord> consumerRecord : consumerRecords) {
+      final FailedMetadataChangeEvent event = toEvent(consumerRecord);
+      if (event != null) {
+        moveOn(keyOf(event), event, 0, ErrorClassifier.isRetryable(event.getError()), sends);
+      }
+    }
+    awaitSends(sends);
+  }
+
+  @KafkaListener(id = RETRY_LISTENER_ID, groupId = "${KAFKA_RETRY_CONSUMER_GROUP_ID:mce-consumer-job-retry}",
+      topics = "#{__listener.retryTopics}", containerFactory = "retryListenerContainerFactory")
+  public void consumeRetries(final List<ConsumerRecord<String, GenericRecord>> consumerRecords,
+      final Consumer<?, ?> consumer) throws InterruptedException {
+    resumeDue(consumer);
+    final long now = System.currentTimeMillis();
+    // Offsets of the first events not yet due, to be read again once resumed, by partition
+    final Map<TopicPartition, Long> notDue = new HashMap<>();
+    final Map<String, List<Runnable>> retries = new LinkedHashMap<>();
+    final List<ListenableFuture<SendResult<String, GenericRecord>>> sends =
+        Collections.synchronizedList(new ArrayList<>());
+
+    for (ConsumerRecord<String, GenericRecord> consumerRecord : consumerRecords) {
+      final TopicPartition partition = new TopicPartition(consumerRecord.topic(), consumerRecord.partition());
+      if (notDue.containsKey(partition)) {
+        continue;
+      }
+      final long dueAt = getLongHeader(consumerRecord, DUE_AT_HEADER, 0);
+      if (dueAt > now) {
+        notDue.put(partition, consumerRecord.offset());
+        _pausedUntil.put(partition, dueAt);
+        continue;
+      }
+      final FailedMetadataChangeEvent event = toEvent(consumerRecord);
+      if (event != null) {
+        final String key = keyOf(event);
+        final int attempt = (int) getLongHeader(consumerRecord, ATTEMPT_HEADER, 1);
+        retries.computeIfAbsent(key, k -> new ArrayList<>()).add(() -> retry(key, event, attempt, sends));
+      }
+    }
+
+    CompletableFuture.allOf(retries.values()
+        .stream()
+        .map(entityRetries -> CompletableFuture.runAsync(() -> entityRetries.forEach(Runnable::run), _executor))
+        .toArray(CompletableFuture[]::new)).join();
+
+    if (!notDue.isEmpty()) {
+      notDue.forEach(consumer::seek);
+      consumer.pause(notDue.keySet());
+    }
+    awaitSends(sends);
+  }
+
+  /**
+   * Resumes the paused partitions whose next event is due when the retry consumer receives no events, as happens when
+   * all its partitions are paused.
+   */
+  @EventListener(condition = "event.listenerId.startsWith('" + RETRY_LISTENER_ID + "')")
+  public void onIdle(@Nonnull ListenerContainerIdleEvent event) {
+    resumeDue(event.getConsumer());
+  }
+
+  private void resumeDue(@Nonnull Consumer<?, ?> consumer) {
+    final long now = System.currentTimeMillis();
+    final List<TopicPartition> due = new ArrayList<>();
+    final Iterator<Map.Entry<TopicPartition, Long>> iterator = _pausedUntil.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<TopicPartition, Long> entry = iterator.next();
+      if (!consumer.assignment().contains(entry.getKey())) {
+        // Revoked, and no longer paused
+        iterator.remove();
+      } else if (entry.getValue() <= now) {
+        due.add(entry.getKey());
+        iterator.remove();
+      }
+    }
+    if (!due.isEmpty()) {
+      consumer.resume(due);
+    }
+  }
+
+  /**
+   * Ingests the MCE of the given failed event again, moving the event on to the next tier if it fails.
+   *
+   * @param attempt the number of the attempt, starting from 1 for the first retry
+   */
+  private void retry(@Nullable String key, @Nonnull FailedMetadataChangeEvent event, int attempt,
+      @Nonnull List<ListenableFuture<SendResult<String, GenericRecord>>> sends) {
+    if (key != null && !_circuitBreaker.allows(key)) {
+      log.debug("Postponing retry {} of {}, whose events keep failing", attempt, key);
+      count("skipped");
+      // The attempt was not made: wait in the same tier again
+      sends.add(send(key, event, _tiers.getTopic(attempt - 1), attempt, _tiers.getDelayMillis(attempt - 1)));
+      return;
+    }
+    try {
+      final Snapshot snapshot = event.getMetadataChangeEvent().getProposedSnapshot();
+      final Urn urn = ModelUtils.getUrnFromSnapshotUnion(snapshot);
+      _remoteWriterDAO.create(urn, RecordUtils.getSelectedRecordTemplateFromUnion(snapshot));
+      if (key != null) {
+        _circuitBreaker.recordSuccess(key);
+      }
+      count("success");
+    } catch (Throwable throwable) {
+      log.warn("Retry {} of {} failed", attempt, key, throwable);
+      if (key != null) {
+        _circuitBreaker.recordFailure(key);
+      }
+      final String error = ExceptionUtils.getStackTrace(throwable);
+      event.setError(error);
+      moveOn(key, event, attempt, ErrorClassifier.isRetryable(error), sends);
+    }
+  }
+
+  /**
+   * Sends the given event to the next tier after the given number of attempts, or to the dead letter topic if the error
+   * is fatal or there is no tier left, adding the pending send to the given ones.
+   */
+  private void moveOn(@Nullable String key, @Nonnull FailedMetadataChangeEvent event, int attempts, boolean retryable,
+      @Nonnull List<ListenableFuture<SendResult<String, GenericRecord>>> sends) {
+    if (retryable && attempts < _tiers.size()) {
+      count("retry");
+      sends.add(send(key, event, _tiers.getTopic(attempts), attempts + 1, _tiers.getDelayMillis(attempts)));
+    } else {
+      log.error("Giving up on MCE of {} after {} retries: {}", key, attempts, event.getError());
+      count("dead");
+      sends.add(send(key, event, _tiers.getDeadLetterTopic(), attempts, null));
+    }
+  }
+
+  /**
+   * Sends the given event to the given topic, due after the given delay if any.
+   */
+  @Nullable
+  private ListenableFuture<SendResult<String, GenericRecord>> send(@Nullable String key,
+      @Nonnull FailedMetadataChangeEvent event, @Nonnull String topic, int attempt, @Nullable Long delayMillis) {
+    final RecordHeaders headers = new RecordHeaders();
+    headers.add(ATTEMPT_HEADER, Integer.toString(attempt).getBytes(StandardCharsets.UTF_8));
+    if (delayMillis != null) {
+      headers.add(DUE_AT_HEADER,
+          Long.toString(System.currentTimeMillis() + delayMillis).getBytes(StandardCharsets.UTF_8));
+    }
+    try {
+      return _kafkaTemplate.send(new ProducerRecord<>(topic, null, key, EventUtils.pegasusToAvroFailedMCE(event), headers));
+    } catch (IOException e) {
+      log.error("Failed to convert FailedMetadataChangeEvent of {} to Avro, dropping it: {}", key, event, e);
+      return null;
+    }
+  }
+
+  /**
+   * Waits for the given sends to be acknowledged, throwing if any fails so that the batch is consumed again.
+   */
+  private void awaitSends(@Nonnull List<ListenableFuture<SendResult<String, GenericRecord>>> sends)
+      throws InterruptedException {
+    _kafkaTemplate.flush();
+    for (ListenableFuture<SendResult<String, GenericRecord>> send : sends) {
+      if (send == null) {
+        continue;
+      }
+      try {
+        send.get(SEND_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (ExecutionException | TimeoutException e) {
+        throw new KafkaException("Failed to send FailedMetadataChangeEvent, consuming the batch again", e);
+      }
+    }
+  }
+
+  @Nullable
+  private FailedMetadataChangeEvent toEvent(@Nonnull ConsumerRecord<String, GenericRecord> consumerRecord) {
+    try {
+      final FailedMetadataChangeEvent event = EventUtils.avroToPegasusFailedMCE(consumerRecord.value());
+      if (event.getMetadataChangeEvent().hasProposedSnapshot()) {
+        return event;
+      }
+      log.error("Dropping FailedMetadataChangeEvent without a snapshot to retry: {}", event);
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to read FailedMetadataChangeEvent at offset {} of {}-{}, dropping it", consumerRecord.offset(),
+          consumerRecord.topic(), consumerRecord.partition(), e);
+    }
+    count("dropped");
+    return null;
+  }
+
+  /**
+   * Returns the URN of the entity of the given event, or null if it cannot be derived from its snapshot.
+   */
+  @Nullable
+  private static String keyOf(@Nonnull FailedMetadataChangeEvent event) {
+    try {
+      return ModelUtils.getUrnFromSnapshotUnion(event.getMetadataChangeEvent().getProposedSnapshot()).toString();
+    } catch (RuntimeException e) {
+      log.warn("Failed to get the URN of FailedMetadataChangeEvent, sending it without a key: {}", event, e);
+      return null;
+    }
+  }
+
+  private static long getLongHeader(@Nonnull ConsumerRecord<?, ?> consumerRecord, @Nonnull String name,
+      long defaultValue) {
+    final Header header = consumerRecord.headers().lastHeader(name);
+    return header == null ? defaultValue : Long.parseLong(new String(header.value(), StandardCharsets.UTF_8));
+  }
+
+  private static void count(@Nonnull String result) {
+    MetricUtils.get().counter("mce.retry.events", "result", result).increment();
+  }
+}
@@ -0,0 +1,56 @@
+package com.linkedin.metadata.kafka.retry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+
+/**
+ * The delay topics failed MCEs wait in before being retried, one per retry with increasing delays, and the dead letter
+ * topic of the events which cannot be retried any more.
+ *
+ * <p>Tier {@code i} is the topic {@code <FMCE topic>_retry_<i>}, whose events are retried once they spent its delay in
+ * it. All the events of a tier wait for the same delay, so they become due in the order they are in the topic.
+ */
+public class RetryTiers {
+
+  private final List<String> _topics;
+  private final List<Long> _delaysMillis;
+  private final String _deadLetterTopic;
+
+  public RetryTiers(@Nonnull String failedTopic, @Nonnull List<Long> delaysMillis, @Nonnull String deadLetterTopic) {
+    if (delaysMillis.isEmpty()) {
+      throw new IllegalArgumentException("At least one retry delay is required");
+    }
+    _topics = new ArrayList<>();
+    for (int i = 0; i < delaysMillis.size(); i++) {
+      _topics.add(failedTopic + "_retry_" + i);
+    }
+    _delaysMillis = Collections.unmodifiableList(new ArrayList<>(delaysMillis));
+    _deadLetterTopic = deadLetterTopic;
+  }
+
+  public int size() {
+    return _topics.size();
+  }
+
+  @Nonnull
+  public String getTopic(int tier) {
+    return _topics.get(tier);
+  }
+
+  public long getDelayMillis(int tier) {
+    return _delaysMillis.get(tier);
+  }
+
+  @Nonnull
+  public List<String> getTopics() {
+    return Collections.unmodifiableList(_topics);
+  }
+
+  @Nonnull
+  public String getDeadLetterTopic() {
+    return _deadLetterTopic;
+  }
+}
@@ -0,0 +1,63 @@
+package com.linkedin.metadata.kafka.retry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Stops retrying the events of an entity for a while once they failed a number of times in a row, so that a poison
+ * entity does not take up the retries of the others.
+ *
+ * <p>A circuit opens after {@code failureThreshold} consecutive failures and stays open for {@code openMillis}. The
+ * next retry is then let through; a failure opens the circuit again, a success closes it.
+ */
+public class UrnCircuitBreaker {
+
+  private final int _failureThreshold;
+  private final long _openMillis;
+  private final Cache<String, State> _states;
+
+  /**
+   * @param maxEntities maximum number of entities whose failures are tracked
+   */
+  public UrnCircuitBreaker(int failureThreshold, long openMillis, long maxEntities) {
+    _failureThreshold = failureThreshold;
+    _openMillis = openMillis;
+    _states = CacheBuilder.newBuilder().maximumSize(maxEntities).build();
+  }
+
+  /**
+   * Returns whether the events of the given entity may be retried now.
+   */
+  public boolean allows(@Nonnull String urn) {
+    final State state = _states.getIfPresent(urn);
+    return state == null || state._openUntil <= System.currentTimeMillis();
+  }
+
+  public void recordSuccess(@Nonnull String urn) {
+    _states.invalidate(urn);
+  }
+
+  public void recordFailure(@Nonnull String urn) {
+    _states.asMap().compute(urn, (key, state) -> next(state, System.currentTimeMillis()));
+  }
+
+  @Nonnull
+  private State next(@Nullable State state, long now) {
+    final int failures = state == null ? 1 : state._failures + 1;
+    final long openUntil = failures >= _failureThreshold ? now + _openMillis : 0;
+    return new State(failures, openUntil);
+  }
+
+  private static final class State {
+    private final int _failures;
+    private final long _openUntil;
+
+    private State(int failures, long openUntil) {
+      _failures = failures;
+      _openUntil = openUntil;
+    }
+  }
+}
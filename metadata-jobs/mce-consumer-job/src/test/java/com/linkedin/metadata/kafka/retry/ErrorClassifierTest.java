@@ -0,0 +1,40 @@
+package com.linkedin.metadata.kafka.retry;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class ErrorClassifierTest {
+
+  @Test
+  public void testResponseStatus() {
+    assertTrue(ErrorClassifier.isRetryable("com.linkedin.r2.message.rest.RestException: Received error 500 from server"
+        + " for URI http://gms:8080/datasets\n\tat ...\nCaused by: RestLiResponseException: Response status 500"));
+    assertTrue(ErrorClassifier.isRetryable("RestLiResponseException: Response status 503"));
+    assertTrue(ErrorClassifier.isRetryable("RestLiResponseException: Response status 429"));
+    assertTrue(ErrorClassifier.isRetryable("RestLiResponseException: Response status 408"));
+    assertFalse(ErrorClassifier.isRetryable("RestLiResponseException: Response status 400"));
+    assertFalse(ErrorClassifier.isRetryable("RestLiResponseException: Response status 404"));
+  }
+
+  @Test
+  public void testResponseStatusTakesPrecedence() {
+    assertFalse(ErrorClassifier.isRetryable("RestLiResponseException: Response status 422\n"
+        + "Caused by: java.net.SocketTimeoutException: Read timed out"));
+  }
+
+  @Test
+  public void testConnectionFailures() {
+    assertTrue(ErrorClassifier.isRetryable("com.linkedin.r2.RemoteInvocationException: Failed to get response\n"
+        + "Caused by: java.net.ConnectException: Connection refused"));
+    assertTrue(ErrorClassifier.isRetryable("java.util.concurrent.TimeoutException: Exceeded request timeout"));
+    assertTrue(ErrorClassifier.isRetryable("java.io.IOException: Connection reset by peer"));
+  }
+
+  @Test
+  public void testFatalErrors() {
+    assertFalse(ErrorClassifier.isRetryable("java.lang.IllegalArgumentException: Invalid snapshot"));
+    assertFalse(ErrorClassifier.isRetryable(""));
+  }
+}
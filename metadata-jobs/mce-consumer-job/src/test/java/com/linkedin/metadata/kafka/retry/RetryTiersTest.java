@@ -0,0 +1,36 @@
+package com.linkedin.metadata.kafka.retry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class RetryTiersTest {
+
+  @Test
+  public void testTiers() {
+    final RetryTiers tiers = new RetryTiers("FailedMetadataChangeEvent_v4", Arrays.asList(60000L, 600000L),
+        "FailedMetadataChangeEvent_v4_dead");
+
+    assertEquals(tiers.size(), 2);
+    assertEquals(tiers.getTopics(),
+        Arrays.asList("FailedMetadataChangeEvent_v4_retry_0", "FailedMetadataChangeEvent_v4_retry_1"));
+    assertEquals(tiers.getTopic(1), "FailedMetadataChangeEvent_v4_retry_1");
+    assertEquals(tiers.getDelayMillis(0), 60000L);
+    assertEquals(tiers.getDelayMillis(1), 600000L);
+    assertEquals(tiers.getDeadLetterTopic(), "FailedMetadataChangeEvent_v4_dead");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNoDelays() {
+    new RetryTiers("FailedMetadataChangeEvent_v4", Collections.emptyList(), "FailedMetadataChangeEvent_v4_dead");
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testTopicsAreUnmodifiable() {
+    new RetryTiers("FailedMetadataChangeEvent_v4", Collections.singletonList(60000L), "FailedMetadataChangeEvent_v4_dead")
+        .getTopics().add("foo");
+  }
+}
@@ -0,0 +1,52 @@
+package com.linkedin.metadata.kafka.retry;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class UrnCircuitBreakerTest {
+
+  private static final String URN = "urn:li:corpuser:foo";
+  private static final String OTHER_URN = "urn:li:corpuser:bar";
+
+  @Test
+  public void testOpensAfterConsecutiveFailures() {
+    final UrnCircuitBreaker circuitBreaker = new UrnCircuitBreaker(2, 60000, 100);
+
+    assertTrue(circuitBreaker.allows(URN));
+    circuitBreaker.recordFailure(URN);
+    assertTrue(circuitBreaker.allows(URN));
+    circuitBreaker.recordFailure(URN);
+    assertFalse(circuitBreaker.allows(URN));
+    assertTrue(circuitBreaker.allows(OTHER_URN));
+  }
+
+  @Test
+  public void testSuccessResetsFailures() {
+    final UrnCircuitBreaker circuitBreaker = new UrnCircuitBreaker(2, 60000, 100);
+
+    circuitBreaker.recordFailure(URN);
+    circuitBreaker.recordSuccess(URN);
+    circuitBreaker.recordFailure(URN);
+    assertTrue(circuitBreaker.allows(URN));
+
+    circuitBreaker.recordFailure(URN);
+    assertFalse(circuitBreaker.allows(URN));
+    circuitBreaker.recordSuccess(URN);
+    assertTrue(circuitBreaker.allows(URN));
+  }
+
+  @Test
+  public void testReopensWhenRetryAfterOpeningFails() throws Exception {
+    final UrnCircuitBreaker circuitBreaker = new UrnCircuitBreaker(1, 100, 100);
+
+    circuitBreaker.recordFailure(URN);
+    assertFalse(circuitBreaker.allows(URN));
+
+    Thread.sleep(200);
+    assertTrue(circuitBreaker.allows(URN));
+    circuitBreaker.recordFailure(URN);
+    assertFalse(circuitBreaker.allows(URN));
+  }
+}
@@ -15,16 +15,21 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
+import java.net.URI;
 import java.security.InvalidParameterException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 
 public class DefaultRestliClientFactory {
 
   private static final String DEFAULT_REQUEST_TIMEOUT_IN_MS = "10000";
+  private static final String HTTP_2 = "HTTP_2";
+
+  private static volatile RestClient _sharedGmsClient;
 
   private DefaultRestliClientFactory() {
   }
@@ -59,10 +64,74 @@ public class DefaultRestliClientFactory {
     }
   }
 
+  /**
+   * Returns a {@link RestClient} configured from the environment, see {@link RestliClientConfig#fromEnvironment()}.
+   *
+   * <p>A single instance is shared by all callers within the process, so that they share one connection pool per GMS host.
+   */
+  @Nonnull
+  public static RestClient getSharedGmsClient() {
+    RestClient client = _sharedGmsClient;
+    if (client == null) {
+      synchronized (DefaultRestliClientFactory.class) {
+        client = _sharedGmsClient;
+        if (client == null) {
+          client = getRestLiClient(RestliClientConfig.fromEnvironment());
+          _sharedGmsClient = client;
+        }
+      }
+    }
+    return client;
+  }
+
+  /**
+   * Returns a {@link RestClient} spreading requests across the hosts of the config, see {@link LoadBalancingTransportClient}.
+   */
+  @Nonnull
+  public static RestClient getRestLiClient(@Nonnull RestliClientConfig config) {
+    if (config.getHosts().isEmpty()) {
+      throw new InvalidParameterException("At least one restli server host is required!");
+    }
+    final String scheme = config.isUseSSL() ? "https" : "http";
+
+    final Map<String, Object> params = new HashMap<>();
+    if (config.isUseSSL()) {
+      params.putAll(getSslParams(config.getSslProtocol()));
+    }
+    params.put(HttpClientFactory.HTTP_POOL_SIZE, String.valueOf(config.getPoolSize()));
+    params.put(HttpClientFactory.HTTP_REQUEST_TIMEOUT, String.valueOf(config.getRequestTimeoutMs()));
+    if (config.isUseHttp2()) {
+      params.put(HttpClientFactory.HTTP_PROTOCOL_VERSION, HTTP_2);
+    }
+    if (config.getRequestCompression() != null) {
+      params.put(HttpClientFactory.HTTP_REQUEST_CONTENT_ENCODINGS, config.getRequestCompression());
+      params.put(HttpClientFactory.HTTP_USE_RESPONSE_COMPRESSION, "true");
+    }
+
+    // One factory, and so one event loop, shared by the clients of all hosts
+    final HttpClientFactory http = new HttpClientFactory.Builder().build();
+    final Map<URI, TransportClient> hostClients = new LinkedHashMap<>();
+    for (String host : config.getHosts()) {
+      final URI baseUri = URI.create(scheme + "://" + host + "/");
+      if (StringUtils.isBlank(baseUri.getHost()) || baseUri.getPort() <= 0) {
+        throw new InvalidParameterException("Invalid restli server host name or port: " + host);
+      }
+      hostClients.put(baseUri, http.getClient(Collections.unmodifiableMap(params)));
+    }
+
+    final TransportClient transportClient = new LoadBalancingTransportClient(hostClients,
+        config.getOutlierFailureThreshold(), config.getOutlierEjectionMs());
+    return new RestClient(new TransportClientAdapter(transportClient), hostClients.keySet().iterator().next().toString());
+  }
+
   private static RestClient getHttpsRestClient(@Nonnull String restLiServerHost, int restLiServerPort,
                                                @Nullable String sslProtocol) {
+    return getHttpRestClient("https", restLiServerHost, restLiServerPort, getSslParams(sslProtocol));
+  }
+
+  private static Map<String, Object> getSslParams(@Nullable String sslProtocol) {
     Map<String, Object> params = new HashMap<>();
-    
+
     try {
       params.put(HttpClientFactory.HTTP_SSL_CONTEXT, SSLContext.getDefault());
     } catch (NoSuchAlgorithmException ex) {
@@ -74,8 +143,7 @@ public class DefaultRestliClientFactory {
       sslParameters.setProtocols(new String[]{sslProtocol});
     }
     params.put(HttpClientFactory.HTTP_SSL_PARAMS, sslParameters);
-
-    return getHttpRestClient("https", restLiServerHost, restLiServerPort, params);
+    return params;
   }
 
   private static RestClient getHttpRestClient(@Nonnull String restLiServerHost, int restLiServerPort) {
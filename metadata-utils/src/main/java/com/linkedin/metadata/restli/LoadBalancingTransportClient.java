@@ -0,0 +1,181 @@
+package com.linkedin.metadata.restli;
+
+import com.linkedin.common.callback.Callback;
+import com.linkedin.common.callback.MultiCallback;
+import com.linkedin.common.util.None;
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestException;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.stream.StreamException;
+import com.linkedin.r2.message.stream.StreamRequest;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.transport.common.bridge.client.TransportClient;
+import com.linkedin.r2.transport.common.bridge.common.TransportCallback;
+import com.linkedin.r2.transport.common.bridge.common.TransportResponse;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+
+/**
+ * A {@link TransportClient} spreading requests across several hosts serving the same Rest.li resources.
+ *
+ * <p>Hosts are picked round-robin. A host failing {@code failureThreshold} consecutive requests, either with a transport
+ * error or a 5xx response, is ejected for {@code ejectionMillis}, after which it is tried again. If every host is
+ * ejected, requests are spread across all of them regardless.
+ *
+ * <p>The number of in-flight requests, the latency of requests and the ejection state of each host are recorded via
+ * {@link MetricUtils}.
+ */
+@Slf4j
+public class LoadBalancingTransportClient implements TransportClient {
+
+  private final List<Host> _hosts;
+  private final int _failureThreshold;
+  private final long _ejectionMillis;
+  private final AtomicInteger _next = new AtomicInteger();
+
+  /**
+   * @param hostClients a {@link TransportClient} per host, keyed by the base URI of the host
+   * @param failureThreshold the number of consecutive failures after which a host is ejected
+   * @param ejectionMillis the duration for which an ejected host receives no requests
+   */
+  public LoadBalancingTransportClient(@Nonnull Map<URI, TransportClient> hostClients, int failureThreshold,
+      long ejectionMillis) {
+    if (hostClients.isEmpty()) {
+      throw new IllegalArgumentException("At least one host is required");
+    }
+    _hosts = hostClients.entrySet().stream()
+        .map(entry -> new Host(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+    _failureThreshold = failureThreshold;
+    _ejectionMillis = ejectionMillis;
+  }
+
+  @Override
+  public void restRequest(RestRequest request, RequestContext requestContext, Map<String, String> wireAttrs,
+      TransportCallback<RestResponse> callback) {
+    final Host host = pickHost();
+    final RestRequest hostRequest = request.builder().setURI(host.rewrite(request.getURI())).build();
+    host._client.restRequest(hostRequest, requestContext, wireAttrs, host.track(callback));
+  }
+
+  @Override
+  public void streamRequest(StreamRequest request, RequestContext requestContext, Map<String, String> wireAttrs,
+      TransportCallback<StreamResponse> callback) {
+    final Host host = pickHost();
+    final StreamRequest hostRequest = request.builder().setURI(host.rewrite(request.getURI())).build(request.getEntityStream());
+    host._client.streamRequest(hostRequest, requestContext, wireAttrs, host.track(callback));
+  }
+
+  @Override
+  public void shutdown(Callback<None> callback) {
+    final MultiCallback multiCallback = new MultiCallback(callback, _hosts.size());
+    _hosts.forEach(host -> host._client.shutdown(multiCallback));
+  }
+
+  @Nonnull
+  private Host pickHost() {
+    final long now = System.currentTimeMillis();
+    final int start = Math.abs(_next.getAndIncrement() % _hosts.size());
+    for (int i = 0; i < _hosts.size(); i++) {
+      final Host host = _hosts.get((start + i) % _hosts.size());
+      if (host._ejectedUntil <= now) {
+        return host;
+      }
+    }
+    // Every host is ejected; keep spreading the load rather than failing all requests.
+    return _hosts.get(start);
+  }
+
+  /**
+   * Returns the given request URI on the host of the given base URI. The path, query and fragment are kept as they are
+   * encoded, as decoding them would corrupt the escaped characters of Rest.li keys and query parameters.
+   */
+  @Nonnull
+  static URI rewrite(@Nonnull URI baseUri, @Nonnull URI uri) {
+    final StringBuilder rewritten = new StringBuilder()
+        .append(baseUri.getScheme())
+        .append("://")
+        .append(baseUri.getRawAuthority());
+    if (uri.getRawPath() != null) {
+      rewritten.append(uri.getRawPath());
+    }
+    if (uri.getRawQuery() != null) {
+      rewritten.append('?').append(uri.getRawQuery());
+    }
+    if (uri.getRawFragment() != null) {
+      rewritten.append('#').append(uri.getRawFragment());
+    }
+    return URI.create(rewritten.toString());
+  }
+
+  private boolean isFailure(@Nonnull TransportResponse<?> response) {
+    if (!response.hasError()) {
+      return response.getResponse() instanceof RestResponse && ((RestResponse) response.getResponse()).getStatus() >= 500;
+    }
+    final Throwable error = response.getError();
+    if (error instanceof RestException) {
+      return ((RestException) error).getResponse().getStatus() >= 500;
+    }
+    if (error instanceof StreamException) {
+      return ((StreamException) error).getResponse().getStatus() >= 500;
+    }
+    return true;
+  }
+
+  private final class Host {
+
+    private final URI _baseUri;
+    private final TransportClient _client;
+    private final AtomicInteger _inFlight = new AtomicInteger();
+    private final AtomicInteger _consecutiveFailures = new AtomicInteger();
+    private final Timer _latency;
+    private volatile long _ejectedUntil;
+
+    private Host(@Nonnull URI baseUri, @Nonnull TransportClient client) {
+      _baseUri = baseUri;
+      _client = client;
+      final Tags tags = Tags.of("host", baseUri.getAuthority());
+      _latency = MetricUtils.timer("gms.client.latency", "host", baseUri.getAuthority());
+      MetricUtils.get().gauge("gms.client.inflight", tags, _inFlight);
+      MetricUtils.get().gauge("gms.client.ejected", tags, this, host -> host._ejectedUntil > System.currentTimeMillis() ? 1 : 0);
+    }
+
+    @Nonnull
+    private URI rewrite(@Nonnull URI uri) {
+      return LoadBalancingTransportClient.rewrite(_baseUri, uri);
+    }
+
+    @Nonnull
+    private <T> TransportCallback<T> track(@Nonnull TransportCallback<T> callback) {
+      final long startNanos = System.nanoTime();
+      _inFlight.incrementAndGet();
+      return response -> {
+        _inFlight.decrementAndGet();
+        _latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (isFailure(response)) {
+          if (_consecutiveFailures.incrementAndGet() >= _failureThreshold) {
+            _ejectedUntil = System.currentTimeMillis() + _ejectionMillis;
+            _consecutiveFailures.set(0);
+            log.warn("Ejecting GMS host {} for {} ms after {} consecutive failures", _baseUri, _ejectionMillis,
+                _failureThreshold);
+          }
+        } else {
+          _consecutiveFailures.set(0);
+        }
+        callback.onResponse(response);
+      };
+    }
+  }
+}
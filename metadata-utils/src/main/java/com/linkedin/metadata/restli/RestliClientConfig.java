@@ -0,0 +1,95 @@
+package com.linkedin.metadata.restli;
+
+import com.linkedin.util.Configuration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Builder;
+import lombok.Value;
+import org.apache.commons.lang.StringUtils;
+
+
+/**
+ * Transport settings of a Rest.li client talking to one or more GMS hosts.
+ */
+@Value
+@Builder
+public class RestliClientConfig {
+
+  /**
+   * The following environment variables are read by {@link #fromEnvironment()}.
+   * DATAHUB_GMS_HOSTS takes a comma separated list of 'host:port' pairs and takes precedence over
+   * DATAHUB_GMS_HOST & DATAHUB_GMS_PORT.
+   */
+  public static final String GMS_HOST_ENV_VAR = "DATAHUB_GMS_HOST";
+  public static final String GMS_PORT_ENV_VAR = "DATAHUB_GMS_PORT";
+  public static final String GMS_HOSTS_ENV_VAR = "DATAHUB_GMS_HOSTS";
+  public static final String GMS_USE_SSL_ENV_VAR = "DATAHUB_GMS_USE_SSL";
+  public static final String GMS_SSL_PROTOCOL_VAR = "DATAHUB_GMS_SSL_PROTOCOL";
+  public static final String GMS_POOL_SIZE_ENV_VAR = "DATAHUB_GMS_POOL_SIZE";
+  public static final String GMS_REQUEST_TIMEOUT_MS_ENV_VAR = "DATAHUB_GMS_REQUEST_TIMEOUT_MS";
+  public static final String GMS_USE_HTTP2_ENV_VAR = "DATAHUB_GMS_USE_HTTP2";
+  public static final String GMS_REQUEST_COMPRESSION_ENV_VAR = "DATAHUB_GMS_REQUEST_COMPRESSION";
+  public static final String GMS_OUTLIER_FAILURE_THRESHOLD_ENV_VAR = "DATAHUB_GMS_OUTLIER_FAILURE_THRESHOLD";
+  public static final String GMS_OUTLIER_EJECTION_MS_ENV_VAR = "DATAHUB_GMS_OUTLIER_EJECTION_MS";
+
+  /**
+   * 'host:port' pairs of the GMS hosts requests are spread across.
+   */
+  @Nonnull
+  List<String> hosts;
+
+  boolean useSSL;
+
+  @Nullable
+  String sslProtocol;
+
+  /**
+   * Maximum number of connections per host.
+   */
+  @Builder.Default
+  int poolSize = 200;
+
+  @Builder.Default
+  long requestTimeoutMs = 10000;
+
+  /**
+   * Whether to multiplex requests over HTTP/2 connections rather than using HTTP/1.1.
+   */
+  boolean useHttp2;
+
+  /**
+   * Content encoding used to compress request bodies, e.g. 'gzip'. No compression if null.
+   */
+  @Nullable
+  String requestCompression;
+
+  @Builder.Default
+  int outlierFailureThreshold = 5;
+
+  @Builder.Default
+  long outlierEjectionMs = 30000;
+
+  @Nonnull
+  public static RestliClientConfig fromEnvironment() {
+    final String hosts = Configuration.getEnvironmentVariable(GMS_HOSTS_ENV_VAR, "");
+    return RestliClientConfig.builder()
+        .hosts(StringUtils.isBlank(hosts)
+            ? Collections.singletonList(Configuration.getEnvironmentVariable(GMS_HOST_ENV_VAR) + ":"
+                + Configuration.getEnvironmentVariable(GMS_PORT_ENV_VAR))
+            : Arrays.stream(hosts.split(",")).map(String::trim).filter(StringUtils::isNotBlank).collect(Collectors.toList()))
+        .useSSL(Boolean.parseBoolean(Configuration.getEnvironmentVariable(GMS_USE_SSL_ENV_VAR, "False")))
+        .sslProtocol(Configuration.getEnvironmentVariable(GMS_SSL_PROTOCOL_VAR))
+        .poolSize(Integer.parseInt(Configuration.getEnvironmentVariable(GMS_POOL_SIZE_ENV_VAR, "200")))
+        .requestTimeoutMs(Long.parseLong(Configuration.getEnvironmentVariable(GMS_REQUEST_TIMEOUT_MS_ENV_VAR, "10000")))
+        .useHttp2(Boolean.parseBoolean(Configuration.getEnvironmentVariable(GMS_USE_HTTP2_ENV_VAR, "False")))
+        .requestCompression(StringUtils.trimToNull(Configuration.getEnvironmentVariable(GMS_REQUEST_COMPRESSION_ENV_VAR, "")))
+        .outlierFailureThreshold(
+            Integer.parseInt(Configuration.getEnvironmentVariable(GMS_OUTLIER_FAILURE_THRESHOLD_ENV_VAR, "5")))
+        .outlierEjectionMs(Long.parseLong(Configuration.getEnvironmentVariable(GMS_OUTLIER_EJECTION_MS_ENV_VAR, "30000")))
+        .build();
+  }
+}
@@ -0,0 +1,141 @@
+package com.linkedin.metadata.utils.elasticsearch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nonnull;
+import org.apache.http.HttpHeaders;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseListener;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.DeprecationHandler;
+import org.elasticsearch.common.xcontent.NamedXContentRegistry;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentParser;
+import org.elasticsearch.common.xcontent.XContentType;
+
+
+/**
+ * Sends bulk requests with gzip compressed bodies, which are mostly repeated field names and compress several times
+ * over, trading client CPU for network bandwidth between the indexing jobs and Elasticsearch.
+ *
+ * <p>The Elasticsearch client we run cannot compress request bodies, so the bulk body is written here and sent with the
+ * low level client. Only what the bulk requests of the indexing jobs use is written: the index, id and routing of
+ * index, delete and update requests, the retry on conflict of update requests, and the refresh policy and timeout of
+ * the bulk request.
+ */
+public final class GzipBulkRequests {
+
+  private static final String GZIP = "gzip";
+  private static final ContentType NDJSON = ContentType.create("application/x-ndjson");
+  private static final RequestOptions OPTIONS =
+      RequestOptions.DEFAULT.toBuilder().addHeader(HttpHeaders.CONTENT_ENCODING, GZIP).build();
+  private static final byte NEWLINE = '\n';
+
+  private GzipBulkRequests() {
+  }
+
+  /**
+   * Asynchronously sends the given bulk request with a compressed body, like {@link RestHighLevelClient#bulkAsync}.
+   */
+  public static void bulkAsync(@Nonnull RestHighLevelClient client, @Nonnull BulkRequest bulkRequest,
+      @Nonnull ActionListener<BulkResponse> listener) {
+    final Request request;
+    try {
+      request = toRequest(bulkRequest);
+    } catch (IOException e) {
+      listener.onFailure(e);
+      return;
+    }
+    client.getLowLevelClient().performRequestAsync(request, new ResponseListener() {
+      @Override
+      public void onSuccess(Response response) {
+        final BulkResponse bulkResponse;
+        try (InputStream content = response.getEntity().getContent();
+            XContentParser parser = XContentType.JSON.xContent()
+                .createParser(NamedXContentRegistry.EMPTY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, content)) {
+          bulkResponse = BulkResponse.fromXContent(parser);
+        } catch (IOException | RuntimeException e) {
+          listener.onFailure(e);
+          return;
+        }
+        listener.onResponse(bulkResponse);
+      }
+
+      @Override
+      public void onFailure(Exception e) {
+        listener.onFailure(e);
+      }
+    });
+  }
+
+  /**
+   * Returns the low level request of the given bulk request, with a compressed body.
+   */
+  @Nonnull
+  static Request toRequest(@Nonnull BulkRequest bulkRequest) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      for (DocWriteRequest<?> action : bulkRequest.requests()) {
+        writeAction(action, gzip);
+      }
+    }
+
+    final Request request = new Request("POST", "/_bulk");
+    if (bulkRequest.getRefreshPolicy() != WriteRequest.RefreshPolicy.NONE) {
+      request.addParameter("refresh", bulkRequest.getRefreshPolicy().getValue());
+    }
+    request.addParameter("timeout", bulkRequest.timeout().getStringRep());
+    request.setEntity(new ByteArrayEntity(bytes.toByteArray(), NDJSON));
+    request.setOptions(OPTIONS);
+    return request;
+  }
+
+  private static void writeAction(@Nonnull DocWriteRequest<?> action, @Nonnull OutputStream out) throws IOException {
+    final XContentBuilder metadata = XContentFactory.jsonBuilder();
+    metadata.startObject().startObject(action.opType().getLowercase()).field("_index", action.index());
+    if (action.id() != null) {
+      metadata.field("_id", action.id());
+    }
+    if (action.routing() != null) {
+      metadata.field("routing", action.routing());
+    }
+    if (action instanceof UpdateRequest && ((UpdateRequest) action).retryOnConflict() > 0) {
+      metadata.field("retry_on_conflict", ((UpdateRequest) action).retryOnConflict());
+    }
+    metadata.endObject().endObject();
+    // Closes the builder
+    BytesReference.bytes(metadata).writeTo(out);
+    out.write(NEWLINE);
+
+    final BytesReference source;
+    if (action instanceof IndexRequest) {
+      final IndexRequest index = (IndexRequest) action;
+      source = index.getContentType() == XContentType.JSON ? index.source()
+          : new BytesArray(XContentHelper.convertToJson(index.source(), false, index.getContentType()));
+    } else if (action instanceof UpdateRequest) {
+      source = XContentHelper.toXContent((UpdateRequest) action, XContentType.JSON, false);
+    } else {
+      return;
+    }
+    source.writeTo(out);
+    out.write(NEWLINE);
+  }
+}
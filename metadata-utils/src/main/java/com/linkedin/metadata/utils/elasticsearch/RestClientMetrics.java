@@ -0,0 +1,82 @@
+package com.linkedin.metadata.utils.elasticsearch;
+
+import com.linkedin.metadata.utils.metrics.MetricUtils;
+import io.micrometer.core.instrument.Gauge;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import javax.annotation.Nonnull;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpCoreContext;
+
+
+/**
+ * Publishes metrics of the HTTP clients behind Elasticsearch REST clients, tagged with the name of the client.
+ *
+ * <p>The 'elasticsearch.client.connections' gauges report the connections of the pool by state: leased, available,
+ * pending (requests waiting for a connection) and max. The 'elasticsearch.client.latency' timer records the time from
+ * the request being written on a leased connection to the head of its response being received, tagged with the
+ * endpoint (the first path segment starting with '_', e.g. '_search' or '_bulk') and the status class of the response.
+ * It excludes waiting for a connection, which shows in the pending gauge, and reading the response body.
+ */
+public final class RestClientMetrics {
+
+  private static final String START_NANOS = RestClientMetrics.class.getName() + ".startNanos";
+  private static final String OTHER_ENDPOINT = "other";
+
+  private RestClientMetrics() {
+  }
+
+  /**
+   * Registers the gauges of the given connection pool.
+   */
+  public static void monitor(@Nonnull String client, @Nonnull PoolingNHttpClientConnectionManager connectionManager) {
+    gauge(client, "leased", connectionManager, PoolStats::getLeased);
+    gauge(client, "available", connectionManager, PoolStats::getAvailable);
+    gauge(client, "pending", connectionManager, PoolStats::getPending);
+    gauge(client, "max", connectionManager, PoolStats::getMax);
+  }
+
+  /**
+   * Adds the interceptors recording the latency of the requests of the given client.
+   */
+  @Nonnull
+  public static HttpAsyncClientBuilder instrument(@Nonnull String client, @Nonnull HttpAsyncClientBuilder builder) {
+    return builder.addInterceptorFirst((HttpRequestInterceptor) (request, context) ->
+        context.setAttribute(START_NANOS, System.nanoTime()))
+        .addInterceptorLast((HttpResponseInterceptor) (response, context) -> {
+          final Object startNanos = context.getAttribute(START_NANOS);
+          if (!(startNanos instanceof Long)) {
+            return;
+          }
+          MetricUtils.timer("elasticsearch.client.latency", "client", client, "endpoint",
+              endpoint(HttpCoreContext.adapt(context).getRequest()), "status",
+              response.getStatusLine().getStatusCode() / 100 + "xx")
+              .record(System.nanoTime() - (Long) startNanos, TimeUnit.NANOSECONDS);
+        });
+  }
+
+  private static void gauge(@Nonnull String client, @Nonnull String state,
+      @Nonnull PoolingNHttpClientConnectionManager connectionManager, @Nonnull ToDoubleFunction<PoolStats> value) {
+    Gauge.builder("elasticsearch.client.connections", connectionManager,
+        manager -> value.applyAsDouble(manager.getTotalStats()))
+        .tags("client", client, "state", state)
+        .register(MetricUtils.get());
+  }
+
+  @Nonnull
+  static String endpoint(@Nonnull HttpRequest request) {
+    final String uri = request.getRequestLine().getUri();
+    final int queryStart = uri.indexOf('?');
+    for (String segment : (queryStart < 0 ? uri : uri.substring(0, queryStart)).split("/")) {
+      if (segment.startsWith("_")) {
+        return segment;
+      }
+    }
+    return OTHER_ENDPOINT;
+  }
+}
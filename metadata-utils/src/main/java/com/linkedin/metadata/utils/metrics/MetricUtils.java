@@ -0,0 +1,56 @@
+package com.linkedin.metadata.utils.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+import javax.annotation.Nonnull;
+
+
+/**
+ * Entry point for recording metrics.
+ *
+ * <p>Meters are registered against the Micrometer global registry, to which a {@link PrometheusMeterRegistry} is
+ * attached. Services without a metrics endpoint of their own can expose {@link #scrape()}; Spring Boot services
+ * exposing the actuator 'prometheus' endpoint publish the same meters through the global registry.
+ */
+public class MetricUtils {
+
+  private static final PrometheusMeterRegistry PROMETHEUS_REGISTRY = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+  static {
+    Metrics.addRegistry(PROMETHEUS_REGISTRY);
+  }
+
+  private MetricUtils() {
+  }
+
+  /**
+   * Returns the registry meters should be registered against.
+   */
+  @Nonnull
+  public static MeterRegistry get() {
+    return Metrics.globalRegistry;
+  }
+
+  /**
+   * Returns a {@link Timer} publishing a percentile histogram, suitable for Prometheus 'histogram_quantile' queries.
+   */
+  @Nonnull
+  public static Timer timer(@Nonnull String name, @Nonnull String... tags) {
+    return Timer.builder(name)
+        .tags(tags)
+        .publishPercentileHistogram()
+        .register(get());
+  }
+
+  /**
+   * Returns the current value of all meters in the Prometheus text exposition format.
+   */
+  @Nonnull
+  public static String scrape() {
+    return PROMETHEUS_REGISTRY.scrape();
+  }
+}
@@ -0,0 +1,86 @@
+package com.linkedin.metadata.restli;
+
+import com.linkedin.common.callback.Callback;
+import com.linkedin.common.util.None;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.stream.StreamRequest;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.transport.common.bridge.client.TransportClient;
+import com.linkedin.r2.transport.common.bridge.common.TransportCallback;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class LoadBalancingTransportClientTest {
+
+  private static final String ENCODED_PATH =
+      "/datasets/(name:a%2Fb,origin:PROD,platform:urn%3Ali%3AdataPlatform%3Ahive)";
+  private static final String ENCODED_QUERY = "q=search&input=a%26b%2Cc";
+
+  @Test
+  public void testRewriteKeepsEncodedKeyAndQuery() {
+    final URI uri = URI.create("http://localhost:8080" + ENCODED_PATH + "?" + ENCODED_QUERY);
+
+    final URI rewritten = LoadBalancingTransportClient.rewrite(URI.create("http://gms-2:8081/"), uri);
+
+    assertEquals(rewritten.toString(), "http://gms-2:8081" + ENCODED_PATH + "?" + ENCODED_QUERY);
+    assertEquals(rewritten.getRawPath(), ENCODED_PATH);
+    assertEquals(rewritten.getRawQuery(), ENCODED_QUERY);
+  }
+
+  @Test
+  public void testRewriteKeepsFragmentAndMissingQuery() {
+    assertEquals(LoadBalancingTransportClient.rewrite(URI.create("https://gms:443/"),
+        URI.create("http://localhost:8080/corpUsers/foo%20bar#a%23b")).toString(), "https://gms:443/corpUsers/foo%20bar#a%23b");
+    assertEquals(LoadBalancingTransportClient.rewrite(URI.create("http://gms:8080/"),
+        URI.create("http://localhost:8080/corpUsers")).toString(), "http://gms:8080/corpUsers");
+  }
+
+  @Test
+  public void testSpreadsEncodedRequestsAcrossHosts() {
+    final RecordingClient first = new RecordingClient();
+    final RecordingClient second = new RecordingClient();
+    final Map<URI, TransportClient> hostClients = new LinkedHashMap<>();
+    hostClients.put(URI.create("http://gms-1:8080/"), first);
+    hostClients.put(URI.create("http://gms-2:8080/"), second);
+    final LoadBalancingTransportClient client = new LoadBalancingTransportClient(hostClients, 3, 1000);
+    final RestRequest request =
+        new RestRequestBuilder(URI.create("http://gms-1:8080" + ENCODED_PATH + "?" + ENCODED_QUERY)).build();
+
+    client.restRequest(request, new RequestContext(), Collections.emptyMap(), response -> { });
+    client.restRequest(request, new RequestContext(), Collections.emptyMap(), response -> { });
+
+    assertEquals(first._uris, Collections.singletonList(URI.create("http://gms-1:8080" + ENCODED_PATH + "?" + ENCODED_QUERY)));
+    assertEquals(second._uris, Collections.singletonList(URI.create("http://gms-2:8080" + ENCODED_PATH + "?" + ENCODED_QUERY)));
+  }
+
+  private static final class RecordingClient implements TransportClient {
+    private final List<URI> _uris = new ArrayList<>();
+
+    @Override
+    public void restRequest(RestRequest request, RequestContext requestContext, Map<String, String> wireAttrs,
+        TransportCallback<RestResponse> callback) {
+      _uris.add(request.getURI());
+    }
+
+    @Override
+    public void streamRequest(StreamRequest request, RequestContext requestContext, Map<String, String> wireAttrs,
+        TransportCallback<StreamResponse> callback) {
+      _uris.add(request.getURI());
+    }
+
+    @Override
+    public void shutdown(Callback<None> callback) {
+      callback.onSuccess(None.none());
+    }
+  }
+}
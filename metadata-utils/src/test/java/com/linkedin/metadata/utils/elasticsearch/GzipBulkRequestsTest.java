@@ -0,0 +1,56 @@
+package com.linkedin.metadata.utils.elasticsearch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class GzipBulkRequestsTest {
+
+  @Test
+  public void testToRequest() throws IOException {
+    final BulkRequest bulkRequest = new BulkRequest()
+        .add(new IndexRequest("datasetdocument").id("foo").source("{\"name\":\"foo\"}", XContentType.JSON))
+        .add(new DeleteRequest("datasetdocument").id("bar"))
+        .add(new UpdateRequest("datasetdocument", "baz").doc("{\"name\":\"baz\"}", XContentType.JSON)
+            .detectNoop(false)
+            .upsert("{\"name\":\"baz\"}", XContentType.JSON));
+
+    final Request request = GzipBulkRequests.toRequest(bulkRequest);
+
+    assertEquals(request.getMethod(), "POST");
+    assertEquals(request.getEndpoint(), "/_bulk");
+    assertEquals(request.getOptions().getHeaders().get(0).getValue(), "gzip");
+    final String[] lines = decompress(request.getEntity().getContent()).split("\n");
+    assertEquals(lines.length, 5);
+    assertEquals(lines[0], "{\"index\":{\"_index\":\"datasetdocument\",\"_id\":\"foo\"}}");
+    assertEquals(lines[1], "{\"name\":\"foo\"}");
+    assertEquals(lines[2], "{\"delete\":{\"_index\":\"datasetdocument\",\"_id\":\"bar\"}}");
+    assertEquals(lines[3], "{\"update\":{\"_index\":\"datasetdocument\",\"_id\":\"baz\"}}");
+    assertTrue(lines[4].contains("\"doc\":{\"name\":\"baz\"}"));
+    assertTrue(lines[4].contains("\"upsert\":{\"name\":\"baz\"}"));
+    assertTrue(lines[4].contains("\"detect_noop\":false"));
+  }
+
+  private static String decompress(InputStream compressed) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (InputStream in = new GZIPInputStream(compressed)) {
+      final byte[] buffer = new byte[4096];
+      int read;
+      while ((read = in.read(buffer)) > 0) {
+        bytes.write(buffer, 0, read);
+      }
+    }
+    return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
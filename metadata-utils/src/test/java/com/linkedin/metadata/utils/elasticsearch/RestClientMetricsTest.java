@@ -0,0 +1,18 @@
+package com.linkedin.metadata.utils.elasticsearch;
+
+import org.apache.http.message.BasicHttpRequest;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class RestClientMetricsTest {
+
+  @Test
+  public void testEndpoint() {
+    assertEquals(RestClientMetrics.endpoint(new BasicHttpRequest("POST", "/datasetdocument/_search?typed_keys=true")),
+        "_search");
+    assertEquals(RestClientMetrics.endpoint(new BasicHttpRequest("POST", "/_bulk?timeout=1m")), "_bulk");
+    assertEquals(RestClientMetrics.endpoint(new BasicHttpRequest("GET", "/datasetdocument/_doc/foo")), "_doc");
+    assertEquals(RestClientMetrics.endpoint(new BasicHttpRequest("HEAD", "/datasetdocument")), "other");
+  }
+}